@@ -0,0 +1,110 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.codec.CompactBinaryPayloadCodec;
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.codec.Quote;
+import com.example.marketdata.codec.QuoteLayout;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hazelcast write throughput per codec against a single embedded member, in entries per second:
+ * {@code putAllPreEncoded} isolates the map write, {@code adapterSend} adds encoding through
+ * {@link HazelcastBufferCacheAdapter#send(Map)}.
+ * <p>
+ * Run with {@code ./gradlew :adapter-hazelcast:jmh -PjmhArgs='HazelcastCodecPutAllBenchmark'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HazelcastCodecPutAllBenchmark {
+
+    private static final int ENTRIES = 10_000;
+    private static final String MAP_NAME = "codec-benchmark";
+
+    @Param({"json", "smile", "cbor", "binary"})
+    public String codecName;
+
+    private HazelcastInstance hazelcastInstance;
+    private IMap<String, Object> map;
+    private HazelcastBufferCacheAdapter<Quote> adapter;
+    private Map<String, Quote> quotes;
+    private Map<String, Object> encoded;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setClusterName("codec-benchmark-" + codecName);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        map = hazelcastInstance.getMap(MAP_NAME);
+
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults()
+                .register(new CompactBinaryPayloadCodec().registerLayout(Quote.class, new QuoteLayout()));
+        PayloadCodec codec = registry.get(codecName);
+
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache(MAP_NAME);
+        properties.setCodec(codecName);
+        adapter = new HazelcastBufferCacheAdapter<>(hazelcastInstance, properties, null, null, registry,
+                StatsRecorder.NOOP);
+
+        quotes = new HashMap<>();
+        encoded = new HashMap<>();
+        long totalBytes = 0;
+        Instant now = Instant.parse("2024-01-01T09:30:00Z");
+        for (int i = 0; i < ENTRIES; i++) {
+            String symbol = "SYM" + i;
+            Quote quote = new Quote("MAX", symbol, 100.0 + i / 100.0, 1_000L + i, now.plusMillis(i));
+            byte[] bytes = codec.encode(quote);
+            totalBytes += bytes.length;
+            quotes.put(symbol, quote);
+            encoded.put(symbol, codec.isTextual() ? new String(bytes, StandardCharsets.UTF_8) : bytes);
+        }
+        System.out.printf("%n[%s] %d entries, %d payload bytes per putAll%n", codecName, ENTRIES, totalBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void putAllPreEncoded() {
+        map.putAll(encoded);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void adapterSend() {
+        adapter.send(quotes);
+    }
+}
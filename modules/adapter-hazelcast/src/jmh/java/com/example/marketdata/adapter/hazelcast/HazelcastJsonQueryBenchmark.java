@@ -0,0 +1,104 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.codec.Quote;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of selecting the quotes in a narrow price band from a single embedded member, per storage
+ * mode:
+ * <ul>
+ *     <li>{@code string-client-scan} – JSON Strings, every value fetched and decoded, filtered here.</li>
+ *     <li>{@code json-scan} – {@code json-value} storage, predicate evaluated on the member without an index.</li>
+ *     <li>{@code json-indexed} – as {@code json-scan} with a sorted index on {@code price}.</li>
+ * </ul>
+ * Run with {@code ./gradlew :adapter-hazelcast:jmh -PjmhArgs='HazelcastJsonQueryBenchmark'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HazelcastJsonQueryBenchmark {
+
+    private static final int ENTRIES = 50_000;
+    private static final String MAP_NAME = "json-query-benchmark";
+    private static final double LOW = 150.0;
+    private static final double HIGH = 151.0;
+
+    @Param({"string-client-scan", "json-scan", "json-indexed"})
+    public String mode;
+
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastBufferCacheAdapter<Quote> adapter;
+    private final Predicate<String, Object> inBand = Predicates.between("price", LOW, HIGH);
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setClusterName("json-query-benchmark-" + mode);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache(MAP_NAME);
+        properties.setJsonValue(!mode.equals("string-client-scan"));
+        if (mode.equals("json-indexed")) {
+            properties.getIndexes().setSorted(List.of("price"));
+        }
+        adapter = new HazelcastBufferCacheAdapter<>(hazelcastInstance, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP);
+
+        Map<String, Quote> quotes = new HashMap<>();
+        Instant now = Instant.parse("2024-01-01T09:30:00Z");
+        for (int i = 0; i < ENTRIES; i++) {
+            String symbol = "SYM" + i;
+            quotes.put(symbol, new Quote("MAX", symbol, 100.0 + i / 100.0, 1_000L + i, now.plusMillis(i)));
+        }
+        adapter.send(quotes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Benchmark
+    public int selectPriceBand() {
+        if (mode.equals("string-client-scan")) {
+            int matches = 0;
+            for (Quote quote : adapter.query(Predicates.alwaysTrue(), Quote.class).values()) {
+                if (quote.price() >= LOW && quote.price() <= HIGH) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+        return adapter.query(inBand, Quote.class).size();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastConfiguration;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastProfile;
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time and put throughput of each {@link HazelcastProfile} against a local cluster of one
+ * embedded data member: {@code startup} starts and stops an instance of the profile (single shot,
+ * milliseconds), {@code putAll} writes {@value #ENTRIES} JSON strings through it (entries per second).
+ * <p>
+ * Run with {@code ./gradlew :adapter-hazelcast:jmh -PjmhArgs='HazelcastProfileBenchmark'}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class HazelcastProfileBenchmark {
+
+    private static final int ENTRIES = 10_000;
+    private static final String MAP_NAME = "profile-benchmark";
+    private static final String CLUSTER_NAME = "profile-benchmark";
+    private static final String MEMBER_ADDRESS = "127.0.0.1:5701";
+
+    @Param({"DATA_MEMBER", "LITE_MEMBER", "CLIENT", "MEMBER"})
+    public HazelcastProfile profile;
+
+    private HazelcastInstance clusterMember;
+    private HazelcastInstance instance;
+    private IMap<String, Object> map;
+    private Map<String, Object> entries;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config clusterConfig = new Config();
+        clusterConfig.setClusterName(CLUSTER_NAME);
+        clusterConfig.getNetworkConfig().setPort(5701).setPortAutoIncrement(false);
+        clusterConfig.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        clusterConfig.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        clusterConfig.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).setMembers(List.of(MEMBER_ADDRESS));
+        clusterMember = Hazelcast.newHazelcastInstance(clusterConfig);
+
+        instance = start(profile);
+        map = instance.getMap(MAP_NAME);
+        entries = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            entries.put("SYM" + i, "{\"symbol\":\"SYM" + i + "\",\"price\":" + (100.0 + i / 100.0) + "}");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        instance.shutdown();
+        clusterMember.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void startup() {
+        start(profile).shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @OperationsPerInvocation(ENTRIES)
+    public void putAll() {
+        map.putAll(entries);
+    }
+
+    private static HazelcastInstance start(HazelcastProfile profile) {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache(MAP_NAME);
+        properties.getCluster().setProfile(profile);
+        properties.getCluster().setClusterName(CLUSTER_NAME);
+        properties.getCluster().setMembers(List.of(MEMBER_ADDRESS));
+        properties.getCluster().setWaitSecondsBeforeJoin(0);
+        if (profile == HazelcastProfile.CLIENT) {
+            return HazelcastClient.newHazelcastClient(HazelcastConfiguration.clientConfig(properties));
+        }
+        Config config = HazelcastConfiguration.memberConfig(properties);
+        // every benchmark instance is a separate member of the same cluster
+        config.setInstanceName(null);
+        return Hazelcast.newHazelcastInstance(config);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.marketdata.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer throughput with three writers updating {@code symbols} keys while one flusher releases
+ * the buffer, in operations per microsecond per thread group member: {@code put} is the writers'
+ * rate, {@code release} the flusher's (each release walks the retired map, as a flush does).
+ * <p>
+ * Run with {@code ./gradlew :adapter-hazelcast:jmh -PjmhArgs='MarketDataBufferBenchmark -prof gc'}
+ * to compare the allocation rate of the implementations.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketDataBufferBenchmark {
+
+    @Param({"concurrent-map", "double-buffered", "slot-array"})
+    public String type;
+
+    @Param({"1000", "50000"})
+    public int symbols;
+
+    private MarketDataBuffer<Long> buffer;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        buffer = switch (type) {
+            case "double-buffered" -> new DoubleBufferedMarketDataBuffer<>();
+            case "slot-array" -> new SlotArrayMarketDataBuffer<>(symbols);
+            default -> new MarketDataBuffer<>();
+        };
+        keys = new String[symbols];
+        for (int i = 0; i < symbols; i++) {
+            keys[i] = "SYM" + i;
+        }
+    }
+
+    @Benchmark
+    @Group("putAndRelease")
+    @GroupThreads(3)
+    public void put() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        buffer.put(keys[random.nextInt(symbols)], random.nextLong());
+    }
+
+    @Benchmark
+    @Group("putAndRelease")
+    @GroupThreads(1)
+    public long release() {
+        long checksum = 0;
+        for (Long value : buffer.releaseBuffer().values()) {
+            checksum += value;
+        }
+        return checksum;
+    }
+}
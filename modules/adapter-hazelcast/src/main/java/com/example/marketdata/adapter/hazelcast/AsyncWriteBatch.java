@@ -0,0 +1,111 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One round of asynchronous Hazelcast calls with at most {@code maxInFlight} outstanding and one
+ * deadline for the whole round. Failures are collected rather than thrown; calls still pending at
+ * the deadline are reported as {@link RetryableHazelcastException}s.
+ */
+final class AsyncWriteBatch {
+
+    private final String target;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final long deadlineNanos;
+    private final Semaphore permits;
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    private boolean timedOut;
+
+    AsyncWriteBatch(final String target, final int maxInFlight, final long timeoutMs) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.target = target;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Issue {@code call} once a slot is free.
+     *
+     * @return {@code false} when no slot freed up before the deadline; the call was not issued
+     */
+    <R> boolean submit(final Supplier<? extends CompletionStage<R>> call, final Consumer<R> onSuccess)
+            throws InterruptedException {
+        if (timedOut || !permits.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+            if (!timedOut) {
+                timedOut = true;
+                failures.add(new RetryableHazelcastException("Timed out after " + timeoutMs
+                        + " ms waiting for in-flight writes to " + target));
+            }
+            return false;
+        }
+        try {
+            call.get().whenComplete((result, error) -> {
+                try {
+                    if (error != null) {
+                        failures.add(unwrap(error));
+                    } else {
+                        onSuccess.accept(result);
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Wait for every issued call, up to the deadline.
+     *
+     * @return failures of the round, empty when every call succeeded
+     */
+    List<Throwable> await() {
+        try {
+            // every permit is back once no call is outstanding
+            if (permits.tryAcquire(maxInFlight, remainingNanos(), TimeUnit.NANOSECONDS)) {
+                permits.release(maxInFlight);
+            } else if (!timedOut) {
+                timedOut = true;
+                failures.add(new RetryableHazelcastException("Timed out after " + timeoutMs
+                        + " ms with " + (maxInFlight - permits.availablePermits()) + " writes pending on " + target));
+            }
+        } catch (InterruptedException e) {
+            interrupted(e);
+        }
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    void interrupted(final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failures.add(new HazelcastException("Interrupted while writing to " + target, e));
+    }
+
+    private long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.EntryExpiry;
+import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes entries as one {@link ConditionalPutProcessor} per key, executed on the partition owner,
+ * with at most {@code maxInFlight} calls outstanding. A key is only written while the map still
+ * holds the value expected for it; entries of event classes with their own expiry get their time
+ * to live.
+ * <p>
+ * Failures are collected instead of thrown, as in {@link PartitionedMapWriter}.
+ */
+@Slf4j
+class ConditionalMapWriter {
+
+    private final EntryExpiry expiry;
+    private final int maxInFlight;
+    private final long timeoutMs;
+
+    ConditionalMapWriter(final EntryExpiry expiry, final int maxInFlight, final long timeoutMs) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.expiry = expiry;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @param entries  values to write by key
+     * @param expected values the map held for the same keys when they were read; absent keys are missing
+     * @return failures of the processor calls, empty when every key was written or kept
+     */
+    List<Throwable> write(final IMap<String, Object> map,
+                          final Map<String, Object> entries,
+                          final Map<String, Object> expected) {
+        AsyncWriteBatch writes = new AsyncWriteBatch(map.getName(), maxInFlight, timeoutMs);
+        AtomicLong kept = new AtomicLong();
+        try {
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                String key = entry.getKey();
+                ConditionalPutProcessor processor = new ConditionalPutProcessor(entry.getValue(), expected.get(key),
+                        expiry.isInEventClass(key) ? expiry.timeToLiveSeconds(key) : ConditionalPutProcessor.MAP_DEFAULT_TTL);
+                boolean issued = writes.submit(() -> map.submitToKey(key, processor), written -> {
+                    if (!written) {
+                        kept.incrementAndGet();
+                    }
+                });
+                if (!issued) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            writes.interrupted(e);
+        }
+
+        List<Throwable> failures = writes.await();
+        log.debug("Wrote {} of {} entries to {} ({} changed since they were read) with {} failures",
+                entries.size() - kept.get(), entries.size(), map.getName(), kept.get(), failures.size());
+        return failures;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a value on the member that owns the key only when the map still holds the value the
+ * caller read before, so a value written in between is kept. Answers whether the value was written.
+ * <p>
+ * With a time to live the entry gets that expiry instead of the map defaults; an event class
+ * max idle cannot be set from an entry processor, so such entries keep the map-wide max idle until
+ * their next live write.
+ * <p>
+ * The processor runs on the cluster members: in client-server deployments this class must be on
+ * the members' classpath.
+ */
+public class ConditionalPutProcessor implements EntryProcessor<String, Object, Boolean>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Keeps the map-wide time to live.
+     */
+    public static final int MAP_DEFAULT_TTL = -1;
+
+    private final Object value;
+    private final Object expected;
+    private final int timeToLiveSeconds;
+
+    /**
+     * @param value             value to write
+     * @param expected          value the map must still hold, {@code null} for an absent key
+     * @param timeToLiveSeconds expiry of the written entry, {@code 0} for never or
+     *                          {@link #MAP_DEFAULT_TTL} for the map default
+     */
+    public ConditionalPutProcessor(final Object value, final Object expected, final int timeToLiveSeconds) {
+        this.value = value;
+        this.expected = expected;
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    @Override
+    public Boolean process(final Map.Entry<String, Object> entry) {
+        if (!sameValue(entry.getValue(), expected)) {
+            return false;
+        }
+        if (timeToLiveSeconds != MAP_DEFAULT_TTL && entry instanceof ExtendedMapEntry<String, Object> extended) {
+            extended.setValue(value, timeToLiveSeconds, TimeUnit.SECONDS);
+        } else {
+            entry.setValue(value);
+        }
+        return true;
+    }
+
+    private static boolean sameValue(final Object current, final Object expected) {
+        if (current instanceof byte[] currentBytes && expected instanceof byte[] expectedBytes) {
+            return Arrays.equals(currentBytes, expectedBytes);
+        }
+        return Objects.equals(current, expected);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.EntryExpiry;
+import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes entries of event classes with their own expiry, one
+ * {@link IMap#setAsync(Object, Object, long, TimeUnit, long, TimeUnit)} per entry with at most
+ * {@code maxInFlight} calls outstanding. {@code putAll} cannot carry an expiry, so only these entries
+ * pay for single writes; the rest of a batch keeps the map defaults.
+ * <p>
+ * Failures are collected instead of thrown, as in {@link PartitionedMapWriter}.
+ */
+@Slf4j
+class ExpiringMapWriter {
+
+    private final EntryExpiry expiry;
+    private final int maxInFlight;
+    private final long timeoutMs;
+
+    ExpiringMapWriter(final EntryExpiry expiry, final int maxInFlight, final long timeoutMs) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.expiry = expiry;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @return whether {@code key} is written here rather than with the map defaults
+     */
+    boolean handles(final String key) {
+        return expiry.isInEventClass(key);
+    }
+
+    /**
+     * @return failures of the entry writes, empty when every entry was written
+     */
+    List<Throwable> write(final IMap<String, Object> map, final Map<String, Object> entries) {
+        AsyncWriteBatch writes = new AsyncWriteBatch(map.getName(), maxInFlight, timeoutMs);
+        try {
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                String key = entry.getKey();
+                // 0 means never for both, overriding the map defaults
+                if (!writes.submit(() -> map.setAsync(key, entry.getValue(),
+                        expiry.timeToLiveSeconds(key), TimeUnit.SECONDS,
+                        expiry.maxIdleSeconds(key), TimeUnit.SECONDS), ignored -> { })) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            writes.interrupted(e);
+        }
+
+        List<Throwable> failures = writes.await();
+        log.debug("Wrote {} entries with event class expiry to {} with {} failures",
+                entries.size(), map.getName(), failures.size());
+        return failures;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.JsonFieldMergeProcessor.Result;
+import com.example.marketdata.stats.StatsRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes a batch as one {@link JsonFieldMergeProcessor} per key, executed on the partition owner,
+ * with at most {@code maxInFlight} calls outstanding.
+ * <p>
+ * Each value is diffed against the previous value of the same key: only the top-level fields that
+ * changed are sent, an unchanged value is not sent at all, and a key without a previous value or
+ * with removed fields is sent as a full image. Keys the cluster no longer holds are answered with
+ * {@link Result#MISSING} and resent as full images in the same call. Updates rejected as older than
+ * the stored value are counted as {@value #MERGE_STALE_METRIC}.
+ */
+@Slf4j
+class FieldMergeMapWriter {
+
+    static final String MERGE_FIELDS_METRIC = "dispatched.hazelcast.merge.fields";
+    static final String MERGE_FULL_METRIC = "dispatched.hazelcast.merge.full";
+    static final String MERGE_STALE_METRIC = "dispatched.hazelcast.merge.stale";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String timestampField;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final StatsRecorder statsRecorder;
+
+    FieldMergeMapWriter(final String timestampField,
+                        final int maxInFlight,
+                        final long timeoutMs,
+                        final StatsRecorder statsRecorder) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.timestampField = timestampField == null || timestampField.isBlank() ? null : timestampField;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+        this.statsRecorder = statsRecorder;
+    }
+
+    /**
+     * @param batch    JSON values to write by key
+     * @param previous values last confirmed written for the same keys; missing keys are sent as full images
+     * @return failures of the processor calls, empty when every key was written or rejected as stale
+     */
+    List<Throwable> write(final IMap<String, Object> map,
+                          final Map<String, Object> batch,
+                          final Map<String, Object> previous) {
+        Map<String, JsonFieldMergeProcessor> processors = new HashMap<>();
+        batch.forEach((key, value) -> {
+            JsonFieldMergeProcessor processor = processorFor((String) value, (String) previous.get(key));
+            if (processor != null) {
+                processors.put(key, processor);
+            }
+        });
+
+        Set<String> missing = ConcurrentHashMap.newKeySet();
+        AtomicLong stale = new AtomicLong();
+        List<Throwable> failures = submit(map, processors, missing, stale);
+        if (failures.isEmpty() && !missing.isEmpty()) {
+            Map<String, JsonFieldMergeProcessor> fullImages = new HashMap<>();
+            missing.forEach(key -> fullImages.put(key, fullImage((String) batch.get(key))));
+            failures = submit(map, fullImages, ConcurrentHashMap.newKeySet(), stale);
+        }
+
+        if (stale.get() > 0) {
+            statsRecorder.addCount(MERGE_STALE_METRIC, stale.get());
+            log.info("{} updates for {} were older than the stored values and were skipped", stale.get(), map.getName());
+        }
+        log.debug("Merged {} of {} entries into {} ({} resent as full images) with {} failures",
+                processors.size(), batch.size(), map.getName(), missing.size(), failures.size());
+        return failures;
+    }
+
+    private List<Throwable> submit(final IMap<String, Object> map,
+                                   final Map<String, JsonFieldMergeProcessor> processors,
+                                   final Set<String> missing,
+                                   final AtomicLong stale) {
+        AsyncWriteBatch writes = new AsyncWriteBatch(map.getName(), maxInFlight, timeoutMs);
+        try {
+            for (Map.Entry<String, JsonFieldMergeProcessor> entry : processors.entrySet()) {
+                String key = entry.getKey();
+                boolean issued = writes.submit(() -> map.submitToKey(key, entry.getValue()), result -> {
+                    if (result == Result.MISSING) {
+                        missing.add(key);
+                    } else if (result == Result.STALE) {
+                        stale.incrementAndGet();
+                    }
+                });
+                if (!issued) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            writes.interrupted(e);
+        }
+        return writes.await();
+    }
+
+    private JsonFieldMergeProcessor processorFor(final String json, final String previousJson) {
+        if (previousJson == null) {
+            return fullImage(json);
+        }
+        ObjectNode changed = changedFields(json, previousJson);
+        if (changed == null) {
+            return fullImage(json);
+        }
+        if (changed.isEmpty()) {
+            return null;
+        }
+        statsRecorder.addCount(MERGE_FIELDS_METRIC, 1);
+        return JsonFieldMergeProcessor.fields(changed.toString(), timestampField);
+    }
+
+    private JsonFieldMergeProcessor fullImage(final String json) {
+        statsRecorder.addCount(MERGE_FULL_METRIC, 1);
+        return JsonFieldMergeProcessor.fullImage(json, timestampField);
+    }
+
+    /**
+     * @return the top-level fields of {@code json} that differ from {@code previousJson} (always
+     * including the timestamp field, so the member can compare it), or {@code null} when a field was
+     * removed or either value is not a JSON object
+     */
+    private ObjectNode changedFields(final String json, final String previousJson) {
+        try {
+            JsonNode current = MAPPER.readTree(json);
+            JsonNode previous = MAPPER.readTree(previousJson);
+            if (!(current instanceof ObjectNode currentObject) || !(previous instanceof ObjectNode previousObject)) {
+                return null;
+            }
+            Iterator<String> previousFields = previousObject.fieldNames();
+            while (previousFields.hasNext()) {
+                if (!currentObject.has(previousFields.next())) {
+                    return null;
+                }
+            }
+            ObjectNode changed = MAPPER.createObjectNode();
+            currentObject.fields().forEachRemaining(field -> {
+                if (!field.getValue().equals(previousObject.get(field.getKey()))) {
+                    changed.set(field.getKey(), field.getValue());
+                }
+            });
+            if (!changed.isEmpty() && timestampField != null && currentObject.has(timestampField)) {
+                changed.set(timestampField, currentObject.get(timestampField));
+            }
+            return changed;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
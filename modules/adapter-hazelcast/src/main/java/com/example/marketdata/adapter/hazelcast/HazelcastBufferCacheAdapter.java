@@ -1,73 +1,241 @@
 package com.example.marketdata.adapter.hazelcast;
 
+import com.example.marketdata.adapter.hazelcast.config.EntryExpiry;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastWriteMode;
+import com.example.marketdata.adapter.hazelcast.config.HistoryRingbuffers;
+import com.example.marketdata.adapter.hazelcast.config.IndexProperties;
 import com.example.marketdata.adapter.hazelcast.handler.MarketDataBufferHandler;
+import com.example.marketdata.cache.ShadowCache;
+import com.example.marketdata.codec.EncodedPayloadCache;
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
 import com.example.marketdata.exception.ProcessorRetryableException;
 import com.example.marketdata.exception.ProcessorRuntimeException;
 import com.example.marketdata.model.MarketDataEvent;
-import com.example.marketdata.util.JsonUtil;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.core.LifecycleListener;
 import com.hazelcast.core.LifecycleEvent.LifecycleState;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryConstants;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Adapter that serializes market data payloads to JSON and persists them into a Hazelcast
- * map, while keeping a local shadow cache to support reconnection scenarios.
+ * Adapter that serializes market data payloads with the configured {@link PayloadCodec} and
+ * persists them into a Hazelcast map, while keeping a local shadow cache to support reconnection
+ * scenarios.
  * <p>
  * Uses {@code marketdata.hazelcast.cache-name} (default {@code default-name}) to determine which
- * Hazelcast map to update and retain a matching shadow cache for reconnection flows.
+ * Hazelcast map to update and retain a matching shadow cache for reconnection flows, and
+ * {@code marketdata.hazelcast.codec} (default {@code json}) to select the wire format. See
+ * {@link HazelcastAdapterProperties}.
+ * <p>
+ * With {@code marketdata.hazelcast.write-mode} set to an async mode a flush is split by partition
+ * owner or partition and written with bounded concurrency by {@link PartitionedMapWriter}. Group
+ * failures are folded into the same classification as a failed {@code putAll}: the flush is
+ * retryable only when every failed group failed with a retryable Hazelcast error.
+ * <p>
+ * With {@code write-mode} {@code field-merge} (JSON codec only) {@link FieldMergeMapWriter} sends
+ * just the changed fields of each value through an entry processor on the partition owner,
+ * optionally rejecting updates older than the stored value ({@code merge-timestamp-field}). Values
+ * are diffed against the value last confirmed written for the key, so a key whose last write failed,
+ * or that was only preloaded, is sent as a full image.
+ * <p>
+ * After a client reconnect only the keys that changed or failed since the disconnect are resent by
+ * {@link ShadowCacheResync}; a start, merge or switch to a new cluster replays the whole shadow cache.
+ * In every write mode the resync writes through {@link ConditionalMapWriter}, which only replaces the
+ * value it read from the map, so a live write that lands meanwhile is not overwritten.
+ * <p>
+ * Reads are served from the shadow cache when this process wrote the value within
+ * {@code marketdata.hazelcast.read.shadow-max-age-ms}, and otherwise from the map, where the optional
+ * near cache ({@code read.near-cache.*}, invalidated by the cluster on change) avoids the remote call.
+ * Point reads count whether the shadow cache served them as {@value #READ_SHADOW_HITS_METRIC} and
+ * {@value #READ_SHADOW_MISSES_METRIC}. With the near cache enabled, the reads passed on to the map
+ * add the growth of its near cache statistics as {@value #READ_NEAR_CACHE_HITS_METRIC} and
+ * {@value #READ_NEAR_CACHE_MISSES_METRIC}. All reads record {@value #READ_LATENCY_METRIC}.
+ * <p>
+ * With {@code marketdata.hazelcast.json-value} JSON values are stored as {@link HazelcastJsonValue}, and
+ * the configured attribute indexes are added to the map. {@link #query(Predicate, Class)} and
+ * {@link #project(Predicate, Projection)} then filter and project on the members, using the indexes,
+ * instead of shipping every value to this process. They report {@value #QUERY_LATENCY_METRIC}. The
+ * shadow cache keeps plain Strings either way.
+ * <p>
+ * With {@code marketdata.hazelcast.skip-unchanged} (the default) {@link #send(Map)} skips entries whose
+ * encoded value has the content hash of the value last written for the key, reported as
+ * {@value #UNCHANGED_METRIC}. A skipped entry does not refresh the shadow cache either, so both
+ * keep expiring from the last real write. It is turned off when {@code expiry.max-size} bounds the map,
+ * since the cluster may evict an entry the adapter still considers written.
+ * <p>
+ * Entries expire as configured by {@code marketdata.hazelcast.expiry.*}: map-wide settings are map
+ * config, while entries of event classes with their own expiry are written one by one by
+ * {@link ExpiringMapWriter}. The shadow cache drops entries at the same expiry, so a resync never
+ * brings back a key the cluster has expired.
+ * <p>
+ * {@link #subscribe(String, Predicate, Class, QueryCacheView.Listener)} replaces polling the map with a
+ * continuous query: a {@link QueryCacheView} kept up to date by the members, in batches coalesced as
+ * configured by {@code marketdata.hazelcast.query-cache.*}.
+ * <p>
+ * With {@code marketdata.hazelcast.history.enabled} every buffered update is also appended to a bounded
+ * ringbuffer by {@link RingbufferHistory}, before the buffer coalesces it, and the last ticks of a
+ * cache ID can be read with {@link #getHistory(String, int, Class)}.
  */
 @Slf4j
 @Component
 public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdapter<T> {
 
+    static final String READ_SHADOW_HITS_METRIC = "dispatched.hazelcast.read.shadow.hits";
+    static final String READ_SHADOW_MISSES_METRIC = "dispatched.hazelcast.read.shadow.misses";
+    static final String READ_NEAR_CACHE_HITS_METRIC = "dispatched.hazelcast.read.nearcache.hits";
+    static final String READ_NEAR_CACHE_MISSES_METRIC = "dispatched.hazelcast.read.nearcache.misses";
+    static final String READ_LATENCY_METRIC = "dispatched.hazelcast.read.latency.ms";
+    static final String QUERY_LATENCY_METRIC = "dispatched.hazelcast.query.latency.ms";
+    static final String UNCHANGED_METRIC = "dispatched.hazelcast.events.unchanged";
+
     private final HazelcastInstance hazelcastInstance;
     private final String cacheName;
+    private final PayloadCodec payloadCodec;
     private final MarketDataBufferHandler<T> marketDataBufferHandler;
     private final HazelcastBufferThrottle<T> hazelcastBufferThrottle;
+    private final PartitionedMapWriter partitionedMapWriter;
+    private final FieldMergeMapWriter fieldMergeMapWriter;
+    private final ExpiringMapWriter expiringMapWriter;
+    private final ConditionalMapWriter conditionalMapWriter;
+    private final RingbufferHistory history;
+    private final boolean jsonValue;
+    private final boolean skipUnchanged;
 
-    // Secondary local cache with latest values (JSON already serialized)
+    // Secondary local cache with latest values (already encoded map values)
     // this cache will have the latest updates and will be resent when Hazelcast is reconnected.
-    private final ConcurrentMap<String, String> latestValues = new ConcurrentHashMap<>();
+    private final ShadowCache latestValues;
+    private final ShadowCacheResync shadowCacheResync;
+    private final long shadowMaxAgeMs;
+    private final boolean nearCacheEnabled;
+    // near cache totals already reported, the statistics only count up
+    private final AtomicLong nearCacheHits = new AtomicLong();
+    private final AtomicLong nearCacheMisses = new AtomicLong();
+    private final StatsRecorder statsRecorder;
 
+    @Autowired
     public HazelcastBufferCacheAdapter(final HazelcastInstance hazelcastInstance,
-                                       @Value("${marketdata.hazelcast.cache-name:default-name}")
-                                       final String cacheName) {
-        this(hazelcastInstance, cacheName, null, null);
+                                       final HazelcastAdapterProperties properties,
+                                       final MarketDataBufferHandler<T> marketDataBufferHandler,
+                                       @Lazy final HazelcastBufferThrottle<T> hazelcastBufferThrottle,
+                                       final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                                       final ObjectProvider<StatsRecorder> statsRecorder) {
+        this(hazelcastInstance, properties, marketDataBufferHandler, hazelcastBufferThrottle,
+                payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
     }
 
-    @Autowired
     public HazelcastBufferCacheAdapter(final HazelcastInstance hazelcastInstance,
-                                       @Value("${marketdata.hazelcast.cache-name:default-name}")
-                                       final String cacheName,
+                                       final HazelcastAdapterProperties properties,
                                        final MarketDataBufferHandler<T> marketDataBufferHandler,
-                                       @Lazy final HazelcastBufferThrottle<T> hazelcastBufferThrottle) {
+                                       final HazelcastBufferThrottle<T> hazelcastBufferThrottle,
+                                       final PayloadCodecRegistry payloadCodecRegistry,
+                                       final StatsRecorder statsRecorder) {
         this.hazelcastInstance = hazelcastInstance;
-        this.cacheName = cacheName;
+        this.cacheName = properties.getCacheName();
+        this.payloadCodec = payloadCodecRegistry.get(properties.getCodec());
         this.marketDataBufferHandler = marketDataBufferHandler;
         this.hazelcastBufferThrottle = hazelcastBufferThrottle;
+        EntryExpiry expiry = new EntryExpiry(properties.getExpiry());
+        this.latestValues = new ShadowCache(properties.getShadowCache(), expiry);
+        this.shadowMaxAgeMs = properties.getRead().getShadowMaxAgeMs();
+        this.nearCacheEnabled = properties.getRead().getNearCache().isEnabled();
+        this.statsRecorder = statsRecorder;
+        HazelcastWriteMode writeMode = properties.getWriteMode();
+        if (writeMode == HazelcastWriteMode.FIELD_MERGE && !payloadCodec.isTextual()) {
+            throw new IllegalArgumentException("Write mode " + writeMode + " requires the json codec but cache "
+                    + cacheName + " uses " + properties.getCodec());
+        }
+        this.jsonValue = properties.isJsonValue();
+        this.skipUnchanged = properties.isSkipUnchanged() && properties.getExpiry().getMaxSize() == 0;
+        if (properties.isSkipUnchanged() && !skipUnchanged) {
+            log.warn("Ignoring skip-unchanged for Hazelcast cache {}: with expiry.max-size {} evicted entries "
+                    + "would not be restored by an unchanged republish", cacheName, properties.getExpiry().getMaxSize());
+        }
+        if (jsonValue && !payloadCodec.isTextual()) {
+            throw new IllegalArgumentException("json-value requires the json codec but cache "
+                    + cacheName + " uses " + properties.getCodec());
+        }
+        if (jsonValue && writeMode == HazelcastWriteMode.FIELD_MERGE) {
+            throw new IllegalArgumentException("json-value cannot be combined with write mode " + writeMode
+                    + " for cache " + cacheName);
+        }
+        if (expiry.hasEventClasses() && writeMode == HazelcastWriteMode.FIELD_MERGE) {
+            throw new IllegalArgumentException("Expiry by prefix cannot be combined with write mode " + writeMode
+                    + " for cache " + cacheName);
+        }
+        this.partitionedMapWriter = writeMode == HazelcastWriteMode.ASYNC_BY_OWNER
+                || writeMode == HazelcastWriteMode.ASYNC_BY_PARTITION
+                ? new PartitionedMapWriter(hazelcastInstance.getPartitionService(), writeMode,
+                        properties.getMaxInFlightWrites(), properties.getAsyncWriteTimeoutMs())
+                : null;
+        this.fieldMergeMapWriter = writeMode == HazelcastWriteMode.FIELD_MERGE
+                ? new FieldMergeMapWriter(properties.getMergeTimestampField(), properties.getMaxInFlightWrites(),
+                        properties.getAsyncWriteTimeoutMs(), statsRecorder)
+                : null;
+        this.expiringMapWriter = expiry.hasEventClasses()
+                ? new ExpiringMapWriter(expiry, properties.getMaxInFlightWrites(), properties.getAsyncWriteTimeoutMs())
+                : null;
+        this.conditionalMapWriter = new ConditionalMapWriter(expiry, properties.getMaxInFlightWrites(),
+                properties.getAsyncWriteTimeoutMs());
+        this.history = properties.getHistory().isEnabled()
+                ? new RingbufferHistory(hazelcastInstance, new HistoryRingbuffers(cacheName, properties.getHistory()),
+                        properties.getMaxInFlightWrites(), statsRecorder)
+                : null;
+        this.shadowCacheResync = new ShadowCacheResync(cacheName, latestValues, new ResyncChunkWriter(),
+                properties.getResync(), properties.getShadowCache().getResendChunkSize(), statsRecorder);
+
+        addIndexes(properties.getIndexes());
 
         // Listen to Hazelcast lifecycle events (client reconnected, started, etc.)
         createHazelcastListener(hazelcastInstance);
     }
 
+    private void addIndexes(IndexProperties indexes) {
+        if (indexes.getSorted().isEmpty() && indexes.getHash().isEmpty()) {
+            return;
+        }
+        IMap<String, Object> cache = hazelcastInstance.getMap(cacheName);
+        // adding an index that already exists is a no-op, so every adapter instance may do this
+        indexes.getSorted().forEach(attribute -> cache.addIndex(IndexType.SORTED, attribute));
+        indexes.getHash().forEach(attribute -> cache.addIndex(IndexType.HASH, attribute));
+        log.info("Indexes on Hazelcast cache {}: sorted {}, hash {}", cacheName, indexes.getSorted(), indexes.getHash());
+    }
+
     @Override
     public void bufferMarketData(List<MarketDataEvent> batch) {
         log.info("Hazelcast adapter buffering batch of size {}", batch.size());
@@ -86,6 +254,210 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
         );
 
         handler.handleAll(batchMap);
+
+        if (history != null) {
+            appendHistory(batch);
+        }
+    }
+
+    @Override
+    public void preload(final List<MarketDataEvent> events) {
+        @SuppressWarnings("unchecked")
+        Map<String, T> entries = events.stream()
+                .filter(event -> event != null && StringUtils.hasText(event.getCacheId()))
+                .collect(Collectors.toMap(
+                        MarketDataEvent::getCacheId,
+                        e -> (T) e,
+                        (oldVal, newVal) -> newVal
+                ));
+        if (entries.isEmpty()) {
+            return;
+        }
+        latestValues.putAll(buildBatch(entries));
+        Objects.requireNonNull(marketDataBufferHandler, "MarketDataBufferHandler is required to preload market data")
+                .handleAll(entries);
+        log.debug("Preloaded {} entries into Hazelcast cache {} buffer and shadow cache", entries.size(), cacheName);
+    }
+
+    private void appendHistory(List<MarketDataEvent> batch) {
+        List<HistoryEntry> ticks = new ArrayList<>(batch.size());
+        for (MarketDataEvent event : batch) {
+            if (event == null || !StringUtils.hasText(event.getCacheId())) {
+                continue;
+            }
+            try {
+                ticks.add(new HistoryEntry(event.getCacheId(), toMapValue(EncodedPayloadCache.encodeOnce(payloadCodec, event))));
+            } catch (Exception e) {
+                log.warn("Skipping history tick for cache {} and key '{}': {}", cacheName, event.getCacheId(), e.getMessage());
+            }
+        }
+        if (!ticks.isEmpty()) {
+            history.append(ticks);
+        }
+    }
+
+    @Override
+    public <V> List<V> getHistory(final String cacheId, final int lastN, final Class<V> type) {
+        if (history == null) {
+            throw new IllegalStateException("History is not enabled for Hazelcast cache " + cacheName);
+        }
+        return history.read(cacheId, lastN).stream()
+                .map(value -> decode(value, type))
+                .toList();
+    }
+
+    @Override
+    public <V> V get(final String cacheId, final Class<V> type) {
+        final long startNanos = System.nanoTime();
+        try {
+            Object value = latestValues.getIfWrittenWithin(cacheId, shadowMaxAgeMs);
+            if (value != null) {
+                statsRecorder.addCount(READ_SHADOW_HITS_METRIC, 1);
+            } else {
+                statsRecorder.addCount(READ_SHADOW_MISSES_METRIC, 1);
+                IMap<String, Object> cache = hazelcastInstance.getMap(cacheName);
+                value = cache.get(cacheId);
+                recordNearCacheStats(cache);
+            }
+            return value == null ? null : decode(value, type);
+        } finally {
+            recordReadLatency(startNanos);
+        }
+    }
+
+    @Override
+    public <V> Map<String, V> getAll(final Collection<String> cacheIds, final Class<V> type) {
+        final long startNanos = System.nanoTime();
+        try {
+            Map<String, V> result = new HashMap<>();
+            Set<String> misses = new HashSet<>();
+            for (String cacheId : cacheIds) {
+                Object value = latestValues.getIfWrittenWithin(cacheId, shadowMaxAgeMs);
+                if (value != null) {
+                    result.put(cacheId, decode(value, type));
+                } else {
+                    misses.add(cacheId);
+                }
+            }
+            statsRecorder.addCount(READ_SHADOW_HITS_METRIC, result.size());
+            statsRecorder.addCount(READ_SHADOW_MISSES_METRIC, misses.size());
+            if (!misses.isEmpty()) {
+                IMap<String, Object> cache = hazelcastInstance.getMap(cacheName);
+                cache.getAll(misses).forEach((cacheId, value) -> result.put(cacheId, decode(value, type)));
+                recordNearCacheStats(cache);
+            }
+            return result;
+        } finally {
+            recordReadLatency(startNanos);
+        }
+    }
+
+    @Override
+    public <V> Map<String, V> scanByPrefix(final String prefix, final Class<V> type) {
+        final long startNanos = System.nanoTime();
+        try {
+            Map<String, V> result = new HashMap<>();
+            hazelcastInstance.<String, Object>getMap(cacheName)
+                    .entrySet(Predicates.like(QueryConstants.KEY_ATTRIBUTE_NAME.value(), escapeLike(prefix) + "%"))
+                    .forEach(entry -> {
+                        Object fresher = latestValues.getIfWrittenWithin(entry.getKey(), shadowMaxAgeMs);
+                        result.put(entry.getKey(), decode(fresher != null ? fresher : entry.getValue(), type));
+                    });
+            return result;
+        } finally {
+            recordReadLatency(startNanos);
+        }
+    }
+
+    /**
+     * Values matching {@code predicate}, evaluated on the members. Attribute predicates such as
+     * {@code Predicates.greaterThan("price", 100)} need {@code json-value}; with indexes on the
+     * attributes the members do not scan the map.
+     */
+    public <V> Map<String, V> query(final Predicate<String, Object> predicate, final Class<V> type) {
+        final long startNanos = System.nanoTime();
+        try {
+            Map<String, V> result = new HashMap<>();
+            hazelcastInstance.<String, Object>getMap(cacheName).entrySet(predicate)
+                    .forEach(entry -> result.put(entry.getKey(), decode(entry.getValue(), type)));
+            return result;
+        } finally {
+            statsRecorder.recordLatency(QUERY_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Projection of the entries matching {@code predicate}, computed on the members, so only the
+     * projected attributes are transferred, for example
+     * {@code Projections.multiAttribute("symbol", "price")}.
+     */
+    public <R> Collection<R> project(final Predicate<String, Object> predicate,
+                                     final Projection<? super Map.Entry<String, Object>, R> projection) {
+        final long startNanos = System.nanoTime();
+        try {
+            return hazelcastInstance.<String, Object>getMap(cacheName).project(projection, predicate);
+        } finally {
+            statsRecorder.recordLatency(QUERY_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Subscribe to the entries matching {@code predicate}. The returned view is populated with the
+     * current matches (unless {@code query-cache.populate} is off) and then updated by the members;
+     * {@code listener}, if given, is registered before population and sees every later change. Views
+     * with the same {@code name} share one query cache.
+     */
+    public <V> QueryCacheView<V> subscribe(final String name, final Predicate<String, Object> predicate,
+                                           final Class<V> type, final QueryCacheView.Listener<V> listener) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(predicate, "predicate");
+        final IMap<String, Object> cache = hazelcastInstance.getMap(cacheName);
+        final Function<Object, V> decoder = value -> decode(value, type);
+        QueryCache<String, Object> queryCache = listener == null
+                ? cache.getQueryCache(name, predicate, true)
+                : cache.getQueryCache(name, QueryCacheView.mapListener(listener, decoder), predicate, true);
+        log.info("Subscribed query cache {} on Hazelcast cache {} with {} entries", name, cacheName, queryCache.size());
+        return new QueryCacheView<>(queryCache, decoder);
+    }
+
+    private <V> V decode(final Object mapValue, final Class<V> type) {
+        byte[] payload;
+        if (mapValue instanceof String text) {
+            payload = text.getBytes(StandardCharsets.UTF_8);
+        } else if (mapValue instanceof HazelcastJsonValue json) {
+            payload = json.getValue().getBytes(StandardCharsets.UTF_8);
+        } else {
+            payload = (byte[]) mapValue;
+        }
+        return payloadCodec.decode(payload, type);
+    }
+
+    /**
+     * Adds what the near cache counted since the last report. Concurrent readers each report only the
+     * part of the totals no other reader has reported yet.
+     */
+    private void recordNearCacheStats(final IMap<String, Object> cache) {
+        if (!nearCacheEnabled) {
+            return;
+        }
+        NearCacheStats stats = cache.getLocalMapStats().getNearCacheStats();
+        if (stats == null) {
+            return;
+        }
+        long hits = stats.getHits();
+        long misses = stats.getMisses();
+        statsRecorder.addCount(READ_NEAR_CACHE_HITS_METRIC,
+                Math.max(0, hits - nearCacheHits.getAndAccumulate(hits, Math::max)));
+        statsRecorder.addCount(READ_NEAR_CACHE_MISSES_METRIC,
+                Math.max(0, misses - nearCacheMisses.getAndAccumulate(misses, Math::max)));
+    }
+
+    private void recordReadLatency(final long startNanos) {
+        statsRecorder.recordLatency(READ_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private static String escapeLike(final String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private void createHazelcastListener(HazelcastInstance hazelcastInstance) {
@@ -96,18 +468,23 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
                         LifecycleState state = event.getState();
                         log.info("Hazelcast lifecycle event '{}' for cache {}", state, cacheName);
 
-                        // Consider both client and member lifecycle states
-                        if (state == LifecycleState.CLIENT_CONNECTED
-                                || state == LifecycleState.STARTED
-                                || state == LifecycleState.MERGED) {
-                            // Cluster is up/connected again → resend everything we have
-                            resendAllFromLocalCache();
+                        if (state == LifecycleState.CLIENT_CONNECTED) {
+                            // Client reconnected → resend what changed while it was away
+                            shadowCacheResync.onReconnect(false);
+                        }
+
+                        if (state == LifecycleState.STARTED
+                                || state == LifecycleState.MERGED
+                                || state == LifecycleState.CLIENT_CHANGED_CLUSTER) {
+                            // Cluster state unknown (start, split-brain merge, new cluster) → resend everything we have
+                            shadowCacheResync.onReconnect(true);
                         }
 
                         if (state == LifecycleState.CLIENT_DISCONNECTED
                                 || state == LifecycleState.SHUTDOWN) {
+                            shadowCacheResync.onDisconnect();
                             log.warn(
-                                    "Hazelcast connection lost for cache {}. {} buffered entries in shadow cache will be resent on reconnect.",
+                                    "Hazelcast connection lost for cache {}. {} buffered entries in shadow cache; keys changed from now on will be resent on reconnect.",
                                     cacheName, latestValues.size()
                             );
                         }
@@ -121,7 +498,7 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
             throw new IllegalArgumentException("entries are required");
         }
 
-        Map<String, String> batch = buildBatch(entries);
+        Map<String, Object> batch = buildBatch(entries);
         int droppedEntries = entries.size() - batch.size();
 
         if (batch.isEmpty()) {
@@ -134,17 +511,39 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
                     droppedEntries, cacheName, batch.size());
         }
 
-        // Always update local secondary cache first (latest view)
-        // in case of reconnection this cache will be full re-send
+        Map<String, Long> hashes = skipUnchanged ? skipUnchanged(batch)
+                : fieldMergeMapWriter != null ? contentHashes(batch) : null;
+        if (batch.isEmpty()) {
+            log.debug("No changed entries among {} for Hazelcast cache {}; skipping update", entries.size(), cacheName);
+            return;
+        }
+
+        // Field merges are diffed against the values the map confirmed, not the shadow cache's latest
+        Map<String, Object> previous = fieldMergeMapWriter == null ? Map.of() : previousValues(batch);
+
+        // Update the shadow cache first, so a failed write is resent on reconnect
         latestValues.putAll(batch);
 
         try {
-            final IMap<String, String> cache = hazelcastInstance.getMap(cacheName);
-            cache.putAll(batch);
+            final IMap<String, Object> cache = hazelcastInstance.getMap(cacheName);
+            List<Throwable> failures;
+            if (fieldMergeMapWriter != null) {
+                failures = fieldMergeMapWriter.write(cache, batch, previous);
+            } else {
+                failures = writeValues(cache, batch);
+            }
+            if (!failures.isEmpty()) {
+                throw aggregateFailures(failures);
+            }
+            if (hashes != null) {
+                latestValues.confirmWritten(hashes);
+            }
             log.info("Updated Hazelcast cache {} with {} entries; dropped {} invalid entries",
                     cacheName, batch.size(), droppedEntries);
 
         } catch (HazelcastException e) {
+            shadowCacheResync.markDirty(batch.keySet());
+            latestValues.forgetWritten(batch.keySet());
             // Hazelcast-specific error → decide retryable vs not
             if (isRetryableHazelcastException(e)) {
                 log.warn("Retryable Hazelcast error while updating cache {}: {}. " +
@@ -160,6 +559,8 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
             }
 
         } catch (RuntimeException e) {
+            shadowCacheResync.markDirty(batch.keySet());
+            latestValues.forgetWritten(batch.keySet());
             // Any other runtime exception in the adapter is treated as non-retryable
             log.error("Unexpected runtime error while updating Hazelcast cache {}. " +
                     "Entries remain in local shadow cache.", cacheName, e);
@@ -167,6 +568,102 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
         }
     }
 
+    /**
+     * Remove the entries whose value was already written from {@code batch}.
+     *
+     * @return content hashes of the remaining entries, to confirm once they are written
+     */
+    private Map<String, Long> skipUnchanged(Map<String, Object> batch) {
+        Map<String, Long> hashes = new HashMap<>();
+        int unchanged = 0;
+        Iterator<Map.Entry<String, Object>> iterator = batch.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            long hash = ShadowCache.contentHash(entry.getValue());
+            if (latestValues.isWritten(entry.getKey(), hash)) {
+                iterator.remove();
+                unchanged++;
+            } else {
+                hashes.put(entry.getKey(), hash);
+            }
+        }
+        if (unchanged > 0) {
+            statsRecorder.addCount(UNCHANGED_METRIC, unchanged);
+        }
+        return hashes;
+    }
+
+    private static Map<String, Long> contentHashes(Map<String, Object> batch) {
+        Map<String, Long> hashes = new HashMap<>();
+        batch.forEach((key, value) -> hashes.put(key, ShadowCache.contentHash(value)));
+        return hashes;
+    }
+
+    /**
+     * @return the values last confirmed written for the keys of {@code batch}; keys whose last write
+     * failed or was never confirmed are missing and sent as full images
+     */
+    private Map<String, Object> previousValues(Map<String, Object> batch) {
+        Map<String, Object> previous = new HashMap<>();
+        batch.keySet().forEach(key -> {
+            Object value = latestValues.getWritten(key);
+            if (value != null) {
+                previous.put(key, value);
+            }
+        });
+        return previous;
+    }
+
+    /**
+     * Resync chunks replace only the values read from the map beforehand, in every write mode.
+     */
+    private final class ResyncChunkWriter implements ShadowCacheResync.ChunkWriter {
+
+        @Override
+        public Map<String, Object> read(final Collection<String> keys) {
+            return hazelcastInstance.<String, Object>getMap(cacheName).getAll(new HashSet<>(keys));
+        }
+
+        @Override
+        public void write(final Map<String, Object> values, final Map<String, Object> expected) {
+            List<Throwable> failures = conditionalMapWriter.write(hazelcastInstance.getMap(cacheName),
+                    toStoredValues(values), expected);
+            if (!failures.isEmpty()) {
+                throw aggregateFailures(failures);
+            }
+        }
+    }
+
+    /**
+     * Write encoded values outside field-merge mode: entries of event classes with their own expiry
+     * one by one, the rest with {@code putAll}, or per partition group when an async write mode is
+     * configured.
+     *
+     * @return failures of async writes, empty when every write succeeded
+     */
+    private List<Throwable> writeValues(final IMap<String, Object> cache, final Map<String, Object> values) {
+        Map<String, Object> mapDefaults = toStoredValues(values);
+        List<Throwable> failures = new ArrayList<>();
+        if (expiringMapWriter != null) {
+            Map<String, Object> ownExpiry = new HashMap<>();
+            Map<String, Object> rest = new HashMap<>();
+            mapDefaults.forEach((key, value) -> (expiringMapWriter.handles(key) ? ownExpiry : rest).put(key, value));
+            if (!ownExpiry.isEmpty()) {
+                failures.addAll(expiringMapWriter.write(cache, ownExpiry));
+            }
+            mapDefaults = rest;
+        }
+        if (mapDefaults.isEmpty()) {
+            return failures;
+        }
+        if (partitionedMapWriter != null) {
+            failures.addAll(partitionedMapWriter.write(cache, mapDefaults));
+        } else {
+            cache.putAll(mapDefaults);
+        }
+        return failures;
+    }
+
     /**
      * Check if the exception (or any cause) is a retryable Hazelcast exception.
      */
@@ -180,8 +677,25 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
         return false;
     }
 
-    private Map<String, String> buildBatch(Map<String, T> entries) {
-        Map<String, String> batch = new HashMap<>();
+    /**
+     * Fold group failures into one exception whose cause is the first non-retryable failure, or the
+     * first failure when all of them are retryable, so the usual classification applies.
+     */
+    private HazelcastException aggregateFailures(List<Throwable> failures) {
+        Throwable primary = failures.stream()
+                .filter(failure -> !isRetryableHazelcastException(failure))
+                .findFirst()
+                .orElse(failures.get(0));
+        HazelcastException aggregated = new HazelcastException(
+                failures.size() + " write(s) failed for cache " + cacheName, primary);
+        failures.stream()
+                .filter(failure -> failure != primary)
+                .forEach(aggregated::addSuppressed);
+        return aggregated;
+    }
+
+    private Map<String, Object> buildBatch(Map<String, T> entries) {
+        Map<String, Object> batch = new HashMap<>();
         entries.forEach((key, value) -> {
             try {
                 if (!StringUtils.hasText(key)) {
@@ -190,8 +704,7 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
                 if (value == null) {
                     throw new IllegalArgumentException(key + " Payload is required");
                 }
-                String json = JsonUtil.toJson(value);
-                batch.put(key, json);
+                batch.put(key, toMapValue(EncodedPayloadCache.encodeOnce(payloadCodec, value)));
             } catch (Exception e) {
                 log.warn("Skipping invalid Hazelcast entry for cache {} and key '{}': {}", cacheName, key, e.getMessage(), e);
             }
@@ -200,22 +713,27 @@ public class HazelcastBufferCacheAdapter<T> implements IHazelcastBufferCacheAdap
     }
 
     /**
-     * Resend *all* latest values from the local cache to Hazelcast, typically after reconnect.
+     * Wrap JSON Strings as {@link HazelcastJsonValue} when {@code json-value} is enabled.
      */
-    private void resendAllFromLocalCache() {
-        Map<String, String> snapshot = new HashMap<>(latestValues);
-        if (snapshot.isEmpty()) {
-            log.info("Local shadow cache is empty; nothing to resend to Hazelcast {}", cacheName);
-            return;
+    private Map<String, Object> toStoredValues(Map<String, Object> values) {
+        if (!jsonValue) {
+            return values;
         }
+        Map<String, Object> stored = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> stored.put(key, new HazelcastJsonValue((String) value)));
+        return stored;
+    }
 
-        try {
-            log.info("Resending {} entries from local shadow cache to Hazelcast {}", snapshot.size(), cacheName);
-            IMap<String, String> cache = hazelcastInstance.getMap(cacheName);
-            cache.putAll(snapshot);
-            log.info("Resend to Hazelcast cache {} completed", cacheName);
-        } catch (Exception e) {
-            log.error("Failed to resend local shadow cache to Hazelcast {}", cacheName, e);
-        }
+    /**
+     * Textual codecs keep the historical String values so existing map readers keep working;
+     * binary codecs store the raw bytes.
+     */
+    private Object toMapValue(byte[] payload) {
+        return payloadCodec.isTextual() ? new String(payload, StandardCharsets.UTF_8) : payload;
+    }
+
+    @PreDestroy
+    public void close() {
+        shadowCacheResync.shutdown();
     }
 }
@@ -1,41 +1,140 @@
 package com.example.marketdata.adapter.hazelcast;
 
+import com.example.marketdata.adapter.hazelcast.config.HazelcastThrottleProperties;
 import com.example.marketdata.cache.MarketDataBuffer;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.stats.StatsRecorder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Scheduled throttle that periodically drains the in-memory market data buffer into
- * the Hazelcast cache adapter, protecting downstream systems from bursts.
- *
- * <p>Properties:
- * <ul>
- *     <li>{@code marketdata.throttle.interval-ms} (default: {@code 30000}) – interval in milliseconds
- *     between buffer flushes.</li>
- * </ul>
+ * Throttle that drains the in-memory market data buffer into the Hazelcast cache adapter,
+ * protecting downstream systems from bursts.
+ * <p>
+ * The buffer is flushed when it holds {@code marketdata.throttle.max-buffered-keys} keys, when its
+ * oldest unflushed change is older than {@code marketdata.throttle.max-staleness-ms}, or when
+ * {@code marketdata.throttle.interval-ms} passed since the last flush, whichever comes first. The
+ * triggers are evaluated every {@code marketdata.throttle.check-interval-ms} on a dedicated
+ * single-thread scheduler, so slow flushes never occupy Spring's shared task scheduler and never
+ * overlap. With the default triggers the buffer is flushed far more often than the former fixed
+ * {@code interval-ms} cadence; see {@link HazelcastThrottleProperties} to restore it.
+ * <p>
+ * When a flush fails with a {@link ProcessorRetryableException} its entries are merged back into the
+ * buffer, keeping any newer values that arrived meanwhile, and flushing pauses with exponential
+ * backoff before they are retried. Any other failure cannot succeed on retry, so the batch is dropped
+ * and counted in {@code dispatched.hazelcast.events.dropped}, like a processor drops a batch it cannot
+ * process.
  */
 @Slf4j
 @Component
 public class HazelcastBufferThrottle<T> {
 
+    enum FlushReason { SIZE, STALENESS, INTERVAL }
+
+    static final String DROPPED_METRIC = "dispatched.hazelcast.events.dropped";
+
     private final MarketDataBuffer<T> marketDataBuffer;
     private final HazelcastBufferCacheAdapter<T> hazelcastCacheAdapter;
+    private final HazelcastThrottleProperties properties;
+    private final StatsRecorder statsRecorder;
+
+    private ScheduledExecutorService scheduler;
+    private volatile long lastFlushNanos = System.nanoTime();
+    private volatile long retryNotBeforeNanos;
+    private int consecutiveFailures;
 
     public HazelcastBufferThrottle(MarketDataBuffer<T> marketDataBuffer,
                                    HazelcastBufferCacheAdapter<T> hazelcastCacheAdapter) {
+        this(marketDataBuffer, hazelcastCacheAdapter, new HazelcastThrottleProperties(), StatsRecorder.NOOP);
+    }
+
+    @Autowired
+    public HazelcastBufferThrottle(MarketDataBuffer<T> marketDataBuffer,
+                                   HazelcastBufferCacheAdapter<T> hazelcastCacheAdapter,
+                                   HazelcastThrottleProperties properties,
+                                   ObjectProvider<StatsRecorder> statsRecorder) {
+        this(marketDataBuffer, hazelcastCacheAdapter, properties, statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
+    }
+
+    public HazelcastBufferThrottle(MarketDataBuffer<T> marketDataBuffer,
+                                   HazelcastBufferCacheAdapter<T> hazelcastCacheAdapter,
+                                   HazelcastThrottleProperties properties,
+                                   StatsRecorder statsRecorder) {
         this.marketDataBuffer = marketDataBuffer;
         this.hazelcastCacheAdapter = hazelcastCacheAdapter;
+        this.properties = properties;
+        this.statsRecorder = statsRecorder;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-buffer-throttle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushIfDue,
+                properties.getCheckIntervalMs(), properties.getCheckIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Hazelcast buffer throttle started (interval {} ms, max keys {}, max staleness {} ms)",
+                properties.getIntervalMs(), properties.getMaxBufferedKeys(), properties.getMaxStalenessMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Flush when one of the triggers fired; called periodically by the dedicated scheduler.
+     */
+    public void flushIfDue() {
+        try {
+            FlushReason reason = dueReason();
+            if (reason != null) {
+                log.debug("Buffer flush triggered by {}", reason);
+                runThrottled();
+            }
+        } catch (RuntimeException e) {
+            // keep the scheduler alive; an exception would cancel the periodic task
+            log.error("Unexpected error while evaluating buffer flush triggers", e);
+        }
+    }
+
+    FlushReason dueReason() {
+        if (consecutiveFailures > 0 && System.nanoTime() - retryNotBeforeNanos < 0) {
+            return null;
+        }
+        int maxKeys = properties.getMaxBufferedKeys();
+        if (maxKeys > 0 && marketDataBuffer.size() >= maxKeys) {
+            return FlushReason.SIZE;
+        }
+        long maxStalenessMs = properties.getMaxStalenessMs();
+        if (maxStalenessMs > 0 && marketDataBuffer.getOldestPendingAgeMs() >= maxStalenessMs) {
+            return FlushReason.STALENESS;
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFlushNanos) >= properties.getIntervalMs()) {
+            return FlushReason.INTERVAL;
+        }
+        return null;
     }
 
-    @Scheduled(fixedRateString = "${marketdata.throttle.interval-ms:30000}")
     public void runThrottled() {
         log.debug("Running throttled cache flush");
+        lastFlushNanos = System.nanoTime();
         if (marketDataBuffer.isEmpty()) {
-            log.info("No elements in buffer to flush");
+            log.debug("No elements in buffer to flush");
             return;
         }
 
@@ -44,8 +143,24 @@ public class HazelcastBufferThrottle<T> {
         log.info("Flushing [{}] elements from throttled cache", batch.size());
         try {
             hazelcastCacheAdapter.send(batch);
+            consecutiveFailures = 0;
+        } catch (ProcessorRetryableException e) {
+            int merged = marketDataBuffer.mergeBack(batch);
+            long backoffMs = nextBackoffMs();
+            log.error("Error flushing {} elements to Hazelcast; merged {} back into the buffer ({} superseded by newer values), retrying in {} ms",
+                    batch.size(), merged, batch.size() - merged, backoffMs, e);
         } catch (Exception e) {
-            log.error("Error flushing {} elements to Hazelcast; they will be lost or need recomputation", batch.size(), e);
+            consecutiveFailures = 0;
+            statsRecorder.addCount(DROPPED_METRIC, batch.size());
+            log.error("Non-retryable error flushing {} elements to Hazelcast; dropping them", batch.size(), e);
         }
     }
-}
\ No newline at end of file
+
+    private long nextBackoffMs() {
+        consecutiveFailures++;
+        int doublings = Math.min(consecutiveFailures - 1, 30);
+        long backoffMs = Math.min(properties.getRetryBackoffMaxMs(), properties.getRetryBackoffInitialMs() << doublings);
+        retryNotBeforeNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+        return backoffMs;
+    }
+}
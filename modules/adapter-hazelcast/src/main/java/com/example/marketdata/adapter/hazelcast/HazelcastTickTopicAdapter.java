@@ -0,0 +1,232 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.TickTopicBacking;
+import com.example.marketdata.adapter.hazelcast.config.TickTopicProperties;
+import com.example.marketdata.adapter.hazelcast.config.TickTopics;
+import com.example.marketdata.codec.EncodedPayloadCache;
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.exception.ProcessorRuntimeException;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.topic.TopicOverloadException;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapter that broadcasts every tick to the sharded Hazelcast tick topic, next to the last-value
+ * map written by {@link HazelcastBufferCacheAdapter}.
+ * <p>
+ * Ticks are encoded with {@code marketdata.hazelcast.codec}, wrapped as {@link HistoryEntry} and
+ * grouped by shard (see {@link TickTopics}). Each shard gets its ticks in chunks published one after
+ * the other, so the order per cache ID is kept, while up to {@code topic.max-in-flight} shards are
+ * published concurrently. A shard is only ever full with {@code topic.time-to-live-seconds} set. With
+ * a {@code reliable-topic} backing Hazelcast then applies the overload policy; with a
+ * {@code ringbuffer} backing this adapter does: {@code discard-oldest} overwrites,
+ * {@code discard-newest} drops the chunk and counts it as {@value #TOPIC_DROPPED_METRIC},
+ * {@code block} backs off until there is room or {@code topic.publish-timeout-ms} passes, and
+ * {@code error} fails the batch.
+ * <p>
+ * A failed batch is retryable when every failure is, including a full shard, which slow consumers
+ * drain over time. Shards that accepted their ticks receive them again on retry, so delivery is at
+ * least once. Published ticks are counted as {@value #TOPIC_PUBLISHED_METRIC} and each batch records
+ * {@value #TOPIC_LATENCY_METRIC}. See {@link TickTopicProperties}.
+ */
+@Slf4j
+@Component
+public class HazelcastTickTopicAdapter implements IHazelcastTickTopicAdapter {
+
+    static final String TOPIC_PUBLISHED_METRIC = "dispatched.hazelcast.topic.published";
+    static final String TOPIC_DROPPED_METRIC = "dispatched.hazelcast.topic.dropped";
+    static final String TOPIC_LATENCY_METRIC = "dispatched.hazelcast.topic.latency.ms";
+
+    /**
+     * Largest batch Hazelcast accepts for one ringbuffer append.
+     */
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final long INITIAL_BACKOFF_MS = 1;
+    private static final long MAX_BACKOFF_MS = 500;
+
+    private final HazelcastInstance hazelcastInstance;
+    private final TickTopicProperties properties;
+    private final TickTopics topics;
+    private final PayloadCodec payloadCodec;
+    private final StatsRecorder statsRecorder;
+
+    @Autowired
+    public HazelcastTickTopicAdapter(final HazelcastInstance hazelcastInstance,
+                                     final HazelcastAdapterProperties properties,
+                                     final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                                     final ObjectProvider<StatsRecorder> statsRecorder) {
+        this(hazelcastInstance, properties, payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
+    }
+
+    public HazelcastTickTopicAdapter(final HazelcastInstance hazelcastInstance,
+                                     final HazelcastAdapterProperties properties,
+                                     final PayloadCodecRegistry payloadCodecRegistry,
+                                     final StatsRecorder statsRecorder) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.properties = properties.getTopic();
+        this.topics = new TickTopics(this.properties);
+        this.payloadCodec = payloadCodecRegistry.get(properties.getCodec());
+        this.statsRecorder = statsRecorder;
+    }
+
+    /**
+     * @return names of all shards, for consumers that subscribe to every tick
+     */
+    public List<String> getShardNames() {
+        return topics.names();
+    }
+
+    @Override
+    public void publish(final List<MarketDataEvent> ticks) {
+        Map<String, List<HistoryEntry>> byShard = shard(ticks);
+        if (byShard.isEmpty()) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(properties.getPublishTimeoutMs());
+        List<Throwable> failures;
+        try {
+            AsyncWriteBatch writes = new AsyncWriteBatch(properties.getName(), properties.getMaxInFlight(),
+                    properties.getPublishTimeoutMs());
+            try {
+                for (Map.Entry<String, List<HistoryEntry>> shard : byShard.entrySet()) {
+                    if (!writes.submit(() -> publishShard(shard.getKey(), shard.getValue(), deadlineNanos),
+                            published -> statsRecorder.addCount(TOPIC_PUBLISHED_METRIC, published))) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                writes.interrupted(e);
+            }
+            failures = writes.await();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while publishing ticks to Hazelcast topic {}", properties.getName(), e);
+            throw new ProcessorRuntimeException("Unexpected error while publishing to topic " + properties.getName(), e);
+        } finally {
+            statsRecorder.recordLatency(TOPIC_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+
+        if (failures.isEmpty()) {
+            log.debug("Published {} ticks to {} shards of Hazelcast topic {}", ticks.size(), byShard.size(), properties.getName());
+            return;
+        }
+        String message = failures.size() + " shard publish(es) failed for topic " + properties.getName();
+        if (failures.stream().allMatch(HazelcastTickTopicAdapter::isRetryable)) {
+            log.warn("{}: {}", message, failures.get(0).getMessage());
+            throw new ProcessorRetryableException(message, failures.get(0));
+        }
+        Throwable primary = failures.stream().filter(failure -> !isRetryable(failure)).findFirst().orElseThrow();
+        log.error(message, primary);
+        throw new ProcessorRuntimeException(message, primary);
+    }
+
+    private Map<String, List<HistoryEntry>> shard(final List<MarketDataEvent> ticks) {
+        Map<String, List<HistoryEntry>> byShard = new LinkedHashMap<>();
+        for (MarketDataEvent tick : ticks) {
+            try {
+                if (!StringUtils.hasText(tick.getCacheId())) {
+                    throw new IllegalArgumentException("CacheId is required");
+                }
+                byte[] payload = EncodedPayloadCache.encodeOnce(payloadCodec, tick);
+                Object value = payloadCodec.isTextual() ? new String(payload, StandardCharsets.UTF_8) : payload;
+                byShard.computeIfAbsent(topics.nameFor(tick.getCacheId()), ignored -> new ArrayList<>())
+                        .add(new HistoryEntry(tick.getCacheId(), value));
+            } catch (RuntimeException e) {
+                log.warn("Skipping tick for topic {} and key '{}': {}", properties.getName(), tick.getCacheId(), e.getMessage());
+            }
+        }
+        return byShard;
+    }
+
+    /**
+     * Publish the chunks of one shard one after the other.
+     *
+     * @return number of ticks the shard accepted
+     */
+    private CompletionStage<Integer> publishShard(final String name, final List<HistoryEntry> items,
+                                                  final long deadlineNanos) {
+        CompletionStage<Integer> published = CompletableFuture.completedFuture(0);
+        for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+            List<HistoryEntry> chunk = new ArrayList<>(items.subList(from, Math.min(items.size(), from + MAX_BATCH_SIZE)));
+            published = published.thenCompose(count -> publishChunk(name, chunk, deadlineNanos)
+                    .thenApply(accepted -> count + accepted));
+        }
+        return published;
+    }
+
+    private CompletionStage<Integer> publishChunk(final String name, final List<HistoryEntry> chunk,
+                                                  final long deadlineNanos) {
+        if (properties.getBacking() == TickTopicBacking.RELIABLE_TOPIC) {
+            return hazelcastInstance.<HistoryEntry>getReliableTopic(name).publishAllAsync(chunk)
+                    .thenApply(ignored -> chunk.size());
+        }
+        Ringbuffer<HistoryEntry> ringbuffer = hazelcastInstance.getRingbuffer(name);
+        if (properties.getOverloadPolicy() == TopicOverloadPolicy.DISCARD_OLDEST) {
+            return ringbuffer.addAllAsync(chunk, OverflowPolicy.OVERWRITE).thenApply(ignored -> chunk.size());
+        }
+        return appendOrOverload(ringbuffer, chunk, INITIAL_BACKOFF_MS, deadlineNanos);
+    }
+
+    /**
+     * Append without overwriting unread ticks and apply the overload policy when the ringbuffer is full.
+     */
+    private CompletionStage<Integer> appendOrOverload(final Ringbuffer<HistoryEntry> ringbuffer,
+                                                      final List<HistoryEntry> chunk,
+                                                      final long backoffMs,
+                                                      final long deadlineNanos) {
+        return ringbuffer.addAllAsync(chunk, OverflowPolicy.FAIL).thenCompose(sequence -> {
+            if (sequence >= 0) {
+                return CompletableFuture.completedFuture(chunk.size());
+            }
+            switch (properties.getOverloadPolicy()) {
+                case DISCARD_NEWEST:
+                    statsRecorder.addCount(TOPIC_DROPPED_METRIC, chunk.size());
+                    return CompletableFuture.completedFuture(0);
+                case ERROR:
+                    return CompletableFuture.failedFuture(new TopicOverloadException(
+                            "Tick topic shard " + ringbuffer.getName() + " is full"));
+                default:
+                    if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs) > deadlineNanos) {
+                        return CompletableFuture.failedFuture(new RetryableHazelcastException(
+                                "Tick topic shard " + ringbuffer.getName() + " stayed full"));
+                    }
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> appendOrOverload(ringbuffer, chunk,
+                                    Math.min(backoffMs * 2, MAX_BACKOFF_MS), deadlineNanos));
+            }
+        });
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof RetryableHazelcastException || t instanceof TopicOverloadException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
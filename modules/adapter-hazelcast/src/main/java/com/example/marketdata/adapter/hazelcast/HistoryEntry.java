@@ -0,0 +1,24 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.hazelcast.core.IFunction;
+
+import java.io.Serializable;
+
+/**
+ * One tick in a history ringbuffer or tick topic shard: the cache ID, which shared ringbuffers and
+ * shards need to tell symbols apart, and the encoded map value. Stored on the cluster, so members
+ * need this class on their classpath.
+ */
+public record HistoryEntry(String cacheId, Object value) implements Serializable {
+
+    /**
+     * Ringbuffer read filter selecting the ticks of one cache ID.
+     */
+    public record ForCacheId(String cacheId) implements IFunction<HistoryEntry, Boolean> {
+
+        @Override
+        public Boolean apply(HistoryEntry entry) {
+            return cacheId.equals(entry.cacheId());
+        }
+    }
+}
@@ -3,9 +3,42 @@ package com.example.marketdata.adapter.hazelcast;
 import com.example.marketdata.adapter.BaseAdapter;
 import com.example.marketdata.model.MarketDataEvent;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IHazelcastBufferCacheAdapter<T> extends BaseAdapter<T> {
 
     void bufferMarketData(List<MarketDataEvent> batch);
+
+    /**
+     * Seed the shadow cache and the buffer with values loaded on startup, e.g. from a snapshot, so
+     * reads are served and the next flush writes them to the map. Unlike
+     * {@link #bufferMarketData(List)} nothing is appended to the tick history.
+     */
+    void preload(List<MarketDataEvent> events);
+
+    /**
+     * Latest value of a cache ID decoded into {@code type}, or {@code null} when it is unknown.
+     */
+    <V> V get(String cacheId, Class<V> type);
+
+    /**
+     * Latest values of the given cache IDs; unknown IDs are absent from the result.
+     */
+    <V> Map<String, V> getAll(Collection<String> cacheIds, Class<V> type);
+
+    /**
+     * Latest values of every cache ID starting with {@code prefix}. Runs a query on the cluster, so
+     * it is far more expensive than {@link #get(String, Class)}.
+     */
+    <V> Map<String, V> scanByPrefix(String prefix, Class<V> type);
+
+    /**
+     * Last {@code lastN} ticks of a cache ID, oldest first, from the history ringbuffers; fewer when
+     * less history is retained.
+     *
+     * @throws IllegalStateException when {@code marketdata.hazelcast.history.enabled} is off
+     */
+    <V> List<V> getHistory(String cacheId, int lastN, Class<V> type);
 }
@@ -0,0 +1,19 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.model.MarketDataEvent;
+
+import java.util.List;
+
+/**
+ * Publishes every tick, in order per cache ID, to the sharded Hazelcast tick topic.
+ */
+public interface IHazelcastTickTopicAdapter {
+
+    /**
+     * Publish the ticks of a batch, returning once every shard accepted its share.
+     *
+     * @throws com.example.marketdata.exception.ProcessorRetryableException when the batch may be
+     * retried; shards that did accept their ticks then receive them again
+     */
+    void publish(List<MarketDataEvent> ticks);
+}
@@ -0,0 +1,263 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.MapStoreProperties;
+import com.example.marketdata.adapter.hazelcast.config.UpsertSyntax;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.MapStore;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link MapStore} persisting the adapter's map into one row per cache ID of a JDBC table.
+ * <p>
+ * Hazelcast calls it write-behind with the settings of {@link MapStoreProperties}: updates are
+ * queued per member, coalesced per key and handed over in {@link #storeAll(Map)} batches, so the
+ * database sees the conflated cache instead of every tick. A batch is written in one transaction
+ * with the upsert statement of {@link UpsertSyntax}, so it does not depend on the update counts a
+ * driver reports. A failed batch is rolled back and rethrown, and Hazelcast retries it.
+ * <p>
+ * Map misses read through {@link #load(Object)}; the map is not preloaded from the table. As a local
+ * {@link EntryExpiredListener} on the members it deletes the rows of expired entries, so a read-through
+ * does not bring back a key the map expired. Written rows are counted as {@value #STORE_ENTRIES_METRIC}
+ * and each batch records {@value #STORE_LATENCY_METRIC}.
+ */
+@Slf4j
+public class JdbcMapStore implements MapStore<String, Object>, EntryExpiredListener<String, Object> {
+
+    static final String STORE_ENTRIES_METRIC = "dispatched.hazelcast.store.entries";
+    static final String STORE_LATENCY_METRIC = "dispatched.hazelcast.store.latency.ms";
+
+    /**
+     * Table and column names end up in SQL text, so only plain (optionally schema qualified) identifiers pass.
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final DataSource dataSource;
+    private final String table;
+    private final int batchSize;
+    private final boolean textual;
+    private final boolean jsonValue;
+    private final StatsRecorder statsRecorder;
+    private final String upsertSql;
+    private final String deleteSql;
+    private final String selectSql;
+
+    public JdbcMapStore(final DataSource dataSource,
+                        final HazelcastAdapterProperties properties,
+                        final PayloadCodecRegistry payloadCodecRegistry,
+                        final StatsRecorder statsRecorder) {
+        MapStoreProperties mapStore = properties.getMapStore();
+        if (mapStore.getWriteBatchSize() < 1) {
+            throw new IllegalArgumentException("marketdata.hazelcast.map-store.write-batch-size must be at least 1");
+        }
+        this.dataSource = dataSource;
+        this.table = identifier(mapStore.getTable());
+        this.batchSize = mapStore.getWriteBatchSize();
+        this.textual = payloadCodecRegistry.get(properties.getCodec()).isTextual();
+        this.jsonValue = properties.isJsonValue();
+        this.statsRecorder = statsRecorder;
+
+        String key = identifier(mapStore.getKeyColumn());
+        String value = identifier(mapStore.getValueColumn());
+        this.upsertSql = upsertSql(mapStore.getUpsertSyntax(), table, key, value);
+        this.deleteSql = "DELETE FROM " + table + " WHERE " + key + " = ?";
+        this.selectSql = "SELECT " + key + ", " + value + " FROM " + table + " WHERE " + key + " IN ";
+    }
+
+    @Override
+    public void store(final String key, final Object value) {
+        storeAll(Map.of(key, value));
+    }
+
+    @Override
+    public void storeAll(final Map<String, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            inTransaction(connection, () -> {
+                List<String> keys = new ArrayList<>(entries.keySet());
+                for (int from = 0; from < keys.size(); from += batchSize) {
+                    upsert(connection, keys.subList(from, Math.min(keys.size(), from + batchSize)), entries);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to store " + entries.size() + " entries in " + table, e);
+        } finally {
+            statsRecorder.recordLatency(STORE_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        statsRecorder.addCount(STORE_ENTRIES_METRIC, entries.size());
+        log.debug("Stored {} entries in {}", entries.size(), table);
+    }
+
+    @Override
+    public void delete(final String key) {
+        deleteAll(List.of(key));
+    }
+
+    @Override
+    public void deleteAll(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            inTransaction(connection, () -> {
+                try (PreparedStatement delete = connection.prepareStatement(deleteSql)) {
+                    for (String key : keys) {
+                        delete.setString(1, key);
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to delete " + keys.size() + " entries from " + table, e);
+        }
+    }
+
+    /**
+     * Deletes the row of an entry the map expired.
+     */
+    @Override
+    public void entryExpired(final EntryEvent<String, Object> event) {
+        try {
+            delete(event.getKey());
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete expired entry {} from {}", event.getKey(), table, e);
+        }
+    }
+
+    @Override
+    public Object load(final String key) {
+        return loadAll(List.of(key)).get(key);
+    }
+
+    @Override
+    public Map<String, Object> loadAll(final Collection<String> keys) {
+        Map<String, Object> loaded = new HashMap<>();
+        List<String> remaining = new ArrayList<>(keys);
+        try (Connection connection = dataSource.getConnection()) {
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<String> chunk = remaining.subList(from, Math.min(remaining.size(), from + batchSize));
+                try (PreparedStatement select = connection.prepareStatement(selectSql + placeholders(chunk.size()))) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        select.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            loaded.put(rows.getString(1), readValue(rows));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load " + keys.size() + " entries from " + table, e);
+        }
+        return loaded;
+    }
+
+    /**
+     * @return {@code null}, so the map starts empty and loads entries on demand
+     */
+    @Override
+    public Iterable<String> loadAllKeys() {
+        return null;
+    }
+
+    private void upsert(final Connection connection, final List<String> keys, final Map<String, Object> entries)
+            throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(upsertSql)) {
+            for (String key : keys) {
+                upsert.setString(1, key);
+                bindValue(upsert, 2, entries.get(key));
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+
+    /**
+     * @return a statement taking the key as first and the value as second parameter
+     */
+    private static String upsertSql(final UpsertSyntax syntax, final String table, final String key, final String value) {
+        String source = "SELECT ? AS " + key + ", ? AS " + value;
+        return switch (syntax) {
+            case MERGE, MERGE_FROM_DUAL -> "MERGE INTO " + table + " t USING ("
+                    + (syntax == UpsertSyntax.MERGE_FROM_DUAL ? source + " FROM dual" : source) + ") s"
+                    + " ON (t." + key + " = s." + key + ")"
+                    + " WHEN MATCHED THEN UPDATE SET " + value + " = s." + value
+                    + " WHEN NOT MATCHED THEN INSERT (" + key + ", " + value + ") VALUES (s." + key + ", s." + value + ")";
+            case ON_CONFLICT -> "INSERT INTO " + table + " (" + key + ", " + value + ") VALUES (?, ?)"
+                    + " ON CONFLICT (" + key + ") DO UPDATE SET " + value + " = EXCLUDED." + value;
+        };
+    }
+
+    private void bindValue(final PreparedStatement statement, final int index, final Object value) throws SQLException {
+        if (value instanceof byte[] bytes) {
+            statement.setBytes(index, bytes);
+        } else {
+            // Strings and HazelcastJsonValue, whose toString() is the JSON text
+            statement.setString(index, value.toString());
+        }
+    }
+
+    private Object readValue(final ResultSet rows) throws SQLException {
+        if (!textual) {
+            return rows.getBytes(2);
+        }
+        String json = rows.getString(2);
+        return jsonValue && json != null ? new HazelcastJsonValue(json) : json;
+    }
+
+    private static void inTransaction(final Connection connection, final SqlWork work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String placeholders(final int count) {
+        StringBuilder sql = new StringBuilder("(");
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    private static String identifier(final String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid table or column name for marketdata.hazelcast.map-store: " + name);
+        }
+        return name;
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hazelcast.map.EntryProcessor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Merges top-level JSON fields into a map value on the member that owns the key, so a flush only
+ * ships the fields that changed instead of the whole document.
+ * <p>
+ * A field update needs an existing value to merge into and answers {@link Result#MISSING}
+ * otherwise; the caller then sends a full image, which replaces the stored document. When a
+ * timestamp field is configured and present on both sides, an update older than the stored value
+ * is rejected with {@link Result#STALE}, so a late update cannot overwrite a newer value.
+ * <p>
+ * The processor runs on the cluster members: in client-server deployments this class (and
+ * Jackson) must be on the members' classpath.
+ */
+public class JsonFieldMergeProcessor
+        implements EntryProcessor<String, Object, JsonFieldMergeProcessor.Result>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public enum Result {
+        /** The update was written. */
+        APPLIED,
+        /** A field update found no value to merge into; nothing was written. */
+        MISSING,
+        /** The update is older than the stored value; nothing was written. */
+        STALE
+    }
+
+    private final String json;
+    private final boolean fullImage;
+    private final String timestampField;
+
+    /**
+     * @param json           JSON object with the fields to write
+     * @param fullImage      {@code true} to replace the stored document, {@code false} to merge into it
+     * @param timestampField field compared for newer-wins, or {@code null} to always write
+     */
+    public JsonFieldMergeProcessor(final String json, final boolean fullImage, final String timestampField) {
+        this.json = json;
+        this.fullImage = fullImage;
+        this.timestampField = timestampField;
+    }
+
+    public static JsonFieldMergeProcessor fullImage(final String json, final String timestampField) {
+        return new JsonFieldMergeProcessor(json, true, timestampField);
+    }
+
+    public static JsonFieldMergeProcessor fields(final String json, final String timestampField) {
+        return new JsonFieldMergeProcessor(json, false, timestampField);
+    }
+
+    @Override
+    public Result process(final Map.Entry<String, Object> entry) {
+        Object current = entry.getValue();
+        if (current == null) {
+            if (!fullImage) {
+                return Result.MISSING;
+            }
+            entry.setValue(json);
+            return Result.APPLIED;
+        }
+        if (!(current instanceof String currentJson)) {
+            throw new IllegalStateException("Field merge requires JSON string values but key '" + entry.getKey()
+                    + "' holds " + current.getClass().getName());
+        }
+
+        try {
+            ObjectNode update = readObject(json);
+            ObjectNode document = readObject(currentJson);
+            if (isOlder(update, document)) {
+                return Result.STALE;
+            }
+            if (fullImage) {
+                entry.setValue(json);
+            } else {
+                document.setAll(update);
+                entry.setValue(MAPPER.writeValueAsString(document));
+            }
+            return Result.APPLIED;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot merge JSON fields for key '" + entry.getKey() + "'", e);
+        }
+    }
+
+    private boolean isOlder(final ObjectNode update, final ObjectNode document) {
+        if (timestampField == null) {
+            return false;
+        }
+        JsonNode incoming = update.get(timestampField);
+        JsonNode stored = document.get(timestampField);
+        if (incoming == null || stored == null || incoming.isNull() || stored.isNull()) {
+            return false;
+        }
+        if (incoming.isNumber() && stored.isNumber()) {
+            return incoming.decimalValue().compareTo(stored.decimalValue()) < 0;
+        }
+        String incomingText = incoming.asText();
+        String storedText = stored.asText();
+        try {
+            return Instant.parse(incomingText).isBefore(Instant.parse(storedText));
+        } catch (DateTimeParseException e) {
+            return incomingText.compareTo(storedText) < 0;
+        }
+    }
+
+    private static ObjectNode readObject(final String json) throws JsonProcessingException {
+        JsonNode node = MAPPER.readTree(json);
+        if (!(node instanceof ObjectNode object)) {
+            throw new IllegalStateException("Field merge requires JSON objects but got " + node.getNodeType());
+        }
+        return object;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastWriteMode;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.Partition;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a batch as one {@link IMap#setAllAsync(Map)} per partition owner (or per partition) with at
+ * most {@code maxInFlight} calls outstanding, so a slow member only delays its own share of a flush.
+ * <p>
+ * Failures are collected per group instead of thrown; the caller decides whether the batch is
+ * retryable. Groups still pending when the timeout expires are reported as
+ * {@link RetryableHazelcastException}s.
+ */
+@Slf4j
+class PartitionedMapWriter {
+
+    private final PartitionService partitionService;
+    private final HazelcastWriteMode writeMode;
+    private final int maxInFlight;
+    private final long timeoutMs;
+
+    PartitionedMapWriter(final PartitionService partitionService,
+                         final HazelcastWriteMode writeMode,
+                         final int maxInFlight,
+                         final long timeoutMs) {
+        if (writeMode != HazelcastWriteMode.ASYNC_BY_OWNER && writeMode != HazelcastWriteMode.ASYNC_BY_PARTITION) {
+            throw new IllegalArgumentException("PartitionedMapWriter requires an async write mode");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.partitionService = partitionService;
+        this.writeMode = writeMode;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @return failures of the group writes, empty when every group was written
+     */
+    List<Throwable> write(final IMap<String, Object> map, final Map<String, Object> batch) {
+        Collection<Map<String, Object>> groups = group(batch);
+        AsyncWriteBatch writes = new AsyncWriteBatch(map.getName(), maxInFlight, timeoutMs);
+        try {
+            for (Map<String, Object> group : groups) {
+                if (!writes.submit(() -> map.setAllAsync(group), ignored -> { })) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            writes.interrupted(e);
+        }
+
+        List<Throwable> failures = writes.await();
+        log.debug("Wrote {} entries to {} in {} groups ({}) with {} failures",
+                batch.size(), map.getName(), groups.size(), writeMode, failures.size());
+        return failures;
+    }
+
+    private Collection<Map<String, Object>> group(final Map<String, Object> batch) {
+        Map<Object, Map<String, Object>> groups = new HashMap<>();
+        batch.forEach((key, value) -> groups
+                .computeIfAbsent(groupKey(key), ignored -> new HashMap<>())
+                .put(key, value));
+        return groups.values();
+    }
+
+    private Object groupKey(final String key) {
+        Partition partition = partitionService.getPartition(key);
+        if (writeMode == HazelcastWriteMode.ASYNC_BY_OWNER) {
+            Member owner = partition.getOwner();
+            // Owner is unknown while partitions migrate; fall back to the partition itself.
+            if (owner != null) {
+                return owner.getUuid();
+            }
+        }
+        return partition.getPartitionId();
+    }
+}
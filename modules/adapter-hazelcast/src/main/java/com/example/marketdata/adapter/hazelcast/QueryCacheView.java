@@ -0,0 +1,125 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Local, continuously updated view of the map entries matching a predicate, backed by a Hazelcast
+ * {@link QueryCache}. The members push matching updates to the view in batches, coalesced per key
+ * as configured by {@code marketdata.hazelcast.query-cache.*}, so reads are local and nothing polls
+ * the map. Created by {@link HazelcastBufferCacheAdapter#subscribe}; {@link #close()} ends the
+ * subscription on the cluster.
+ */
+@Slf4j
+public final class QueryCacheView<V> implements AutoCloseable {
+
+    /**
+     * Receives the changes of a view, on a Hazelcast event thread, so it should hand work off
+     * rather than block.
+     */
+    @FunctionalInterface
+    public interface Listener<V> {
+
+        /**
+         * A matching entry was added or updated.
+         */
+        void onUpdate(String key, V value);
+
+        /**
+         * An entry was removed from the map, or no longer matches the predicate.
+         */
+        default void onRemove(String key) {
+        }
+    }
+
+    private final QueryCache<String, Object> queryCache;
+    private final Function<Object, V> decoder;
+
+    QueryCacheView(final QueryCache<String, Object> queryCache, final Function<Object, V> decoder) {
+        this.queryCache = queryCache;
+        this.decoder = decoder;
+    }
+
+    public String getName() {
+        return queryCache.getName();
+    }
+
+    /**
+     * @return the decoded value of {@code key}, or {@code null} when it is not in the view
+     */
+    public V get(final String key) {
+        Object value = queryCache.get(key);
+        return value == null ? null : decoder.apply(value);
+    }
+
+    /**
+     * @return decoded copy of the current view
+     */
+    public Map<String, V> snapshot() {
+        Map<String, V> snapshot = new HashMap<>();
+        queryCache.entrySet().forEach(entry -> snapshot.put(entry.getKey(), decoder.apply(entry.getValue())));
+        return snapshot;
+    }
+
+    public int size() {
+        return queryCache.size();
+    }
+
+    @Override
+    public void close() {
+        queryCache.destroy();
+    }
+
+    /**
+     * Hazelcast listener that decodes the view's events for {@code listener}.
+     */
+    static <V> MapListener mapListener(final Listener<V> listener, final Function<Object, V> decoder) {
+        return new DecodingListener<>(listener, decoder);
+    }
+
+    private record DecodingListener<V>(Listener<V> listener, Function<Object, V> decoder)
+            implements EntryAddedListener<String, Object>, EntryUpdatedListener<String, Object>,
+            EntryRemovedListener<String, Object>, EntryEvictedListener<String, Object> {
+
+        @Override
+        public void entryAdded(EntryEvent<String, Object> event) {
+            update(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, Object> event) {
+            update(event);
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<String, Object> event) {
+            listener.onRemove(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<String, Object> event) {
+            listener.onRemove(event.getKey());
+        }
+
+        private void update(EntryEvent<String, Object> event) {
+            V value;
+            try {
+                value = decoder.apply(event.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Skipping query cache update for key '{}': {}", event.getKey(), e.getMessage());
+                return;
+            }
+            listener.onUpdate(event.getKey(), value);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HistoryRingbuffers;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Appends ticks to the history ringbuffers named by {@link HistoryRingbuffers} and reads the last
+ * ticks of a cache ID back.
+ * <p>
+ * Appends are batched into one {@code addAllAsync} per ringbuffer and fire-and-forget, with at most
+ * {@code maxInFlight} outstanding: history is best effort, so a batch that finds no free slot or
+ * fails is dropped and counted as {@value #HISTORY_DROPPED_METRIC} instead of delaying ingestion or
+ * the latest-value write. Appended ticks are counted as {@value #HISTORY_ENTRIES_METRIC}.
+ */
+@Slf4j
+class RingbufferHistory {
+
+    static final String HISTORY_ENTRIES_METRIC = "dispatched.hazelcast.history.entries";
+    static final String HISTORY_DROPPED_METRIC = "dispatched.hazelcast.history.dropped";
+
+    /**
+     * Largest batch Hazelcast accepts for one ringbuffer read or append.
+     */
+    private static final int MAX_BATCH_SIZE = 1_000;
+
+    private final HazelcastInstance hazelcastInstance;
+    private final HistoryRingbuffers ringbuffers;
+    private final Semaphore inFlight;
+    private final StatsRecorder statsRecorder;
+
+    RingbufferHistory(final HazelcastInstance hazelcastInstance,
+                      final HistoryRingbuffers ringbuffers,
+                      final int maxInFlight,
+                      final StatsRecorder statsRecorder) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.ringbuffers = ringbuffers;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.statsRecorder = statsRecorder;
+    }
+
+    /**
+     * Append ticks in the given order.
+     */
+    void append(final List<HistoryEntry> ticks) {
+        Map<String, List<HistoryEntry>> byRingbuffer = new LinkedHashMap<>();
+        for (HistoryEntry tick : ticks) {
+            byRingbuffer.computeIfAbsent(ringbuffers.nameFor(tick.cacheId()), ignored -> new ArrayList<>()).add(tick);
+        }
+        byRingbuffer.forEach((name, items) -> {
+            for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+                appendBatch(name, items.subList(from, Math.min(items.size(), from + MAX_BATCH_SIZE)));
+            }
+        });
+    }
+
+    private void appendBatch(final String name, final List<HistoryEntry> items) {
+        if (!inFlight.tryAcquire()) {
+            statsRecorder.addCount(HISTORY_DROPPED_METRIC, items.size());
+            log.debug("Dropped {} history ticks for {}: too many appends in flight", items.size(), name);
+            return;
+        }
+        try {
+            Ringbuffer<HistoryEntry> ringbuffer = hazelcastInstance.getRingbuffer(name);
+            ringbuffer.addAllAsync(new ArrayList<>(items), OverflowPolicy.OVERWRITE).whenComplete((ignored, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    statsRecorder.addCount(HISTORY_DROPPED_METRIC, items.size());
+                    log.warn("Dropped {} history ticks for {}: {}", items.size(), name, error.getMessage());
+                } else {
+                    statsRecorder.addCount(HISTORY_ENTRIES_METRIC, items.size());
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            statsRecorder.addCount(HISTORY_DROPPED_METRIC, items.size());
+            log.warn("Dropped {} history ticks for {}: {}", items.size(), name, e.getMessage());
+        }
+    }
+
+    /**
+     * @return encoded values of the last {@code lastN} ticks of {@code cacheId}, oldest first
+     */
+    List<Object> read(final String cacheId, final int lastN) {
+        if (lastN <= 0) {
+            return List.of();
+        }
+        Ringbuffer<HistoryEntry> ringbuffer = hazelcastInstance.getRingbuffer(ringbuffers.nameFor(cacheId));
+        long tail = ringbuffer.tailSequence();
+        if (tail < 0) {
+            return List.of();
+        }
+        // a ringbuffer per cache ID only needs its last N items; a bucket is scanned for the cache ID
+        long sequence = ringbuffers.isBucketed()
+                ? ringbuffer.headSequence()
+                : Math.max(ringbuffer.headSequence(), tail - lastN + 1);
+        HistoryEntry.ForCacheId filter = ringbuffers.isBucketed() ? new HistoryEntry.ForCacheId(cacheId) : null;
+
+        Deque<Object> last = new ArrayDeque<>(lastN);
+        while (sequence <= tail) {
+            int maxCount = (int) Math.min(MAX_BATCH_SIZE, tail - sequence + 1);
+            ReadResultSet<HistoryEntry> page;
+            try {
+                page = ringbuffer.readManyAsync(sequence, 0, maxCount, filter).toCompletableFuture().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof StaleSequenceException stale) {
+                    // overwritten while reading; continue from the oldest tick still there
+                    sequence = stale.getHeadSeq();
+                    continue;
+                }
+                throw e;
+            }
+            for (HistoryEntry entry : page) {
+                if (last.size() == lastN) {
+                    last.removeFirst();
+                }
+                last.addLast(entry.value());
+            }
+            if (page.getNextSequenceToReadFrom() <= sequence) {
+                break;
+            }
+            sequence = page.getNextSequenceToReadFrom();
+        }
+        return new ArrayList<>(last);
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.ResyncProperties;
+import com.example.marketdata.cache.ShadowCache;
+import com.example.marketdata.stats.StatsRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replays the adapter's {@link ShadowCache} into Hazelcast after a reconnect.
+ * <p>
+ * From a disconnect onwards, and whenever a write fails, the affected keys are tracked as dirty.
+ * On reconnect only those keys are written, in chunks and at most
+ * {@code marketdata.hazelcast.resync.max-entries-per-second}, on a dedicated thread. A full replay
+ * is used instead when no disconnect was observed (member start, split-brain merge), when more
+ * than {@code max-dirty-keys} keys changed, or when an earlier full replay failed.
+ * <p>
+ * Resync writes are conditional in every write mode: a chunk first reads what the map holds for
+ * its keys, then takes the values and versions from the shadow cache, and the {@link ChunkWriter}
+ * writes each value only while the map still holds what was read. A live write that reaches the
+ * map in between is kept instead of being overwritten with the older shadow value. A key whose
+ * version changed while its chunk was written is written again, which also covers a live write
+ * that put back the very value the chunk read. The chunk writer throws to fail the chunk. Failed
+ * chunks go back to the dirty set and the resync is retried after {@code retry-delay-ms}.
+ * <p>
+ * While connected, keys marked dirty by a failed live write, and keys still dirty after a resync
+ * gave up on them, are resynced after {@code retry-delay-ms} as well, rather than waiting for the
+ * next reconnect.
+ * <p>
+ * Progress is reported as {@value #RESYNC_ENTRIES_METRIC}, {@value #RESYNC_PENDING_METRIC},
+ * {@value #RESYNC_FAILURES_METRIC} and {@value #RESYNC_LATENCY_METRIC}.
+ */
+@Slf4j
+class ShadowCacheResync {
+
+    static final String RESYNC_ENTRIES_METRIC = "dispatched.hazelcast.resync.entries";
+    static final String RESYNC_PENDING_METRIC = "dispatched.hazelcast.resync.pending";
+    static final String RESYNC_FAILURES_METRIC = "dispatched.hazelcast.resync.failures";
+    static final String RESYNC_LATENCY_METRIC = "dispatched.hazelcast.resync.latency.ms";
+
+    /**
+     * Bounds the passes spent rewriting keys that keep changing while a resync runs; live flushes
+     * write those keys anyway.
+     */
+    private static final int MAX_PASSES = 10;
+
+    private final String cacheName;
+    private final ShadowCache shadowCache;
+    private final ChunkWriter chunkWriter;
+    private final ResyncProperties properties;
+    private final int chunkSize;
+    private final StatsRecorder statsRecorder;
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullResyncRequired = new AtomicBoolean();
+    private final AtomicBoolean resyncScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    private volatile boolean connected = true;
+
+    ShadowCacheResync(final String cacheName,
+                      final ShadowCache shadowCache,
+                      final ChunkWriter chunkWriter,
+                      final ResyncProperties properties,
+                      final int chunkSize,
+                      final StatsRecorder statsRecorder) {
+        this.cacheName = cacheName;
+        this.shadowCache = shadowCache;
+        this.chunkWriter = chunkWriter;
+        this.properties = properties;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.statsRecorder = statsRecorder;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-resync-" + cacheName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start tracking changed keys; called when the connection to the cluster is lost.
+     */
+    void onDisconnect() {
+        connected = false;
+        log.info("Tracking dirty keys for Hazelcast cache {} until reconnect", cacheName);
+    }
+
+    /**
+     * Schedule a resync; {@code full} replays the whole shadow cache regardless of tracked keys.
+     */
+    void onReconnect(final boolean full) {
+        connected = true;
+        if (full) {
+            fullResyncRequired.set(true);
+        }
+        if (!executor.isShutdown()) {
+            executor.execute(this::resyncNow);
+        }
+    }
+
+    /**
+     * Record keys whose latest value may be missing from the cluster.
+     */
+    void markDirty(final Collection<String> keys) {
+        if (fullResyncRequired.get()) {
+            return;
+        }
+        dirtyKeys.addAll(keys);
+        if (dirtyKeys.size() > properties.getMaxDirtyKeys()) {
+            log.warn("More than {} dirty keys for Hazelcast cache {}; next resync replays the whole shadow cache",
+                    properties.getMaxDirtyKeys(), cacheName);
+            fullResyncRequired.set(true);
+            dirtyKeys.clear();
+        }
+        if (connected) {
+            scheduleRetry();
+        }
+    }
+
+    int dirtyKeyCount() {
+        return dirtyKeys.size();
+    }
+
+    boolean isFullResyncRequired() {
+        return fullResyncRequired.get();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run one resync on the calling thread.
+     *
+     * @return {@code true} when everything pending was written
+     */
+    boolean resyncNow() {
+        final long startNanos = System.nanoTime();
+        final boolean full = fullResyncRequired.getAndSet(false);
+        if (full) {
+            dirtyKeys.clear();
+        }
+        final int pending = full ? shadowCache.size() : dirtyKeys.size();
+        if (pending == 0) {
+            log.info("Nothing to resync for Hazelcast cache {}", cacheName);
+            return true;
+        }
+        statsRecorder.setGaugeMax(RESYNC_PENDING_METRIC, pending);
+        log.info("Starting {} resync of {} entries to Hazelcast cache {}", full ? "full" : "incremental", pending, cacheName);
+
+        RateLimiter rateLimiter = new RateLimiter(properties.getMaxEntriesPerSecond());
+        long written = 0;
+        try {
+            Iterator<String> keys = full ? shadowCache.keys().iterator() : drainingIterator();
+            for (int pass = 0; pass < MAX_PASSES && connected && keys.hasNext(); pass++) {
+                while (keys.hasNext() && connected) {
+                    written += writeChunk(keys);
+                    rateLimiter.acquire(written);
+                }
+                // keys re-queued by a version change are picked up by the next pass
+                keys = drainingIterator();
+            }
+        } catch (RuntimeException e) {
+            statsRecorder.addCount(RESYNC_FAILURES_METRIC, 1);
+            if (full) {
+                fullResyncRequired.set(true);
+            }
+            log.error("Resync to Hazelcast cache {} failed after {} entries; retrying in {} ms",
+                    cacheName, written, properties.getRetryDelayMs(), e);
+            scheduleRetry();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Resync to Hazelcast cache {} interrupted after {} entries", cacheName, written);
+            return false;
+        } finally {
+            statsRecorder.addCount(RESYNC_ENTRIES_METRIC, written);
+            statsRecorder.recordLatency(RESYNC_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+
+        if (!connected) {
+            if (full) {
+                fullResyncRequired.set(true);
+            }
+            log.warn("Resync to Hazelcast cache {} stopped by disconnect after {} entries", cacheName, written);
+            return false;
+        }
+        log.info("Resync to Hazelcast cache {} completed with {} entries; {} keys still dirty",
+                cacheName, written, dirtyKeys.size());
+        if (!dirtyKeys.isEmpty()) {
+            scheduleRetry();
+            return false;
+        }
+        return true;
+    }
+
+    private int writeChunk(final Iterator<String> keys) {
+        List<String> chunkKeys = new ArrayList<>(chunkSize);
+        while (keys.hasNext() && chunkKeys.size() < chunkSize) {
+            chunkKeys.add(keys.next());
+        }
+        Map<String, Object> chunk = new HashMap<>();
+        Map<String, Long> chunkVersions = new HashMap<>();
+        try {
+            // read the map before the shadow cache: a live write that updates the shadow cache after
+            // this read reaches the map after it too, so the conditional write keeps its value
+            Map<String, Object> expected = chunkWriter.read(chunkKeys);
+            for (String key : chunkKeys) {
+                // read the version first: a concurrent write then shows up as a version change below
+                long version = shadowCache.getVersion(key);
+                Object value = shadowCache.get(key);
+                if (value != null) {
+                    chunk.put(key, value);
+                    chunkVersions.put(key, version);
+                }
+            }
+            if (chunk.isEmpty()) {
+                return 0;
+            }
+            chunkWriter.write(chunk, expected);
+        } catch (RuntimeException e) {
+            dirtyKeys.addAll(chunkKeys);
+            throw e;
+        }
+
+        chunkVersions.forEach((key, version) -> {
+            if (shadowCache.getVersion(key) != version) {
+                dirtyKeys.add(key);
+            }
+        });
+        return chunk.size();
+    }
+
+    /**
+     * Iterates the dirty keys, removing each one as it is handed out.
+     */
+    private Iterator<String> drainingIterator() {
+        Iterator<String> delegate = dirtyKeys.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public String next() {
+                String key = delegate.next();
+                delegate.remove();
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Schedules a resync after {@code retry-delay-ms}, unless one is already scheduled.
+     */
+    private void scheduleRetry() {
+        if (executor.isShutdown() || !resyncScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.schedule(() -> {
+            resyncScheduled.set(false);
+            if (connected) {
+                resyncNow();
+            }
+        }, properties.getRetryDelayMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes resync chunks to the map.
+     */
+    interface ChunkWriter {
+
+        /**
+         * @return the values the map holds for {@code keys}; absent keys are missing
+         */
+        Map<String, Object> read(Collection<String> keys);
+
+        /**
+         * Write each of {@code values} only while the map still holds its value in {@code expected},
+         * or nothing when the key is missing there; throws to fail the chunk.
+         */
+        void write(Map<String, Object> values, Map<String, Object> expected);
+    }
+
+    /**
+     * Sleeps so that the cumulative write count stays under the configured rate.
+     */
+    private static final class RateLimiter {
+        private final int entriesPerSecond;
+        private final long startNanos = System.nanoTime();
+
+        private RateLimiter(final int entriesPerSecond) {
+            this.entriesPerSecond = entriesPerSecond;
+        }
+
+        void acquire(final long written) throws InterruptedException {
+            if (entriesPerSecond <= 0) {
+                return;
+            }
+            long dueNanos = startNanos + TimeUnit.SECONDS.toNanos(written) / entriesPerSecond;
+            long sleepNanos = dueNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Connection settings of the {@link HazelcastProfile#CLIENT} profile, bound under
+ * {@code marketdata.hazelcast.cluster.client}:
+ * <ul>
+ *     <li>{@code smart-routing} (default: {@code true}) – connect to every member and send each operation to
+ *     the partition owner; {@code false} routes everything through one member.</li>
+ *     <li>{@code connection-timeout-ms} (default: {@code 5000}) – timeout of a single connection attempt.</li>
+ *     <li>{@code cluster-connect-timeout-ms} (default: {@code 30000}) – how long the client keeps retrying
+ *     before giving up on the cluster; {@code -1} retries forever.</li>
+ *     <li>{@code initial-backoff-ms} (default: {@code 1000}) / {@code max-backoff-ms} (default:
+ *     {@code 30000}) – pause between reconnect attempts, doubled per attempt up to the maximum.</li>
+ *     <li>{@code async-start} (default: {@code false}) – start without waiting for the cluster; map calls
+ *     fail until the first connection is established.</li>
+ * </ul>
+ */
+public class ClientProperties {
+
+    /**
+     * Whether the client connects to all members and routes operations to partition owners.
+     */
+    private boolean smartRouting = true;
+
+    /**
+     * Timeout in milliseconds of a single connection attempt.
+     */
+    private int connectionTimeoutMs = 5_000;
+
+    /**
+     * Total time in milliseconds the client tries to (re)connect; -1 means forever.
+     */
+    private long clusterConnectTimeoutMs = 30_000;
+
+    /**
+     * Pause in milliseconds before the first reconnect attempt.
+     */
+    private int initialBackoffMs = 1_000;
+
+    /**
+     * Upper bound in milliseconds of the pause between reconnect attempts.
+     */
+    private int maxBackoffMs = 30_000;
+
+    /**
+     * Whether the client starts without waiting for a cluster connection.
+     */
+    private boolean asyncStart;
+
+    public boolean isSmartRouting() {
+        return smartRouting;
+    }
+
+    public void setSmartRouting(boolean smartRouting) {
+        this.smartRouting = smartRouting;
+    }
+
+    public int getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(int connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public long getClusterConnectTimeoutMs() {
+        return clusterConnectTimeoutMs;
+    }
+
+    public void setClusterConnectTimeoutMs(long clusterConnectTimeoutMs) {
+        this.clusterConnectTimeoutMs = clusterConnectTimeoutMs;
+    }
+
+    public int getInitialBackoffMs() {
+        return initialBackoffMs;
+    }
+
+    public void setInitialBackoffMs(int initialBackoffMs) {
+        this.initialBackoffMs = initialBackoffMs;
+    }
+
+    public int getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(int maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public boolean isAsyncStart() {
+        return asyncStart;
+    }
+
+    public void setAsyncStart(boolean asyncStart) {
+        this.asyncStart = asyncStart;
+    }
+}
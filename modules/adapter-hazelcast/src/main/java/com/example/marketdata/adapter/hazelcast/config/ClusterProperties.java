@@ -0,0 +1,159 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.config.InMemoryFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster membership and data layout settings, bound under {@code marketdata.hazelcast.cluster}:
+ * <ul>
+ *     <li>{@code profile} (default: {@code member}) – {@link HazelcastProfile}: embedded {@code member},
+ *     tuned {@code data-member}, {@code lite-member} or {@code client}.</li>
+ *     <li>{@code cluster-name} (default: {@code dev}) – cluster to join or connect to.</li>
+ *     <li>{@code members} (default: none) – {@code host[:port]} addresses. Members join over TCP/IP
+ *     with multicast disabled, which avoids the multicast discovery wait at startup; clients
+ *     connect to these addresses ({@code 127.0.0.1} when empty). Empty keeps multicast discovery
+ *     for members.</li>
+ *     <li>{@code wait-seconds-before-join} (default: {@code 5}) – how long a member waits for others
+ *     before it forms or joins the cluster; {@code 0} suits single-member and TCP/IP setups.</li>
+ *     <li>{@code partition-count} (default: {@code 271}) – partitions of the cluster; {@code data-member}
+ *     only, and every member of a cluster must use the same value.</li>
+ *     <li>{@code in-memory-format} (default: {@code binary}) – storage format of the map;
+ *     {@code data-member} only.</li>
+ *     <li>{@code backup-count} (default: {@code 1}) / {@code async-backup-count} (default: {@code 0}) –
+ *     synchronous backups a write waits for and asynchronous backups it does not; {@code data-member}
+ *     only.</li>
+ *     <li>{@code read-backup-data} (default: {@code false}) – serve reads from local backups, which may
+ *     lag the owner; {@code data-member} only.</li>
+ *     <li>{@code client.*} – connection settings of the {@code client} profile, see {@link ClientProperties}.</li>
+ * </ul>
+ */
+public class ClusterProperties {
+
+    /**
+     * How this service joins the cluster.
+     */
+    private HazelcastProfile profile = HazelcastProfile.MEMBER;
+
+    /**
+     * Name of the cluster to join or connect to.
+     */
+    private String clusterName = "dev";
+
+    /**
+     * Member addresses used for TCP/IP join or client connections.
+     */
+    private List<String> members = new ArrayList<>();
+
+    /**
+     * Seconds a member waits for other members before joining.
+     */
+    private int waitSecondsBeforeJoin = 5;
+
+    /**
+     * Number of partitions of the cluster.
+     */
+    private int partitionCount = 271;
+
+    /**
+     * Storage format of the adapter's map.
+     */
+    private InMemoryFormat inMemoryFormat = InMemoryFormat.BINARY;
+
+    /**
+     * Synchronous backups of the adapter's map.
+     */
+    private int backupCount = 1;
+
+    /**
+     * Asynchronous backups of the adapter's map.
+     */
+    private int asyncBackupCount;
+
+    /**
+     * Whether reads may be served from local backups.
+     */
+    private boolean readBackupData;
+
+    /**
+     * Client connection settings.
+     */
+    private final ClientProperties client = new ClientProperties();
+
+    public HazelcastProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(HazelcastProfile profile) {
+        this.profile = profile;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public void setClusterName(String clusterName) {
+        this.clusterName = clusterName;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<String> members) {
+        this.members = members;
+    }
+
+    public int getWaitSecondsBeforeJoin() {
+        return waitSecondsBeforeJoin;
+    }
+
+    public void setWaitSecondsBeforeJoin(int waitSecondsBeforeJoin) {
+        this.waitSecondsBeforeJoin = waitSecondsBeforeJoin;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public InMemoryFormat getInMemoryFormat() {
+        return inMemoryFormat;
+    }
+
+    public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+        this.inMemoryFormat = inMemoryFormat;
+    }
+
+    public int getBackupCount() {
+        return backupCount;
+    }
+
+    public void setBackupCount(int backupCount) {
+        this.backupCount = backupCount;
+    }
+
+    public int getAsyncBackupCount() {
+        return asyncBackupCount;
+    }
+
+    public void setAsyncBackupCount(int asyncBackupCount) {
+        this.asyncBackupCount = asyncBackupCount;
+    }
+
+    public boolean isReadBackupData() {
+        return readBackupData;
+    }
+
+    public void setReadBackupData(boolean readBackupData) {
+        this.readBackupData = readBackupData;
+    }
+
+    public ClientProperties getClient() {
+        return client;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expiry of each cache ID under {@link ExpiryProperties}: the event class settings of the longest
+ * matching prefix, otherwise the map-wide ones.
+ * <p>
+ * The shadow cache mirrors it with {@link #lifetimeMs(String)}, measured from the last write. It
+ * does not see reads of the map, so a max-idle entry that is only read expires locally first and
+ * is not replayed; it is then still in the map unless the cluster lost it.
+ */
+public final class EntryExpiry {
+
+    /**
+     * No expiry at all.
+     */
+    public static final EntryExpiry NONE = new EntryExpiry(new ExpiryProperties());
+
+    private final ExpiryProperties properties;
+
+    public EntryExpiry(final ExpiryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return whether any event class has its own expiry, so some entries are written one by one
+     */
+    public boolean hasEventClasses() {
+        return !properties.getTimeToLiveSecondsByPrefix().isEmpty()
+                || !properties.getMaxIdleSecondsByPrefix().isEmpty();
+    }
+
+    /**
+     * @return whether {@code cacheId} belongs to an event class with its own expiry
+     */
+    public boolean isInEventClass(final String cacheId) {
+        return longestPrefix(properties.getTimeToLiveSecondsByPrefix(), cacheId) != null
+                || longestPrefix(properties.getMaxIdleSecondsByPrefix(), cacheId) != null;
+    }
+
+    public int timeToLiveSeconds(final String cacheId) {
+        return valueFor(properties.getTimeToLiveSecondsByPrefix(), cacheId, properties.getTimeToLiveSeconds());
+    }
+
+    public int maxIdleSeconds(final String cacheId) {
+        return valueFor(properties.getMaxIdleSecondsByPrefix(), cacheId, properties.getMaxIdleSeconds());
+    }
+
+    /**
+     * @return milliseconds after its last write at which {@code cacheId} expires, {@code 0} for never
+     */
+    public long lifetimeMs(final String cacheId) {
+        return TimeUnit.SECONDS.toMillis(shortest(timeToLiveSeconds(cacheId), maxIdleSeconds(cacheId)));
+    }
+
+    /**
+     * @return shortest lifetime of any cache ID in milliseconds, {@code 0} when nothing expires
+     */
+    public long shortestLifetimeMs() {
+        int shortest = shortest(properties.getTimeToLiveSeconds(), properties.getMaxIdleSeconds());
+        for (int seconds : properties.getTimeToLiveSecondsByPrefix().values()) {
+            shortest = shortest(shortest, seconds);
+        }
+        for (int seconds : properties.getMaxIdleSecondsByPrefix().values()) {
+            shortest = shortest(shortest, seconds);
+        }
+        return TimeUnit.SECONDS.toMillis(shortest);
+    }
+
+    /**
+     * @return the smaller of two expiries where {@code 0} means never
+     */
+    private static int shortest(final int first, final int second) {
+        if (first <= 0) {
+            return Math.max(second, 0);
+        }
+        return second <= 0 ? first : Math.min(first, second);
+    }
+
+    private static int valueFor(final Map<String, Integer> byPrefix, final String cacheId, final int fallback) {
+        String prefix = longestPrefix(byPrefix, cacheId);
+        return prefix == null ? fallback : byPrefix.get(prefix);
+    }
+
+    private static String longestPrefix(final Map<String, Integer> byPrefix, final String cacheId) {
+        String longest = null;
+        for (String prefix : byPrefix.keySet()) {
+            if (cacheId.startsWith(prefix) && (longest == null || prefix.length() > longest.length())) {
+                longest = prefix;
+            }
+        }
+        return longest;
+    }
+}
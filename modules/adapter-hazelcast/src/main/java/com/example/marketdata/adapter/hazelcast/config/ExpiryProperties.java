@@ -0,0 +1,123 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Expiry and eviction of the adapter's map, bound under {@code marketdata.hazelcast.expiry}:
+ * <ul>
+ *     <li>{@code time-to-live-seconds} (default: {@code 0}, never) – entries not written for this long
+ *     are removed from the map.</li>
+ *     <li>{@code max-idle-seconds} (default: {@code 0}, never) – entries neither read nor written for
+ *     this long are removed from the map.</li>
+ *     <li>{@code time-to-live-seconds-by-prefix.<prefix>}, {@code max-idle-seconds-by-prefix.<prefix>}
+ *     (default: none) – expiry for the event class of cache IDs starting with {@code <prefix>}; the
+ *     longest matching prefix wins. Such entries are written one by one with their own expiry
+ *     instead of in a {@code putAll}.</li>
+ *     <li>{@code max-size} (default: {@code 0}, unbounded) – map size bound, in the unit of
+ *     {@code max-size-policy}.</li>
+ *     <li>{@code max-size-policy} (default: {@code per-node}) – entries per member, or a heap bound such
+ *     as {@code used-heap-size} (MB) or {@code used-heap-percentage}.</li>
+ *     <li>{@code eviction-policy} (default: {@code lru}) – which entries go once {@code max-size} is
+ *     reached.</li>
+ * </ul>
+ * Map-wide settings are map config, applied by {@link HazelcastConfiguration} on embedded members;
+ * with the {@code client} profile the cluster must define them. The shadow cache drops entries at
+ * the same expiry, see {@link EntryExpiry}.
+ */
+public class ExpiryProperties {
+
+    /**
+     * Default time to live in seconds, {@code 0} for never.
+     */
+    private int timeToLiveSeconds = 0;
+
+    /**
+     * Default maximum idle time in seconds, {@code 0} for never.
+     */
+    private int maxIdleSeconds = 0;
+
+    /**
+     * Time to live in seconds by cache ID prefix.
+     */
+    private Map<String, Integer> timeToLiveSecondsByPrefix = new LinkedHashMap<>();
+
+    /**
+     * Maximum idle time in seconds by cache ID prefix.
+     */
+    private Map<String, Integer> maxIdleSecondsByPrefix = new LinkedHashMap<>();
+
+    /**
+     * Map size bound, {@code 0} for unbounded.
+     */
+    private int maxSize = 0;
+
+    /**
+     * Unit of the map size bound.
+     */
+    private MaxSizePolicy maxSizePolicy = MaxSizePolicy.PER_NODE;
+
+    /**
+     * Entries evicted once the size bound is reached.
+     */
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+    public int getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public int getMaxIdleSeconds() {
+        return maxIdleSeconds;
+    }
+
+    public void setMaxIdleSeconds(int maxIdleSeconds) {
+        this.maxIdleSeconds = maxIdleSeconds;
+    }
+
+    public Map<String, Integer> getTimeToLiveSecondsByPrefix() {
+        return timeToLiveSecondsByPrefix;
+    }
+
+    public void setTimeToLiveSecondsByPrefix(Map<String, Integer> timeToLiveSecondsByPrefix) {
+        this.timeToLiveSecondsByPrefix = timeToLiveSecondsByPrefix;
+    }
+
+    public Map<String, Integer> getMaxIdleSecondsByPrefix() {
+        return maxIdleSecondsByPrefix;
+    }
+
+    public void setMaxIdleSecondsByPrefix(Map<String, Integer> maxIdleSecondsByPrefix) {
+        this.maxIdleSecondsByPrefix = maxIdleSecondsByPrefix;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public MaxSizePolicy getMaxSizePolicy() {
+        return maxSizePolicy;
+    }
+
+    public void setMaxSizePolicy(MaxSizePolicy maxSizePolicy) {
+        this.maxSizePolicy = maxSizePolicy;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.example.marketdata.codec.JsonPayloadCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the Hazelcast cache adapter.
+ * <p>
+ * Properties (all under {@code marketdata.hazelcast}) and how they are applied:
+ * <ul>
+ *     <li>{@code cache-name} (default: {@code default-name}) – Hazelcast map updated by the adapter.</li>
+ *     <li>{@code codec} (default: {@code json}) – payload codec from the
+ *     {@link com.example.marketdata.codec.PayloadCodecRegistry} ({@code json}, {@code smile},
+ *     {@code cbor} or {@code binary}). JSON values are stored as Strings, all other codecs as byte arrays.</li>
+ *     <li>{@code write-mode} (default: {@code put-all}) – {@link HazelcastWriteMode}; the async modes group a
+ *     flush by partition owner or partition and issue one {@code setAllAsync} per group.</li>
+ *     <li>{@code max-in-flight-writes} (default: {@code 4}) – upper bound of outstanding async group writes
+ *     (entry processor calls in {@code field-merge} mode).</li>
+ *     <li>{@code async-write-timeout-ms} (default: {@code 30000}) – time a flush waits for its async group
+ *     writes; groups still pending afterwards are reported as retryable failures.</li>
+ *     <li>{@code skip-unchanged} (default: {@code true}) – skip entries whose encoded value equals the value
+ *     last written for the key, by 64-bit content hash. Turned off, with a warning, when
+ *     {@code expiry.max-size} is set: the cluster may evict such an entry, which a skipped republish
+ *     would never restore.</li>
+ *     <li>{@code json-value} (default: {@code false}) – store JSON values as {@code HazelcastJsonValue}
+ *     instead of Strings, so members can evaluate predicates and projections on their attributes;
+ *     requires the {@code json} codec and is not combined with {@code field-merge}.</li>
+ *     <li>{@code indexes.*} – sorted and hash indexes on JSON attributes, see {@link IndexProperties}.</li>
+ *     <li>{@code merge-timestamp-field} (default: none) – top-level JSON field compared by the
+ *     {@code field-merge} entry processor; an update older than the stored value is rejected, so a
+ *     late update never overwrites a newer value. Numbers compare numerically, text as ISO-8601 instants.</li>
+ *     <li>{@code shadow-cache.*} – memory budget, compression and eviction of the local shadow cache, see
+ *     {@link ShadowCacheProperties}.</li>
+ *     <li>{@code resync.*} – rate and dirty-key tracking of the resync after a reconnect, see
+ *     {@link ResyncProperties}.</li>
+ *     <li>{@code read.*} – freshness window of shadow cache reads and the map's near cache, see
+ *     {@link ReadProperties}.</li>
+ *     <li>{@code history.*} – optional per-symbol tick history in ringbuffers, see
+ *     {@link HistoryProperties}.</li>
+ *     <li>{@code expiry.*} – time to live, max idle (optionally per event class) and size bound of the map,
+ *     honoured by the shadow cache, see {@link ExpiryProperties}.</li>
+ *     <li>{@code map-store.*} – write-behind of the map into a JDBC table, see {@link MapStoreProperties}.</li>
+ *     <li>{@code topic.*} – sharded tick topic written by {@code HazelcastTickTopicAdapter}, see
+ *     {@link TickTopicProperties}.</li>
+ *     <li>{@code query-cache.*} – batching and coalescing of continuous query subscriptions, see
+ *     {@link QueryCacheProperties}.</li>
+ *     <li>{@code cluster.*} – deployment profile (member, data member, lite member or client), discovery
+ *     and map backups, see {@link ClusterProperties}.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "marketdata.hazelcast")
+public class HazelcastAdapterProperties {
+
+    /**
+     * Name of the Hazelcast map holding the latest value per cache ID.
+     */
+    private String cacheName = "default-name";
+
+    /**
+     * Name of the payload codec used to encode map values.
+     */
+    private String codec = JsonPayloadCodec.NAME;
+
+    /**
+     * Strategy used to write a flush into the map.
+     */
+    private HazelcastWriteMode writeMode = HazelcastWriteMode.PUT_ALL;
+
+    /**
+     * Maximum number of async group writes outstanding at once.
+     */
+    private int maxInFlightWrites = 4;
+
+    /**
+     * Maximum time in milliseconds a flush waits for its async group writes.
+     */
+    private long asyncWriteTimeoutMs = 30_000;
+
+    /**
+     * Whether JSON values are stored as HazelcastJsonValue.
+     */
+    private boolean jsonValue;
+
+    /**
+     * Attribute indexes on the map.
+     */
+    private final IndexProperties indexes = new IndexProperties();
+
+    /**
+     * JSON field holding the event timestamp for newer-wins merges; {@code null} disables the check.
+     */
+    private String mergeTimestampField;
+
+    /**
+     * Whether values equal to the last written value of their key are skipped.
+     */
+    private boolean skipUnchanged = true;
+
+    /**
+     * Local shadow cache settings.
+     */
+    private final ShadowCacheProperties shadowCache = new ShadowCacheProperties();
+
+    /**
+     * Resync settings applied after a reconnect.
+     */
+    private final ResyncProperties resync = new ResyncProperties();
+
+    /**
+     * Read API settings.
+     */
+    private final ReadProperties read = new ReadProperties();
+
+    /**
+     * Tick history settings.
+     */
+    private final HistoryProperties history = new HistoryProperties();
+
+    /**
+     * Continuous query cache settings.
+     */
+    private final QueryCacheProperties queryCache = new QueryCacheProperties();
+
+    /**
+     * Map expiry and eviction settings.
+     */
+    private final ExpiryProperties expiry = new ExpiryProperties();
+
+    /**
+     * Write-behind settings.
+     */
+    private final MapStoreProperties mapStore = new MapStoreProperties();
+
+    /**
+     * Tick topic settings.
+     */
+    private final TickTopicProperties topic = new TickTopicProperties();
+
+    /**
+     * Cluster membership settings.
+     */
+    private final ClusterProperties cluster = new ClusterProperties();
+
+    public static HazelcastAdapterProperties forCache(final String cacheName) {
+        HazelcastAdapterProperties properties = new HazelcastAdapterProperties();
+        properties.setCacheName(cacheName);
+        return properties;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public HazelcastWriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public void setWriteMode(HazelcastWriteMode writeMode) {
+        this.writeMode = writeMode;
+    }
+
+    public int getMaxInFlightWrites() {
+        return maxInFlightWrites;
+    }
+
+    public void setMaxInFlightWrites(int maxInFlightWrites) {
+        this.maxInFlightWrites = maxInFlightWrites;
+    }
+
+    public long getAsyncWriteTimeoutMs() {
+        return asyncWriteTimeoutMs;
+    }
+
+    public void setAsyncWriteTimeoutMs(long asyncWriteTimeoutMs) {
+        this.asyncWriteTimeoutMs = asyncWriteTimeoutMs;
+    }
+
+    public boolean isJsonValue() {
+        return jsonValue;
+    }
+
+    public void setJsonValue(boolean jsonValue) {
+        this.jsonValue = jsonValue;
+    }
+
+    public IndexProperties getIndexes() {
+        return indexes;
+    }
+
+    public String getMergeTimestampField() {
+        return mergeTimestampField;
+    }
+
+    public void setMergeTimestampField(String mergeTimestampField) {
+        this.mergeTimestampField = mergeTimestampField;
+    }
+
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    public ShadowCacheProperties getShadowCache() {
+        return shadowCache;
+    }
+
+    public ResyncProperties getResync() {
+        return resync;
+    }
+
+    public ReadProperties getRead() {
+        return read;
+    }
+
+    public HistoryProperties getHistory() {
+        return history;
+    }
+
+    public QueryCacheProperties getQueryCache() {
+        return queryCache;
+    }
+
+    public ExpiryProperties getExpiry() {
+        return expiry;
+    }
+
+    public MapStoreProperties getMapStore() {
+        return mapStore;
+    }
+
+    public TickTopicProperties getTopic() {
+        return topic;
+    }
+
+    public ClusterProperties getCluster() {
+        return cluster;
+    }
+}
@@ -1,30 +1,225 @@
 package com.example.marketdata.adapter.hazelcast.config;
 
+import com.example.marketdata.adapter.hazelcast.JdbcMapStore;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientConnectionStrategyConfig;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapStore;
+import com.hazelcast.spi.properties.ClusterProperty;
 import jakarta.annotation.PreDestroy;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+
 /**
  * Spring configuration that provisions the Hazelcast instance used by adapters and buffers
  * to store market data snapshots.
+ * <p>
+ * {@code marketdata.hazelcast.cluster.profile} selects an embedded member (default), a data member
+ * with explicit map settings, a lite member that holds no data, or a client of a separate cluster;
+ * see {@link ClusterProperties}. Settings of {@link HazelcastAdapterProperties} that Hazelcast only
+ * accepts at creation time are applied here (all under {@code marketdata.hazelcast}):
+ * <ul>
+ *     <li>{@code read.near-cache.*} – the near cache of the map.</li>
+ *     <li>{@code expiry.*} – map expiry and eviction; members only.</li>
+ *     <li>{@code query-cache.*} – batching of continuous query caches.</li>
+ *     <li>{@code topic.*} – the tick topic shards.</li>
+ *     <li>{@code history.*} – history ringbuffer capacities; members only.</li>
+ *     <li>{@code map-store.*} – write-behind of the map to the table of {@link MapStoreProperties}
+ *     through the application's {@link DataSource}; members only.</li>
+ * </ul>
  */
 @Configuration
 public class HazelcastConfiguration {
 
+    static final String INSTANCE_NAME = "market-data-hazelcast-instance";
+
     private HazelcastInstance hazelcastInstance;
 
     @Bean
-    public HazelcastInstance hazelcastInstance() {
-        Config config = new Config();
-        config.setInstanceName("market-data-hazelcast-instance");
+    public HazelcastInstance hazelcastInstance(HazelcastAdapterProperties properties,
+                                               ObjectProvider<DataSource> dataSource,
+                                               ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                                               ObjectProvider<StatsRecorder> statsRecorder) {
+        if (properties.getCluster().getProfile() == HazelcastProfile.CLIENT) {
+            hazelcastInstance = HazelcastClient.newHazelcastClient(clientConfig(properties));
+            return hazelcastInstance;
+        }
+        Config config = memberConfig(properties);
+        if (properties.getMapStore().isEnabled()) {
+            DataSource storeDataSource = dataSource.getIfAvailable();
+            if (storeDataSource == null) {
+                throw new IllegalStateException("marketdata.hazelcast.map-store.enabled requires a DataSource bean");
+            }
+            JdbcMapStore mapStore = new JdbcMapStore(storeDataSource, properties,
+                    payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                    statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
+            config.getMapConfig(properties.getCacheName())
+                    .setMapStoreConfig(mapStoreConfig(properties.getMapStore(), mapStore))
+                    .addEntryListenerConfig(expiredRowsListenerConfig(mapStore));
+        }
         hazelcastInstance = Hazelcast.newHazelcastInstance(config);
         return hazelcastInstance;
     }
 
+    /**
+     * Member config of the {@code member}, {@code data-member} and {@code lite-member} profiles.
+     */
+    public static Config memberConfig(HazelcastAdapterProperties properties) {
+        ClusterProperties cluster = properties.getCluster();
+        Config config = new Config();
+        config.setInstanceName(INSTANCE_NAME);
+        config.setClusterName(cluster.getClusterName());
+        config.setProperty(ClusterProperty.WAIT_SECONDS_BEFORE_JOIN.getName(),
+                String.valueOf(cluster.getWaitSecondsBeforeJoin()));
+
+        if (!cluster.getMembers().isEmpty()) {
+            JoinConfig join = config.getNetworkConfig().getJoin();
+            join.getMulticastConfig().setEnabled(false);
+            join.getAutoDetectionConfig().setEnabled(false);
+            join.getTcpIpConfig().setEnabled(true).setMembers(cluster.getMembers());
+        }
+
+        MapConfig mapConfig = config.getMapConfig(properties.getCacheName());
+        if (cluster.getProfile() == HazelcastProfile.LITE_MEMBER) {
+            config.setLiteMember(true);
+        } else if (cluster.getProfile() == HazelcastProfile.DATA_MEMBER) {
+            config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), String.valueOf(cluster.getPartitionCount()));
+            mapConfig.setInMemoryFormat(cluster.getInMemoryFormat())
+                    .setBackupCount(cluster.getBackupCount())
+                    .setAsyncBackupCount(cluster.getAsyncBackupCount())
+                    .setReadBackupData(cluster.isReadBackupData());
+        }
+
+        applyExpiry(mapConfig, properties.getExpiry());
+
+        NearCacheProperties nearCache = properties.getRead().getNearCache();
+        if (nearCache.isEnabled()) {
+            mapConfig.setNearCacheConfig(nearCacheConfig(nearCache));
+        }
+        mapConfig.addQueryCacheConfig(queryCacheConfig(properties.getQueryCache()));
+        if (properties.getHistory().isEnabled()) {
+            new HistoryRingbuffers(properties.getCacheName(), properties.getHistory()).configs()
+                    .forEach(config::addRingBufferConfig);
+        }
+        TickTopics tickTopics = new TickTopics(properties.getTopic());
+        config.addRingBufferConfig(tickTopics.ringbufferConfig());
+        config.addReliableTopicConfig(tickTopics.reliableTopicConfig());
+        return config;
+    }
+
+    /**
+     * Client config of the {@code client} profile.
+     */
+    public static ClientConfig clientConfig(HazelcastAdapterProperties properties) {
+        ClusterProperties cluster = properties.getCluster();
+        ClientProperties client = cluster.getClient();
+        ClientConfig config = new ClientConfig();
+        config.setInstanceName(INSTANCE_NAME);
+        config.setClusterName(cluster.getClusterName());
+
+        config.getNetworkConfig()
+                .setSmartRouting(client.isSmartRouting())
+                .setConnectionTimeout(client.getConnectionTimeoutMs());
+        if (!cluster.getMembers().isEmpty()) {
+            config.getNetworkConfig().setAddresses(cluster.getMembers());
+        }
+
+        ClientConnectionStrategyConfig connectionStrategy = config.getConnectionStrategyConfig()
+                .setAsyncStart(client.isAsyncStart())
+                .setReconnectMode(ClientConnectionStrategyConfig.ReconnectMode.ON);
+        connectionStrategy.getConnectionRetryConfig()
+                .setInitialBackoffMillis(client.getInitialBackoffMs())
+                .setMaxBackoffMillis(client.getMaxBackoffMs())
+                .setMultiplier(2)
+                .setClusterConnectTimeoutMillis(client.getClusterConnectTimeoutMs());
+
+        NearCacheProperties nearCache = properties.getRead().getNearCache();
+        if (nearCache.isEnabled()) {
+            config.addNearCacheConfig(nearCacheConfig(nearCache).setName(properties.getCacheName()));
+        }
+        config.addQueryCacheConfig(properties.getCacheName(), queryCacheConfig(properties.getQueryCache()));
+        config.addReliableTopicConfig(new TickTopics(properties.getTopic()).clientReliableTopicConfig());
+        return config;
+    }
+
+    /**
+     * Map-wide expiry and size bound; event class expiry is set per entry by the adapter.
+     */
+    static void applyExpiry(MapConfig mapConfig, ExpiryProperties expiry) {
+        mapConfig.setTimeToLiveSeconds(expiry.getTimeToLiveSeconds())
+                .setMaxIdleSeconds(expiry.getMaxIdleSeconds());
+        if (expiry.getMaxSize() > 0) {
+            mapConfig.setEvictionConfig(new EvictionConfig()
+                    .setEvictionPolicy(expiry.getEvictionPolicy())
+                    .setMaxSizePolicy(expiry.getMaxSizePolicy())
+                    .setSize(expiry.getMaxSize()));
+        }
+    }
+
+    /**
+     * Write-behind of the map through {@code mapStore}; the map loads entries on demand rather than
+     * preloading the table.
+     */
+    public static MapStoreConfig mapStoreConfig(MapStoreProperties properties, MapStore<String, Object> mapStore) {
+        return new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(mapStore)
+                .setWriteDelaySeconds(properties.getWriteDelaySeconds())
+                .setWriteBatchSize(properties.getWriteBatchSize())
+                .setWriteCoalescing(properties.isWriteCoalescing())
+                .setInitialLoadMode(MapStoreConfig.InitialLoadMode.LAZY);
+    }
+
+    /**
+     * Local listener deleting the rows of entries the member expires.
+     */
+    public static EntryListenerConfig expiredRowsListenerConfig(JdbcMapStore mapStore) {
+        return new EntryListenerConfig(mapStore, true, false);
+    }
+
+    static NearCacheConfig nearCacheConfig(NearCacheProperties nearCache) {
+        return new NearCacheConfig()
+                .setInvalidateOnChange(nearCache.isInvalidateOnChange())
+                .setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds())
+                .setMaxIdleSeconds(nearCache.getMaxIdleSeconds())
+                // members also cache entries of partitions they own, not only remote ones
+                .setCacheLocalEntries(true)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setSize(nearCache.getMaxSize()));
+    }
+
+    /**
+     * Wildcard config matching every query cache of the map, whatever name its subscriber chose.
+     */
+    static QueryCacheConfig queryCacheConfig(QueryCacheProperties queryCache) {
+        return new QueryCacheConfig("*")
+                .setBatchSize(queryCache.getBatchSize())
+                .setBufferSize(queryCache.getBufferSize())
+                .setDelaySeconds(queryCache.getDelaySeconds())
+                .setCoalesce(queryCache.isCoalesce())
+                .setPopulate(queryCache.isPopulate())
+                .setIncludeValue(true);
+    }
+
     @PreDestroy
     public void shutdownHazelcastInstance() {
         if (hazelcastInstance != null) {
@@ -0,0 +1,28 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * How this service joins the Hazelcast cluster, see {@link HazelcastConfiguration}.
+ */
+public enum HazelcastProfile {
+
+    /**
+     * Embedded member with Hazelcast's default map settings; holds data.
+     */
+    MEMBER,
+
+    /**
+     * Embedded member that holds data, with the map's in-memory format, backups and the
+     * partition count taken from {@code marketdata.hazelcast.cluster.*}.
+     */
+    DATA_MEMBER,
+
+    /**
+     * Embedded member that joins the cluster but owns no partitions; needs data members elsewhere.
+     */
+    LITE_MEMBER,
+
+    /**
+     * Client of a separately deployed cluster; no data, no cluster membership.
+     */
+    CLIENT
+}
@@ -0,0 +1,29 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * How {@link com.example.marketdata.adapter.hazelcast.HazelcastBufferCacheAdapter} writes a flush
+ * into the Hazelcast map.
+ */
+public enum HazelcastWriteMode {
+
+    /**
+     * One blocking {@code IMap.putAll} for the whole batch; waits for every partition owner.
+     */
+    PUT_ALL,
+
+    /**
+     * One {@code IMap.setAllAsync} per partition owner, so a slow member only delays its share.
+     */
+    ASYNC_BY_OWNER,
+
+    /**
+     * One {@code IMap.setAllAsync} per partition; finer grained, more calls per flush.
+     */
+    ASYNC_BY_PARTITION,
+
+    /**
+     * Only the top-level JSON fields that changed since the previous flush, applied by an
+     * {@code EntryProcessor} on the partition owner; requires the {@code json} codec.
+     */
+    FIELD_MERGE
+}
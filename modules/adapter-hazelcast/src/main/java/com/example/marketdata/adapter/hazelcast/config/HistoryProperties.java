@@ -0,0 +1,75 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-symbol tick history kept in Hazelcast ringbuffers, bound under
+ * {@code marketdata.hazelcast.history}:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – append every buffered update to a ringbuffer next to
+ *     the latest-value map.</li>
+ *     <li>{@code capacity} (default: {@code 1000}) – ticks kept per ringbuffer; the oldest are overwritten.</li>
+ *     <li>{@code capacities.<prefix>} (default: none) – capacity for the symbol class of cache IDs starting
+ *     with {@code <prefix>}; the longest matching prefix wins.</li>
+ *     <li>{@code buckets} (default: {@code 0}) – {@code 0} keeps one ringbuffer per cache ID; a positive
+ *     value hashes the cache IDs of each symbol class into that many shared ringbuffers, which bounds
+ *     the number of ringbuffers but makes history reads scan the whole bucket.</li>
+ * </ul>
+ * Capacities are ringbuffer configs, applied by {@link HazelcastConfiguration} on embedded members;
+ * with the {@code client} profile the cluster must define them, see {@link HistoryRingbuffers}.
+ */
+public class HistoryProperties {
+
+    /**
+     * Whether updates are appended to history ringbuffers.
+     */
+    private boolean enabled;
+
+    /**
+     * Default ticks kept per ringbuffer.
+     */
+    private int capacity = 1_000;
+
+    /**
+     * Ticks kept per ringbuffer by cache ID prefix.
+     */
+    private Map<String, Integer> capacities = new LinkedHashMap<>();
+
+    /**
+     * Shared ringbuffers per symbol class; 0 means one ringbuffer per cache ID.
+     */
+    private int buckets;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Map<String, Integer> getCapacities() {
+        return capacities;
+    }
+
+    public void setCapacities(Map<String, Integer> capacities) {
+        this.capacities = capacities;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(int buckets) {
+        this.buckets = buckets;
+    }
+}
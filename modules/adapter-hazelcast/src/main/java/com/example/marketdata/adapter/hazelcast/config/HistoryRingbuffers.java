@@ -0,0 +1,70 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.config.RingbufferConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names of the history ringbuffers of one map and the ringbuffer configs that size them.
+ * <p>
+ * A cache ID is written to {@code <cache-name>.history.<cache-id>}, or with buckets to
+ * {@code <cache-name>.history.<class-prefix>#<bucket>}, where {@code <class-prefix>} is the longest
+ * configured {@code capacities} prefix the cache ID starts with (empty for the default class). The
+ * configs are wildcard configs {@code <cache-name>.history.<class-prefix>*}, so Hazelcast sizes both
+ * forms by the most specific class. Client deployments need the same configs on the cluster.
+ */
+public final class HistoryRingbuffers {
+
+    private static final String HISTORY_INFIX = ".history.";
+
+    private final String cacheName;
+    private final HistoryProperties properties;
+
+    public HistoryRingbuffers(final String cacheName, final HistoryProperties properties) {
+        this.cacheName = cacheName;
+        this.properties = properties;
+    }
+
+    /**
+     * @return name of the ringbuffer holding the history of {@code cacheId}
+     */
+    public String nameFor(final String cacheId) {
+        if (properties.getBuckets() <= 0) {
+            return cacheName + HISTORY_INFIX + cacheId;
+        }
+        return cacheName + HISTORY_INFIX + classPrefix(cacheId) + "#"
+                + Math.floorMod(cacheId.hashCode(), properties.getBuckets());
+    }
+
+    /**
+     * @return whether ringbuffers hold the history of several cache IDs
+     */
+    public boolean isBucketed() {
+        return properties.getBuckets() > 0;
+    }
+
+    /**
+     * @return one wildcard config per symbol class, plus the default class
+     */
+    public List<RingbufferConfig> configs() {
+        List<RingbufferConfig> configs = new ArrayList<>();
+        configs.add(new RingbufferConfig(cacheName + HISTORY_INFIX + "*").setCapacity(properties.getCapacity()));
+        for (Map.Entry<String, Integer> symbolClass : properties.getCapacities().entrySet()) {
+            configs.add(new RingbufferConfig(cacheName + HISTORY_INFIX + symbolClass.getKey() + "*")
+                    .setCapacity(symbolClass.getValue()));
+        }
+        return configs;
+    }
+
+    private String classPrefix(final String cacheId) {
+        String longest = "";
+        for (String prefix : properties.getCapacities().keySet()) {
+            if (prefix.length() > longest.length() && cacheId.startsWith(prefix)) {
+                longest = prefix;
+            }
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Attribute indexes on the adapter's map, bound under {@code marketdata.hazelcast.indexes}. They
+ * only apply to values stored with {@code json-value}, whose JSON attributes members can read:
+ * <ul>
+ *     <li>{@code sorted} (default: none) – attributes used in range predicates or ordering, such as
+ *     {@code price} or {@code timestamp}.</li>
+ *     <li>{@code hash} (default: none) – attributes only used in equality predicates, such as
+ *     {@code source} or {@code symbol}.</li>
+ * </ul>
+ * Nested attributes use dot paths ({@code quote.bid}).
+ */
+public class IndexProperties {
+
+    /**
+     * Attributes with a sorted index.
+     */
+    private List<String> sorted = new ArrayList<>();
+
+    /**
+     * Attributes with a hash index.
+     */
+    private List<String> hash = new ArrayList<>();
+
+    public List<String> getSorted() {
+        return sorted;
+    }
+
+    public void setSorted(List<String> sorted) {
+        this.sorted = sorted;
+    }
+
+    public List<String> getHash() {
+        return hash;
+    }
+
+    public void setHash(List<String> hash) {
+        this.hash = hash;
+    }
+}
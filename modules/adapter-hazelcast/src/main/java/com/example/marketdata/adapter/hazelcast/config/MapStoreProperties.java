@@ -0,0 +1,132 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Write-behind of the adapter's map into a relational table, bound under
+ * {@code marketdata.hazelcast.map-store}:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – persist the map through {@code JdbcMapStore}; needs a
+ *     {@code javax.sql.DataSource} bean.</li>
+ *     <li>{@code table} (default: {@code market_data_cache}) – table holding one row per cache ID.</li>
+ *     <li>{@code key-column} (default: {@code cache_id}) – primary key column for the cache ID.</li>
+ *     <li>{@code value-column} (default: {@code payload}) – column for the encoded value: text for the
+ *     {@code json} codec, binary for the others.</li>
+ *     <li>{@code upsert-syntax} (default: {@code merge}) – {@link UpsertSyntax} of the database, used to
+ *     insert or update a row in one statement.</li>
+ *     <li>{@code write-delay-seconds} (default: {@code 5}) – how long updates are queued before they are
+ *     written; {@code 0} writes through on every update.</li>
+ *     <li>{@code write-batch-size} (default: {@code 500}) – rows written per JDBC batch.</li>
+ *     <li>{@code write-coalescing} (default: {@code true}) – write only the latest queued update per cache
+ *     ID, so the table sees the conflated cache rather than every tick.</li>
+ * </ul>
+ * The store is set on embedded members holding data by {@link HazelcastConfiguration}; with the
+ * {@code client} profile the cluster must configure it. Entries expired from the map are deleted from
+ * the table, so a later read-through cannot bring them back; keep {@code write-delay-seconds} below the
+ * expiry so a queued write does not land after the delete. Entries evicted by {@code expiry.max-size}
+ * stay in the table and are read through again.
+ */
+public class MapStoreProperties {
+
+    /**
+     * Whether the map is persisted to the table.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Table holding the latest value per cache ID.
+     */
+    private String table = "market_data_cache";
+
+    /**
+     * Primary key column.
+     */
+    private String keyColumn = "cache_id";
+
+    /**
+     * Value column.
+     */
+    private String valueColumn = "payload";
+
+    /**
+     * Statement rows are written with.
+     */
+    private UpsertSyntax upsertSyntax = UpsertSyntax.MERGE;
+
+    /**
+     * Delay in seconds before queued updates are written, {@code 0} for write-through.
+     */
+    private int writeDelaySeconds = 5;
+
+    /**
+     * Rows per JDBC batch.
+     */
+    private int writeBatchSize = 500;
+
+    /**
+     * Whether only the latest queued update per key is written.
+     */
+    private boolean writeCoalescing = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public void setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+    }
+
+    public String getValueColumn() {
+        return valueColumn;
+    }
+
+    public void setValueColumn(String valueColumn) {
+        this.valueColumn = valueColumn;
+    }
+
+    public UpsertSyntax getUpsertSyntax() {
+        return upsertSyntax;
+    }
+
+    public void setUpsertSyntax(UpsertSyntax upsertSyntax) {
+        this.upsertSyntax = upsertSyntax;
+    }
+
+    public int getWriteDelaySeconds() {
+        return writeDelaySeconds;
+    }
+
+    public void setWriteDelaySeconds(int writeDelaySeconds) {
+        this.writeDelaySeconds = writeDelaySeconds;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public boolean isWriteCoalescing() {
+        return writeCoalescing;
+    }
+
+    public void setWriteCoalescing(boolean writeCoalescing) {
+        this.writeCoalescing = writeCoalescing;
+    }
+}
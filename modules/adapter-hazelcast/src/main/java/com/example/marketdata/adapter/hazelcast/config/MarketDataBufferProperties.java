@@ -0,0 +1,48 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the buffer in front of the Hazelcast adapter.
+ * <p>
+ * Properties (all under {@code marketdata.buffer}) and how they are applied:
+ * <ul>
+ *     <li>{@code type} (default: {@code concurrent-map}) – buffer implementation:
+ *     {@code concurrent-map} ({@link com.example.marketdata.cache.MarketDataBuffer}),
+ *     {@code double-buffered} ({@link com.example.marketdata.cache.DoubleBufferedMarketDataBuffer}) or
+ *     {@code slot-array} ({@link com.example.marketdata.cache.SlotArrayMarketDataBuffer}).</li>
+ *     <li>{@code capacity} (default: {@code 65536}) – number of distinct keys the {@code slot-array}
+ *     buffer preallocates slots for; further keys go to a slower overflow map.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "marketdata.buffer")
+public class MarketDataBufferProperties {
+
+    /**
+     * Buffer implementation.
+     */
+    private String type = "concurrent-map";
+
+    /**
+     * Distinct keys with a preallocated slot in the slot-array buffer.
+     */
+    private int capacity = 65_536;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Hazelcast near cache for the adapter's map, bound under
+ * {@code marketdata.hazelcast.read.near-cache} and applied when the Hazelcast instance is created:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – configure a near cache for {@code cache-name}.</li>
+ *     <li>{@code max-size} (default: {@code 10000}) – entries kept per instance, evicted LRU.</li>
+ *     <li>{@code time-to-live-seconds} (default: {@code 0}, unlimited) – maximum age of a cached entry.</li>
+ *     <li>{@code max-idle-seconds} (default: {@code 0}, unlimited) – maximum time since the last read.</li>
+ *     <li>{@code invalidate-on-change} (default: {@code true}) – drop cached entries when the cluster
+ *     changes them; without it reads can stay stale up to the TTL.</li>
+ * </ul>
+ */
+public class NearCacheProperties {
+
+    /**
+     * Whether a near cache is configured for the adapter's map.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of near cache entries.
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * Maximum age in seconds of a near cache entry, {@code 0} for unlimited.
+     */
+    private int timeToLiveSeconds = 0;
+
+    /**
+     * Maximum idle time in seconds of a near cache entry, {@code 0} for unlimited.
+     */
+    private int maxIdleSeconds = 0;
+
+    /**
+     * Whether cluster updates invalidate near cache entries.
+     */
+    private boolean invalidateOnChange = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public int getMaxIdleSeconds() {
+        return maxIdleSeconds;
+    }
+
+    public void setMaxIdleSeconds(int maxIdleSeconds) {
+        this.maxIdleSeconds = maxIdleSeconds;
+    }
+
+    public boolean isInvalidateOnChange() {
+        return invalidateOnChange;
+    }
+
+    public void setInvalidateOnChange(boolean invalidateOnChange) {
+        this.invalidateOnChange = invalidateOnChange;
+    }
+}
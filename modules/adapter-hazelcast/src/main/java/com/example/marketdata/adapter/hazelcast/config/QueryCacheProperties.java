@@ -0,0 +1,84 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Continuous query caches on the adapter's map, bound under {@code marketdata.hazelcast.query-cache}
+ * and applied to every query cache of {@code cache-name} when the Hazelcast instance is created:
+ * <ul>
+ *     <li>{@code batch-size} (default: {@code 100}) – updates a partition sends to a subscriber in one event.</li>
+ *     <li>{@code buffer-size} (default: {@code 1024}) – updates a partition holds per subscriber while
+ *     batching; beyond it the subscriber view is marked stale and repopulated.</li>
+ *     <li>{@code delay-seconds} (default: {@code 1}) – longest time an update waits for its batch to fill;
+ *     {@code 0} sends every update at once.</li>
+ *     <li>{@code coalesce} (default: {@code true}) – keep only the latest pending update per key while
+ *     batching, so a subscriber sees the current value instead of every tick.</li>
+ *     <li>{@code populate} (default: {@code true}) – load the matching entries when a subscription is
+ *     created, instead of starting empty.</li>
+ * </ul>
+ */
+public class QueryCacheProperties {
+
+    /**
+     * Updates sent to a subscriber per event.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Pending updates buffered per partition and subscriber.
+     */
+    private int bufferSize = 1_024;
+
+    /**
+     * Maximum batching delay in seconds.
+     */
+    private int delaySeconds = 1;
+
+    /**
+     * Whether pending updates of one key are coalesced.
+     */
+    private boolean coalesce = true;
+
+    /**
+     * Whether a new subscription is populated with the matching entries.
+     */
+    private boolean populate = true;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getDelaySeconds() {
+        return delaySeconds;
+    }
+
+    public void setDelaySeconds(int delaySeconds) {
+        this.delaySeconds = delaySeconds;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public boolean isPopulate() {
+        return populate;
+    }
+
+    public void setPopulate(boolean populate) {
+        this.populate = populate;
+    }
+}
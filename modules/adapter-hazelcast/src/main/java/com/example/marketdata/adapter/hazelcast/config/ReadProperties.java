@@ -0,0 +1,35 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Settings of the adapter's read API, bound under {@code marketdata.hazelcast.read}:
+ * <ul>
+ *     <li>{@code shadow-max-age-ms} (default: {@code 5000}) – shadow cache entries written by this process
+ *     within this window are served directly, as they are at least as fresh as the cluster copy;
+ *     older ones are read through the map. {@code 0} always reads through the map.</li>
+ *     <li>{@code near-cache.*} – Hazelcast near cache for the map, see {@link NearCacheProperties}.</li>
+ * </ul>
+ */
+public class ReadProperties {
+
+    /**
+     * Maximum age in milliseconds of a shadow cache entry served by reads.
+     */
+    private long shadowMaxAgeMs = 5_000;
+
+    /**
+     * Near cache settings for the adapter's map.
+     */
+    private final NearCacheProperties nearCache = new NearCacheProperties();
+
+    public long getShadowMaxAgeMs() {
+        return shadowMaxAgeMs;
+    }
+
+    public void setShadowMaxAgeMs(long shadowMaxAgeMs) {
+        this.shadowMaxAgeMs = shadowMaxAgeMs;
+    }
+
+    public NearCacheProperties getNearCache() {
+        return nearCache;
+    }
+}
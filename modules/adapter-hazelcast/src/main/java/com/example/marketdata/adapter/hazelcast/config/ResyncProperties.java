@@ -0,0 +1,56 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Settings of the shadow cache resync after a Hazelcast reconnect, bound under
+ * {@code marketdata.hazelcast.resync}:
+ * <ul>
+ *     <li>{@code max-entries-per-second} (default: {@code 20000}, {@code 0} unlimited) – write rate of the
+ *     resync, so it does not compete with live flushes for the cluster.</li>
+ *     <li>{@code max-dirty-keys} (default: {@code 100000}) – keys tracked while disconnected; beyond this
+ *     the tracking is dropped and the next resync replays the whole shadow cache.</li>
+ *     <li>{@code retry-delay-ms} (default: {@code 5000}) – delay before a failed resync is retried, and
+ *     before keys marked dirty while connected are resynced.</li>
+ * </ul>
+ * Chunk size is {@code marketdata.hazelcast.shadow-cache.resend-chunk-size}.
+ */
+public class ResyncProperties {
+
+    /**
+     * Maximum number of entries written per second, {@code 0} for unlimited.
+     */
+    private int maxEntriesPerSecond = 20_000;
+
+    /**
+     * Maximum number of dirty keys tracked before falling back to a full resync.
+     */
+    private int maxDirtyKeys = 100_000;
+
+    /**
+     * Delay in milliseconds before a failed resync is retried.
+     */
+    private long retryDelayMs = 5_000;
+
+    public int getMaxEntriesPerSecond() {
+        return maxEntriesPerSecond;
+    }
+
+    public void setMaxEntriesPerSecond(int maxEntriesPerSecond) {
+        this.maxEntriesPerSecond = maxEntriesPerSecond;
+    }
+
+    public int getMaxDirtyKeys() {
+        return maxDirtyKeys;
+    }
+
+    public void setMaxDirtyKeys(int maxDirtyKeys) {
+        this.maxDirtyKeys = maxDirtyKeys;
+    }
+
+    public long getRetryDelayMs() {
+        return retryDelayMs;
+    }
+
+    public void setRetryDelayMs(long retryDelayMs) {
+        this.retryDelayMs = retryDelayMs;
+    }
+}
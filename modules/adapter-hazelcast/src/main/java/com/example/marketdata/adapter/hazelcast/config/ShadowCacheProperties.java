@@ -0,0 +1,85 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Settings of the adapter's local shadow cache, bound under
+ * {@code marketdata.hazelcast.shadow-cache}:
+ * <ul>
+ *     <li>{@code compressed} (default: {@code true}) – store values deflated when that makes them smaller.</li>
+ *     <li>{@code off-heap} (default: {@code false}) – keep value bytes in direct buffers instead of the heap,
+ *     one per key that later values of the key are written into; their capacity counts against
+ *     {@code max-bytes}.</li>
+ *     <li>{@code max-bytes} (default: {@code 0}, unbounded) – memory budget; least recently written
+ *     entries are evicted once it is exceeded.</li>
+ *     <li>{@code ttl-ms} (default: {@code 0}, never) – entries not written for this long are evicted as
+ *     dead symbols.</li>
+ *     <li>{@code resend-chunk-size} (default: {@code 1000}) – entries per {@code putAll} when the shadow
+ *     cache is replayed after a reconnect.</li>
+ * </ul>
+ */
+public class ShadowCacheProperties {
+
+    /**
+     * Whether values are stored deflated.
+     */
+    private boolean compressed = true;
+
+    /**
+     * Whether value bytes are kept in direct (off-heap) buffers.
+     */
+    private boolean offHeap = false;
+
+    /**
+     * Approximate memory budget in bytes, {@code 0} for unbounded.
+     */
+    private long maxBytes = 0;
+
+    /**
+     * Time in milliseconds after the last write at which an entry is evicted, {@code 0} for never.
+     */
+    private long ttlMs = 0;
+
+    /**
+     * Number of entries written per call when replaying the shadow cache.
+     */
+    private int resendChunkSize = 1_000;
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public int getResendChunkSize() {
+        return resendChunkSize;
+    }
+
+    public void setResendChunkSize(int resendChunkSize) {
+        this.resendChunkSize = resendChunkSize;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * Hazelcast structure behind each tick topic shard, see {@link TickTopics}.
+ */
+public enum TickTopicBacking {
+
+    /**
+     * A {@code ReliableTopic}: consumers register message listeners, Hazelcast applies the overload
+     * policy. Its ringbuffer is named {@code _hz_rb_<shard>}.
+     */
+    RELIABLE_TOPIC,
+
+    /**
+     * A plain {@code Ringbuffer}: consumers read by sequence at their own pace and can replay what is
+     * still retained; the adapter applies the overload policy.
+     */
+    RINGBUFFER
+}
@@ -0,0 +1,147 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.topic.TopicOverloadPolicy;
+
+/**
+ * Tick broadcast of every buffered update, in order per cache ID, bound under
+ * {@code marketdata.hazelcast.topic}:
+ * <ul>
+ *     <li>{@code name} (default: {@code market-data-ticks}) – base name of the shards
+ *     {@code <name>.<shard>}.</li>
+ *     <li>{@code shards} (default: {@code 8}) – shards the cache IDs are hashed into; all ticks of one
+ *     cache ID go to one shard, in order.</li>
+ *     <li>{@code backing} (default: {@code reliable-topic}) – {@link TickTopicBacking}.</li>
+ *     <li>{@code capacity} (default: {@code 100000}) – ticks retained per shard.</li>
+ *     <li>{@code time-to-live-seconds} (default: {@code 0}) – how long a tick is retained at least. With
+ *     {@code 0} a shard is never full and a publish overwrites its oldest tick.</li>
+ *     <li>{@code overload-policy} (default: {@code block}) – what a publish does when a shard is full of
+ *     ticks younger than {@code time-to-live-seconds}: {@code discard-oldest}, {@code discard-newest},
+ *     {@code block} (back off until there is room or {@code publish-timeout-ms} passes) or
+ *     {@code error}.</li>
+ *     <li>{@code read-batch-size} (default: {@code 100}) – ticks a reliable topic listener fetches per read.</li>
+ *     <li>{@code max-in-flight} (default: {@code 8}) – shards published concurrently.</li>
+ *     <li>{@code publish-timeout-ms} (default: {@code 30000}) – time a batch waits for its shards; shards
+ *     still pending afterwards fail the batch as retryable.</li>
+ * </ul>
+ * Shard configs are applied by {@link HazelcastConfiguration}; with the {@code client} profile the
+ * cluster must define the ringbuffer capacities, see {@link TickTopics}.
+ */
+public class TickTopicProperties {
+
+    /**
+     * Base name of the shards.
+     */
+    private String name = "market-data-ticks";
+
+    /**
+     * Number of shards.
+     */
+    private int shards = 8;
+
+    /**
+     * Hazelcast structure of each shard.
+     */
+    private TickTopicBacking backing = TickTopicBacking.RELIABLE_TOPIC;
+
+    /**
+     * Ticks retained per shard.
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Minimum retention of a tick in seconds, {@code 0} for none.
+     */
+    private int timeToLiveSeconds = 0;
+
+    /**
+     * Behaviour when a shard is full.
+     */
+    private TopicOverloadPolicy overloadPolicy = TopicOverloadPolicy.BLOCK;
+
+    /**
+     * Ticks fetched per read by reliable topic listeners.
+     */
+    private int readBatchSize = 100;
+
+    /**
+     * Shards published concurrently.
+     */
+    private int maxInFlight = 8;
+
+    /**
+     * Maximum time in ms a batch waits for its shards.
+     */
+    private long publishTimeoutMs = 30_000;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public TickTopicBacking getBacking() {
+        return backing;
+    }
+
+    public void setBacking(TickTopicBacking backing) {
+        this.backing = backing;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public TopicOverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public void setOverloadPolicy(TopicOverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    public int getReadBatchSize() {
+        return readBatchSize;
+    }
+
+    public void setReadBatchSize(int readBatchSize) {
+        this.readBatchSize = readBatchSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public long getPublishTimeoutMs() {
+        return publishTimeoutMs;
+    }
+
+    public void setPublishTimeoutMs(long publishTimeoutMs) {
+        this.publishTimeoutMs = publishTimeoutMs;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.client.config.ClientReliableTopicConfig;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard names of the tick topic and the configs that size them.
+ * <p>
+ * A cache ID is published to {@code <name>.<shard>} with {@code shard} its hash modulo
+ * {@code shards}, so consumers of one symbol read one shard. The configs are wildcard configs
+ * {@code <name>.*}; a reliable topic keeps its ticks in the ringbuffer {@code _hz_rb_<name>.<shard>},
+ * which is what the ringbuffer config sizes. Client deployments need the same ringbuffer config on
+ * the cluster.
+ */
+public final class TickTopics {
+
+    /**
+     * Prefix Hazelcast gives the ringbuffer behind a reliable topic.
+     */
+    static final String RELIABLE_TOPIC_RINGBUFFER_PREFIX = "_hz_rb_";
+
+    private final TickTopicProperties properties;
+
+    public TickTopics(final TickTopicProperties properties) {
+        if (properties.getShards() < 1) {
+            throw new IllegalArgumentException("marketdata.hazelcast.topic.shards must be at least 1");
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * @return name of the shard carrying the ticks of {@code cacheId}
+     */
+    public String nameFor(final String cacheId) {
+        return properties.getName() + "." + Math.floorMod(cacheId.hashCode(), properties.getShards());
+    }
+
+    /**
+     * @return names of all shards, for consumers that read every tick
+     */
+    public List<String> names() {
+        List<String> names = new ArrayList<>(properties.getShards());
+        for (int shard = 0; shard < properties.getShards(); shard++) {
+            names.add(properties.getName() + "." + shard);
+        }
+        return names;
+    }
+
+    public RingbufferConfig ringbufferConfig() {
+        String prefix = properties.getBacking() == TickTopicBacking.RELIABLE_TOPIC ? RELIABLE_TOPIC_RINGBUFFER_PREFIX : "";
+        return new RingbufferConfig(prefix + properties.getName() + ".*")
+                .setCapacity(properties.getCapacity())
+                // without a time to live a ringbuffer is never full, so the overload policy never applies
+                .setTimeToLiveSeconds(properties.getTimeToLiveSeconds());
+    }
+
+    public ReliableTopicConfig reliableTopicConfig() {
+        return new ReliableTopicConfig(properties.getName() + ".*")
+                .setTopicOverloadPolicy(properties.getOverloadPolicy())
+                .setReadBatchSize(properties.getReadBatchSize());
+    }
+
+    public ClientReliableTopicConfig clientReliableTopicConfig() {
+        return new ClientReliableTopicConfig(properties.getName() + ".*")
+                .setTopicOverloadPolicy(properties.getOverloadPolicy())
+                .setReadBatchSize(properties.getReadBatchSize());
+    }
+}
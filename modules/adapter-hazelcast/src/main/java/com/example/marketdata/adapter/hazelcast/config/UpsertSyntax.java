@@ -0,0 +1,23 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+/**
+ * SQL statement {@link com.example.marketdata.adapter.hazelcast.JdbcMapStore} writes a row with,
+ * inserting it or replacing the value of the existing row in one step.
+ */
+public enum UpsertSyntax {
+
+    /**
+     * Standard {@code MERGE INTO ... USING (SELECT ...)}; H2, SQL Server, DB2 and PostgreSQL 15+.
+     */
+    MERGE,
+
+    /**
+     * {@code MERGE INTO ... USING (SELECT ... FROM dual)}; Oracle.
+     */
+    MERGE_FROM_DUAL,
+
+    /**
+     * {@code INSERT ... ON CONFLICT DO UPDATE}; PostgreSQL before 15 and SQLite.
+     */
+    ON_CONFLICT
+}
@@ -0,0 +1,129 @@
+package com.example.marketdata.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MarketDataBuffer} that alternates between two preallocated maps and never loses a write
+ * to a released map.
+ * <p>
+ * Writers register on the active map before writing and re-check that it is still active;
+ * {@link #releaseBuffer()} switches to the spare map and then waits until every writer registered
+ * on the retired map has finished, so the map it hands over is complete and no longer written to.
+ * The spare is the map handed over by the previous release, cleared and reused, so a release
+ * neither copies nor allocates. The returned map therefore belongs to the caller only until the
+ * next {@code releaseBuffer()} call.
+ * <p>
+ * Enabled with {@code marketdata.buffer.type=double-buffered}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "marketdata.buffer", name = "type", havingValue = "double-buffered")
+public class DoubleBufferedMarketDataBuffer<T> extends MarketDataBuffer<T> {
+
+    private static final long NO_PENDING_CHANGES = 0L;
+
+    private static final class Buffer<T> {
+        private final ConcurrentHashMap<String, T> entries = new ConcurrentHashMap<>();
+        private final AtomicLong firstPutNanos = new AtomicLong(NO_PENDING_CHANGES);
+        private final AtomicInteger writers = new AtomicInteger();
+    }
+
+    private volatile Buffer<T> active = new Buffer<>();
+    private Buffer<T> spare = new Buffer<>();
+
+    @Override
+    public void put(String key, T value) {
+        Buffer<T> buffer = enter();
+        try {
+            buffer.entries.put(key, value);
+            markPending(buffer);
+        } finally {
+            buffer.writers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public int mergeBack(Map<String, T> entries) {
+        Buffer<T> buffer = enter();
+        try {
+            int merged = 0;
+            for (Map.Entry<String, T> entry : entries.entrySet()) {
+                if (buffer.entries.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    merged++;
+                }
+            }
+            if (merged > 0) {
+                markPending(buffer);
+            }
+            return merged;
+        } finally {
+            buffer.writers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return active.entries.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return active.entries.size();
+    }
+
+    @Override
+    public long getOldestPendingAgeMs() {
+        long firstPutNanos = active.firstPutNanos.get();
+        if (firstPutNanos == NO_PENDING_CHANGES) {
+            return 0L;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstPutNanos);
+    }
+
+    /**
+     * Switch buffers and return the retired map once its last writer has finished. The map stays
+     * valid until the next call, which clears and reuses it.
+     */
+    @Override
+    public synchronized Map<String, T> releaseBuffer() {
+        Buffer<T> next = spare;
+        next.entries.clear();
+        next.firstPutNanos.set(NO_PENDING_CHANGES);
+
+        Buffer<T> retired = active;
+        active = next;
+        // writers that registered before the switch finish their write; later ones retry on next
+        while (retired.writers.get() != 0) {
+            Thread.onSpinWait();
+        }
+        spare = retired;
+        return retired.entries;
+    }
+
+    /**
+     * Register as a writer on the active buffer. A writer that registered on a buffer that was
+     * retired meanwhile backs out and retries, so it never writes after the release waited.
+     */
+    private Buffer<T> enter() {
+        while (true) {
+            Buffer<T> buffer = active;
+            buffer.writers.incrementAndGet();
+            if (buffer == active) {
+                return buffer;
+            }
+            buffer.writers.decrementAndGet();
+        }
+    }
+
+    private static void markPending(Buffer<?> buffer) {
+        if (buffer.firstPutNanos.get() == NO_PENDING_CHANGES) {
+            buffer.firstPutNanos.compareAndSet(NO_PENDING_CHANGES, System.nanoTime());
+        }
+    }
+}
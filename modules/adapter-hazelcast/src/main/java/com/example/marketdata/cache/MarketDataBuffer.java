@@ -5,29 +5,97 @@ import org.springframework.stereotype.Component;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Thread-safe buffer that temporarily stores the latest market data entries before they
  * are flushed to an external cache or adapter.
+ * <p>
+ * Besides the entries it tracks when the first change since the last release arrived, so a
+ * flusher can bound how stale the downstream cache gets ({@link #getOldestPendingAgeMs()}).
+ * <p>
+ * {@code marketdata.buffer.type} selects the implementation: {@code concurrent-map} (default, this
+ * class), {@code double-buffered} ({@link DoubleBufferedMarketDataBuffer}) or {@code slot-array}
+ * ({@link SlotArrayMarketDataBuffer}); see
+ * {@link com.example.marketdata.adapter.hazelcast.config.MarketDataBufferProperties}.
  */
 @Component
+@ConditionalOnProperty(prefix = "marketdata.buffer", name = "type", havingValue = "concurrent-map", matchIfMissing = true)
 public class MarketDataBuffer <T> {
 
+    private static final long NO_PENDING_CHANGES = 0L;
+
+    private static final class Generation<T> {
+        private final ConcurrentHashMap<String, T> entries = new ConcurrentHashMap<>();
+        private final AtomicLong firstPutNanos = new AtomicLong(NO_PENDING_CHANGES);
+    }
+
     // Atomic drain of the entire buffer without losing messages, and without locking
-    private final AtomicReference<ConcurrentHashMap<String, T>> ref = new AtomicReference<>(new ConcurrentHashMap<>());
+    private final AtomicReference<Generation<T>> ref = new AtomicReference<>(new Generation<>());
 
     public void put(String key, T value) {
-        ref.get().put(key, value);
+        Generation<T> generation = ref.get();
+        generation.entries.put(key, value);
+        markPending(generation);
+    }
+
+    /**
+     * Return the entries of a failed flush to the buffer. Keys that received a newer value since
+     * the release keep it; the entries are inserted one by one, the batch is not copied.
+     *
+     * @return number of entries merged back
+     */
+    public int mergeBack(Map<String, T> entries) {
+        Generation<T> generation = ref.get();
+        int merged = 0;
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            if (generation.entries.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                merged++;
+            }
+        }
+        if (merged > 0) {
+            markPending(generation);
+        }
+        return merged;
     }
 
     public boolean isEmpty() {
-        return ref.get().isEmpty();
+        return ref.get().entries.isEmpty();
     }
 
+    /**
+     * @return number of distinct keys waiting to be flushed
+     */
+    public int size() {
+        return ref.get().entries.size();
+    }
+
+    /**
+     * @return milliseconds since the oldest change that has not been released yet, {@code 0} when
+     * nothing is pending
+     */
+    public long getOldestPendingAgeMs() {
+        long firstPutNanos = ref.get().firstPutNanos.get();
+        if (firstPutNanos == NO_PENDING_CHANGES) {
+            return 0L;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstPutNanos);
+    }
+
+    /**
+     * Detach and return the current entries. The returned map is the released generation itself
+     * rather than a copy; a writer that raced with the release may still add to it.
+     */
     public Map<String, T> releaseBuffer() {
-        ConcurrentHashMap<String, T> current = ref.getAndSet(new ConcurrentHashMap<>());
-        return new HashMap<>(current);
+        Generation<T> current = ref.getAndSet(new Generation<>());
+        return current.entries;
+    }
+
+    private static void markPending(Generation<?> generation) {
+        if (generation.firstPutNanos.get() == NO_PENDING_CHANGES) {
+            generation.firstPutNanos.compareAndSet(NO_PENDING_CHANGES, System.nanoTime());
+        }
     }
-}
\ No newline at end of file
+}
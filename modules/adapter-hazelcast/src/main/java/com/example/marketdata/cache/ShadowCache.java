@@ -0,0 +1,535 @@
+package com.example.marketdata.cache;
+
+import com.example.marketdata.adapter.hazelcast.config.EntryExpiry;
+import com.example.marketdata.adapter.hazelcast.config.ShadowCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Local copy of the latest encoded value per cache ID, replayed to Hazelcast after a reconnect.
+ * <p>
+ * Values are the adapter's map values ({@code String} for textual codecs, {@code byte[]}
+ * otherwise) and are kept as byte arrays, deflated when that makes them smaller and optionally in a
+ * direct buffer per key that later values of the key are written into. The approximate footprint
+ * (value bytes, or direct buffer capacity, plus a fixed per-entry overhead) is held under
+ * {@code max-bytes} by evicting the least recently written entries, taken from the head of a
+ * write-ordered key list, and entries not written for {@code ttl-ms} are dropped as dead symbols.
+ * See {@link ShadowCacheProperties}.
+ * <p>
+ * Entries also expire with the map's {@link EntryExpiry}, so a resync after a reconnect does not
+ * bring back keys the cluster has already expired. Expired entries are invisible to reads and
+ * iteration at once and are removed by the next periodic scan in {@link #evict()}.
+ * <p>
+ * Next to each value the cache keeps a 64-bit {@link #contentHash(Object) content hash}, and, once
+ * the adapter confirms the value reached the map, that hash as the written one. The adapter skips
+ * republished values whose hash is the written hash of a key still in the cache, and diffs field
+ * merges against {@link #getWritten(String)}.
+ * <p>
+ * {@link #iterator()} and {@link #forEachChunk(int, Consumer)} walk the live map without copying
+ * it; they are weakly consistent, like {@link ConcurrentHashMap} iteration.
+ */
+@Slf4j
+public class ShadowCache implements Iterable<Map.Entry<String, Object>> {
+
+    /**
+     * Rough per-entry cost of the map node, entry object, key header and written-hash node on a
+     * 64-bit JVM.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 144;
+
+    /**
+     * Evicting down to this fraction of the budget leaves room for a few flushes before the next
+     * eviction once full.
+     */
+    private static final double EVICTION_TARGET_RATIO = 0.9;
+
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private record Entry(byte[] heapBytes, DirectValue directBytes, int storedLength, int rawLength,
+                         boolean compressed, boolean textual, long writtenNanos, long version, long contentHash) {
+
+        /**
+         * @return the stored bytes, or {@code null} when a later value of the key overwrote them in place
+         */
+        byte[] storedBytes() {
+            return heapBytes != null ? heapBytes : directBytes.read(this);
+        }
+    }
+
+    private final boolean compressed;
+    private final boolean offHeap;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final EntryExpiry expiry;
+    private final long expiryScanNanos;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> writtenHashes = new ConcurrentHashMap<>();
+    private final AtomicLong footprintBytes = new AtomicLong();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong lastExpiryNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Keys from least to most recently written, with {@code max-bytes} only; guards its own updates
+     * together with those of {@link #entries}, so both always hold the same keys.
+     */
+    private final LinkedHashMap<String, Boolean> writeOrder;
+
+    public ShadowCache(final ShadowCacheProperties properties) {
+        this(properties, EntryExpiry.NONE);
+    }
+
+    public ShadowCache(final ShadowCacheProperties properties, final EntryExpiry expiry) {
+        this.compressed = properties.isCompressed();
+        this.offHeap = properties.isOffHeap();
+        this.maxBytes = properties.getMaxBytes();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTtlMs());
+        this.expiry = expiry;
+        // A full expiry scan at most every half of the shortest lifetime keeps puts cheap while bounding overstay.
+        this.expiryScanNanos = shortest(ttlNanos, TimeUnit.MILLISECONDS.toNanos(expiry.shortestLifetimeMs())) / 2;
+        // access ordered, and only ever put and removed, so the order is that of the writes
+        this.writeOrder = maxBytes > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
+    }
+
+    public void put(final String key, final Object value) {
+        Entry entry = toEntry(value);
+        if (writeOrder == null) {
+            store(key, entry);
+            return;
+        }
+        synchronized (writeOrder) {
+            store(key, entry);
+            writeOrder.put(key, Boolean.TRUE);
+        }
+    }
+
+    public void putAll(final Map<String, ?> values) {
+        values.forEach(this::put);
+        evict();
+    }
+
+    /**
+     * @return the decoded value, or {@code null} when the key is unknown or was evicted
+     */
+    public Object get(final String key) {
+        Entry entry = entries.get(key);
+        return entry == null || isExpired(key, entry, System.nanoTime()) ? null : decodeLatest(key, entry);
+    }
+
+    /**
+     * @return the decoded value if it was written within {@code maxAgeMs}, otherwise {@code null}
+     */
+    public Object getIfWrittenWithin(final String key, final long maxAgeMs) {
+        Entry entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry == null || now - entry.writtenNanos() > TimeUnit.MILLISECONDS.toNanos(maxAgeMs)
+                || isExpired(key, entry, now)) {
+            return null;
+        }
+        return decodeLatest(key, entry);
+    }
+
+    /**
+     * @return the decoded value if it is the value last confirmed written, otherwise {@code null}
+     */
+    public Object getWritten(final String key) {
+        Entry entry = entries.get(key);
+        Long written = writtenHashes.get(key);
+        if (entry == null || written == null || entry.contentHash() != written
+                || isExpired(key, entry, System.nanoTime())) {
+            return null;
+        }
+        return decode(entry);
+    }
+
+    /**
+     * @return version of the current value, increasing with every write to the cache, or {@code 0}
+     * when the key is unknown or was evicted
+     */
+    public long getVersion(final String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0L : entry.version();
+    }
+
+    /**
+     * @return whether {@code hash} is the content hash of the cached value of {@code key} and that
+     * value was confirmed written
+     */
+    public boolean isWritten(final String key, final long hash) {
+        Long written = writtenHashes.get(key);
+        if (written == null || written != hash) {
+            return false;
+        }
+        Entry entry = entries.get(key);
+        return entry != null && entry.contentHash() == hash && !isExpired(key, entry, System.nanoTime());
+    }
+
+    /**
+     * Record content hashes as written. A hash whose key meanwhile holds a different value is
+     * ignored, so a racing older write cannot vouch for a newer value.
+     */
+    public void confirmWritten(final Map<String, Long> hashes) {
+        hashes.forEach((key, hash) -> {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.contentHash() == hash) {
+                writtenHashes.put(key, hash);
+            }
+        });
+    }
+
+    /**
+     * Forget the written hashes of {@code keys}, whose map state is unknown after a failed write.
+     */
+    public void forgetWritten(final Collection<String> keys) {
+        keys.forEach(writtenHashes::remove);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a map value: the chars of a {@code String}, the bytes of a {@code byte[]}.
+     */
+    public static long contentHash(final Object value) {
+        long hash = FNV_OFFSET_BASIS;
+        if (value instanceof String text) {
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+        } else {
+            for (byte b : (byte[]) value) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return weakly consistent, read-only view of the cached keys
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return approximate memory held by the cache in bytes
+     */
+    public long getFootprintBytes() {
+        return footprintBytes.get();
+    }
+
+    public void clear() {
+        entries.keySet().forEach(this::remove);
+    }
+
+    /**
+     * Weakly consistent iterator decoding entries one at a time; it does not copy the cache and skips
+     * expired entries.
+     */
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+        Iterator<Map.Entry<String, Entry>> delegate = entries.entrySet().iterator();
+        return new Iterator<>() {
+            private Map.Entry<String, Object> next;
+
+            @Override
+            public boolean hasNext() {
+                long now = System.nanoTime();
+                while (next == null && delegate.hasNext()) {
+                    Map.Entry<String, Entry> candidate = delegate.next();
+                    if (!isExpired(candidate.getKey(), candidate.getValue(), now)) {
+                        Object value = decodeLatest(candidate.getKey(), candidate.getValue());
+                        if (value != null) {
+                            next = new AbstractMap.SimpleImmutableEntry<>(candidate.getKey(), value);
+                        }
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<String, Object> current = next;
+                next = null;
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Hand the cache to {@code consumer} in chunks of at most {@code chunkSize} decoded entries, so
+     * at most one chunk is materialized at a time.
+     */
+    public void forEachChunk(final int chunkSize, final Consumer<Map<String, Object>> consumer) {
+        int size = Math.max(1, chunkSize);
+        Map<String, Object> chunk = new HashMap<>();
+        for (Map.Entry<String, Object> entry : this) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() >= size) {
+                consumer.accept(chunk);
+                chunk = new HashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+
+    /**
+     * Drop expired entries and, when over budget, the least recently written ones.
+     */
+    public void evict() {
+        long now = System.nanoTime();
+        long lastExpiry = lastExpiryNanos.get();
+        if (expiryScanNanos > 0 && now - lastExpiry >= expiryScanNanos && lastExpiryNanos.compareAndSet(lastExpiry, now)) {
+            int expired = 0;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (isExpired(entry.getKey(), entry.getValue(), now) && remove(entry.getKey(), entry.getValue())) {
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                log.info("Expired {} shadow cache entries past their time to live", expired);
+            }
+        }
+
+        if (maxBytes > 0 && footprintBytes.get() > maxBytes) {
+            evictOverBudget();
+        }
+    }
+
+    private void evictOverBudget() {
+        long target = (long) (maxBytes * EVICTION_TARGET_RATIO);
+        int evicted = 0;
+        synchronized (writeOrder) {
+            if (footprintBytes.get() <= maxBytes) {
+                return;
+            }
+            Iterator<String> oldest = writeOrder.keySet().iterator();
+            while (footprintBytes.get() > target && oldest.hasNext()) {
+                String key = oldest.next();
+                oldest.remove();
+                Entry entry = entries.get(key);
+                if (entry != null && removeEntry(key, entry)) {
+                    evicted++;
+                }
+            }
+        }
+        log.warn("Shadow cache over its {} byte budget; evicted {} least recently written entries", maxBytes, evicted);
+    }
+
+    private void store(final String key, final Entry entry) {
+        entries.compute(key, (ignored, previous) -> {
+            Entry stored = offHeap ? moveOffHeap(entry, previous) : entry;
+            footprintBytes.addAndGet(footprint(key, stored) - (previous == null ? 0 : footprint(key, previous)));
+            return stored;
+        });
+    }
+
+    /**
+     * @return {@code entry} with its bytes in the direct buffer of {@code previous} when they fit there,
+     * otherwise in a new one
+     */
+    private static Entry moveOffHeap(final Entry entry, final Entry previous) {
+        byte[] bytes = entry.heapBytes();
+        DirectValue direct = previous != null && previous.directBytes().fits(bytes.length)
+                ? previous.directBytes()
+                : new DirectValue(bytes.length);
+        Entry moved = new Entry(null, direct, entry.storedLength(), entry.rawLength(), entry.compressed(),
+                entry.textual(), entry.writtenNanos(), entry.version(), entry.contentHash());
+        direct.write(bytes, moved);
+        return moved;
+    }
+
+    private void remove(final String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            remove(key, entry);
+        }
+    }
+
+    private boolean remove(final String key, final Entry entry) {
+        if (writeOrder == null) {
+            return removeEntry(key, entry);
+        }
+        synchronized (writeOrder) {
+            if (!removeEntry(key, entry)) {
+                return false;
+            }
+            writeOrder.remove(key);
+            return true;
+        }
+    }
+
+    private boolean removeEntry(final String key, final Entry entry) {
+        if (entries.remove(key, entry)) {
+            writtenHashes.remove(key);
+            footprintBytes.addAndGet(-footprint(key, entry));
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isExpired(final String key, final Entry entry, final long now) {
+        if (expiryScanNanos <= 0) {
+            return false;
+        }
+        long lifetimeNanos = shortest(ttlNanos, TimeUnit.MILLISECONDS.toNanos(expiry.lifetimeMs(key)));
+        return lifetimeNanos > 0 && now - entry.writtenNanos() >= lifetimeNanos;
+    }
+
+    /**
+     * @return the smaller of two lifetimes where {@code 0} means unlimited
+     */
+    private static long shortest(final long first, final long second) {
+        if (first <= 0) {
+            return Math.max(second, 0);
+        }
+        return second <= 0 ? first : Math.min(first, second);
+    }
+
+    private Entry toEntry(final Object value) {
+        boolean textual = value instanceof String;
+        byte[] raw = textual ? ((String) value).getBytes(StandardCharsets.UTF_8) : (byte[]) value;
+        byte[] deflated = compressed ? deflate(raw) : null;
+        byte[] stored = deflated != null ? deflated : raw;
+        return new Entry(stored, null, stored.length, raw.length, deflated != null, textual, System.nanoTime(),
+                versions.incrementAndGet(), contentHash(value));
+    }
+
+    /**
+     * @return the decoded value of {@code entry}, or of the value of {@code key} that overwrote it in
+     * place while it was read; {@code null} when the key was removed meanwhile
+     */
+    private Object decodeLatest(final String key, final Entry entry) {
+        for (Entry current = entry; current != null; current = entries.get(key)) {
+            Object value = decode(current);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the decoded value, or {@code null} when it was overwritten in place
+     */
+    private static Object decode(final Entry entry) {
+        byte[] stored = entry.storedBytes();
+        if (stored == null) {
+            return null;
+        }
+        byte[] raw = entry.compressed() ? inflate(stored, entry.rawLength()) : stored;
+        return entry.textual() ? new String(raw, StandardCharsets.UTF_8) : raw;
+    }
+
+    private static long footprint(final String key, final Entry entry) {
+        long valueBytes = entry.directBytes() != null ? entry.directBytes().capacity() : entry.storedLength();
+        return ENTRY_OVERHEAD_BYTES + key.length() + valueBytes;
+    }
+
+    /**
+     * @return deflated bytes, or {@code null} when deflating does not make the value smaller
+     */
+    private static byte[] deflate(final byte[] raw) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[raw.length];
+        int length = deflater.deflate(buffer);
+        if (!deflater.finished() || length >= raw.length) {
+            return null;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static byte[] inflate(final byte[] stored, final int rawLength) {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(stored);
+        byte[] raw = new byte[rawLength];
+        try {
+            int length = inflater.inflate(raw);
+            if (length != rawLength) {
+                throw new IllegalStateException("Shadow cache entry inflated to " + length + " instead of " + rawLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt shadow cache entry", e);
+        }
+    }
+
+    /**
+     * Direct buffer holding the value of one key. Later values of the key are written into it when
+     * they fit, so rewriting a key every tick does not allocate direct memory; it is sized with some
+     * headroom, and replaced once a value outgrows it or shrinks to a fraction of it. Reads and
+     * rewrites lock the buffer, and reading an entry whose bytes were overwritten returns
+     * {@code null}.
+     */
+    private static final class DirectValue {
+
+        private static final int MIN_CAPACITY = 64;
+
+        private final ByteBuffer buffer;
+        private Entry owner;
+
+        private DirectValue(final int length) {
+            this.buffer = ByteBuffer.allocateDirect(Math.max(MIN_CAPACITY, length + length / 4));
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        boolean fits(final int length) {
+            return length <= buffer.capacity() && buffer.capacity() <= Math.max(MIN_CAPACITY, 4 * length);
+        }
+
+        synchronized void write(final byte[] bytes, final Entry entry) {
+            buffer.put(0, bytes);
+            owner = entry;
+        }
+
+        synchronized byte[] read(final Entry entry) {
+            if (owner != entry) {
+                return null;
+            }
+            byte[] copy = new byte[entry.storedLength()];
+            buffer.get(0, copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.marketdata.cache;
+
+import com.example.marketdata.adapter.hazelcast.config.MarketDataBufferProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link MarketDataBuffer} backed by preallocated slot arrays, for a bounded and stable key set.
+ * <p>
+ * Every key is assigned a slot once, in an open-addressing table sized for
+ * {@code marketdata.buffer.capacity} keys; the slot keeps the key's latest value for the lifetime of
+ * the buffer. A {@link #put} is a slot write plus a dirty bit, and a release walks the dirty bitset
+ * only, so neither allocates map nodes. Keys beyond the capacity go to an overflow map.
+ * <p>
+ * A put writes the value before setting the dirty bit and a release clears the bits before
+ * reading the values, so a racing put is either released now or stays dirty for the next release;
+ * no write is lost. The released map is a read-only view over arrays that are reused by the next
+ * {@code releaseBuffer()} call, so it belongs to the caller only until then.
+ * <p>
+ * {@link #mergeBack} only sets the dirty bits again: the slots already hold the failed values or
+ * newer ones.
+ * <p>
+ * Enabled with {@code marketdata.buffer.type=slot-array}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "marketdata.buffer", name = "type", havingValue = "slot-array")
+public class SlotArrayMarketDataBuffer<T> extends MarketDataBuffer<T> {
+
+    private static final long NO_PENDING_CHANGES = 0L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<String> keys;
+    private final AtomicReferenceArray<T> values;
+    private final AtomicLongArray dirty;
+    private final AtomicInteger assignedSlots = new AtomicInteger();
+    private final AtomicInteger dirtySlots = new AtomicInteger();
+    private final AtomicLong firstPutNanos = new AtomicLong(NO_PENDING_CHANGES);
+    private final ConcurrentHashMap<String, T> overflow = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowWarned = new AtomicBoolean();
+    private final ReleasedEntries released;
+
+    @Autowired
+    public SlotArrayMarketDataBuffer(MarketDataBufferProperties properties) {
+        this(properties.getCapacity());
+    }
+
+    public SlotArrayMarketDataBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^29");
+        }
+        // at most half of the table is used, which keeps probe sequences short
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.capacity = capacity;
+        this.mask = tableSize - 1;
+        this.keys = new AtomicReferenceArray<>(tableSize);
+        this.values = new AtomicReferenceArray<>(tableSize);
+        this.dirty = new AtomicLongArray(Math.max(1, tableSize >>> 6));
+        this.released = new ReleasedEntries(tableSize);
+    }
+
+    @Override
+    public void put(String key, T value) {
+        int slot = slotFor(key, true);
+        if (slot < 0) {
+            overflow.put(key, value);
+        } else {
+            values.set(slot, value);
+            markDirty(slot);
+        }
+        markPending();
+    }
+
+    @Override
+    public int mergeBack(Map<String, T> entries) {
+        int merged = 0;
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            int slot = slotFor(entry.getKey(), false);
+            boolean restored = slot >= 0
+                    ? markDirty(slot)
+                    : overflow.putIfAbsent(entry.getKey(), entry.getValue()) == null;
+            if (restored) {
+                merged++;
+            }
+        }
+        if (merged > 0) {
+            markPending();
+        }
+        return merged;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return dirtySlots.get() == 0 && overflow.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return dirtySlots.get() + overflow.size();
+    }
+
+    @Override
+    public long getOldestPendingAgeMs() {
+        long first = firstPutNanos.get();
+        if (first == NO_PENDING_CHANGES) {
+            return 0L;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - first);
+    }
+
+    /**
+     * Collect the dirty slots into the reused released view. The view stays valid until the next
+     * call.
+     */
+    @Override
+    public synchronized Map<String, T> releaseBuffer() {
+        released.reset();
+        // reset first: a put racing with the scan then at worst reports its change as older
+        firstPutNanos.set(NO_PENDING_CHANGES);
+
+        for (int word = 0; word < dirty.length(); word++) {
+            if (dirty.get(word) == 0L) {
+                continue;
+            }
+            long bits = dirty.getAndSet(word, 0L);
+            dirtySlots.addAndGet(-Long.bitCount(bits));
+            while (bits != 0L) {
+                int slot = (word << 6) | Long.numberOfTrailingZeros(bits);
+                released.add(slot, values.get(slot));
+                bits &= bits - 1;
+            }
+        }
+
+        for (Map.Entry<String, T> entry : overflow.entrySet()) {
+            // a newer value written meanwhile stays for the next release
+            if (overflow.remove(entry.getKey(), entry.getValue())) {
+                released.releasedOverflow.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return released;
+    }
+
+    /**
+     * @return slot of {@code key}, assigned on first use when {@code assign} is set, or {@code -1}
+     * when the key has no slot
+     */
+    private int slotFor(String key, boolean assign) {
+        int slot = spread(key.hashCode()) & mask;
+        while (true) {
+            String current = keys.get(slot);
+            if (current == null) {
+                if (!assign) {
+                    return -1;
+                }
+                if (assignedSlots.get() >= capacity) {
+                    warnOverflow(key);
+                    return -1;
+                }
+                if (keys.compareAndSet(slot, null, key)) {
+                    assignedSlots.incrementAndGet();
+                    return slot;
+                }
+                current = keys.get(slot);
+            }
+            if (current.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return {@code true} when the slot was clean
+     */
+    private boolean markDirty(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        while (true) {
+            long bits = dirty.get(word);
+            if ((bits & bit) != 0L) {
+                return false;
+            }
+            if (dirty.compareAndSet(word, bits, bits | bit)) {
+                dirtySlots.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    private void markPending() {
+        if (firstPutNanos.get() == NO_PENDING_CHANGES) {
+            firstPutNanos.compareAndSet(NO_PENDING_CHANGES, System.nanoTime());
+        }
+    }
+
+    private void warnOverflow(String key) {
+        if (overflowWarned.compareAndSet(false, true)) {
+            log.warn("Slot-array buffer is full ({} keys); key {} and further new keys use the overflow map. "
+                    + "Raise marketdata.buffer.capacity.", capacity, key);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Read-only view of one release: the released slot ids in release order and their values,
+     * indexed by slot, plus the released overflow entries.
+     */
+    private final class ReleasedEntries extends AbstractMap<String, T> {
+
+        private final int[] slots;
+        private final Object[] slotValues;
+        private final Map<String, T> releasedOverflow = new HashMap<>();
+        private int count;
+
+        private ReleasedEntries(int tableSize) {
+            this.slots = new int[tableSize];
+            this.slotValues = new Object[tableSize];
+        }
+
+        private void add(int slot, T value) {
+            if (value == null) {
+                return;
+            }
+            slots[count++] = slot;
+            slotValues[slot] = value;
+        }
+
+        private void reset() {
+            for (int i = 0; i < count; i++) {
+                slotValues[slots[i]] = null;
+            }
+            count = 0;
+            releasedOverflow.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private T valueAt(int index) {
+            return (T) slotValues[slots[index]];
+        }
+
+        @Override
+        public int size() {
+            return count + releasedOverflow.size();
+        }
+
+        @Override
+        public T get(Object key) {
+            if (!(key instanceof String text)) {
+                return null;
+            }
+            int slot = slotFor(text, false);
+            if (slot >= 0 && slotValues[slot] != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) slotValues[slot];
+                return value;
+            }
+            return releasedOverflow.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super T> action) {
+            for (int i = 0; i < count; i++) {
+                action.accept(keys.get(slots[i]), valueAt(i));
+            }
+            releasedOverflow.forEach(action);
+        }
+
+        @Override
+        public Set<Map.Entry<String, T>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return ReleasedEntries.this.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, T>> iterator() {
+                    Iterator<Map.Entry<String, T>> overflowEntries = releasedOverflow.entrySet().iterator();
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < count || overflowEntries.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, T> next() {
+                            if (index < count) {
+                                int current = index++;
+                                return new SimpleImmutableEntry<>(keys.get(slots[current]), valueAt(current));
+                            }
+                            if (!overflowEntries.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return overflowEntries.next();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.cache;
 
 import com.example.marketdata.adapter.hazelcast.HazelcastBufferCacheAdapter;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
 import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
 import com.hazelcast.client.HazelcastClient;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.config.Config;
@@ -65,10 +68,15 @@ class HazelcastBufferCacheAdapterIT {
         HazelcastClient.shutdownAll();
     }
 
+    private static HazelcastBufferCacheAdapter<MarketDataEvent> adapter(HazelcastInstance instance) {
+        return new HazelcastBufferCacheAdapter<>(instance, HazelcastAdapterProperties.forCache("market-cache"), null, null,
+                PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP);
+    }
+
     @Test
     void updateWritesJsonPayload_withRealHazelcast() {
         // given
-        HazelcastBufferCacheAdapter cacheAdapter = new HazelcastBufferCacheAdapter(hazelcastInstance, "market-cache");
+        HazelcastBufferCacheAdapter cacheAdapter = adapter(hazelcastInstance);
 
         TestMarketDataMessage message = new TestMarketDataMessage(
                 "demo",
@@ -94,7 +102,7 @@ class HazelcastBufferCacheAdapterIT {
     @Test
     void updateRequiresCacheId() {
         // given
-        HazelcastBufferCacheAdapter cacheAdapter = new HazelcastBufferCacheAdapter(hazelcastInstance, "market-cache");
+        HazelcastBufferCacheAdapter cacheAdapter = adapter(hazelcastInstance);
         TestMarketDataMessage validMessage = new TestMarketDataMessage(
                 "demo",
                 "VALID",
@@ -122,7 +130,7 @@ class HazelcastBufferCacheAdapterIT {
     @Test
     void updateRequiresEntries() {
         // given
-        HazelcastBufferCacheAdapter cacheAdapter = new HazelcastBufferCacheAdapter(hazelcastInstance, "market-cache");
+        HazelcastBufferCacheAdapter cacheAdapter = adapter(hazelcastInstance);
 
         // when
         // then
@@ -133,7 +141,7 @@ class HazelcastBufferCacheAdapterIT {
     @Test
     void updateWritesMultipleEntries() {
         // given
-        HazelcastBufferCacheAdapter cacheAdapter = new HazelcastBufferCacheAdapter(hazelcastInstance, "market-cache");
+        HazelcastBufferCacheAdapter cacheAdapter = adapter(hazelcastInstance);
 
         TestMarketDataMessage first = new TestMarketDataMessage(
                 "demo",
@@ -166,7 +174,7 @@ class HazelcastBufferCacheAdapterIT {
         ClientConfig clientConfig = new ClientConfig();
         clientConfig.setClusterName(clusterName);
         HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
-        HazelcastBufferCacheAdapter cacheAdapter = new HazelcastBufferCacheAdapter(client, "market-cache");
+        HazelcastBufferCacheAdapter cacheAdapter = adapter(client);
 
         TestMarketDataMessage message = new TestMarketDataMessage(
                 "demo",
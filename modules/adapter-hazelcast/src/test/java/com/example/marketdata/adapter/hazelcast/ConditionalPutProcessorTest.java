@@ -0,0 +1,78 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises the conditional put entry processor against plain map entries.
+ */
+class ConditionalPutProcessorTest {
+
+    private static Map.Entry<String, Object> entry(Object value) {
+        return new SimpleEntry<>("k1", value);
+    }
+
+    @Test
+    void valueIsWrittenWhenTheExpectedValueIsStillStored() {
+        // given
+        Map.Entry<String, Object> entry = entry("v1");
+
+        // when
+        boolean written = new ConditionalPutProcessor("v2", "v1", ConditionalPutProcessor.MAP_DEFAULT_TTL).process(entry);
+
+        // then
+        assertTrue(written);
+        assertEquals("v2", entry.getValue());
+    }
+
+    @Test
+    void valueWrittenInBetweenIsKept() {
+        // given
+        Map.Entry<String, Object> entry = entry("v1-newer");
+
+        // when
+        boolean written = new ConditionalPutProcessor("v1", "v0", ConditionalPutProcessor.MAP_DEFAULT_TTL).process(entry);
+
+        // then
+        assertFalse(written);
+        assertEquals("v1-newer", entry.getValue());
+    }
+
+    @Test
+    void absentKeyIsOnlyWrittenWhenItWasReadAsAbsent() {
+        // given
+        Map.Entry<String, Object> absent = entry(null);
+        Map.Entry<String, Object> created = entry("v1-newer");
+
+        // when
+        boolean writtenToAbsent = new ConditionalPutProcessor("v1", null, 0).process(absent);
+        boolean writtenToCreated = new ConditionalPutProcessor("v1", null, 0).process(created);
+
+        // then
+        assertTrue(writtenToAbsent);
+        assertEquals("v1", absent.getValue());
+        assertFalse(writtenToCreated);
+        assertEquals("v1-newer", created.getValue());
+    }
+
+    @Test
+    void binaryValuesAreComparedByContent() {
+        // given
+        Map.Entry<String, Object> entry = entry(new byte[]{1, 2});
+
+        // when
+        boolean written = new ConditionalPutProcessor(new byte[]{3}, new byte[]{1, 2},
+                ConditionalPutProcessor.MAP_DEFAULT_TTL).process(entry);
+
+        // then
+        assertTrue(written);
+        assertArrayEquals(new byte[]{3}, (byte[]) entry.getValue());
+    }
+}
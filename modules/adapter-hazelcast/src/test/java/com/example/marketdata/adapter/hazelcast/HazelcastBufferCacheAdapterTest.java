@@ -1,22 +1,37 @@
 package com.example.marketdata.adapter.hazelcast;
 
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastWriteMode;
 import com.example.marketdata.adapter.hazelcast.handler.MarketDataBufferHandler;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.codec.SmilePayloadCodec;
 import com.example.marketdata.exception.ProcessorRetryableException;
 import com.example.marketdata.exception.ProcessorRuntimeException;
 import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.core.LifecycleService;
 import com.hazelcast.map.IMap;
+import com.hazelcast.partition.Partition;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,11 +61,18 @@ class HazelcastBufferCacheAdapterTest {
     }
 
     private HazelcastBufferCacheAdapter<TestMessage> adapter() {
-        return new HazelcastBufferCacheAdapter<>(hz, "market-cache");
+        return adapter(hz, HazelcastAdapterProperties.forCache("market-cache"));
+    }
+
+    private static <V> HazelcastBufferCacheAdapter<V> adapter(HazelcastInstance instance,
+                                                              HazelcastAdapterProperties properties) {
+        return new HazelcastBufferCacheAdapter<>(instance, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP);
     }
 
     private HazelcastBufferCacheAdapter<MarketDataEvent> bufferedAdapter(MarketDataBufferHandler<MarketDataEvent> handler) {
-        return new HazelcastBufferCacheAdapter<>(hz, "market-cache", handler, mock(HazelcastBufferThrottle.class));
+        return new HazelcastBufferCacheAdapter<>(hz, HazelcastAdapterProperties.forCache("market-cache"), handler,
+                mock(HazelcastBufferThrottle.class), PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP);
     }
 
     private TestMessage msg() {
@@ -81,6 +103,262 @@ class HazelcastBufferCacheAdapterTest {
         assertTrue(json.contains("\"timestamp\":\"2024-01-01T00:00:00Z\""));
     }
 
+    @Test
+    void sendWithBinaryCodecStoresEncodedBytes() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setCodec(SmilePayloadCodec.NAME);
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+
+        a.send(Map.of("cache-1", msg()));
+
+        Object stored = hz.getMap("market-cache").get("cache-1");
+        assertInstanceOf(byte[].class, stored);
+        assertEquals(msg(), new SmilePayloadCodec().decode((byte[]) stored, TestMessage.class));
+    }
+
+    @Test
+    void unknownCodecIsRejectedAtConstruction() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setCodec("avro");
+
+        assertThrows(IllegalArgumentException.class, () -> adapter(hz, properties));
+    }
+
+    @Test
+    void sendWithAsyncOwnerWriteModeWritesAllEntries() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.ASYNC_BY_OWNER);
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+
+        a.send(Map.of("cache-1", msg(), "cache-2", msg(), "cache-3", msg()));
+
+        assertEquals(3, map.size());
+        assertTrue(map.get("cache-2").contains("\"symbol\":\"TEST\""));
+    }
+
+    @Test
+    void fieldMergeModeOnlyOverwritesChangedFields() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+        a.send(Map.of("cache-1", msg()));
+        // another writer adds a field the adapter does not know about
+        map.put("cache-1", map.get("cache-1").replace("}", ",\"venue\":\"XNAS\"}"));
+
+        a.send(Map.of("cache-1", new TestMessage("TEST", Instant.parse("2024-01-02T00:00:00Z"))));
+
+        String json = map.get("cache-1");
+        assertTrue(json.contains("\"timestamp\":\"2024-01-02T00:00:00Z\""));
+        assertTrue(json.contains("\"venue\":\"XNAS\""));
+    }
+
+    @Test
+    void fieldMergeModeKeepsNewerStoredValues() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+        properties.setMergeTimestampField("timestamp");
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+        String newer = "{\"symbol\":\"TEST\",\"timestamp\":\"2024-06-01T00:00:00Z\"}";
+        map.put("cache-1", newer);
+
+        a.send(Map.of("cache-1", msg()));
+
+        assertEquals(newer, map.get("cache-1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fieldMergeModeResendsTheFullValueAfterAFailedWrite() {
+        // given
+        IMap<String, Object> realMap = hz.getMap("market-cache");
+        IMap<String, Object> flakyMap = mock(IMap.class);
+        when(flakyMap.getName()).thenReturn("market-cache");
+        when(flakyMap.submitToKey(anyString(), any()))
+                .thenAnswer(call -> realMap.submitToKey(call.getArgument(0), call.getArgument(1)))
+                .thenReturn(CompletableFuture.failedFuture(new RetryableHazelcastException("partition migrating")))
+                .thenAnswer(call -> realMap.submitToKey(call.getArgument(0), call.getArgument(1)));
+        HazelcastInstance mockHz = mock(HazelcastInstance.class);
+        when(mockHz.getLifecycleService()).thenReturn(mock(LifecycleService.class));
+        doReturn(flakyMap).when(mockHz).getMap("market-cache");
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(mockHz, properties);
+        TestMessage updated = new TestMessage("TEST", Instant.parse("2024-01-02T00:00:00Z"));
+        a.send(Map.of("cache-1", msg()));
+
+        // when
+        assertThrows(ProcessorRetryableException.class, () -> a.send(Map.of("cache-1", updated)));
+        a.send(Map.of("cache-1", updated));
+
+        // then
+        assertTrue(map.get("cache-1").contains("\"timestamp\":\"2024-01-02T00:00:00Z\""));
+    }
+
+    @Test
+    void fieldMergeModeRequiresJsonCodec() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+        properties.setCodec(SmilePayloadCodec.NAME);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter(hz, properties));
+    }
+
+    @Test
+    void readsAreServedFromFreshShadowCacheEntries() {
+        RecordingStats stats = new RecordingStats();
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz,
+                HazelcastAdapterProperties.forCache("market-cache"), null, null, PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg(), "IBMX", msg()));
+        map.put("IBM", "{\"symbol\":\"CHANGED-REMOTELY\",\"timestamp\":\"2024-01-01T00:00:00Z\"}");
+
+        assertEquals(msg(), a.get("IBM", TestMessage.class));
+        assertEquals(Map.of("IBM", msg(), "IBMX", msg()), a.getAll(List.of("IBM", "IBMX", "MSFT"), TestMessage.class));
+        assertEquals(3L, stats.counts.get(HazelcastBufferCacheAdapter.READ_SHADOW_HITS_METRIC));
+        assertEquals(1L, stats.counts.get(HazelcastBufferCacheAdapter.READ_SHADOW_MISSES_METRIC));
+    }
+
+    @Test
+    void readsGoThroughTheMapWhenShadowEntriesAreTooOld() {
+        RecordingStats stats = new RecordingStats();
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getRead().setShadowMaxAgeMs(0);
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg()));
+        TestMessage remote = new TestMessage("REMOTE", Instant.parse("2024-01-01T00:00:00Z"));
+        map.put("IBM", "{\"symbol\":\"REMOTE\",\"timestamp\":\"2024-01-01T00:00:00Z\"}");
+
+        assertEquals(remote, a.get("IBM", TestMessage.class));
+        assertNull(a.get("MSFT", TestMessage.class));
+        assertEquals(2L, stats.counts.get(HazelcastBufferCacheAdapter.READ_SHADOW_MISSES_METRIC));
+    }
+
+    @Test
+    void mapReadsReportNearCacheHitsAndMisses() {
+        // given
+        hz.shutdown();
+        Config config = new Config();
+        config.setClusterName("dev");
+        config.getMapConfig("market-cache").setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true));
+        hz = Hazelcast.newHazelcastInstance(config);
+        RecordingStats stats = new RecordingStats();
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getRead().setShadowMaxAgeMs(0);
+        properties.getRead().getNearCache().setEnabled(true);
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg()));
+
+        // when
+        a.get("IBM", TestMessage.class);
+        a.get("IBM", TestMessage.class);
+        a.getAll(List.of("IBM"), TestMessage.class);
+
+        // then
+        assertEquals(1L, stats.counts.get(HazelcastBufferCacheAdapter.READ_NEAR_CACHE_MISSES_METRIC));
+        assertEquals(2L, stats.counts.get(HazelcastBufferCacheAdapter.READ_NEAR_CACHE_HITS_METRIC));
+    }
+
+    @Test
+    void nearCacheMetricsAreNotReportedWhenTheNearCacheIsDisabled() {
+        // given
+        RecordingStats stats = new RecordingStats();
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getRead().setShadowMaxAgeMs(0);
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg()));
+
+        // when
+        a.get("IBM", TestMessage.class);
+
+        // then
+        assertNull(stats.counts.get(HazelcastBufferCacheAdapter.READ_NEAR_CACHE_HITS_METRIC));
+        assertNull(stats.counts.get(HazelcastBufferCacheAdapter.READ_NEAR_CACHE_MISSES_METRIC));
+    }
+
+    @Test
+    void scanByPrefixReturnsOnlyMatchingKeys() {
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter();
+        a.send(Map.of("EQ_IBM", msg(), "EQ_MSFT", msg(), "EQXIBM", msg(), "FX_EUR", msg()));
+
+        Map<String, TestMessage> result = a.scanByPrefix("EQ_", TestMessage.class);
+
+        assertEquals(Set.of("EQ_IBM", "EQ_MSFT"), result.keySet());
+        assertEquals(msg(), result.get("EQ_IBM"));
+    }
+
+    @Test
+    void unchangedValuesAreSkippedAndCounted() {
+        RecordingStats stats = new RecordingStats();
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz,
+                HazelcastAdapterProperties.forCache("market-cache"), null, null, PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg(), "MSFT", msg()));
+        String remote = "{\"symbol\":\"CHANGED-REMOTELY\",\"timestamp\":\"2024-01-01T00:00:00Z\"}";
+        map.put("IBM", remote);
+        map.put("MSFT", remote);
+
+        TestMessage changed = new TestMessage("MSFT", Instant.parse("2024-01-02T00:00:00Z"));
+        a.send(Map.of("IBM", msg(), "MSFT", changed));
+
+        assertEquals(remote, map.get("IBM"));
+        assertTrue(map.get("MSFT").contains("\"timestamp\":\"2024-01-02T00:00:00Z\""));
+        assertEquals(1L, stats.counts.get(HazelcastBufferCacheAdapter.UNCHANGED_METRIC));
+    }
+
+    @Test
+    void unchangedValuesAreWrittenWhenTheMapIsSizeBounded() {
+        // given
+        RecordingStats stats = new RecordingStats();
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getExpiry().setMaxSize(1_000);
+        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", msg()));
+        // evicted by the cluster
+        map.remove("IBM");
+
+        // when
+        a.send(Map.of("IBM", msg()));
+
+        // then
+        assertNotNull(map.get("IBM"));
+        assertNull(stats.counts.get(HazelcastBufferCacheAdapter.UNCHANGED_METRIC));
+    }
+
+    @Test
+    void unchangedValuesAreWrittenAgainAfterAFailedWrite() {
+        IMap<String, Object> flakyMap = mockedMap(
+                CompletableFuture.failedFuture(new RetryableHazelcastException("partition migrating")));
+        when(flakyMap.setAllAsync(anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new RetryableHazelcastException("partition migrating")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        HazelcastBufferCacheAdapter<TestMessage> a = asyncAdapter(flakyMap);
+
+        assertThrows(ProcessorRetryableException.class, () -> a.send(Map.of("cache-1", msg())));
+        a.send(Map.of("cache-1", msg()));
+        a.send(Map.of("cache-1", msg()));
+
+        verify(flakyMap, times(2)).setAllAsync(anyMap());
+    }
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new HashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+
     @Test
     void sendSkipsInvalidEntries() {
         HazelcastBufferCacheAdapter<TestMessage> a = adapter();
@@ -100,7 +378,7 @@ class HazelcastBufferCacheAdapterTest {
 
     @Test
     void hazelcastInstanceNotActiveExceptionBecomesProcessorRuntimeException() throws InterruptedException {
-        HazelcastBufferCacheAdapter<TestMessage> a = new HazelcastBufferCacheAdapter<>(hz, "market-cache");
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter();
 
         shutdown();
         Thread.sleep(2_000);
@@ -159,6 +437,46 @@ class HazelcastBufferCacheAdapterTest {
         });
     }
 
+    @Test
+    void asyncGroupFailuresAreRetryableOnlyWhenAllAreRetryable() {
+        IMap<String, Object> failingMap = mockedMap(
+                CompletableFuture.failedFuture(new RetryableHazelcastException("partition migrating")));
+        HazelcastBufferCacheAdapter<TestMessage> a = asyncAdapter(failingMap);
+
+        assertThrows(ProcessorRetryableException.class, () -> a.send(Map.of("cache-1", msg(), "cache-2", msg())));
+    }
+
+    @Test
+    void asyncGroupFailureWithNonRetryableCauseIsNotRetryable() {
+        IMap<String, Object> failingMap = mockedMap(
+                CompletableFuture.failedFuture(new HazelcastException("serialization failed")));
+        HazelcastBufferCacheAdapter<TestMessage> a = asyncAdapter(failingMap);
+
+        assertThrows(ProcessorRuntimeException.class, () -> a.send(Map.of("cache-1", msg())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IMap<String, Object> mockedMap(CompletableFuture<Void> result) {
+        IMap<String, Object> mockMap = mock(IMap.class);
+        when(mockMap.getName()).thenReturn("market-cache");
+        when(mockMap.setAllAsync(anyMap())).thenReturn(result);
+        return mockMap;
+    }
+
+    private static HazelcastBufferCacheAdapter<TestMessage> asyncAdapter(IMap<String, Object> mockMap) {
+        HazelcastInstance mockHz = mock(HazelcastInstance.class);
+        when(mockHz.getLifecycleService()).thenReturn(mock(LifecycleService.class));
+        Partition partition = mock(Partition.class);
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.getPartition(any())).thenReturn(partition);
+        when(mockHz.getPartitionService()).thenReturn(partitionService);
+        doReturn(mockMap).when(mockHz).getMap("market-cache");
+
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.ASYNC_BY_PARTITION);
+        return adapter(mockHz, properties);
+    }
+
     @Test
     void bufferMarketDataDelegatesToHandler() {
         @SuppressWarnings("unchecked")
@@ -182,11 +500,150 @@ class HazelcastBufferCacheAdapterTest {
 
     @Test
     void bufferMarketDataRequiresHandler() {
-        HazelcastBufferCacheAdapter<MarketDataEvent> a = new HazelcastBufferCacheAdapter<>(hz, "market-cache");
+        HazelcastBufferCacheAdapter<MarketDataEvent> a = adapter(hz, HazelcastAdapterProperties.forCache("market-cache"));
 
         assertThrows(NullPointerException.class, () -> a.bufferMarketData(List.of(new TestEvent("cache-1"))));
     }
 
+    @Test
+    void preloadSeedsShadowCacheAndBufferWithoutWritingTheMap() {
+        @SuppressWarnings("unchecked")
+        MarketDataBufferHandler<MarketDataEvent> handler = mock(MarketDataBufferHandler.class);
+        HazelcastBufferCacheAdapter<MarketDataEvent> a = bufferedAdapter(handler);
+
+        a.preload(List.of(new TestEvent("cache-1"), new TestEvent("cache-2")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, MarketDataEvent>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(handler).handleAll(captor.capture());
+        assertEquals(Set.of("cache-1", "cache-2"), captor.getValue().keySet());
+        assertEquals(new TestEvent("cache-1"), a.get("cache-1", TestEvent.class));
+        assertNull(map.get("cache-1"));
+    }
+
+    @Test
+    void fieldMergeModeWritesPreloadedValuesInFull() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+        @SuppressWarnings("unchecked")
+        MarketDataBufferHandler<MarketDataEvent> handler = mock(MarketDataBufferHandler.class);
+        HazelcastBufferCacheAdapter<MarketDataEvent> a =
+                new HazelcastBufferCacheAdapter<>(hz, properties, handler, null, PayloadCodecRegistry.withDefaults(),
+                        StatsRecorder.NOOP);
+        a.preload(List.of(new PriceEvent("cache-1", 1.5)));
+
+        // when
+        a.send(Map.of("cache-1", new PriceEvent("cache-1", 1.5)));
+
+        // then
+        assertTrue(map.get("cache-1").contains("\"price\":1.5"));
+    }
+
+    @Test
+    void bufferMarketDataAppendsTicksToHistoryWhenEnabled() throws InterruptedException {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getHistory().setEnabled(true);
+        @SuppressWarnings("unchecked")
+        MarketDataBufferHandler<MarketDataEvent> handler = mock(MarketDataBufferHandler.class);
+        HazelcastBufferCacheAdapter<MarketDataEvent> a =
+                new HazelcastBufferCacheAdapter<>(hz, properties, handler, null, PayloadCodecRegistry.withDefaults(),
+                        StatsRecorder.NOOP);
+
+        a.bufferMarketData(List.of(new PriceEvent("cache-1", 1.0), new PriceEvent("cache-2", 5.0),
+                new PriceEvent("cache-1", 2.0)));
+
+        List<PriceEvent> history = a.getHistory("cache-1", 10, PriceEvent.class);
+        for (int i = 0; i < 500 && history.size() < 2; i++) {
+            Thread.sleep(10);
+            history = a.getHistory("cache-1", 10, PriceEvent.class);
+        }
+        assertEquals(List.of(new PriceEvent("cache-1", 1.0), new PriceEvent("cache-1", 2.0)), history);
+    }
+
+    @Test
+    void getHistoryRequiresHistoryToBeEnabled() {
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter();
+
+        assertThrows(IllegalStateException.class, () -> a.getHistory("cache-1", 10, TestMessage.class));
+    }
+
+    @Test
+    void jsonValueModeStoresQueryableJson() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setJsonValue(true);
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+
+        a.send(Map.of("cache-1", msg()));
+
+        Object stored = hz.getMap("market-cache").get("cache-1");
+        assertInstanceOf(HazelcastJsonValue.class, stored);
+        assertEquals(msg(), a.get("cache-1", TestMessage.class));
+    }
+
+    @Test
+    void queryAndProjectRunOnIndexedJsonAttributes() {
+        RecordingStats stats = new RecordingStats();
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setJsonValue(true);
+        properties.getIndexes().setSorted(List.of("price"));
+        properties.getIndexes().setHash(List.of("cacheId"));
+        HazelcastBufferCacheAdapter<PriceEvent> a = new HazelcastBufferCacheAdapter<>(hz, properties, null, null,
+                PayloadCodecRegistry.withDefaults(), stats);
+        a.send(Map.of("IBM", new PriceEvent("IBM", 150.0), "MSFT", new PriceEvent("MSFT", 410.0),
+                "EUR", new PriceEvent("EUR", 1.1)));
+
+        Map<String, PriceEvent> expensive = a.query(Predicates.greaterThan("price", 100.0), PriceEvent.class);
+        Collection<Object[]> projected = a.project(Predicates.equal("cacheId", "MSFT"),
+                Projections.multiAttribute("cacheId", "price"));
+
+        assertEquals(Set.of("IBM", "MSFT"), expensive.keySet());
+        assertEquals(new PriceEvent("IBM", 150.0), expensive.get("IBM"));
+        assertEquals(1, projected.size());
+        assertEquals(410.0, ((Number) projected.iterator().next()[1]).doubleValue());
+        assertTrue(hz.getMap("market-cache").getLocalMapStats().getIndexedQueryCount() > 0);
+    }
+
+    @Test
+    void jsonValueCannotBeCombinedWithFieldMerge() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setJsonValue(true);
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter(hz, properties));
+    }
+
+    @Test
+    void jsonValueRequiresJsonCodec() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.setJsonValue(true);
+        properties.setCodec(SmilePayloadCodec.NAME);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter(hz, properties));
+    }
+
+    @Test
+    void eventClassEntriesAreWrittenWithTheirOwnExpiry() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getExpiry().setTimeToLiveSecondsByPrefix(Map.of("OPT_", 3_600));
+        HazelcastBufferCacheAdapter<TestMessage> a = adapter(hz, properties);
+
+        a.send(Map.of("OPT_IBM_C150", msg(), "EQ_IBM", msg()));
+
+        assertEquals(2, map.size());
+        assertEquals(3_600_000L, map.getEntryView("OPT_IBM_C150").getTtl());
+        assertNotEquals(3_600_000L, map.getEntryView("EQ_IBM").getTtl());
+    }
+
+    @Test
+    void expiryByPrefixCannotBeCombinedWithFieldMerge() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getExpiry().setTimeToLiveSecondsByPrefix(Map.of("OPT_", 3_600));
+        properties.setWriteMode(HazelcastWriteMode.FIELD_MERGE);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter(hz, properties));
+    }
+
     private record TestMessage(String symbol, Instant timestamp) { }
 
     private record TestEvent(String cacheId) implements MarketDataEvent {
@@ -196,5 +653,12 @@ class HazelcastBufferCacheAdapterTest {
         }
     }
 
+    private record PriceEvent(String cacheId, double price) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return cacheId;
+        }
+    }
+
     private record AdapterContext<T>(HazelcastBufferCacheAdapter<T> adapter, IMap<String, String> map) { }
 }
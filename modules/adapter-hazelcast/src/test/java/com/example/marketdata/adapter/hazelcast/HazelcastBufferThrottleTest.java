@@ -1,12 +1,19 @@
 
 package com.example.marketdata.adapter.hazelcast;
 
+import com.example.marketdata.adapter.hazelcast.config.HazelcastThrottleProperties;
 import com.example.marketdata.cache.MarketDataBuffer;
 import com.example.marketdata.adapter.hazelcast.HazelcastBufferCacheAdapter;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.exception.ProcessorRuntimeException;
+import com.example.marketdata.stats.StatsRecorder;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
@@ -78,4 +85,151 @@ class HazelcastBufferThrottleTest {
         verify(buffer).releaseBuffer();
         verify(adapter).send(anyMap());
     }
+
+    private static HazelcastThrottleProperties properties(long intervalMs, int maxKeys, long maxStalenessMs) {
+        HazelcastThrottleProperties properties = new HazelcastThrottleProperties();
+        properties.setIntervalMs(intervalMs);
+        properties.setMaxBufferedKeys(maxKeys);
+        properties.setMaxStalenessMs(maxStalenessMs);
+        return properties;
+    }
+
+    @Test
+    void flushIfDueWaitsWhileNoTriggerFired() {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+
+        // given
+        HazelcastBufferThrottle<String> throttle =
+                new HazelcastBufferThrottle<>(buffer, adapter, properties(60_000, 10, 60_000), StatsRecorder.NOOP);
+
+        // when
+        throttle.flushIfDue();
+
+        // then
+        assertNull(throttle.dueReason());
+        verifyNoInteractions(adapter);
+    }
+
+    @Test
+    void flushIfDueFlushesWhenBufferReachesMaxKeys() {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+
+        // given
+        HazelcastBufferThrottle<String> throttle =
+                new HazelcastBufferThrottle<>(buffer, adapter, properties(60_000, 2, 60_000), StatsRecorder.NOOP);
+
+        // when
+        assertEquals(HazelcastBufferThrottle.FlushReason.SIZE, throttle.dueReason());
+        throttle.flushIfDue();
+
+        // then
+        verify(adapter).send(Map.of("k1", "v1", "k2", "v2"));
+    }
+
+    @Test
+    void flushIfDueFlushesWhenOldestChangeIsStale() throws InterruptedException {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+
+        // given
+        HazelcastBufferThrottle<String> throttle =
+                new HazelcastBufferThrottle<>(buffer, adapter, properties(60_000, 100, 20), StatsRecorder.NOOP);
+        Thread.sleep(40);
+
+        // when
+        assertEquals(HazelcastBufferThrottle.FlushReason.STALENESS, throttle.dueReason());
+        throttle.flushIfDue();
+
+        // then
+        verify(adapter).send(Map.of("k1", "v1"));
+    }
+
+    @Test
+    void flushIfDueFlushesWhenIntervalElapsed() throws InterruptedException {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+
+        // given
+        HazelcastBufferThrottle<String> throttle =
+                new HazelcastBufferThrottle<>(buffer, adapter, properties(20, 0, 0), StatsRecorder.NOOP);
+        Thread.sleep(40);
+        buffer.put("k1", "v1");
+
+        // when
+        assertEquals(HazelcastBufferThrottle.FlushReason.INTERVAL, throttle.dueReason());
+        throttle.flushIfDue();
+
+        // then
+        verify(adapter).send(Map.of("k1", "v1"));
+        assertNull(throttle.dueReason());
+    }
+
+    @Test
+    void failedFlushIsMergedBackAndRetriedAfterBackoff() throws InterruptedException {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+        doThrow(new ProcessorRetryableException("boom")).doNothing().when(adapter).send(anyMap());
+
+        // given
+        HazelcastThrottleProperties properties = properties(60_000, 1, 0);
+        properties.setRetryBackoffInitialMs(50);
+        HazelcastBufferThrottle<String> throttle =
+                new HazelcastBufferThrottle<>(buffer, adapter, properties, StatsRecorder.NOOP);
+
+        // when
+        throttle.flushIfDue();
+
+        // then
+        assertEquals(1, buffer.size());
+        assertNull(throttle.dueReason());
+
+        Thread.sleep(80);
+        throttle.flushIfDue();
+        verify(adapter, times(2)).send(Map.of("k1", "v1"));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void nonRetryableFailureDropsTheBatchInsteadOfRetryingIt() {
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+
+        @SuppressWarnings("unchecked")
+        HazelcastBufferCacheAdapter<String> adapter = mock(HazelcastBufferCacheAdapter.class);
+        doThrow(new ProcessorRuntimeException("bad payload")).when(adapter).send(anyMap());
+        StatsRecorder stats = mock(StatsRecorder.class);
+
+        // given
+        HazelcastThrottleProperties properties = properties(60_000, 1, 0);
+        properties.setRetryBackoffInitialMs(60_000);
+        HazelcastBufferThrottle<String> throttle = new HazelcastBufferThrottle<>(buffer, adapter, properties, stats);
+
+        // when
+        throttle.flushIfDue();
+
+        // then
+        assertTrue(buffer.isEmpty());
+        verify(stats).addCount(HazelcastBufferThrottle.DROPPED_METRIC, 2);
+
+        buffer.put("k3", "v3");
+        assertEquals(HazelcastBufferThrottle.FlushReason.SIZE, throttle.dueReason());
+    }
 }
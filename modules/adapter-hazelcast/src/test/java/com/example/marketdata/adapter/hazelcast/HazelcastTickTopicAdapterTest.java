@@ -0,0 +1,203 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastConfiguration;
+import com.example.marketdata.adapter.hazelcast.config.TickTopicBacking;
+import com.example.marketdata.adapter.hazelcast.config.TickTopicProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises tick publishing to both shard backings against an embedded member.
+ */
+class HazelcastTickTopicAdapterTest {
+
+    private final RecordingStats stats = new RecordingStats();
+    private HazelcastInstance hz;
+
+    @AfterEach
+    void shutdown() {
+        if (hz != null) {
+            hz.shutdown();
+        }
+    }
+
+    private HazelcastTickTopicAdapter adapter(Consumer<TickTopicProperties> topic) {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setClusterName("tick-topic-test");
+        topic.accept(properties.getTopic());
+        Config config = HazelcastConfiguration.memberConfig(properties).setInstanceName("tick-topic-test");
+        hz = Hazelcast.newHazelcastInstance(config);
+        return new HazelcastTickTopicAdapter(hz, properties, PayloadCodecRegistry.withDefaults(), stats);
+    }
+
+    @Test
+    void reliableTopicDeliversEveryTickInOrderPerCacheId() throws InterruptedException {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> topic.setShards(2));
+        List<HistoryEntry> received = new CopyOnWriteArrayList<>();
+        for (String shard : adapter.getShardNames()) {
+            hz.<HistoryEntry>getReliableTopic(shard).addMessageListener(message -> received.add(message.getMessageObject()));
+        }
+
+        // when
+        adapter.publish(List.of(new Tick("AAPL", 1), new Tick("MSFT", 1), new Tick("AAPL", 2), new Tick("AAPL", 3)));
+
+        // then
+        await(() -> received.size() == 4);
+        assertEquals(List.of(1, 2, 3), sequencesOf(received, "AAPL"));
+        assertEquals(List.of(1), sequencesOf(received, "MSFT"));
+        assertEquals(4L, stats.counts.get(HazelcastTickTopicAdapter.TOPIC_PUBLISHED_METRIC));
+    }
+
+    @Test
+    void ringbufferBackingKeepsTicksReadableFromTheShard() throws Exception {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> {
+            topic.setShards(1);
+            topic.setBacking(TickTopicBacking.RINGBUFFER);
+        });
+
+        // when
+        adapter.publish(List.of(new Tick("AAPL", 1), new Tick("AAPL", 2)));
+
+        // then
+        Ringbuffer<HistoryEntry> shard = hz.getRingbuffer("market-data-ticks.0");
+        assertEquals(2, shard.size());
+        List<HistoryEntry> read = new ArrayList<>();
+        shard.readManyAsync(shard.headSequence(), 2, 2, null).toCompletableFuture().get().forEach(read::add);
+        assertEquals(List.of(1, 2), sequencesOf(read, "AAPL"));
+    }
+
+    @Test
+    void discardNewestDropsTicksOnceAShardIsFull() {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> {
+            topic.setShards(1);
+            topic.setBacking(TickTopicBacking.RINGBUFFER);
+            topic.setCapacity(2);
+            topic.setTimeToLiveSeconds(60);
+            topic.setOverloadPolicy(TopicOverloadPolicy.DISCARD_NEWEST);
+        });
+
+        // when
+        adapter.publish(List.of(new Tick("AAPL", 1), new Tick("AAPL", 2)));
+        adapter.publish(List.of(new Tick("AAPL", 3)));
+
+        // then
+        assertEquals(2L, stats.counts.get(HazelcastTickTopicAdapter.TOPIC_PUBLISHED_METRIC));
+        assertEquals(1L, stats.counts.get(HazelcastTickTopicAdapter.TOPIC_DROPPED_METRIC));
+        assertEquals(2, hz.getRingbuffer("market-data-ticks.0").size());
+    }
+
+    @Test
+    void errorPolicyFailsTheBatchAsRetryableOnceAShardIsFull() {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> {
+            topic.setShards(1);
+            topic.setBacking(TickTopicBacking.RINGBUFFER);
+            topic.setCapacity(1);
+            topic.setTimeToLiveSeconds(60);
+            topic.setOverloadPolicy(TopicOverloadPolicy.ERROR);
+        });
+        adapter.publish(List.of(new Tick("AAPL", 1)));
+
+        // when
+        // then
+        assertThrows(ProcessorRetryableException.class, () -> adapter.publish(List.of(new Tick("AAPL", 2))));
+    }
+
+    @Test
+    void blockPolicyGivesUpAfterThePublishTimeout() {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> {
+            topic.setShards(1);
+            topic.setBacking(TickTopicBacking.RINGBUFFER);
+            topic.setCapacity(1);
+            topic.setTimeToLiveSeconds(60);
+            topic.setPublishTimeoutMs(200);
+        });
+        adapter.publish(List.of(new Tick("AAPL", 1)));
+
+        // when
+        // then
+        assertThrows(ProcessorRetryableException.class, () -> adapter.publish(List.of(new Tick("AAPL", 2))));
+        assertEquals(1, hz.getRingbuffer("market-data-ticks.0").size());
+    }
+
+    @Test
+    void ticksWithoutCacheIdAreSkipped() {
+        // given
+        HazelcastTickTopicAdapter adapter = adapter(topic -> {
+            topic.setShards(1);
+            topic.setBacking(TickTopicBacking.RINGBUFFER);
+        });
+
+        // when
+        adapter.publish(List.of(new Tick("", 1), new Tick("AAPL", 2)));
+
+        // then
+        assertEquals(1, hz.getRingbuffer("market-data-ticks.0").size());
+    }
+
+    private static List<Integer> sequencesOf(List<HistoryEntry> entries, String cacheId) {
+        List<Integer> sequences = new ArrayList<>();
+        for (HistoryEntry entry : entries) {
+            if (entry.cacheId().equals(cacheId)) {
+                String json = (String) entry.value();
+                sequences.add(Integer.parseInt(json.replaceAll(".*\"sequence\":(\\d+).*", "$1")));
+            }
+        }
+        return sequences;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+
+    private record Tick(String cacheId, int sequence) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return cacheId;
+        }
+    }
+}
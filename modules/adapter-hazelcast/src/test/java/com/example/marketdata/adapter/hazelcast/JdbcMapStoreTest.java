@@ -0,0 +1,218 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastConfiguration;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the write-behind map store against an in-memory H2 database.
+ */
+class JdbcMapStoreTest {
+
+    private final RecordingStats stats = new RecordingStats();
+    private JdbcDataSource dataSource;
+    private HazelcastInstance hz;
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:map-store-test;DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE market_data_cache (cache_id VARCHAR(255) PRIMARY KEY, payload VARCHAR(4000))");
+    }
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        if (hz != null) {
+            hz.shutdown();
+        }
+        execute("DROP TABLE market_data_cache");
+    }
+
+    private JdbcMapStore store(HazelcastAdapterProperties properties) {
+        return new JdbcMapStore(dataSource, properties, PayloadCodecRegistry.withDefaults(), stats);
+    }
+
+    @Test
+    void storeAllInsertsNewRowsAndUpdatesExistingOnes() throws SQLException {
+        // given
+        JdbcMapStore store = store(HazelcastAdapterProperties.forCache("market-cache"));
+        store.storeAll(Map.of("AAPL", "{\"price\":1}", "MSFT", "{\"price\":2}"));
+
+        // when
+        store.storeAll(Map.of("AAPL", "{\"price\":3}", "IBM", "{\"price\":4}"));
+
+        // then
+        assertEquals(Map.of("AAPL", "{\"price\":3}", "MSFT", "{\"price\":2}", "IBM", "{\"price\":4}"), rows());
+        assertEquals(4L, stats.counts.get(JdbcMapStore.STORE_ENTRIES_METRIC));
+    }
+
+    @Test
+    void loadReadsStoredValuesAndDeleteRemovesThem() {
+        // given
+        JdbcMapStore store = store(HazelcastAdapterProperties.forCache("market-cache"));
+        store.storeAll(Map.of("AAPL", "{\"price\":1}", "MSFT", "{\"price\":2}"));
+
+        // when
+        store.delete("MSFT");
+
+        // then
+        assertEquals("{\"price\":1}", store.load("AAPL"));
+        assertNull(store.load("MSFT"));
+        assertEquals(Map.of("AAPL", "{\"price\":1}"), store.loadAll(List.of("AAPL", "MSFT", "IBM")));
+        assertNull(store.loadAllKeys());
+    }
+
+    @Test
+    void writeBehindWritesOnlyTheLatestValuePerKey() throws InterruptedException, SQLException {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setClusterName("map-store-test");
+        properties.getMapStore().setWriteDelaySeconds(1);
+        Config config = HazelcastConfiguration.memberConfig(properties).setInstanceName("map-store-test");
+        config.getMapConfig("market-cache")
+                .setMapStoreConfig(HazelcastConfiguration.mapStoreConfig(properties.getMapStore(), store(properties)));
+        hz = Hazelcast.newHazelcastInstance(config);
+        IMap<String, Object> map = hz.getMap("market-cache");
+
+        // when
+        for (int tick = 1; tick <= 100; tick++) {
+            map.set("AAPL", "{\"price\":" + tick + "}");
+        }
+
+        // then
+        await(() -> stats.counts.containsKey(JdbcMapStore.STORE_ENTRIES_METRIC));
+        assertEquals(Map.of("AAPL", "{\"price\":100}"), rows());
+        assertTrue(stats.counts.get(JdbcMapStore.STORE_ENTRIES_METRIC) < 100);
+    }
+
+    @Test
+    void mapMissesReadThroughFromTheTable() throws SQLException {
+        // given
+        execute("INSERT INTO market_data_cache (cache_id, payload) VALUES ('AAPL', '{\"price\":7}')");
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setClusterName("map-store-test");
+        Config config = HazelcastConfiguration.memberConfig(properties).setInstanceName("map-store-test");
+        config.getMapConfig("market-cache")
+                .setMapStoreConfig(HazelcastConfiguration.mapStoreConfig(properties.getMapStore(), store(properties)));
+        hz = Hazelcast.newHazelcastInstance(config);
+
+        // when
+        IMap<String, Object> map = hz.getMap("market-cache");
+
+        // then
+        assertEquals(0, map.size());
+        assertEquals("{\"price\":7}", map.get("AAPL"));
+    }
+
+    @Test
+    void storeAllOverwritesRowsWhateverUpdateCountTheDriverReports() throws SQLException {
+        // given
+        execute("INSERT INTO market_data_cache (cache_id, payload) VALUES ('AAPL', '{\"price\":1}')");
+        JdbcMapStore store = store(HazelcastAdapterProperties.forCache("market-cache"));
+
+        // when
+        store.storeAll(Map.of("AAPL", "{\"price\":2}", "IBM", "{\"price\":3}"));
+        store.store("IBM", "{\"price\":4}");
+
+        // then
+        assertEquals(Map.of("AAPL", "{\"price\":2}", "IBM", "{\"price\":4}"), rows());
+    }
+
+    @Test
+    void expiredEntriesAreDeletedFromTheTable() throws InterruptedException, SQLException {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setClusterName("map-store-test");
+        properties.getMapStore().setWriteDelaySeconds(0);
+        properties.getExpiry().setTimeToLiveSeconds(1);
+        JdbcMapStore store = store(properties);
+        Config config = HazelcastConfiguration.memberConfig(properties).setInstanceName("map-store-test");
+        config.setProperty("hazelcast.internal.map.expiration.task.period.seconds", "1");
+        config.getMapConfig("market-cache")
+                .setMapStoreConfig(HazelcastConfiguration.mapStoreConfig(properties.getMapStore(), store))
+                .addEntryListenerConfig(HazelcastConfiguration.expiredRowsListenerConfig(store));
+        hz = Hazelcast.newHazelcastInstance(config);
+        IMap<String, Object> map = hz.getMap("market-cache");
+
+        // when
+        map.set("AAPL", "{\"price\":1}");
+        assertEquals(Map.of("AAPL", "{\"price\":1}"), rows());
+
+        // then
+        await(() -> store.load("AAPL") == null);
+        assertNull(map.get("AAPL"));
+    }
+
+    @Test
+    void rejectsTableNamesThatAreNotPlainIdentifiers() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getMapStore().setTable("market_data_cache; DROP TABLE x");
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> store(properties));
+    }
+
+    private Map<String, String> rows() throws SQLException {
+        Map<String, String> rows = new ConcurrentHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT cache_id, payload FROM market_data_cache")) {
+            while (resultSet.next()) {
+                rows.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
+        return rows;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+}
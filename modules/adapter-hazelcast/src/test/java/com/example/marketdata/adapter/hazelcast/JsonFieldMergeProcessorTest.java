@@ -0,0 +1,112 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.JsonFieldMergeProcessor.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exercises the field merge entry processor against plain map entries.
+ */
+class JsonFieldMergeProcessorTest {
+
+    private static Map.Entry<String, Object> entry(Object value) {
+        return new SimpleEntry<>("k1", value);
+    }
+
+    @Test
+    void fieldUpdateIsMergedIntoStoredDocument() {
+        // given
+        Map.Entry<String, Object> entry = entry("{\"symbol\":\"TEST\",\"bid\":1.0,\"ask\":2.0}");
+
+        // when
+        Result result = JsonFieldMergeProcessor.fields("{\"bid\":1.5}", null).process(entry);
+
+        // then
+        assertEquals(Result.APPLIED, result);
+        assertEquals("{\"symbol\":\"TEST\",\"bid\":1.5,\"ask\":2.0}", entry.getValue());
+    }
+
+    @Test
+    void fieldUpdateWithoutStoredValueIsReportedMissing() {
+        // given
+        Map.Entry<String, Object> entry = entry(null);
+
+        // when
+        Result result = JsonFieldMergeProcessor.fields("{\"bid\":1.5}", null).process(entry);
+
+        // then
+        assertEquals(Result.MISSING, result);
+        assertNull(entry.getValue());
+    }
+
+    @Test
+    void fullImageReplacesStoredDocument() {
+        // given
+        Map.Entry<String, Object> entry = entry("{\"symbol\":\"TEST\",\"bid\":1.0}");
+
+        // when
+        Result result = JsonFieldMergeProcessor.fullImage("{\"symbol\":\"TEST\"}", null).process(entry);
+
+        // then
+        assertEquals(Result.APPLIED, result);
+        assertEquals("{\"symbol\":\"TEST\"}", entry.getValue());
+    }
+
+    @Test
+    void olderNumericTimestampIsRejected() {
+        // given
+        String stored = "{\"bid\":1.0,\"ts\":200}";
+        Map.Entry<String, Object> entry = entry(stored);
+
+        // when
+        Result result = JsonFieldMergeProcessor.fields("{\"bid\":1.5,\"ts\":100}", "ts").process(entry);
+
+        // then
+        assertEquals(Result.STALE, result);
+        assertEquals(stored, entry.getValue());
+    }
+
+    @Test
+    void olderInstantTimestampIsRejectedForFullImages() {
+        // given
+        String stored = "{\"bid\":1.0,\"ts\":\"2024-01-02T00:00:00Z\"}";
+        Map.Entry<String, Object> entry = entry(stored);
+
+        // when
+        Result result = JsonFieldMergeProcessor.fullImage("{\"bid\":1.5,\"ts\":\"2024-01-01T23:59:59.999Z\"}", "ts")
+                .process(entry);
+
+        // then
+        assertEquals(Result.STALE, result);
+        assertEquals(stored, entry.getValue());
+    }
+
+    @Test
+    void newerOrEqualTimestampIsApplied() {
+        // given
+        Map.Entry<String, Object> entry = entry("{\"bid\":1.0,\"ts\":100}");
+
+        // when
+        Result result = JsonFieldMergeProcessor.fields("{\"bid\":1.5,\"ts\":100}", "ts").process(entry);
+
+        // then
+        assertEquals(Result.APPLIED, result);
+        assertEquals("{\"bid\":1.5,\"ts\":100}", entry.getValue());
+    }
+
+    @Test
+    void nonJsonStoredValueIsRejected() {
+        // given
+        Map.Entry<String, Object> entry = entry(new byte[]{1, 2});
+
+        // then
+        assertThrows(IllegalStateException.class,
+                () -> JsonFieldMergeProcessor.fields("{\"bid\":1.5}", null).process(entry));
+    }
+}
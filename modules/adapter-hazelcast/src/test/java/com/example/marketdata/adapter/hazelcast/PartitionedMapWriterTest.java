@@ -0,0 +1,115 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastWriteMode;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.Partition;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies grouping, bounded concurrency and failure collection of {@link PartitionedMapWriter}.
+ */
+class PartitionedMapWriterTest {
+
+    private PartitionService partitionService;
+    private IMap<String, Object> map;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        Member memberA = member();
+        Member memberB = member();
+        partitionService = mock(PartitionService.class);
+        when(partitionService.getPartition(any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            int partitionId = Math.abs(key.hashCode() % 4);
+            Partition partition = mock(Partition.class);
+            when(partition.getPartitionId()).thenReturn(partitionId);
+            when(partition.getOwner()).thenReturn(partitionId % 2 == 0 ? memberA : memberB);
+            return partition;
+        });
+        map = mock(IMap.class);
+        when(map.getName()).thenReturn("market-cache");
+    }
+
+    private static Member member() {
+        Member member = mock(Member.class);
+        when(member.getUuid()).thenReturn(UUID.randomUUID());
+        return member;
+    }
+
+    private static Map<String, Object> batch() {
+        return Map.of("k0", "v0", "k1", "v1", "k2", "v2", "k3", "v3", "k4", "v4", "k5", "v5");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void groupsByOwnerAndWritesEveryEntryOnce() {
+        // given
+        when(map.setAllAsync(anyMap())).thenReturn(CompletableFuture.completedFuture(null));
+        PartitionedMapWriter writer = new PartitionedMapWriter(partitionService, HazelcastWriteMode.ASYNC_BY_OWNER, 4, 1_000);
+
+        // when
+        List<Throwable> failures = writer.write(map, batch());
+
+        // then
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(map, atMost(2)).setAllAsync(captor.capture());
+        Set<String> written = new HashSet<>();
+        captor.getAllValues().forEach(group -> group.keySet().forEach(key -> assertTrue(written.add(key))));
+        assertEquals(batch().keySet(), written);
+    }
+
+    @Test
+    void collectsGroupFailures() {
+        // given
+        when(map.setAllAsync(anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new RetryableHazelcastException("member slow")));
+        PartitionedMapWriter writer = new PartitionedMapWriter(partitionService, HazelcastWriteMode.ASYNC_BY_PARTITION, 4, 1_000);
+
+        // when
+        List<Throwable> failures = writer.write(map, batch());
+
+        // then
+        assertFalse(failures.isEmpty());
+        failures.forEach(failure -> assertInstanceOf(RetryableHazelcastException.class, failure));
+    }
+
+    @Test
+    void stopsIssuingWhenInFlightLimitIsNotReleasedInTime() {
+        // given
+        when(map.setAllAsync(anyMap())).thenReturn(new CompletableFuture<>());
+        PartitionedMapWriter writer = new PartitionedMapWriter(partitionService, HazelcastWriteMode.ASYNC_BY_PARTITION, 1, 100);
+
+        // when
+        List<Throwable> failures = writer.write(map, batch());
+
+        // then
+        verify(map, times(1)).setAllAsync(anyMap());
+        assertEquals(1, failures.size());
+        assertInstanceOf(RetryableHazelcastException.class, failures.get(0));
+    }
+
+    @Test
+    void putAllModeIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedMapWriter(partitionService, HazelcastWriteMode.PUT_ALL, 4, 1_000));
+    }
+}
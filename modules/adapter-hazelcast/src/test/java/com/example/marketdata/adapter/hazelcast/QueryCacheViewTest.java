@@ -0,0 +1,114 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HazelcastAdapterProperties;
+import com.example.marketdata.adapter.hazelcast.config.HazelcastConfiguration;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises continuous query subscriptions through {@link HazelcastBufferCacheAdapter#subscribe}.
+ */
+class QueryCacheViewTest {
+
+    private static final Predicate<String, Object> EQUITIES =
+            Predicates.like(QueryConstants.KEY_ATTRIBUTE_NAME.value(), "EQ\\_%");
+
+    private HazelcastInstance hz;
+    private HazelcastBufferCacheAdapter<Quote> adapter;
+
+    @BeforeEach
+    void setup() {
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setClusterName("query-cache-view-test");
+        // deliver every update at once so the test does not wait for batches
+        properties.getQueryCache().setBatchSize(1);
+        properties.getQueryCache().setDelaySeconds(0);
+        Config config = HazelcastConfiguration.memberConfig(properties).setInstanceName("query-cache-view-test");
+        hz = Hazelcast.newHazelcastInstance(config);
+        adapter = new HazelcastBufferCacheAdapter<>(hz, properties, null, null, PayloadCodecRegistry.withDefaults(),
+                StatsRecorder.NOOP);
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (hz != null) {
+            hz.shutdown();
+        }
+    }
+
+    @Test
+    void viewIsPopulatedWithMatchingEntriesAndFollowsUpdates() throws InterruptedException {
+        // given
+        adapter.send(Map.of("EQ_IBM", new Quote("IBM", 150.0), "FX_EUR", new Quote("EUR", 1.1)));
+
+        // when
+        QueryCacheView<Quote> view = adapter.subscribe("equities", EQUITIES, Quote.class, null);
+        adapter.send(Map.of("EQ_MSFT", new Quote("MSFT", 410.0), "EQ_IBM", new Quote("IBM", 151.0),
+                "FX_GBP", new Quote("GBP", 1.3)));
+
+        // then
+        await(() -> Double.valueOf(151.0).equals(priceOf(view.get("EQ_IBM"))) && view.size() == 2);
+        assertEquals(Map.of("EQ_IBM", new Quote("IBM", 151.0), "EQ_MSFT", new Quote("MSFT", 410.0)), view.snapshot());
+        assertNull(view.get("FX_GBP"));
+    }
+
+    @Test
+    void listenerReceivesDecodedUpdatesAndRemovals() throws InterruptedException {
+        // given
+        Map<String, Quote> updates = new ConcurrentHashMap<>();
+        List<String> removals = new CopyOnWriteArrayList<>();
+        QueryCacheView.Listener<Quote> listener = new QueryCacheView.Listener<>() {
+            @Override
+            public void onUpdate(String key, Quote value) {
+                updates.put(key, value);
+            }
+
+            @Override
+            public void onRemove(String key) {
+                removals.add(key);
+            }
+        };
+
+        // when
+        QueryCacheView<Quote> view = adapter.subscribe("equities", EQUITIES, Quote.class, listener);
+        adapter.send(Map.of("EQ_IBM", new Quote("IBM", 150.0), "FX_EUR", new Quote("EUR", 1.1)));
+        await(() -> updates.containsKey("EQ_IBM"));
+        hz.getMap("market-cache").remove("EQ_IBM");
+
+        // then
+        await(() -> removals.contains("EQ_IBM"));
+        assertEquals(Map.of("EQ_IBM", new Quote("IBM", 150.0)), updates);
+        assertEquals(0, view.size());
+        view.close();
+    }
+
+    private static Double priceOf(Quote quote) {
+        return quote == null ? null : quote.price();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private record Quote(String symbol, double price) { }
+}
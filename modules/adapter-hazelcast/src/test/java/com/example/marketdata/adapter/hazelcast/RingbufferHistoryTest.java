@@ -0,0 +1,112 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.HistoryProperties;
+import com.example.marketdata.adapter.hazelcast.config.HistoryRingbuffers;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises history appends and last-N reads against an embedded member.
+ */
+class RingbufferHistoryTest {
+
+    private HazelcastInstance hz;
+
+    @AfterEach
+    void shutdown() {
+        if (hz != null) {
+            hz.shutdown();
+        }
+    }
+
+    private RingbufferHistory history(HistoryProperties properties) {
+        HistoryRingbuffers ringbuffers = new HistoryRingbuffers("market-cache", properties);
+        Config config = new Config();
+        config.setClusterName("dev");
+        ringbuffers.configs().forEach(config::addRingBufferConfig);
+        hz = Hazelcast.newHazelcastInstance(config);
+        return new RingbufferHistory(hz, ringbuffers, 4, StatsRecorder.NOOP);
+    }
+
+    private static List<HistoryEntry> ticks(String cacheId, int count) {
+        List<HistoryEntry> ticks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            ticks.add(new HistoryEntry(cacheId, cacheId + "-" + i));
+        }
+        return ticks;
+    }
+
+    private static List<Object> awaitHistory(RingbufferHistory history, String cacheId, int lastN, int expected)
+            throws InterruptedException {
+        // appends are asynchronous
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<Object> read = history.read(cacheId, lastN);
+        while (read.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            read = history.read(cacheId, lastN);
+        }
+        return read;
+    }
+
+    @Test
+    void readReturnsLastTicksOfOneCacheIdOldestFirst() throws InterruptedException {
+        // given
+        RingbufferHistory history = history(new HistoryProperties());
+        List<HistoryEntry> ticks = new ArrayList<>(ticks("AAPL", 5));
+        ticks.addAll(ticks("MSFT", 2));
+
+        // when
+        history.append(ticks);
+
+        // then
+        assertEquals(List.of("AAPL-3", "AAPL-4", "AAPL-5"), awaitHistory(history, "AAPL", 3, 3));
+        assertEquals(List.of("MSFT-1", "MSFT-2"), awaitHistory(history, "MSFT", 10, 2));
+        assertEquals(List.of(), history.read("IBM", 10));
+    }
+
+    @Test
+    void symbolClassCapacityBoundsRetainedTicks() throws InterruptedException {
+        // given
+        HistoryProperties properties = new HistoryProperties();
+        properties.setCapacities(Map.of("FX.", 3));
+        RingbufferHistory history = history(properties);
+
+        // when
+        history.append(ticks("FX.EURUSD", 5));
+        history.append(ticks("EQ.AAPL", 5));
+
+        // then
+        assertEquals(List.of("FX.EURUSD-3", "FX.EURUSD-4", "FX.EURUSD-5"), awaitHistory(history, "FX.EURUSD", 10, 3));
+        assertEquals(5, awaitHistory(history, "EQ.AAPL", 10, 5).size());
+    }
+
+    @Test
+    void bucketedHistoryOnlyReturnsTicksOfTheRequestedCacheId() throws InterruptedException {
+        // given
+        HistoryProperties properties = new HistoryProperties();
+        properties.setBuckets(1);
+        RingbufferHistory history = history(properties);
+        List<HistoryEntry> interleaved = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            interleaved.add(new HistoryEntry("AAPL", "AAPL-" + i));
+            interleaved.add(new HistoryEntry("MSFT", "MSFT-" + i));
+        }
+
+        // when
+        history.append(interleaved);
+
+        // then
+        assertEquals(List.of("MSFT-3", "MSFT-4"), awaitHistory(history, "MSFT", 2, 2));
+        assertEquals(List.of("AAPL-1", "AAPL-2", "AAPL-3", "AAPL-4"), awaitHistory(history, "AAPL", 10, 4));
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.marketdata.adapter.hazelcast;
+
+import com.example.marketdata.adapter.hazelcast.config.ResyncProperties;
+import com.example.marketdata.adapter.hazelcast.config.ShadowCacheProperties;
+import com.example.marketdata.cache.ShadowCache;
+import com.example.marketdata.stats.StatsRecorder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies dirty-key tracking, full fallback, conditional writes, version checks and failure handling
+ * of the reconnect resync.
+ */
+class ShadowCacheResyncTest {
+
+    /**
+     * Reads {@code written} and passes the values whose key still holds the expected value to
+     * {@code map.putAll}, as the conditional map writer does on the members.
+     */
+    private class MapChunkWriter implements ShadowCacheResync.ChunkWriter {
+
+        @Override
+        public Map<String, Object> read(Collection<String> keys) {
+            Map<String, Object> current = new HashMap<>();
+            keys.stream().filter(written::containsKey).forEach(key -> current.put(key, written.get(key)));
+            return current;
+        }
+
+        @Override
+        public void write(Map<String, Object> values, Map<String, Object> expected) {
+            Map<String, Object> unchanged = new HashMap<>();
+            values.forEach((key, value) -> {
+                if (Objects.equals(written.get(key), expected.get(key))) {
+                    unchanged.put(key, value);
+                }
+            });
+            map.putAll(unchanged);
+        }
+    }
+
+    private ShadowCache shadowCache;
+    private Map<String, Object> written;
+    private IMap<String, Object> map;
+    private ShadowCacheResync resync;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        shadowCache = new ShadowCache(new ShadowCacheProperties());
+        shadowCache.putAll(Map.of("k1", "v1", "k2", "v2", "k3", "v3"));
+        written = new HashMap<>();
+        map = mock(IMap.class);
+        doAnswer(invocation -> {
+            written.putAll(invocation.getArgument(0));
+            return null;
+        }).when(map).putAll(anyMap());
+        resync = resync(new ResyncProperties());
+    }
+
+    @AfterEach
+    void shutdown() {
+        resync.shutdown();
+    }
+
+    private ShadowCacheResync resync(ResyncProperties properties) {
+        return new ShadowCacheResync("market-cache", shadowCache, new MapChunkWriter(), properties, 2, StatsRecorder.NOOP);
+    }
+
+    @Test
+    void incrementalResyncWritesOnlyDirtyKeys() {
+        // given
+        resync.onDisconnect();
+        shadowCache.put("k2", "v2b");
+        resync.markDirty(List.of("k2"));
+
+        // when
+        boolean completed = resync.resyncNow();
+
+        // then
+        assertTrue(completed);
+        assertEquals(Map.of("k2", "v2b"), written);
+        assertEquals(0, resync.dirtyKeyCount());
+    }
+
+    @Test
+    void fullResyncWritesWholeShadowCacheInChunks() {
+        // given
+        resync.onDisconnect();
+        resync.markDirty(List.of("k1"));
+
+        // when
+        resync.shutdown();
+        resync.onReconnect(true);
+        boolean completed = resync.resyncNow();
+
+        // then
+        assertTrue(completed);
+        assertEquals(Map.of("k1", "v1", "k2", "v2", "k3", "v3"), written);
+        verify(map, atLeast(2)).putAll(anyMap());
+    }
+
+    @Test
+    void tooManyDirtyKeysFallBackToFullResync() {
+        // given
+        ResyncProperties properties = new ResyncProperties();
+        properties.setMaxDirtyKeys(1);
+        resync.shutdown();
+        resync = resync(properties);
+
+        // when
+        resync.markDirty(List.of("k1", "k2"));
+
+        // then
+        assertTrue(resync.isFullResyncRequired());
+        assertEquals(0, resync.dirtyKeyCount());
+        resync.resyncNow();
+        assertEquals(3, written.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keyUpdatedDuringItsChunkWriteIsWrittenAgainWithNewerValue() {
+        // given: a live flush updates k1 while the resync chunk holding the old k1 is written
+        doAnswer(invocation -> {
+            Map<String, Object> chunk = invocation.getArgument(0);
+            written.putAll(chunk);
+            if ("v1".equals(chunk.get("k1"))) {
+                shadowCache.put("k1", "v1-newer");
+            }
+            return null;
+        }).when(map).putAll(anyMap());
+        resync.markDirty(List.of("k1"));
+
+        // when
+        resync.resyncNow();
+
+        // then
+        assertEquals("v1-newer", written.get("k1"));
+    }
+
+    @Test
+    void liveWriteReachingTheMapDuringAChunkIsNotOverwritten() {
+        // given: k1 is read from the map and the shadow cache, then a live flush writes a newer k1
+        written.put("k1", "v0");
+        ShadowCacheResync.ChunkWriter liveWriteInBetween = new MapChunkWriter() {
+            @Override
+            public void write(Map<String, Object> values, Map<String, Object> expected) {
+                if ("v1".equals(values.get("k1"))) {
+                    shadowCache.put("k1", "v1-newer");
+                    written.put("k1", "v1-newer");
+                }
+                super.write(values, expected);
+            }
+        };
+        resync.shutdown();
+        resync = new ShadowCacheResync("market-cache", shadowCache, liveWriteInBetween, new ResyncProperties(), 2,
+                StatsRecorder.NOOP);
+        resync.markDirty(List.of("k1"));
+
+        // when
+        resync.resyncNow();
+
+        // then
+        verify(map, never()).putAll(Map.of("k1", "v1"));
+        assertEquals("v1-newer", written.get("k1"));
+    }
+
+    @Test
+    void mapIsReadBeforeTheShadowCache() {
+        // given: a live flush updates k1 in the shadow cache right after the chunk read the map
+        written.put("k1", "v0");
+        ShadowCacheResync.ChunkWriter liveUpdateAfterRead = new MapChunkWriter() {
+            @Override
+            public Map<String, Object> read(Collection<String> keys) {
+                Map<String, Object> current = super.read(keys);
+                if ("v1".equals(shadowCache.get("k1"))) {
+                    shadowCache.put("k1", "v1-newer");
+                }
+                return current;
+            }
+        };
+        resync.shutdown();
+        resync = new ShadowCacheResync("market-cache", shadowCache, liveUpdateAfterRead, new ResyncProperties(), 2,
+                StatsRecorder.NOOP);
+        resync.markDirty(List.of("k1"));
+
+        // when
+        resync.resyncNow();
+
+        // then
+        verify(map, never()).putAll(Map.of("k1", "v1"));
+        assertEquals("v1-newer", written.get("k1"));
+    }
+
+    @Test
+    void keysOfALiveWriteFailureWhileConnectedAreResyncedAfterTheRetryDelay() {
+        // given
+        ResyncProperties properties = new ResyncProperties();
+        properties.setRetryDelayMs(50);
+        resync.shutdown();
+        resync = resync(properties);
+        shadowCache.put("k1", "v1b");
+
+        // when
+        resync.markDirty(List.of("k1"));
+
+        // then
+        verify(map, timeout(2_000)).putAll(Map.of("k1", "v1b"));
+        assertEquals(0, resync.dirtyKeyCount());
+    }
+
+    @Test
+    void failedChunkKeepsKeysDirty() {
+        // given
+        doThrow(new RetryableHazelcastException("offline")).when(map).putAll(anyMap());
+        resync.markDirty(List.of("k1"));
+        resync.shutdown();
+
+        // when
+        boolean completed = resync.resyncNow();
+
+        // then
+        assertFalse(completed);
+        assertEquals(1, resync.dirtyKeyCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates event class resolution and the lifetimes mirrored by the shadow cache.
+ */
+class EntryExpiryTest {
+
+    @Test
+    void longestMatchingPrefixOverridesTheMapDefaults() {
+        // given
+        ExpiryProperties properties = new ExpiryProperties();
+        properties.setTimeToLiveSeconds(86_400);
+        properties.setMaxIdleSeconds(7_200);
+        properties.setTimeToLiveSecondsByPrefix(Map.of("OPT_", 3_600, "OPT_WEEKLY_", 600));
+
+        // when
+        EntryExpiry expiry = new EntryExpiry(properties);
+
+        // then
+        assertTrue(expiry.hasEventClasses());
+        assertTrue(expiry.isInEventClass("OPT_WEEKLY_IBM"));
+        assertFalse(expiry.isInEventClass("EQ_IBM"));
+        assertEquals(600, expiry.timeToLiveSeconds("OPT_WEEKLY_IBM"));
+        assertEquals(3_600, expiry.timeToLiveSeconds("OPT_IBM"));
+        assertEquals(86_400, expiry.timeToLiveSeconds("EQ_IBM"));
+        assertEquals(7_200, expiry.maxIdleSeconds("OPT_IBM"));
+    }
+
+    @Test
+    void lifetimeIsTheShortestOfTimeToLiveAndMaxIdle() {
+        // given
+        ExpiryProperties properties = new ExpiryProperties();
+        properties.setMaxIdleSeconds(60);
+        properties.setTimeToLiveSecondsByPrefix(Map.of("FX_", 30));
+
+        // when
+        EntryExpiry expiry = new EntryExpiry(properties);
+
+        // then
+        assertEquals(60_000, expiry.lifetimeMs("EQ_IBM"));
+        assertEquals(30_000, expiry.lifetimeMs("FX_EUR"));
+        assertEquals(30_000, expiry.shortestLifetimeMs());
+        assertEquals(0, EntryExpiry.NONE.lifetimeMs("EQ_IBM"));
+        assertEquals(0, EntryExpiry.NONE.shortestLifetimeMs());
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.marketdata.adapter.hazelcast.config;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates how the deployment profiles translate into member and client configs.
+ */
+class HazelcastConfigurationTest {
+
+    @Test
+    void defaultMemberKeepsHazelcastMapDefaultsAndMulticast() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+
+        // when
+        Config config = HazelcastConfiguration.memberConfig(properties);
+
+        // then
+        assertFalse(config.isLiteMember());
+        assertEquals(1, config.getMapConfig("market-cache").getBackupCount());
+        assertNull(config.getProperty(ClusterProperty.PARTITION_COUNT.getName()));
+        assertTrue(config.getNetworkConfig().getJoin().getMulticastConfig().isEnabled());
+    }
+
+    @Test
+    void dataMemberAppliesMapLayoutAndTcpIpJoin() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        ClusterProperties cluster = properties.getCluster();
+        cluster.setProfile(HazelcastProfile.DATA_MEMBER);
+        cluster.setMembers(List.of("10.0.0.1:5701", "10.0.0.2:5701"));
+        cluster.setWaitSecondsBeforeJoin(0);
+        cluster.setPartitionCount(1021);
+        cluster.setInMemoryFormat(InMemoryFormat.OBJECT);
+        cluster.setBackupCount(0);
+        cluster.setAsyncBackupCount(1);
+
+        // when
+        Config config = HazelcastConfiguration.memberConfig(properties);
+
+        // then
+        MapConfig mapConfig = config.getMapConfig("market-cache");
+        assertEquals(InMemoryFormat.OBJECT, mapConfig.getInMemoryFormat());
+        assertEquals(0, mapConfig.getBackupCount());
+        assertEquals(1, mapConfig.getAsyncBackupCount());
+        assertEquals("1021", config.getProperty(ClusterProperty.PARTITION_COUNT.getName()));
+        assertEquals("0", config.getProperty(ClusterProperty.WAIT_SECONDS_BEFORE_JOIN.getName()));
+        assertFalse(config.getNetworkConfig().getJoin().getMulticastConfig().isEnabled());
+        assertEquals(List.of("10.0.0.1:5701", "10.0.0.2:5701"),
+                config.getNetworkConfig().getJoin().getTcpIpConfig().getMembers());
+    }
+
+    @Test
+    void historyRingbuffersAreSizedPerSymbolClass() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getHistory().setEnabled(true);
+        properties.getHistory().setCapacity(500);
+        properties.getHistory().setCapacities(Map.of("FX.", 5000));
+
+        // when
+        Config config = HazelcastConfiguration.memberConfig(properties);
+
+        // then
+        assertEquals(5000, config.getRingbufferConfig("market-cache.history.FX.EURUSD").getCapacity());
+        assertEquals(500, config.getRingbufferConfig("market-cache.history.EQ.AAPL").getCapacity());
+    }
+
+    @Test
+    void tickTopicShardsShareOneRingbufferAndTopicConfig() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        TickTopicProperties topic = properties.getTopic();
+        topic.setShards(4);
+        topic.setCapacity(2_000);
+        topic.setTimeToLiveSeconds(60);
+        topic.setOverloadPolicy(TopicOverloadPolicy.DISCARD_OLDEST);
+
+        // when
+        Config member = HazelcastConfiguration.memberConfig(properties);
+        properties.getCluster().setProfile(HazelcastProfile.CLIENT);
+        ClientConfig client = HazelcastConfiguration.clientConfig(properties);
+        TickTopics topics = new TickTopics(topic);
+
+        // then
+        assertEquals(List.of("market-data-ticks.0", "market-data-ticks.1", "market-data-ticks.2", "market-data-ticks.3"),
+                topics.names());
+        assertTrue(topics.names().contains(topics.nameFor("FX.EURUSD")));
+        assertEquals(topics.nameFor("FX.EURUSD"), topics.nameFor("FX.EURUSD"));
+        assertEquals(2_000, member.getRingbufferConfig("_hz_rb_market-data-ticks.3").getCapacity());
+        assertEquals(60, member.getRingbufferConfig("_hz_rb_market-data-ticks.3").getTimeToLiveSeconds());
+        assertEquals(TopicOverloadPolicy.DISCARD_OLDEST,
+                member.getReliableTopicConfig("market-data-ticks.3").getTopicOverloadPolicy());
+        assertEquals(TopicOverloadPolicy.DISCARD_OLDEST,
+                client.getReliableTopicConfig("market-data-ticks.3").getTopicOverloadPolicy());
+    }
+
+    @Test
+    void tickTopicNeedsAtLeastOneShard() {
+        // given
+        TickTopicProperties topic = new TickTopicProperties();
+        topic.setShards(0);
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> new TickTopics(topic));
+    }
+
+    @Test
+    void liteMemberHoldsNoData() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getCluster().setProfile(HazelcastProfile.LITE_MEMBER);
+
+        // when
+        Config config = HazelcastConfiguration.memberConfig(properties);
+
+        // then
+        assertTrue(config.isLiteMember());
+    }
+
+    @Test
+    void clientAppliesConnectionTuningAndNearCache() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        ClusterProperties cluster = properties.getCluster();
+        cluster.setProfile(HazelcastProfile.CLIENT);
+        cluster.setClusterName("prod");
+        cluster.setMembers(List.of("10.0.0.1:5701"));
+        cluster.getClient().setSmartRouting(false);
+        cluster.getClient().setClusterConnectTimeoutMs(-1);
+        properties.getRead().getNearCache().setEnabled(true);
+
+        // when
+        ClientConfig config = HazelcastConfiguration.clientConfig(properties);
+
+        // then
+        assertEquals("prod", config.getClusterName());
+        assertFalse(config.getNetworkConfig().isSmartRouting());
+        assertEquals(List.of("10.0.0.1:5701"), config.getNetworkConfig().getAddresses());
+        assertEquals(-1, config.getConnectionStrategyConfig().getConnectionRetryConfig().getClusterConnectTimeoutMillis());
+        assertNotNull(config.getNearCacheConfig("market-cache"));
+    }
+
+    @Test
+    void queryCacheBatchingAppliesToEveryQueryCacheOfTheMap() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        properties.getQueryCache().setBatchSize(500);
+        properties.getQueryCache().setDelaySeconds(2);
+        properties.getQueryCache().setCoalesce(false);
+
+        // when
+        Config member = HazelcastConfiguration.memberConfig(properties);
+        properties.getCluster().setProfile(HazelcastProfile.CLIENT);
+        ClientConfig client = HazelcastConfiguration.clientConfig(properties);
+
+        // then
+        QueryCacheConfig memberQueryCache = member.getMapConfig("market-cache").getQueryCacheConfigs().get(0);
+        assertEquals("*", memberQueryCache.getName());
+        assertEquals(500, memberQueryCache.getBatchSize());
+        assertEquals(2, memberQueryCache.getDelaySeconds());
+        assertFalse(memberQueryCache.isCoalesce());
+        assertEquals(500, client.getQueryCacheConfigs().get("market-cache").get("*").getBatchSize());
+    }
+
+    @Test
+    void expiryAndSizeBoundAreAppliedToTheMap() {
+        // given
+        HazelcastAdapterProperties properties = HazelcastAdapterProperties.forCache("market-cache");
+        ExpiryProperties expiry = properties.getExpiry();
+        expiry.setTimeToLiveSeconds(86_400);
+        expiry.setMaxIdleSeconds(3_600);
+        expiry.setMaxSize(512);
+        expiry.setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE);
+        expiry.setEvictionPolicy(EvictionPolicy.LFU);
+
+        // when
+        MapConfig mapConfig = HazelcastConfiguration.memberConfig(properties).getMapConfig("market-cache");
+
+        // then
+        assertEquals(86_400, mapConfig.getTimeToLiveSeconds());
+        assertEquals(3_600, mapConfig.getMaxIdleSeconds());
+        assertEquals(MaxSizePolicy.USED_HEAP_SIZE, mapConfig.getEvictionConfig().getMaxSizePolicy());
+        assertEquals(EvictionPolicy.LFU, mapConfig.getEvictionConfig().getEvictionPolicy());
+        assertEquals(512, mapConfig.getEvictionConfig().getSize());
+    }
+}
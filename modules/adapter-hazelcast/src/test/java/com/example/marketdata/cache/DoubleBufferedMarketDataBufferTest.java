@@ -0,0 +1,115 @@
+package com.example.marketdata.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates release, buffer reuse and lossless hand-over of the double-buffered implementation.
+ */
+class DoubleBufferedMarketDataBufferTest {
+
+    @Test
+    void releaseBufferReturnsEntriesAndSwitchesBuffers() {
+        // given
+        MarketDataBuffer<String> buffer = new DoubleBufferedMarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+
+        // when
+        Map<String, String> released = buffer.releaseBuffer();
+
+        // then
+        assertEquals(Map.of("k1", "v1", "k2", "v2"), released);
+        assertTrue(buffer.isEmpty());
+        assertEquals(0L, buffer.getOldestPendingAgeMs());
+    }
+
+    @Test
+    void releasedMapIsReusedAfterTheNextRelease() {
+        // given
+        MarketDataBuffer<String> buffer = new DoubleBufferedMarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        Map<String, String> first = buffer.releaseBuffer();
+        buffer.put("k2", "v2");
+        Map<String, String> second = buffer.releaseBuffer();
+
+        // when
+        buffer.put("k3", "v3");
+        Map<String, String> third = buffer.releaseBuffer();
+
+        // then
+        assertNotSame(first, second);
+        assertSame(first, third);
+        assertEquals(Map.of("k3", "v3"), third);
+    }
+
+    @Test
+    void mergeBackRestoresFailedEntriesWithoutOverwritingNewerValues() {
+        // given
+        MarketDataBuffer<String> buffer = new DoubleBufferedMarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+        Map<String, String> failed = buffer.releaseBuffer();
+        buffer.put("k2", "v2-newer");
+
+        // when
+        int merged = buffer.mergeBack(failed);
+
+        // then
+        assertEquals(1, merged);
+        assertEquals(Map.of("k1", "v1", "k2", "v2-newer"), buffer.releaseBuffer());
+    }
+
+    @Test
+    void concurrentWritersNeverLoseEntriesAcrossReleases() throws Exception {
+        // given
+        int writers = 4;
+        int putsPerWriter = 200_000;
+        MarketDataBuffer<Integer> buffer = new DoubleBufferedMarketDataBuffer<>();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Set<String> released = new HashSet<>();
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < putsPerWriter; i++) {
+                    buffer.put(writer + "-" + i, i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        while (writing.get()) {
+            // the map is only valid until the next release, so collect it right away
+            released.addAll(buffer.releaseBuffer().keySet());
+            writing.set(futures.stream().anyMatch(future -> !future.isDone()));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        released.addAll(buffer.releaseBuffer().keySet());
+        executor.shutdown();
+
+        // then
+        assertEquals(writers * putsPerWriter, released.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
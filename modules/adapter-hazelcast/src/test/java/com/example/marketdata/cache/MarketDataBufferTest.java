@@ -74,6 +74,45 @@ class MarketDataBufferTest {
         assertEquals("v2", second.get("k2"));
     }
 
+    @Test
+    void sizeAndPendingAgeTrackCurrentGeneration() throws InterruptedException {
+        // given
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        assertEquals(0L, buffer.getOldestPendingAgeMs());
+
+        // when
+        buffer.put("k1", "v1");
+        buffer.put("k1", "v1b");
+        buffer.put("k2", "v2");
+        Thread.sleep(20);
+
+        // then
+        assertEquals(2, buffer.size());
+        assertTrue(buffer.getOldestPendingAgeMs() >= 20);
+
+        buffer.releaseBuffer();
+        assertEquals(0, buffer.size());
+        assertEquals(0L, buffer.getOldestPendingAgeMs());
+    }
+
+    @Test
+    void mergeBackRestoresFailedEntriesWithoutOverwritingNewerValues() {
+        // given
+        MarketDataBuffer<String> buffer = new MarketDataBuffer<>();
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+        Map<String, String> failed = buffer.releaseBuffer();
+        buffer.put("k2", "v2-newer");
+
+        // when
+        int merged = buffer.mergeBack(failed);
+
+        // then
+        assertEquals(1, merged);
+        Map<String, String> retried = buffer.releaseBuffer();
+        assertEquals(Map.of("k1", "v1", "k2", "v2-newer"), retried);
+    }
+
     @Test
     void handleIgnoresNullOrBlankKey() {
         @SuppressWarnings("unchecked")
@@ -0,0 +1,249 @@
+package com.example.marketdata.cache;
+
+import com.example.marketdata.adapter.hazelcast.config.EntryExpiry;
+import com.example.marketdata.adapter.hazelcast.config.ExpiryProperties;
+import com.example.marketdata.adapter.hazelcast.config.ShadowCacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates value round trips, memory budget and TTL eviction, and non-copying iteration of the
+ * shadow cache.
+ */
+class ShadowCacheTest {
+
+    private static final String JSON = "{\"symbol\":\"IBM\",\"bid\":100.25,\"ask\":100.5,\"venue\":\"XNYS\",\"venue2\":\"XNYS\"}";
+
+    private static ShadowCacheProperties properties(boolean compressed, boolean offHeap, long maxBytes, long ttlMs) {
+        ShadowCacheProperties properties = new ShadowCacheProperties();
+        properties.setCompressed(compressed);
+        properties.setOffHeap(offHeap);
+        properties.setMaxBytes(maxBytes);
+        properties.setTtlMs(ttlMs);
+        return properties;
+    }
+
+    @Test
+    void roundTripsTextualAndBinaryValuesInEveryStorageMode() {
+        byte[] binary = {1, 2, 3, 4, 5};
+        for (boolean compressed : new boolean[]{true, false}) {
+            for (boolean offHeap : new boolean[]{true, false}) {
+                // given
+                ShadowCache cache = new ShadowCache(properties(compressed, offHeap, 0, 0));
+
+                // when
+                cache.putAll(Map.of("json", JSON.repeat(5), "binary", binary));
+
+                // then
+                assertEquals(JSON.repeat(5), cache.get("json"));
+                assertArrayEquals(binary, (byte[]) cache.get("binary"));
+                assertNull(cache.get("missing"));
+            }
+        }
+    }
+
+    @Test
+    void compressionReducesFootprintOfRepetitiveValues() {
+        // given
+        ShadowCache plain = new ShadowCache(properties(false, false, 0, 0));
+        ShadowCache compressed = new ShadowCache(properties(true, false, 0, 0));
+
+        // when
+        plain.put("IBM", JSON.repeat(20));
+        compressed.put("IBM", JSON.repeat(20));
+
+        // then
+        assertTrue(compressed.getFootprintBytes() < plain.getFootprintBytes());
+    }
+
+    @Test
+    void overwritesKeepFootprintAccurate() {
+        // given
+        ShadowCache cache = new ShadowCache(properties(false, false, 0, 0));
+
+        // when
+        cache.put("IBM", "abc");
+        cache.put("IBM", "abcdef");
+
+        // then
+        assertEquals(1, cache.size());
+        assertEquals(ShadowCache.ENTRY_OVERHEAD_BYTES + "IBM".length() + 6, cache.getFootprintBytes());
+
+        cache.clear();
+        assertEquals(0, cache.getFootprintBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyWrittenEntriesOverBudget() {
+        // given
+        long entryBytes = ShadowCache.ENTRY_OVERHEAD_BYTES + 2 + 10;
+        ShadowCache cache = new ShadowCache(properties(false, false, entryBytes * 5, 0));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            cache.putAll(Map.of("k" + i, "0123456789"));
+        }
+
+        // then
+        assertTrue(cache.getFootprintBytes() <= entryBytes * 5);
+        assertNotNull(cache.get("k9"));
+        assertNull(cache.get("k0"));
+    }
+
+    @Test
+    void rewritingAKeyProtectsItFromEviction() {
+        // given
+        long entryBytes = ShadowCache.ENTRY_OVERHEAD_BYTES + 2 + 10;
+        ShadowCache cache = new ShadowCache(properties(false, false, entryBytes * 5, 0));
+        for (int i = 0; i < 5; i++) {
+            cache.putAll(Map.of("k" + i, "0123456789"));
+        }
+
+        // when
+        cache.putAll(Map.of("k0", "9876543210"));
+        cache.putAll(Map.of("k5", "0123456789"));
+
+        // then
+        assertEquals("9876543210", cache.get("k0"));
+        assertNull(cache.get("k1"));
+        assertNotNull(cache.get("k5"));
+    }
+
+    @Test
+    void offHeapValuesRoundTripAcrossRewrites() {
+        // given
+        ShadowCache cache = new ShadowCache(properties(false, true, 0, 0));
+        cache.put("IBM", JSON);
+
+        // when / then
+        for (String value : List.of(JSON + "1", JSON.repeat(20), JSON.substring(0, 10), JSON + "2")) {
+            cache.put("IBM", value);
+            assertEquals(value, cache.get("IBM"));
+        }
+    }
+
+    @Test
+    void rewritingKeysOffHeapKeepsDirectMemoryBounded() {
+        // given
+        BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .findFirst()
+                .orElseThrow();
+        ShadowCache cache = new ShadowCache(properties(false, true, 0, 0));
+        for (int i = 0; i < 100; i++) {
+            cache.put("k" + i, JSON + i);
+        }
+        long footprint = cache.getFootprintBytes();
+        long directBefore = direct.getMemoryUsed();
+
+        // when
+        for (int tick = 0; tick < 1_000; tick++) {
+            Map<String, Object> batch = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                batch.put("k" + i, JSON + tick);
+            }
+            cache.putAll(batch);
+        }
+
+        // then
+        assertEquals(JSON + 999, cache.get("k42"));
+        assertEquals(footprint, cache.getFootprintBytes());
+        assertTrue(direct.getMemoryUsed() - directBefore < 64 * 1024,
+                "direct memory grew by " + (direct.getMemoryUsed() - directBefore) + " bytes");
+    }
+
+    @Test
+    void expiresEntriesNotWrittenWithinTtl() throws InterruptedException {
+        // given
+        ShadowCache cache = new ShadowCache(properties(true, false, 0, 20));
+        cache.putAll(Map.of("dead", JSON));
+        Thread.sleep(40);
+
+        // when
+        cache.putAll(Map.of("alive", JSON));
+
+        // then
+        assertNull(cache.get("dead"));
+        assertEquals(JSON, cache.get("alive"));
+    }
+
+    @Test
+    void honoursMapExpiryOfEventClassesOnReadsAndIteration() throws InterruptedException {
+        // given
+        ExpiryProperties expiry = new ExpiryProperties();
+        expiry.setTimeToLiveSecondsByPrefix(Map.of("OPT_", 1));
+        ShadowCache cache = new ShadowCache(properties(true, false, 0, 0), new EntryExpiry(expiry));
+        cache.putAll(Map.of("OPT_IBM_C150", JSON, "EQ_IBM", JSON));
+
+        // when
+        Thread.sleep(1_100);
+
+        // then
+        assertNull(cache.get("OPT_IBM_C150"));
+        assertEquals(JSON, cache.get("EQ_IBM"));
+        Map<String, Object> replayed = new HashMap<>();
+        cache.forEachChunk(10, replayed::putAll);
+        assertEquals(Map.of("EQ_IBM", JSON), replayed);
+        cache.evict();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void writtenHashesFollowTheCachedValue() {
+        // given
+        ShadowCache cache = new ShadowCache(properties(true, false, 0, 0));
+        long hash = ShadowCache.contentHash(JSON);
+        cache.putAll(Map.of("IBM", JSON));
+
+        // when
+        cache.confirmWritten(Map.of("IBM", hash));
+
+        // then
+        assertTrue(cache.isWritten("IBM", hash));
+        assertFalse(cache.isWritten("IBM", ShadowCache.contentHash(JSON + " ")));
+        cache.putAll(Map.of("IBM", JSON + " "));
+        assertFalse(cache.isWritten("IBM", hash));
+        cache.confirmWritten(Map.of("IBM", hash));
+        assertFalse(cache.isWritten("IBM", hash), "a hash of an older value must not be confirmed");
+        cache.confirmWritten(Map.of("IBM", ShadowCache.contentHash(JSON + " ")));
+        cache.forgetWritten(List.of("IBM"));
+        assertFalse(cache.isWritten("IBM", ShadowCache.contentHash(JSON + " ")));
+    }
+
+    @Test
+    void contentHashCoversTextAndBytes() {
+        assertEquals(ShadowCache.contentHash("abc"), ShadowCache.contentHash("abc"));
+        assertNotEquals(ShadowCache.contentHash("abc"), ShadowCache.contentHash("abd"));
+        assertEquals(ShadowCache.contentHash("abc"), ShadowCache.contentHash(new byte[]{'a', 'b', 'c'}));
+    }
+
+    @Test
+    void forEachChunkVisitsEveryEntryOnceInBoundedChunks() {
+        // given
+        ShadowCache cache = new ShadowCache(properties(true, false, 0, 0));
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < 25; i++) {
+            values.put("k" + i, JSON + i);
+        }
+        cache.putAll(values);
+
+        // when
+        List<Map<String, Object>> chunks = new ArrayList<>();
+        cache.forEachChunk(10, chunks::add);
+
+        // then
+        assertEquals(3, chunks.size());
+        chunks.forEach(chunk -> assertTrue(chunk.size() <= 10));
+        Map<String, Object> replayed = new HashMap<>();
+        chunks.forEach(replayed::putAll);
+        assertEquals(values, replayed);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.marketdata.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates dirty-slot release, overflow handling and lossless hand-over of the slot-array buffer.
+ */
+class SlotArrayMarketDataBufferTest {
+
+    @Test
+    void releaseBufferReturnsOnlyDirtySlots() {
+        // given
+        MarketDataBuffer<String> buffer = new SlotArrayMarketDataBuffer<>(16);
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+        buffer.put("k1", "v1b");
+        assertEquals(2, buffer.size());
+
+        // when
+        Map<String, String> first = new HashMap<>(buffer.releaseBuffer());
+        buffer.put("k2", "v2b");
+        Map<String, String> second = buffer.releaseBuffer();
+
+        // then
+        assertEquals(Map.of("k1", "v1b", "k2", "v2"), first);
+        assertEquals(Map.of("k2", "v2b"), second);
+        assertEquals("v2b", second.get("k2"));
+        assertNull(second.get("k1"));
+        assertTrue(buffer.isEmpty());
+        assertEquals(0L, buffer.getOldestPendingAgeMs());
+    }
+
+    @Test
+    void releasedViewIsReadOnly() {
+        // given
+        MarketDataBuffer<String> buffer = new SlotArrayMarketDataBuffer<>(16);
+        buffer.put("k1", "v1");
+
+        // when
+        Map<String, String> released = buffer.releaseBuffer();
+
+        // then
+        assertThrows(UnsupportedOperationException.class, () -> released.put("k2", "v2"));
+    }
+
+    @Test
+    void mergeBackRestoresFailedEntriesWithoutOverwritingNewerValues() {
+        // given
+        MarketDataBuffer<String> buffer = new SlotArrayMarketDataBuffer<>(16);
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+        Map<String, String> failed = buffer.releaseBuffer();
+        buffer.put("k2", "v2-newer");
+
+        // when
+        int merged = buffer.mergeBack(failed);
+
+        // then
+        assertEquals(1, merged);
+        assertEquals(Map.of("k1", "v1", "k2", "v2-newer"), buffer.releaseBuffer());
+    }
+
+    @Test
+    void keysBeyondCapacityUseTheOverflowMap() {
+        // given
+        MarketDataBuffer<String> buffer = new SlotArrayMarketDataBuffer<>(2);
+
+        // when
+        buffer.put("k1", "v1");
+        buffer.put("k2", "v2");
+        buffer.put("k3", "v3");
+
+        // then
+        assertEquals(3, buffer.size());
+        Map<String, String> released = buffer.releaseBuffer();
+        assertEquals(Map.of("k1", "v1", "k2", "v2", "k3", "v3"), released);
+        assertEquals("v3", released.get("k3"));
+
+        buffer.mergeBack(Map.of("k3", "v3"));
+        assertEquals(Map.of("k3", "v3"), buffer.releaseBuffer());
+    }
+
+    @Test
+    void concurrentWritersNeverLoseLatestValues() throws Exception {
+        // given
+        int writers = 4;
+        int keysPerWriter = 1_000;
+        int rounds = 200;
+        MarketDataBuffer<Integer> buffer = new SlotArrayMarketDataBuffer<>(writers * keysPerWriter);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> latest = new HashMap<>();
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < rounds; round++) {
+                    for (int k = 0; k < keysPerWriter; k++) {
+                        buffer.put(writer + "-" + k, round);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            // the view is only valid until the next release, so collect it right away
+            buffer.releaseBuffer().forEach(latest::put);
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        buffer.releaseBuffer().forEach(latest::put);
+        executor.shutdown();
+
+        // then
+        assertEquals(writers * keysPerWriter, latest.size());
+        assertTrue(latest.values().stream().allMatch(value -> value == rounds - 1));
+        assertTrue(buffer.isEmpty());
+    }
+}
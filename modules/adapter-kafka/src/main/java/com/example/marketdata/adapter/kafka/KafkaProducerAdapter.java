@@ -1,21 +1,334 @@
 package com.example.marketdata.adapter.kafka;
 
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.adapter.kafka.config.ProducerProperties;
+import com.example.marketdata.codec.DeltaEncoder;
+import com.example.marketdata.codec.DeltaFrame;
+import com.example.marketdata.codec.EncodedPayloadCache;
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.exception.ProcessorRuntimeException;
+import com.example.marketdata.stats.StatsRecorder;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
- * Lightweight placeholder adapter that would publish market data to Kafka when enabled.
- * It implements the base adapter contract so the processor module can remain vendor-neutral
- * and simply depend on this bean when the corresponding profile/property is active.
+ * Adapter that publishes market data to Kafka, one record per cache ID keyed by the cache ID, so
+ * all updates of a symbol land on one partition in order.
+ * <p>
+ * Record values are encoded with {@code marketdata.kafka.codec} (default {@code json}); events
+ * that carry an {@link EncodedPayloadCache} share the bytes with other adapters using that codec.
+ * With {@code marketdata.kafka.delta.enabled} only changed fields are sent, see {@link DeltaEncoder}.
+ * <p>
+ * A batch is handed to the producer without waiting per record, so the producer's linger, batch
+ * size and compression ({@code marketdata.kafka.producer.*}) decide how it goes over the wire;
+ * {@link #send(Map)} then waits for every acknowledgement. Failures are collected from the
+ * callbacks: the batch is retryable when every failure is a Kafka {@link RetriableException} or
+ * the acknowledgements do not arrive within {@code producer.send-timeout-ms}, otherwise it fails.
+ * Acknowledged records are counted as {@code dispatched.kafka.events} and each batch records
+ * {@code dispatched.kafka.latency.ms}. With delta encoding, every cache ID whose record failed or was
+ * not acknowledged is invalidated, so its next frame is a full image rather than a delta consumers
+ * cannot apply. A value the codec cannot encode fails the batch as non-retryable.
+ * <p>
+ * Handing a record to the producer blocks for at most {@code producer.max-block-ms} while topic
+ * metadata is missing or the buffer is full, instead of the Kafka default of a minute.
+ * <p>
+ * With {@code marketdata.kafka.snapshot.enabled} the full value of every entry is also sent to the
+ * compacted last-value topic (see {@link KafkaSnapshotTopic}), created on the first send when missing.
+ * Those records are part of the batch and counted as {@code dispatched.kafka.snapshot.events}.
+ * <p>
+ * The producer is created on the first send, so an idle adapter opens no broker connections.
  */
 @Slf4j
 @Component
 public class KafkaProducerAdapter<T> implements IKafkaProducerAdapter<T> {
 
+    static final String METRIC_PREFIX = "dispatched.kafka";
+    static final String EVENTS_METRIC = METRIC_PREFIX + ".events";
+    static final String LATENCY_METRIC = METRIC_PREFIX + ".latency.ms";
+    static final String SNAPSHOT_EVENTS_METRIC = METRIC_PREFIX + ".snapshot.events";
+
+    private final String topic;
+    private final String snapshotTopic;
+    private final long sendTimeoutMs;
+    private final PayloadCodec payloadCodec;
+    private final DeltaEncoder deltaEncoder;
+    private final StatsRecorder statsRecorder;
+    private final Supplier<Producer<String, byte[]>> producerFactory;
+    private volatile Producer<String, byte[]> producer;
+
+    @Autowired
+    public KafkaProducerAdapter(final KafkaAdapterProperties properties,
+                                final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                                final ObjectProvider<StatsRecorder> statsRecorder) {
+        this(properties, payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
+    }
+
+    public KafkaProducerAdapter(final KafkaAdapterProperties properties,
+                                final PayloadCodecRegistry payloadCodecRegistry,
+                                final StatsRecorder statsRecorder) {
+        this(properties, payloadCodecRegistry, statsRecorder, () -> {
+            if (properties.getSnapshot().isEnabled() && properties.getSnapshot().isCreateTopic()) {
+                KafkaSnapshotTopic.ensureExists(properties);
+            }
+            return new KafkaProducer<>(producerConfigs(properties), new StringSerializer(), new ByteArraySerializer());
+        });
+    }
+
+    public KafkaProducerAdapter(final KafkaAdapterProperties properties,
+                                final PayloadCodecRegistry payloadCodecRegistry,
+                                final StatsRecorder statsRecorder,
+                                final Producer<String, byte[]> producer) {
+        this(properties, payloadCodecRegistry, statsRecorder, () -> producer);
+    }
+
+    private KafkaProducerAdapter(final KafkaAdapterProperties properties,
+                                 final PayloadCodecRegistry payloadCodecRegistry,
+                                 final StatsRecorder statsRecorder,
+                                 final Supplier<Producer<String, byte[]>> producerFactory) {
+        this.topic = properties.getTopic();
+        this.snapshotTopic = properties.getSnapshot().isEnabled() ? properties.getSnapshot().getTopic() : null;
+        this.sendTimeoutMs = properties.getProducer().getSendTimeoutMs();
+        this.payloadCodec = payloadCodecRegistry.get(properties.getCodec());
+        this.deltaEncoder = properties.getDelta().isEnabled()
+                ? new DeltaEncoder(payloadCodec, properties.getDelta(), statsRecorder, METRIC_PREFIX)
+                : null;
+        this.statsRecorder = statsRecorder;
+        this.producerFactory = producerFactory;
+    }
+
+    /**
+     * Kafka producer configs for {@code properties}; {@code producer.overrides} win over the typed settings.
+     */
+    public static Map<String, Object> producerConfigs(final KafkaAdapterProperties properties) {
+        ProducerProperties producer = properties.getProducer();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ProducerConfig.CLIENT_ID_CONFIG, properties.getClientId());
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, producer.getLingerMs());
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, producer.getBatchSize());
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producer.getCompressionType());
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producer.isIdempotence());
+        configs.put(ProducerConfig.ACKS_CONFIG, producer.getAcks());
+        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, producer.getMaxInFlightRequests());
+        configs.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, producer.getDeliveryTimeoutMs());
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producer.getMaxBlockMs());
+        configs.putAll(producer.getOverrides());
+        return configs;
+    }
+
     @Override
     public void send(Map<String, T> entries) {
-        log.info("Sending {} entries to Kafka placeholder adapter", entries.size());
+        List<ProducerRecord<String, byte[]>> records;
+        try {
+            records = toRecords(entries);
+        } catch (RuntimeException e) {
+            // the encoder may have advanced some keys before failing
+            invalidateDeltas(entries.keySet());
+            log.error("Cannot encode batch for Kafka topic {}", topic, e);
+            throw new ProcessorRuntimeException("Cannot encode batch for topic " + topic, e);
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        BatchAcks acks = new BatchAcks(records.size(), topic, snapshotTopic);
+        boolean acknowledged;
+        try {
+            Producer<String, byte[]> target = producer();
+            for (ProducerRecord<String, byte[]> record : records) {
+                Callback callback = acks.forRecord(record);
+                try {
+                    target.send(record, callback);
+                } catch (RuntimeException e) {
+                    // serialization, buffer and closed producer errors are thrown rather than passed to the callback
+                    callback.onCompletion(null, e);
+                }
+            }
+            acknowledged = acks.await(sendTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            invalidateUnacknowledged(records, acks);
+            throw new ProcessorRetryableException("Interrupted while waiting for Kafka acks on topic " + topic, e);
+        } catch (RuntimeException e) {
+            invalidateUnacknowledged(records, acks);
+            log.error("Unexpected error while sending to Kafka topic {}", topic, e);
+            throw new ProcessorRuntimeException("Unexpected error while sending to topic " + topic, e);
+        } finally {
+            statsRecorder.recordLatency(LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        statsRecorder.addCount(EVENTS_METRIC, acks.acknowledged() - acks.snapshotAcknowledged());
+        if (snapshotTopic != null) {
+            statsRecorder.addCount(SNAPSHOT_EVENTS_METRIC, acks.snapshotAcknowledged());
+        }
+
+        if (!acknowledged || !acks.failures.isEmpty()) {
+            invalidateUnacknowledged(records, acks);
+        }
+        if (!acknowledged) {
+            String message = acks.pending() + " of " + records.size() + " Kafka records not acknowledged within "
+                    + sendTimeoutMs + " ms on topic " + topic;
+            log.warn(message);
+            throw new ProcessorRetryableException(message);
+        }
+        List<Exception> failures = new ArrayList<>(acks.failures);
+        if (failures.isEmpty()) {
+            log.debug("Sent {} records to Kafka topic {}", records.size(), topic);
+            return;
+        }
+        String message = failures.size() + " of " + records.size() + " Kafka records failed on topic " + topic;
+        if (failures.stream().allMatch(RetriableException.class::isInstance)) {
+            log.warn("{}: {}", message, failures.get(0).getMessage());
+            throw new ProcessorRetryableException(message, failures.get(0));
+        }
+        Exception primary = failures.stream().filter(failure -> !(failure instanceof RetriableException)).findFirst().orElseThrow();
+        log.error(message, primary);
+        throw new ProcessorRuntimeException(message, primary);
+    }
+
+    @PreDestroy
+    public void close() {
+        Producer<String, byte[]> created = producer;
+        if (created != null) {
+            created.close(Duration.ofMillis(sendTimeoutMs));
+        }
+    }
+
+    /**
+     * Force full images for the delta records of {@code records} that were not acknowledged.
+     */
+    private void invalidateUnacknowledged(final List<ProducerRecord<String, byte[]>> records, final BatchAcks acks) {
+        if (deltaEncoder == null) {
+            return;
+        }
+        List<String> unacknowledged = records.stream()
+                .filter(record -> topic.equals(record.topic()) && !acks.isAcknowledged(record.key()))
+                .map(ProducerRecord::key)
+                .toList();
+        invalidateDeltas(unacknowledged);
+    }
+
+    private void invalidateDeltas(final Collection<String> cacheIds) {
+        if (deltaEncoder != null) {
+            cacheIds.forEach(deltaEncoder::invalidate);
+        }
+    }
+
+    private List<ProducerRecord<String, byte[]>> toRecords(final Map<String, T> entries) {
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>(entries.size());
+        if (deltaEncoder != null) {
+            for (DeltaFrame frame : deltaEncoder.encodeAll(entries)) {
+                records.add(new ProducerRecord<>(topic, frame.cacheId(), frame.payload()));
+            }
+        }
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            if (entry.getValue() == null || deltaEncoder != null && snapshotTopic == null) {
+                continue;
+            }
+            byte[] fullValue = EncodedPayloadCache.encodeOnce(payloadCodec, entry.getValue());
+            if (deltaEncoder == null) {
+                records.add(new ProducerRecord<>(topic, entry.getKey(), fullValue));
+            }
+            if (snapshotTopic != null) {
+                records.add(new ProducerRecord<>(snapshotTopic, entry.getKey(), fullValue));
+            }
+        }
+        return records;
+    }
+
+    private Producer<String, byte[]> producer() {
+        Producer<String, byte[]> current = producer;
+        if (current == null) {
+            synchronized (this) {
+                current = producer;
+                if (current == null) {
+                    current = producerFactory.get();
+                    producer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Collects the callbacks of one batch.
+     */
+    private static final class BatchAcks {
+
+        private final CountDownLatch remaining;
+        private final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        private final Set<String> acknowledgedKeys = ConcurrentHashMap.newKeySet();
+        private final AtomicLong snapshotAcknowledged = new AtomicLong();
+        private final int records;
+        private final String topic;
+        private final String snapshotTopic;
+
+        private BatchAcks(final int records, final String topic, final String snapshotTopic) {
+            this.records = records;
+            this.topic = topic;
+            this.snapshotTopic = snapshotTopic;
+            this.remaining = new CountDownLatch(records);
+        }
+
+        Callback forRecord(final ProducerRecord<String, byte[]> record) {
+            return (metadata, exception) -> {
+                if (exception != null) {
+                    failures.add(exception);
+                } else if (snapshotTopic != null && snapshotTopic.equals(record.topic())) {
+                    snapshotAcknowledged.incrementAndGet();
+                } else if (topic.equals(record.topic())) {
+                    acknowledgedKeys.add(record.key());
+                }
+                remaining.countDown();
+            };
+        }
+
+        boolean isAcknowledged(final String key) {
+            return acknowledgedKeys.contains(key);
+        }
+
+        boolean await(final long timeoutMs) throws InterruptedException {
+            return remaining.await(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        long pending() {
+            return remaining.getCount();
+        }
+
+        long acknowledged() {
+            return records - remaining.getCount() - failures.size();
+        }
+
+        long snapshotAcknowledged() {
+            return snapshotAcknowledged.get();
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.example.marketdata.adapter.kafka;
+
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.adapter.kafka.config.SnapshotProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The compacted last-value topic of {@code marketdata.kafka.snapshot}: compaction keeps the latest
+ * record per cache ID, so reading it from the beginning yields the latest value of every symbol.
+ */
+@Slf4j
+public final class KafkaSnapshotTopic {
+
+    private KafkaSnapshotTopic() {
+    }
+
+    /**
+     * Topic definition with {@code cleanup.policy=compact}; {@code topic-configs} win over it.
+     */
+    public static NewTopic newTopic(final SnapshotProperties snapshot) {
+        Map<String, String> configs = new HashMap<>();
+        configs.put(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT);
+        configs.putAll(snapshot.getTopicConfigs());
+        Optional<Short> replicationFactor = snapshot.getReplicationFactor() > 0
+                ? Optional.of((short) snapshot.getReplicationFactor())
+                : Optional.empty();
+        return new NewTopic(snapshot.getTopic(), Optional.of(snapshot.getPartitions()), replicationFactor)
+                .configs(configs);
+    }
+
+    /**
+     * Create the topic unless it exists. An existing topic is left as it is, so a topic created
+     * without compaction has to be fixed by hand.
+     */
+    public static void ensureExists(final KafkaAdapterProperties properties) {
+        SnapshotProperties snapshot = properties.getSnapshot();
+        Map<String, Object> configs = Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers(),
+                AdminClientConfig.CLIENT_ID_CONFIG, properties.getClientId() + "-admin");
+        long timeoutMs = properties.getProducer().getSendTimeoutMs();
+        try (Admin admin = Admin.create(configs)) {
+            admin.createTopics(List.of(newTopic(snapshot))).all().get(timeoutMs, TimeUnit.MILLISECONDS);
+            log.info("Created compacted snapshot topic {}", snapshot.getTopic());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TopicExistsException) {
+                log.debug("Snapshot topic {} already exists", snapshot.getTopic());
+                return;
+            }
+            log.warn("Could not create snapshot topic {}: {}", snapshot.getTopic(), e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} ms creating snapshot topic {}", timeoutMs, snapshot.getTopic());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.marketdata.adapter.kafka.config;
+
+import com.example.marketdata.codec.DeltaEncoderProperties;
+import com.example.marketdata.codec.JsonPayloadCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the Kafka producer adapter.
+ * <p>
+ * Properties (all under {@code marketdata.kafka}) and how they are applied:
+ * <ul>
+ *     <li>{@code bootstrap-servers} (default: {@code localhost:9092}) – brokers the producer connects to.</li>
+ *     <li>{@code topic} (default: {@code market-data}) – topic the records are sent to, keyed by cache ID.</li>
+ *     <li>{@code client-id} (default: {@code marketdata-producer}) – producer client ID.</li>
+ *     <li>{@code codec} (default: {@code json}) – payload codec from the
+ *     {@link com.example.marketdata.codec.PayloadCodecRegistry} used for record values.</li>
+ *     <li>{@code conflate} (default: {@code false}) – send only the latest event per cache ID of each
+ *     processor batch. The superseded ticks never reach the topic, so enable it only when consumers
+ *     need nothing but the last value.</li>
+ *     <li>{@code delta.*} – field-level delta encoding, see {@link DeltaEncoderProperties}; requires a
+ *     Jackson based codec.</li>
+ *     <li>{@code producer.*} – batching, compression, idempotence and in-flight bounds of the producer,
+ *     see {@link ProducerProperties}.</li>
+ *     <li>{@code snapshot.*} – compacted last-value topic and warm-restart loading, see {@link SnapshotProperties}.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "marketdata.kafka")
+public class KafkaAdapterProperties {
+
+    /**
+     * Comma-separated broker addresses.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Topic records are sent to.
+     */
+    private String topic = "market-data";
+
+    /**
+     * Producer client ID.
+     */
+    private String clientId = "marketdata-producer";
+
+    /**
+     * Name of the payload codec used to encode record values.
+     */
+    private String codec = JsonPayloadCodec.NAME;
+
+    /**
+     * Whether the Kafka processor sends only the latest event per cache ID of a batch.
+     */
+    private boolean conflate = false;
+
+    /**
+     * Field-level delta encoding settings.
+     */
+    private final DeltaEncoderProperties delta = new DeltaEncoderProperties();
+
+    /**
+     * Producer settings.
+     */
+    private final ProducerProperties producer = new ProducerProperties();
+
+    /**
+     * Compacted last-value topic settings.
+     */
+    private final SnapshotProperties snapshot = new SnapshotProperties();
+
+    public String getBootstrapServers() {
+        return bootstrapServers;
+    }
+
+    public void setBootstrapServers(String bootstrapServers) {
+        this.bootstrapServers = bootstrapServers;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public boolean isConflate() {
+        return conflate;
+    }
+
+    public void setConflate(boolean conflate) {
+        this.conflate = conflate;
+    }
+
+    public DeltaEncoderProperties getDelta() {
+        return delta;
+    }
+
+    public ProducerProperties getProducer() {
+        return producer;
+    }
+
+    public SnapshotProperties getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.marketdata.adapter.kafka.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer tuning, bound under {@code marketdata.kafka.producer}:
+ * <ul>
+ *     <li>{@code linger-ms} (default: {@code 5}) – how long the producer waits for more records of a
+ *     partition before sending the batch.</li>
+ *     <li>{@code batch-size} (default: {@code 65536}) – upper bound in bytes of one partition batch.</li>
+ *     <li>{@code compression-type} (default: {@code lz4}) – {@code none}, {@code gzip}, {@code snappy},
+ *     {@code lz4} or {@code zstd}, applied per batch.</li>
+ *     <li>{@code idempotence} (default: {@code true}) – broker-side de-duplication of producer retries,
+ *     keeping records of a cache ID in order; requires {@code acks=all} and at most 5 in-flight requests.</li>
+ *     <li>{@code acks} (default: {@code all}) – replicas that must confirm a record.</li>
+ *     <li>{@code max-in-flight-requests} (default: {@code 5}) – unacknowledged requests per broker connection.</li>
+ *     <li>{@code delivery-timeout-ms} (default: {@code 120000}) – time the producer retries a record before
+ *     failing it.</li>
+ *     <li>{@code send-timeout-ms} (default: {@code 30000}) – time a batch waits for its acknowledgements;
+ *     records still pending afterwards fail the batch as retryable.</li>
+ *     <li>{@code max-block-ms} (default: {@code 5000}) – longest time handing one record to the producer
+ *     blocks on missing topic metadata or a full buffer; the record then fails as retryable.</li>
+ *     <li>{@code overrides.*} (default: none) – further Kafka producer configs, applied last.</li>
+ * </ul>
+ */
+public class ProducerProperties {
+
+    /**
+     * Producer linger in ms.
+     */
+    private int lingerMs = 5;
+
+    /**
+     * Partition batch size in bytes.
+     */
+    private int batchSize = 65_536;
+
+    /**
+     * Batch compression codec.
+     */
+    private String compressionType = "lz4";
+
+    /**
+     * Whether the idempotent producer is enabled.
+     */
+    private boolean idempotence = true;
+
+    /**
+     * Acknowledgements required per record.
+     */
+    private String acks = "all";
+
+    /**
+     * Unacknowledged requests per connection.
+     */
+    private int maxInFlightRequests = 5;
+
+    /**
+     * Producer delivery timeout in ms.
+     */
+    private int deliveryTimeoutMs = 120_000;
+
+    /**
+     * Maximum time in ms a batch waits for its acknowledgements.
+     */
+    private long sendTimeoutMs = 30_000;
+
+    /**
+     * Maximum time in ms one send blocks on metadata or buffer space.
+     */
+    private long maxBlockMs = 5_000;
+
+    /**
+     * Additional Kafka producer configs.
+     */
+    private Map<String, String> overrides = new LinkedHashMap<>();
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(int lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public void setCompressionType(String compressionType) {
+        this.compressionType = compressionType;
+    }
+
+    public boolean isIdempotence() {
+        return idempotence;
+    }
+
+    public void setIdempotence(boolean idempotence) {
+        this.idempotence = idempotence;
+    }
+
+    public String getAcks() {
+        return acks;
+    }
+
+    public void setAcks(String acks) {
+        this.acks = acks;
+    }
+
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    public int getDeliveryTimeoutMs() {
+        return deliveryTimeoutMs;
+    }
+
+    public void setDeliveryTimeoutMs(int deliveryTimeoutMs) {
+        this.deliveryTimeoutMs = deliveryTimeoutMs;
+    }
+
+    public long getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    public void setSendTimeoutMs(long sendTimeoutMs) {
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public long getMaxBlockMs() {
+        return maxBlockMs;
+    }
+
+    public void setMaxBlockMs(long maxBlockMs) {
+        this.maxBlockMs = maxBlockMs;
+    }
+
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(Map<String, String> overrides) {
+        this.overrides = overrides;
+    }
+}
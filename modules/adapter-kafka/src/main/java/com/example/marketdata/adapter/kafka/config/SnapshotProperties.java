@@ -0,0 +1,161 @@
+package com.example.marketdata.adapter.kafka.config;
+
+import com.example.marketdata.model.MarketDataEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compacted last-value topic, bound under {@code marketdata.kafka.snapshot}:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – also send the full value of every entry to
+ *     {@code topic}, keyed by cache ID, even when {@code delta} encoding is on.</li>
+ *     <li>{@code topic} (default: {@code market-data-snapshot}) – the compacted topic.</li>
+ *     <li>{@code create-topic} (default: {@code true}) – create the topic with {@code cleanup.policy=compact}
+ *     when it does not exist yet.</li>
+ *     <li>{@code partitions} (default: {@code 12}), {@code replication-factor} (default: {@code 0}, the
+ *     broker default) – layout of a created topic.</li>
+ *     <li>{@code topic-configs.*} (default: none) – further topic configs of a created topic, e.g.
+ *     {@code min.compaction.lag.ms}.</li>
+ *     <li>{@code load-on-startup} (default: {@code false}) – load the topic into the Hazelcast buffer
+ *     and shadow cache before the service reports ready.</li>
+ *     <li>{@code event-class} (required for loading) – {@link MarketDataEvent} implementation the values
+ *     are decoded into.</li>
+ *     <li>{@code load-concurrency} (default: {@code 4}) – consumers reading disjoint partition sets in parallel.</li>
+ *     <li>{@code load-timeout-ms} (default: {@code 120000}) – longest load; the service starts with what
+ *     was loaded by then, after waiting for consumers already handing their values over, and partitions
+ *     not read to their end are logged at WARN.</li>
+ * </ul>
+ */
+public class SnapshotProperties {
+
+    /**
+     * Whether full values are also sent to the snapshot topic.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Compacted last-value topic.
+     */
+    private String topic = "market-data-snapshot";
+
+    /**
+     * Whether a missing topic is created.
+     */
+    private boolean createTopic = true;
+
+    /**
+     * Partitions of a created topic.
+     */
+    private int partitions = 12;
+
+    /**
+     * Replication factor of a created topic; 0 for the broker default.
+     */
+    private int replicationFactor = 0;
+
+    /**
+     * Additional configs of a created topic.
+     */
+    private Map<String, String> topicConfigs = new LinkedHashMap<>();
+
+    /**
+     * Whether the topic is loaded on startup.
+     */
+    private boolean loadOnStartup = false;
+
+    /**
+     * Event type values are decoded into when loading.
+     */
+    private Class<? extends MarketDataEvent> eventClass;
+
+    /**
+     * Parallel consumers while loading.
+     */
+    private int loadConcurrency = 4;
+
+    /**
+     * Maximum load time in ms.
+     */
+    private long loadTimeoutMs = 120_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public boolean isCreateTopic() {
+        return createTopic;
+    }
+
+    public void setCreateTopic(boolean createTopic) {
+        this.createTopic = createTopic;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getReplicationFactor() {
+        return replicationFactor;
+    }
+
+    public void setReplicationFactor(int replicationFactor) {
+        this.replicationFactor = replicationFactor;
+    }
+
+    public Map<String, String> getTopicConfigs() {
+        return topicConfigs;
+    }
+
+    public void setTopicConfigs(Map<String, String> topicConfigs) {
+        this.topicConfigs = topicConfigs;
+    }
+
+    public boolean isLoadOnStartup() {
+        return loadOnStartup;
+    }
+
+    public void setLoadOnStartup(boolean loadOnStartup) {
+        this.loadOnStartup = loadOnStartup;
+    }
+
+    public Class<? extends MarketDataEvent> getEventClass() {
+        return eventClass;
+    }
+
+    public void setEventClass(Class<? extends MarketDataEvent> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public int getLoadConcurrency() {
+        return loadConcurrency;
+    }
+
+    public void setLoadConcurrency(int loadConcurrency) {
+        this.loadConcurrency = loadConcurrency;
+    }
+
+    public long getLoadTimeoutMs() {
+        return loadTimeoutMs;
+    }
+
+    public void setLoadTimeoutMs(long loadTimeoutMs) {
+        this.loadTimeoutMs = loadTimeoutMs;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.marketdata.adapter.kafka;
+
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.exception.ProcessorRetryableException;
+import com.example.marketdata.exception.ProcessorRuntimeException;
+import com.example.marketdata.stats.StatsRecorder;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises record keying, ack aggregation and error mapping against a {@link MockProducer}.
+ */
+class KafkaProducerAdapterTest {
+
+    private final RecordingStats stats = new RecordingStats();
+    private final KafkaAdapterProperties properties = new KafkaAdapterProperties();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private KafkaProducerAdapter<Quote> adapter(MockProducer<String, byte[]> producer) {
+        return new KafkaProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), stats, producer);
+    }
+
+    private static MockProducer<String, byte[]> producer(boolean autoComplete) {
+        return new MockProducer<>(autoComplete, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Test
+    void sendPublishesOneRecordPerCacheIdKeyedByCacheId() {
+        // given
+        MockProducer<String, byte[]> producer = producer(true);
+        Map<String, Quote> entries = new LinkedHashMap<>();
+        entries.put("AAPL", new Quote("AAPL", 190.5));
+        entries.put("MSFT", new Quote("MSFT", 410.0));
+
+        // when
+        adapter(producer).send(entries);
+
+        // then
+        List<ProducerRecord<String, byte[]>> records = producer.history();
+        assertEquals(List.of("AAPL", "MSFT"), records.stream().map(ProducerRecord::key).toList());
+        assertTrue(records.stream().allMatch(record -> "market-data".equals(record.topic())));
+        assertTrue(new String(records.get(0).value(), StandardCharsets.UTF_8).contains("190.5"));
+        assertEquals(2L, stats.counts.get(KafkaProducerAdapter.EVENTS_METRIC));
+    }
+
+    @Test
+    void retriableBrokerErrorsFailTheBatchAsRetryable() throws InterruptedException {
+        // given
+        MockProducer<String, byte[]> producer = producer(false);
+        KafkaProducerAdapter<Quote> adapter = adapter(producer);
+
+        // when
+        Future<?> send = sender.submit(() -> adapter.send(Map.of("AAPL", new Quote("AAPL", 1.0))));
+        awaitSent(producer, 1);
+        producer.errorNext(new NotLeaderOrFollowerException("leader moved"));
+
+        // then
+        ExecutionException failure = assertThrows(ExecutionException.class, send::get);
+        assertInstanceOf(ProcessorRetryableException.class, failure.getCause());
+    }
+
+    @Test
+    void nonRetriableBrokerErrorsFailTheBatch() throws InterruptedException {
+        // given
+        MockProducer<String, byte[]> producer = producer(false);
+        KafkaProducerAdapter<Quote> adapter = adapter(producer);
+
+        // when
+        Future<?> send = sender.submit(() -> adapter.send(Map.of("AAPL", new Quote("AAPL", 1.0),
+                "MSFT", new Quote("MSFT", 2.0))));
+        awaitSent(producer, 2);
+        producer.completeNext();
+        producer.errorNext(new RecordTooLargeException("too large"));
+
+        // then
+        ExecutionException failure = assertThrows(ExecutionException.class, send::get);
+        assertInstanceOf(ProcessorRuntimeException.class, failure.getCause());
+        assertEquals(1L, stats.counts.get(KafkaProducerAdapter.EVENTS_METRIC));
+    }
+
+    @Test
+    void missingAcksFailTheBatchAsRetryableAfterTheSendTimeout() {
+        // given
+        properties.getProducer().setSendTimeoutMs(50);
+        KafkaProducerAdapter<Quote> adapter = adapter(producer(false));
+
+        // when
+        // then
+        assertThrows(ProcessorRetryableException.class, () -> adapter.send(Map.of("AAPL", new Quote("AAPL", 1.0))));
+    }
+
+    @Test
+    void deltaKeysOfAFailedBatchAreResentAsFullImages() throws Exception {
+        // given
+        properties.getDelta().setEnabled(true);
+        MockProducer<String, byte[]> producer = producer(false);
+        KafkaProducerAdapter<Quote> adapter = adapter(producer);
+        Future<?> first = sender.submit(() -> adapter.send(Map.of("AAPL", new Quote("AAPL", 1.0))));
+        awaitSent(producer, 1);
+        producer.completeNext();
+        first.get();
+
+        // when
+        Future<?> failed = sender.submit(() -> adapter.send(Map.of("AAPL", new Quote("AAPL", 2.0))));
+        awaitSent(producer, 2);
+        producer.errorNext(new NotLeaderOrFollowerException("leader moved"));
+        assertThrows(ExecutionException.class, failed::get);
+        Future<?> retried = sender.submit(() -> adapter.send(Map.of("AAPL", new Quote("AAPL", 2.0))));
+        awaitSent(producer, 3);
+        producer.completeNext();
+        retried.get();
+
+        // then
+        String frame = new String(producer.history().get(2).value(), StandardCharsets.UTF_8);
+        assertTrue(frame.contains("\"type\":\"full\""), frame);
+    }
+
+    @Test
+    void payloadsTheDeltaEncoderCannotHandleFailTheBatch() {
+        // given
+        properties.getDelta().setEnabled(true);
+        KafkaProducerAdapter<Object> adapter =
+                new KafkaProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), stats, producer(true));
+
+        // when
+        // then
+        assertThrows(ProcessorRuntimeException.class, () -> adapter.send(Map.of("AAPL", "not an object")));
+    }
+
+    @Test
+    void producerConfigsMapTuningAndApplyOverridesLast() {
+        // given
+        properties.setBootstrapServers("broker-1:9092,broker-2:9092");
+        properties.getProducer().setLingerMs(20);
+        properties.getProducer().setCompressionType("zstd");
+        properties.getProducer().setMaxInFlightRequests(3);
+        properties.getProducer().getOverrides().put(ProducerConfig.LINGER_MS_CONFIG, "50");
+
+        // when
+        Map<String, Object> configs = KafkaProducerAdapter.producerConfigs(properties);
+
+        // then
+        assertEquals("broker-1:9092,broker-2:9092", configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+        assertEquals("zstd", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(3, configs.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertEquals(true, configs.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", configs.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals("50", configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(5_000L, configs.get(ProducerConfig.MAX_BLOCK_MS_CONFIG));
+    }
+
+    @Test
+    void snapshotEnabledAlsoSendsFullValuesToTheSnapshotTopic() {
+        // given
+        properties.getSnapshot().setEnabled(true);
+        MockProducer<String, byte[]> producer = producer(true);
+
+        // when
+        adapter(producer).send(Map.of("AAPL", new Quote("AAPL", 190.5)));
+
+        // then
+        List<ProducerRecord<String, byte[]>> records = producer.history();
+        assertEquals(List.of("market-data", "market-data-snapshot"), records.stream().map(ProducerRecord::topic).toList());
+        assertArrayEquals(records.get(0).value(), records.get(1).value());
+        assertEquals("AAPL", records.get(1).key());
+        assertEquals(1L, stats.counts.get(KafkaProducerAdapter.EVENTS_METRIC));
+        assertEquals(1L, stats.counts.get(KafkaProducerAdapter.SNAPSHOT_EVENTS_METRIC));
+    }
+
+    @Test
+    void snapshotTopicIsCompactedWithTopicConfigsAppliedLast() {
+        // given
+        properties.getSnapshot().setPartitions(6);
+        properties.getSnapshot().getTopicConfigs().put(TopicConfig.MIN_COMPACTION_LAG_MS_CONFIG, "60000");
+
+        // when
+        NewTopic topic = KafkaSnapshotTopic.newTopic(properties.getSnapshot());
+
+        // then
+        assertEquals("market-data-snapshot", topic.name());
+        assertEquals(6, topic.numPartitions());
+        assertEquals(TopicConfig.CLEANUP_POLICY_COMPACT, topic.configs().get(TopicConfig.CLEANUP_POLICY_CONFIG));
+        assertEquals("60000", topic.configs().get(TopicConfig.MIN_COMPACTION_LAG_MS_CONFIG));
+    }
+
+    private static void awaitSent(MockProducer<String, byte[]> producer, int records) throws InterruptedException {
+        for (int i = 0; i < 500 && producer.history().size() < records; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(records, producer.history().size());
+    }
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+
+    private record Quote(String symbol, double price) { }
+}
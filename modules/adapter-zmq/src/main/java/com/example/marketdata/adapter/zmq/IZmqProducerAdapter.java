@@ -2,5 +2,12 @@ package com.example.marketdata.adapter.zmq;
 
 import com.example.marketdata.adapter.BaseAdapter;
 
+import java.util.Map;
+
 public interface IZmqProducerAdapter<T> extends BaseAdapter<T> {
+
+    /**
+     * Publish one message per entry and report how many were refused at the send high-water mark.
+     */
+    ZmqSendResult publish(Map<String, T> entries);
 }
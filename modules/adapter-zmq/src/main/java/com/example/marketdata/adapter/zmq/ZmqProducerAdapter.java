@@ -1,19 +1,221 @@
 package com.example.marketdata.adapter.zmq;
 
+import com.example.marketdata.adapter.zmq.config.ZmqAdapterProperties;
+import com.example.marketdata.adapter.zmq.config.ZmqSendPolicy;
+import com.example.marketdata.codec.DeltaEncoder;
+import com.example.marketdata.codec.DeltaFrame;
+import com.example.marketdata.codec.EncodedPayloadCache;
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.exception.ProcessorRuntimeException;
+import com.example.marketdata.stats.StatsRecorder;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Placeholder adapter illustrating how a ZeroMQ publisher would integrate with the
- * shared processor pipeline while honoring the {@link BaseAdapter} contract.
+ * Publishes market data on a JeroMQ PUB socket, one two-frame message per cache ID:
+ * <ol>
+ *     <li>topic – {@code marketdata.zmq.topic-prefix} followed by the cache ID, so subscribers filter
+ *     with {@code ZMQ.Socket#subscribe(prefix + symbol)} and only receive the symbols they asked for;</li>
+ *     <li>payload – the encoded value, or a delta frame.</li>
+ * </ol>
+ * Both frames are byte arrays: the topic bytes are built once per cache ID and the payload is the
+ * codec output itself, so nothing goes through an intermediate String.
+ * <p>
+ * Frames are encoded with {@code marketdata.zmq.codec} (default {@code json}); events that carry
+ * an {@link EncodedPayloadCache} share the bytes with other adapters using that codec.
+ * With {@code marketdata.zmq.delta.enabled} only changed fields are sent, see {@link DeltaEncoder}.
+ * <p>
+ * The socket binds (or connects) {@code marketdata.zmq.endpoint} on the first publish; tcp, ipc and
+ * inproc are supported, inproc subscribers have to share the context passed to
+ * {@link #ZmqProducerAdapter(ZmqAdapterProperties, PayloadCodecRegistry, StatsRecorder, ZContext)}.
+ * A plain PUB socket silently discards messages for a subscriber at {@code send-hwm}; this one sets
+ * {@code ZMQ_XPUB_NODROP} instead, so a refused message is reported back in {@link ZmqSendResult}
+ * after {@code send-policy} gave up on it. With delta encoding the cache ID of a refused frame is
+ * invalidated, so its next frame is a full image. Only the first publish with drops of a high-water
+ * mark episode logs a warning; later ones log at debug until a publish goes out without drops.
  */
 @Slf4j
 @Component
 public class ZmqProducerAdapter<T> implements IZmqProducerAdapter<T> {
+
+    static final String METRIC_PREFIX = "dispatched.zmq";
+
+    private final ZmqAdapterProperties properties;
+    private final PayloadCodec payloadCodec;
+    private final DeltaEncoder deltaEncoder;
+    private final byte[] topicPrefix;
+    private final Map<String, byte[]> topicFrames = new ConcurrentHashMap<>();
+    private final ZContext context;
+    private final boolean ownsContext;
+    private final int sendFlags;
+
+    /**
+     * Created on first publish; guarded by {@code this} because ZeroMQ sockets are not thread-safe.
+     */
+    private ZMQ.Socket socket;
+
+    /**
+     * Whether the last publish had drops; guarded by {@code this}.
+     */
+    private boolean dropping;
+
+    @Autowired
+    public ZmqProducerAdapter(final ZmqAdapterProperties properties,
+                              final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                              final ObjectProvider<StatsRecorder> statsRecorder) {
+        this(properties, payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP));
+    }
+
+    public ZmqProducerAdapter(final ZmqAdapterProperties properties,
+                              final PayloadCodecRegistry payloadCodecRegistry,
+                              final StatsRecorder statsRecorder) {
+        this(properties, payloadCodecRegistry, statsRecorder, null);
+    }
+
+    /**
+     * @param context shared context, e.g. for inproc subscribers; {@code null} for an own context
+     *                closed with the adapter
+     */
+    public ZmqProducerAdapter(final ZmqAdapterProperties properties,
+                              final PayloadCodecRegistry payloadCodecRegistry,
+                              final StatsRecorder statsRecorder,
+                              final ZContext context) {
+        this.properties = properties;
+        this.payloadCodec = payloadCodecRegistry.get(properties.getCodec());
+        this.deltaEncoder = properties.getDelta().isEnabled()
+                ? new DeltaEncoder(payloadCodec, properties.getDelta(), statsRecorder, METRIC_PREFIX)
+                : null;
+        this.topicPrefix = properties.getTopicPrefix().getBytes(StandardCharsets.UTF_8);
+        this.ownsContext = context == null;
+        this.context = ownsContext ? new ZContext(properties.getIoThreads()) : context;
+        this.sendFlags = properties.getSendPolicy() == ZmqSendPolicy.DROP ? ZMQ.DONTWAIT : 0;
+    }
+
     @Override
     public void send(Map<String, T> entries) {
-        log.info("Sending {} entries to ZeroMQ placeholder adapter", entries.size());
+        publish(entries);
+    }
+
+    @Override
+    public synchronized ZmqSendResult publish(Map<String, T> entries) {
+        ZMQ.Socket target = socket();
+        int sent = 0;
+        int dropped = 0;
+        if (deltaEncoder != null) {
+            for (DeltaFrame frame : deltaEncoder.encodeAll(entries)) {
+                if (sendMessage(target, frame.cacheId(), frame.payload())) {
+                    sent++;
+                } else {
+                    // subscribers would see a sequence gap, so the next frame of the key is a full image
+                    deltaEncoder.invalidate(frame.cacheId());
+                    dropped++;
+                }
+            }
+        } else {
+            for (Map.Entry<String, T> entry : entries.entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                if (sendMessage(target, entry.getKey(), EncodedPayloadCache.encodeOnce(payloadCodec, entry.getValue()))) {
+                    sent++;
+                } else {
+                    dropped++;
+                }
+            }
+        }
+        logDrops(sent, dropped);
+        return new ZmqSendResult(sent, dropped);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (socket != null) {
+            context.destroySocket(socket);
+            socket = null;
+        }
+        if (ownsContext) {
+            context.close();
+        }
+    }
+
+    /**
+     * Warns once per high-water mark episode, since a slow subscriber otherwise logs on every publish.
+     */
+    private void logDrops(final int sent, final int dropped) {
+        if (dropped == 0) {
+            if (dropping && sent > 0) {
+                dropping = false;
+                log.info("Publishing on {} without drops again", properties.getEndpoint());
+            }
+            return;
+        }
+        if (dropping) {
+            log.debug("Dropped {} of {} messages at send HWM {} on {} ({})", dropped, sent + dropped,
+                    properties.getSendHwm(), properties.getEndpoint(), properties.getSendPolicy());
+            return;
+        }
+        dropping = true;
+        log.warn("Dropped {} of {} messages at send HWM {} on {} ({}); further drops are logged at debug "
+                        + "until a publish goes out without drops", dropped, sent + dropped,
+                properties.getSendHwm(), properties.getEndpoint(), properties.getSendPolicy());
+    }
+
+    /**
+     * Topic then payload; once the topic frame is accepted the payload frame is too, so a message is
+     * never left half sent.
+     */
+    private boolean sendMessage(final ZMQ.Socket target, final String cacheId, final byte[] payload) {
+        return target.send(topicFrame(cacheId), sendFlags | ZMQ.SNDMORE) && target.send(payload, sendFlags);
+    }
+
+    private byte[] topicFrame(final String cacheId) {
+        return topicFrames.computeIfAbsent(cacheId, id -> {
+            byte[] symbol = id.getBytes(StandardCharsets.UTF_8);
+            byte[] frame = new byte[topicPrefix.length + symbol.length];
+            System.arraycopy(topicPrefix, 0, frame, 0, topicPrefix.length);
+            System.arraycopy(symbol, 0, frame, topicPrefix.length, symbol.length);
+            return frame;
+        });
+    }
+
+    private ZMQ.Socket socket() {
+        if (socket != null) {
+            return socket;
+        }
+        ZMQ.Socket created = context.createSocket(SocketType.PUB);
+        boolean ready;
+        try {
+            created.setSndHWM(properties.getSendHwm());
+            created.setLinger(properties.getLingerMs());
+            created.setXpubNoDrop(true);
+            created.setSendTimeOut(properties.getSendTimeoutMs());
+            ready = properties.isBind()
+                    ? created.bind(properties.getEndpoint())
+                    : created.connect(properties.getEndpoint());
+        } catch (ZMQException e) {
+            context.destroySocket(created);
+            throw new ProcessorRuntimeException("Cannot open ZeroMQ endpoint " + properties.getEndpoint(), e);
+        }
+        if (!ready) {
+            context.destroySocket(created);
+            throw new ProcessorRuntimeException("Cannot open ZeroMQ endpoint " + properties.getEndpoint());
+        }
+        log.info("ZeroMQ PUB socket {} {} (send HWM {}, {})", properties.isBind() ? "bound to" : "connected to",
+                properties.getEndpoint(), properties.getSendHwm(), properties.getSendPolicy());
+        socket = created;
+        return socket;
     }
 }
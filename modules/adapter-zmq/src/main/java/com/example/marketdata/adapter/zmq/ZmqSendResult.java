@@ -0,0 +1,10 @@
+package com.example.marketdata.adapter.zmq;
+
+/**
+ * Outcome of one {@link IZmqProducerAdapter#publish} call.
+ *
+ * @param sent    messages handed to the PUB socket
+ * @param dropped messages refused at the send high-water mark
+ */
+public record ZmqSendResult(int sent, int dropped) {
+}
@@ -0,0 +1,183 @@
+package com.example.marketdata.adapter.zmq.config;
+
+import com.example.marketdata.codec.DeltaEncoderProperties;
+import com.example.marketdata.codec.JsonPayloadCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the ZeroMQ publisher adapter.
+ * <p>
+ * Properties (all under {@code marketdata.zmq}) and how they are applied:
+ * <ul>
+ *     <li>{@code codec} (default: {@code json}) – payload codec from the
+ *     {@link com.example.marketdata.codec.PayloadCodecRegistry} used for message frames.</li>
+ *     <li>{@code conflate} (default: {@code false}) – publish only the latest event per cache ID of each
+ *     processor batch. Subscribers then miss the superseded ticks, so enable it only when they need
+ *     nothing but the last value.</li>
+ *     <li>{@code delta.*} – field-level delta encoding, see {@link DeltaEncoderProperties}; requires a
+ *     Jackson based codec.</li>
+ *     <li>{@code endpoint} (default: {@code tcp://*:5556}) – {@code tcp://}, {@code ipc://} or
+ *     {@code inproc://} endpoint of the PUB socket.</li>
+ *     <li>{@code bind} (default: {@code true}) – bind the endpoint; {@code false} connects to it, e.g. to
+ *     the XSUB side of a proxy.</li>
+ *     <li>{@code topic-prefix} (default: empty) – prepended to the cache ID in the topic frame, so
+ *     subscribers filter with {@code prefix + symbol}.</li>
+ *     <li>{@code send-hwm} (default: {@code 100000}) – messages queued per subscriber before
+ *     {@code send-policy} applies.</li>
+ *     <li>{@code send-policy} (default: {@code drop}) – see {@link ZmqSendPolicy}.</li>
+ *     <li>{@code send-timeout-ms} (default: {@code 1000}) – longest wait per message with {@code block}.</li>
+ *     <li>{@code linger-ms} (default: {@code 0}) – how long queued messages are kept on close.</li>
+ *     <li>{@code io-threads} (default: {@code 1}) – I/O threads of the ZeroMQ context.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "marketdata.zmq")
+public class ZmqAdapterProperties {
+
+    private static final List<String> TRANSPORTS = List.of("tcp://", "ipc://", "inproc://");
+
+    /**
+     * Name of the payload codec used to encode message frames.
+     */
+    private String codec = JsonPayloadCodec.NAME;
+
+    /**
+     * Whether the ZMQ processor publishes only the latest event per cache ID of a batch.
+     */
+    private boolean conflate = false;
+
+    /**
+     * Field-level delta encoding settings.
+     */
+    private final DeltaEncoderProperties delta = new DeltaEncoderProperties();
+
+    /**
+     * Endpoint of the PUB socket.
+     */
+    private String endpoint = "tcp://*:5556";
+
+    /**
+     * Whether the endpoint is bound rather than connected.
+     */
+    private boolean bind = true;
+
+    /**
+     * Prefix of the topic frame, followed by the cache ID.
+     */
+    private String topicPrefix = "";
+
+    /**
+     * Send high-water mark per subscriber.
+     */
+    private int sendHwm = 100_000;
+
+    /**
+     * Behaviour at the high-water mark.
+     */
+    private ZmqSendPolicy sendPolicy = ZmqSendPolicy.DROP;
+
+    /**
+     * Maximum wait per message in ms with {@link ZmqSendPolicy#BLOCK}.
+     */
+    private int sendTimeoutMs = 1_000;
+
+    /**
+     * Linger period in ms on close.
+     */
+    private int lingerMs = 0;
+
+    /**
+     * I/O threads of the context.
+     */
+    private int ioThreads = 1;
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public boolean isConflate() {
+        return conflate;
+    }
+
+    public void setConflate(boolean conflate) {
+        this.conflate = conflate;
+    }
+
+    public DeltaEncoderProperties getDelta() {
+        return delta;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        if (endpoint == null || TRANSPORTS.stream().noneMatch(endpoint::startsWith)) {
+            throw new IllegalArgumentException("marketdata.zmq.endpoint must use one of " + TRANSPORTS + ": " + endpoint);
+        }
+        this.endpoint = endpoint;
+    }
+
+    public boolean isBind() {
+        return bind;
+    }
+
+    public void setBind(boolean bind) {
+        this.bind = bind;
+    }
+
+    public String getTopicPrefix() {
+        return topicPrefix;
+    }
+
+    public void setTopicPrefix(String topicPrefix) {
+        this.topicPrefix = topicPrefix;
+    }
+
+    public int getSendHwm() {
+        return sendHwm;
+    }
+
+    public void setSendHwm(int sendHwm) {
+        this.sendHwm = sendHwm;
+    }
+
+    public ZmqSendPolicy getSendPolicy() {
+        return sendPolicy;
+    }
+
+    public void setSendPolicy(ZmqSendPolicy sendPolicy) {
+        this.sendPolicy = sendPolicy;
+    }
+
+    public int getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    public void setSendTimeoutMs(int sendTimeoutMs) {
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(int lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.marketdata.adapter.zmq.config;
+
+/**
+ * What the publisher does when a subscriber's queue has reached the send high-water mark.
+ */
+public enum ZmqSendPolicy {
+
+    /**
+     * Do not wait; the message is counted as dropped.
+     */
+    DROP,
+
+    /**
+     * Wait up to {@code send-timeout-ms} for room, then count the message as dropped.
+     */
+    BLOCK
+}
@@ -0,0 +1,190 @@
+package com.example.marketdata.adapter.zmq;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.marketdata.adapter.zmq.config.ZmqAdapterProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Publishes over inproc to SUB sockets sharing the adapter's context.
+ */
+class ZmqProducerAdapterTest {
+
+    private final ZContext context = new ZContext();
+    private final ZmqAdapterProperties properties = new ZmqAdapterProperties();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ZmqProducerAdapter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private ZmqProducerAdapter<MarketDataEvent> adapter;
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+        if (adapter != null) {
+            adapter.close();
+        }
+        context.close();
+    }
+
+    @Test
+    void subscriberReceivesOnlyTheSymbolsItFiltersOn() {
+        // given
+        properties.setEndpoint("inproc://quotes-filter");
+        properties.setTopicPrefix("md.");
+        adapter = new ZmqProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP, context);
+        adapter.publish(Map.of());
+        ZMQ.Socket subscriber = subscriber("inproc://quotes-filter", "md.AAPL");
+
+        // when
+        byte[] topic = null;
+        for (int attempt = 0; attempt < 50 && topic == null; attempt++) {
+            // a subscription takes effect asynchronously, so publish until it does
+            adapter.publish(quotes(new Quote("MSFT", 410.0), new Quote("AAPL", 190.5)));
+            topic = subscriber.recv();
+        }
+
+        // then
+        assertThat(topic).isNotNull();
+        assertThat(new String(topic, StandardCharsets.UTF_8)).isEqualTo("md.AAPL");
+        assertThat(subscriber.hasReceiveMore()).isTrue();
+        assertThat(new String(subscriber.recv(), StandardCharsets.UTF_8)).contains("\"price\":190.5");
+        assertThat(subscriber.hasReceiveMore()).isFalse();
+    }
+
+    @Test
+    void messagesAboveTheHighWaterMarkAreCountedAsDropped() {
+        // given
+        properties.setEndpoint("inproc://quotes-hwm");
+        properties.setSendHwm(1);
+        adapter = new ZmqProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP, context);
+        joinedSubscriber("inproc://quotes-hwm");
+
+        // when
+        ZmqSendResult result = adapter.publish(burst("SYM"));
+
+        // then
+        assertThat(result.sent() + result.dropped()).isEqualTo(1_000);
+        assertThat(result.dropped()).isPositive();
+    }
+
+    @Test
+    void theNextFrameOfAKeyDroppedAtTheHighWaterMarkIsAFullImage() {
+        // given
+        properties.setEndpoint("inproc://quotes-delta");
+        properties.setSendHwm(1);
+        properties.getDelta().setEnabled(true);
+        adapter = new ZmqProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP, context);
+        ZMQ.Socket subscriber = joinedSubscriber("inproc://quotes-delta");
+
+        // when
+        ZmqSendResult result = new ZmqSendResult(0, 0);
+        for (int i = 1; i <= 1_000 && result.dropped() == 0; i++) {
+            result = adapter.publish(quotes(new Quote("AAPL", 190.0 + i)));
+        }
+        while (subscriber.recv() != null) {
+            // drain what the subscriber queued
+        }
+        adapter.publish(quotes(new Quote("AAPL", 150.0)));
+
+        // then
+        assertThat(result.dropped()).isEqualTo(1);
+        assertThat(new String(subscriber.recv(), StandardCharsets.UTF_8)).isEqualTo("AAPL");
+        assertThat(new String(subscriber.recv(), StandardCharsets.UTF_8)).contains("\"type\":\"full\"");
+    }
+
+    @Test
+    void onlyTheFirstPublishWithDropsOfAnEpisodeLogsAWarning() {
+        // given
+        properties.setEndpoint("inproc://quotes-warn");
+        properties.setSendHwm(1);
+        adapter = new ZmqProducerAdapter<>(properties, PayloadCodecRegistry.withDefaults(), StatsRecorder.NOOP, context);
+        joinedSubscriber("inproc://quotes-warn");
+        appender.start();
+        logger.addAppender(appender);
+
+        // when
+        ZmqSendResult first = adapter.publish(burst("A"));
+        ZmqSendResult second = adapter.publish(burst("B"));
+
+        // then
+        assertThat(first.dropped()).isPositive();
+        assertThat(second.dropped()).isPositive();
+        assertThat(appender.list).filteredOn(event -> event.getLevel() == Level.WARN).hasSize(1);
+    }
+
+    @Test
+    void unsupportedTransportIsRejected() {
+        // given
+        // when
+        // then
+        assertThatThrownBy(() -> properties.setEndpoint("pgm://eth0;239.192.1.1:5555"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Subscribes to everything with a receive HWM of 1, publishing until the subscription took effect.
+     */
+    private ZMQ.Socket joinedSubscriber(String endpoint) {
+        adapter.publish(Map.of());
+        ZMQ.Socket subscriber = context.createSocket(SocketType.SUB);
+        subscriber.setRcvHWM(1);
+        subscriber.setReceiveTimeOut(100);
+        subscriber.connect(endpoint);
+        subscriber.subscribe(new byte[0]);
+        byte[] joined = null;
+        for (int attempt = 0; attempt < 50 && joined == null; attempt++) {
+            adapter.publish(quotes(new Quote("AAPL", 190.0)));
+            joined = subscriber.recv();
+        }
+        assertThat(joined).isNotNull();
+        return subscriber;
+    }
+
+    private ZMQ.Socket subscriber(String endpoint, String topic) {
+        ZMQ.Socket subscriber = context.createSocket(SocketType.SUB);
+        subscriber.setReceiveTimeOut(100);
+        subscriber.connect(endpoint);
+        subscriber.subscribe(topic.getBytes(StandardCharsets.UTF_8));
+        return subscriber;
+    }
+
+    private static Map<String, MarketDataEvent> burst(String prefix) {
+        Map<String, MarketDataEvent> burst = new LinkedHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            burst.put(prefix + i, new Quote(prefix + i, i));
+        }
+        return burst;
+    }
+
+    private static Map<String, MarketDataEvent> quotes(Quote... quotes) {
+        Map<String, MarketDataEvent> entries = new LinkedHashMap<>();
+        for (Quote quote : quotes) {
+            entries.put(quote.getCacheId(), quote);
+        }
+        return entries;
+    }
+
+    record Quote(String symbol, double price) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return symbol;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.marketdata.codec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost per codec for a typical quote. The encoded size of each codec is printed
+ * once per trial.
+ * <p>
+ * Run with {@code ./gradlew :marketdata-core:jmh -PjmhArgs='PayloadCodecBenchmark'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    @Param({"json", "smile", "cbor", "binary"})
+    public String codecName;
+
+    private PayloadCodec codec;
+    private Quote quote;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults()
+                .register(new CompactBinaryPayloadCodec().registerLayout(Quote.class, new QuoteLayout()));
+        codec = registry.get(codecName);
+        quote = new Quote("MAX", "IBM", 142.37, 1_000_000, Instant.parse("2024-01-01T09:30:00.123Z"));
+        encoded = codec.encode(quote);
+        System.out.printf("%n[%s] encoded size: %d bytes%n", codecName, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(quote);
+    }
+
+    @Benchmark
+    public Quote decode() {
+        return codec.decode(encoded, Quote.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.marketdata.codec;
+
+import com.example.marketdata.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Base class for codecs backed by a Jackson data format. The mapper is configured once with the
+ * same time handling as {@link JsonUtil} and shared by all threads.
+ */
+public abstract class AbstractJacksonPayloadCodec implements PayloadCodec {
+
+    private final String name;
+    private final ObjectMapper mapper;
+
+    protected AbstractJacksonPayloadCodec(final String name, final ObjectMapper mapper) {
+        this.name = name;
+        this.mapper = JsonUtil.configureMapper(mapper);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(final Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize to " + name, e);
+        }
+    }
+
+    @Override
+    public <V> V decode(final byte[] payload, final Class<V> type) {
+        try {
+            return mapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize from " + name, e);
+        }
+    }
+
+    protected ObjectMapper getMapper() {
+        return mapper;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.marketdata.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Binary JSON codec using CBOR (RFC 8949), readable by most non-Java consumers.
+ */
+public class CborPayloadCodec extends AbstractJacksonPayloadCodec {
+
+    public static final String NAME = "cbor";
+
+    public CborPayloadCodec() {
+        super(NAME, new CBORMapper());
+    }
+}
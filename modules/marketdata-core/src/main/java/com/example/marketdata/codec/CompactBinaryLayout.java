@@ -0,0 +1,41 @@
+package com.example.marketdata.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Hand-written, positional field layout for one payload type used by
+ * {@link CompactBinaryPayloadCodec}. Fields carry no names or tags, so {@link #write} and
+ * {@link #read} must agree on order and types.
+ */
+public interface CompactBinaryLayout<V> {
+
+    void write(V value, DataOutput out) throws IOException;
+
+    V read(DataInput in) throws IOException;
+
+    static void writeNullableString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullableString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeNullableInstant(final DataOutput out, final Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    static Instant readNullableInstant(final DataInput in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.marketdata.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Smallest and cheapest codec: each payload type is written with a registered
+ * {@link CompactBinaryLayout} (no field names, no type tags). Payload types without a layout
+ * are rejected with an {@link IllegalArgumentException}, which adapters treat as an invalid entry.
+ */
+public class CompactBinaryPayloadCodec implements PayloadCodec {
+
+    public static final String NAME = "binary";
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private final ConcurrentMap<Class<?>, CompactBinaryLayout<?>> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * Register the field layout for an exact payload type (subclasses need their own layout).
+     */
+    public <V> CompactBinaryPayloadCodec registerLayout(final Class<V> type, final CompactBinaryLayout<V> layout) {
+        layouts.put(Objects.requireNonNull(type, "type is required"), Objects.requireNonNull(layout, "layout is required"));
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(final Object value) {
+        Objects.requireNonNull(value, "value is required");
+        CompactBinaryLayout<Object> layout = (CompactBinaryLayout<Object>) layoutFor(value.getClass());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            layout.write(value, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize to " + NAME, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <V> V decode(final byte[] payload, final Class<V> type) {
+        CompactBinaryLayout<?> layout = layoutFor(type);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return type.cast(layout.read(in));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize from " + NAME, e);
+        }
+    }
+
+    private CompactBinaryLayout<?> layoutFor(final Class<?> type) {
+        CompactBinaryLayout<?> layout = layouts.get(type);
+        if (layout == null) {
+            throw new IllegalArgumentException("No compact binary layout registered for " + type.getName());
+        }
+        return layout;
+    }
+}
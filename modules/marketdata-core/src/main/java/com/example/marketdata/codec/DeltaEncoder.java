@@ -0,0 +1,267 @@
+package com.example.marketdata.codec;
+
+import com.example.marketdata.stats.StatsRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Field-level delta encoder for streaming adapters. It keeps the last image sent per cache ID
+ * and emits only the top-level fields that changed since then, wrapped in an envelope:
+ * <pre>
+ * {"cacheId":"IBM","seq":42,"type":"delta","fields":{"price":101.5}}
+ * </pre>
+ * A {@code full} frame carrying every field is sent for the first update of a cache ID, after
+ * {@code full-image-interval} deltas, when the last full image is older than
+ * {@code full-image-max-age-ms}, when a field disappears, and after {@link #invalidate(String)}.
+ * An update that changes no field sends no frame.
+ * <p>
+ * Sequence numbers increase by one per frame and cache ID. Consumers apply a delta only when its
+ * sequence directly follows the last one they saw, and otherwise discard deltas until the next
+ * full image. A restarted publisher starts again at 1 with a full image, and so does a cache ID
+ * whose state was dropped after {@code idle-eviction-ms} without updates.
+ * <p>
+ * Per batch it reports, under the given metric prefix: {@value #FULL_FRAMES_SUFFIX},
+ * {@value #DELTA_FRAMES_SUFFIX}, {@value #BYTES_SUFFIX}, {@value #BYTES_SAVED_SUFFIX} (bytes of the
+ * last full image minus the delta size) and {@value #ENCODE_LATENCY_SUFFIX}.
+ */
+public class DeltaEncoder {
+
+    public static final String FULL_FRAMES_SUFFIX = ".frames.full";
+    public static final String DELTA_FRAMES_SUFFIX = ".frames.delta";
+    public static final String BYTES_SUFFIX = ".bytes";
+    public static final String BYTES_SAVED_SUFFIX = ".bytes.saved";
+    public static final String ENCODE_LATENCY_SUFFIX = ".encode.latency.ms";
+
+    public static final String FIELD_CACHE_ID = "cacheId";
+    public static final String FIELD_SEQUENCE = "seq";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_FIELDS = "fields";
+    public static final String TYPE_FULL = "full";
+    public static final String TYPE_DELTA = "delta";
+
+    private static final class KeyState {
+        private ObjectNode lastImage;
+        private long sequence;
+        private int deltasSinceFull;
+        private long lastFullNanos;
+        private int lastFullBytes;
+        private long lastUpdateNanos;
+        private boolean evicted;
+    }
+
+    private record Encoded(DeltaFrame frame, long savedBytes) {
+    }
+
+    private final ObjectMapper mapper;
+    private final DeltaEncoderProperties properties;
+    private final StatsRecorder statsRecorder;
+    private final String metricPrefix;
+    private final ConcurrentMap<String, KeyState> states = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictionNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param codec         Jackson based codec (json, smile or cbor) used for the envelopes
+     * @param properties    full image refresh settings
+     * @param statsRecorder metrics destination
+     * @param metricPrefix  prefix of the reported metrics, for example {@code dispatched.kafka}
+     */
+    public DeltaEncoder(final PayloadCodec codec,
+                        final DeltaEncoderProperties properties,
+                        final StatsRecorder statsRecorder,
+                        final String metricPrefix) {
+        if (!(codec instanceof AbstractJacksonPayloadCodec jacksonCodec)) {
+            throw new IllegalArgumentException(
+                    "Delta encoding requires a Jackson based codec (json, smile, cbor), got " + codec.getName());
+        }
+        this.mapper = jacksonCodec.getMapper();
+        this.properties = properties;
+        this.statsRecorder = statsRecorder;
+        this.metricPrefix = metricPrefix;
+    }
+
+    /**
+     * Encode one frame per changed entry; entries with a blank cache ID, a null payload or no
+     * changed field are skipped.
+     */
+    public List<DeltaFrame> encodeAll(final Map<String, ?> entries) {
+        final long startNanos = System.nanoTime();
+        final List<DeltaFrame> frames = new ArrayList<>(entries.size());
+        long fullFrames = 0;
+        long bytes = 0;
+        long savedBytes = 0;
+
+        for (Map.Entry<String, ?> entry : entries.entrySet()) {
+            if (entry.getKey() == null || entry.getKey().isBlank() || entry.getValue() == null) {
+                continue;
+            }
+            Encoded encoded = encode(entry.getKey(), entry.getValue());
+            if (encoded == null) {
+                continue;
+            }
+            frames.add(encoded.frame());
+            bytes += encoded.frame().payload().length;
+            savedBytes += encoded.savedBytes();
+            if (encoded.frame().fullImage()) {
+                fullFrames++;
+            }
+        }
+
+        evictIdle();
+
+        statsRecorder.addCount(metricPrefix + FULL_FRAMES_SUFFIX, fullFrames);
+        statsRecorder.addCount(metricPrefix + DELTA_FRAMES_SUFFIX, frames.size() - fullFrames);
+        statsRecorder.addCount(metricPrefix + BYTES_SUFFIX, bytes);
+        statsRecorder.addCount(metricPrefix + BYTES_SAVED_SUFFIX, savedBytes);
+        statsRecorder.recordLatency(metricPrefix + ENCODE_LATENCY_SUFFIX,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return frames;
+    }
+
+    /**
+     * Force a full image on the next update of the cache ID, for example after a failed send left
+     * consumers behind. The sequence keeps increasing.
+     */
+    public void invalidate(final String cacheId) {
+        KeyState state = states.get(cacheId);
+        if (state != null) {
+            synchronized (state) {
+                state.lastImage = null;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        states.keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * @return number of cache IDs with tracked state
+     */
+    public int trackedKeys() {
+        return states.size();
+    }
+
+    /**
+     * @return the frame, or {@code null} when no field changed since the last image
+     */
+    private Encoded encode(final String cacheId, final Object value) {
+        JsonNode tree = mapper.valueToTree(value);
+        if (!(tree instanceof ObjectNode image)) {
+            throw new IllegalArgumentException("Delta encoding requires object payloads, got " + tree.getNodeType()
+                    + " for " + cacheId);
+        }
+
+        final long now = System.nanoTime();
+        while (true) {
+            KeyState state = states.computeIfAbsent(cacheId, key -> new KeyState());
+            synchronized (state) {
+                // an evicted state is already out of the map; the next lookup creates a fresh one
+                if (!state.evicted) {
+                    return encode(cacheId, image, state, now);
+                }
+            }
+        }
+    }
+
+    private Encoded encode(final String cacheId, final ObjectNode image, final KeyState state, final long now) {
+        state.lastUpdateNanos = now;
+        ObjectNode changed = state.lastImage == null || isFullImageDue(state, now)
+                ? null
+                : changedFields(state.lastImage, image);
+        if (changed != null && changed.isEmpty()) {
+            return null;
+        }
+        boolean fullImage = changed == null;
+        long sequence = ++state.sequence;
+
+        ObjectNode envelope = mapper.createObjectNode();
+        envelope.put(FIELD_CACHE_ID, cacheId);
+        envelope.put(FIELD_SEQUENCE, sequence);
+        envelope.put(FIELD_TYPE, fullImage ? TYPE_FULL : TYPE_DELTA);
+        envelope.set(FIELD_FIELDS, fullImage ? image : changed);
+        byte[] payload = write(envelope);
+
+        state.lastImage = image;
+        DeltaFrame frame = new DeltaFrame(cacheId, sequence, fullImage, payload);
+        if (fullImage) {
+            state.deltasSinceFull = 0;
+            state.lastFullNanos = now;
+            state.lastFullBytes = payload.length;
+            return new Encoded(frame, 0);
+        }
+        state.deltasSinceFull++;
+        return new Encoded(frame, Math.max(0, state.lastFullBytes - payload.length));
+    }
+
+    /**
+     * Drops the state of cache IDs without updates for {@code idle-eviction-ms}. Checked at most once
+     * per that period, so an idle state is kept for at most twice as long.
+     */
+    private void evictIdle() {
+        final long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictionMs());
+        if (idleNanos <= 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long last = lastEvictionNanos.get();
+        if (now - last < idleNanos || !lastEvictionNanos.compareAndSet(last, now)) {
+            return;
+        }
+        for (Map.Entry<String, KeyState> entry : states.entrySet()) {
+            KeyState state = entry.getValue();
+            synchronized (state) {
+                if (now - state.lastUpdateNanos >= idleNanos) {
+                    state.evicted = true;
+                    states.remove(entry.getKey(), state);
+                }
+            }
+        }
+    }
+
+    private boolean isFullImageDue(final KeyState state, final long now) {
+        return state.deltasSinceFull >= properties.getFullImageInterval()
+                || now - state.lastFullNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getFullImageMaxAgeMs());
+    }
+
+    /**
+     * @return the changed top-level fields, or {@code null} when a field was removed and only a
+     * full image keeps consumers consistent
+     */
+    private static ObjectNode changedFields(final ObjectNode previous, final ObjectNode current) {
+        Iterator<String> previousNames = previous.fieldNames();
+        while (previousNames.hasNext()) {
+            if (!current.has(previousNames.next())) {
+                return null;
+            }
+        }
+
+        ObjectNode changed = current.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().equals(previous.get(field.getKey()))) {
+                changed.set(field.getKey(), field.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private byte[] write(final ObjectNode envelope) {
+        try {
+            return mapper.writeValueAsBytes(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize delta frame", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.marketdata.codec;
+
+/**
+ * Settings for {@link DeltaEncoder}, bound by the streaming adapters under
+ * {@code marketdata.<adapter>.delta}:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – send only changed fields per cache ID.</li>
+ *     <li>{@code full-image-interval} (default: {@code 100}) – a full image is sent after this many
+ *     deltas for the same cache ID.</li>
+ *     <li>{@code full-image-max-age-ms} (default: {@code 30000}) – a full image is sent when the
+ *     previous one for the cache ID is older than this.</li>
+ *     <li>{@code idle-eviction-ms} (default: {@code 600000}) – the last image of a cache ID without
+ *     updates for this long is dropped and its next update sent as a full image; {@code 0} keeps it.</li>
+ * </ul>
+ */
+public class DeltaEncoderProperties {
+
+    private boolean enabled = false;
+
+    private int fullImageInterval = 100;
+
+    private long fullImageMaxAgeMs = 30_000;
+
+    private long idleEvictionMs = 600_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getFullImageInterval() {
+        return fullImageInterval;
+    }
+
+    public void setFullImageInterval(int fullImageInterval) {
+        this.fullImageInterval = fullImageInterval;
+    }
+
+    public long getFullImageMaxAgeMs() {
+        return fullImageMaxAgeMs;
+    }
+
+    public void setFullImageMaxAgeMs(long fullImageMaxAgeMs) {
+        this.fullImageMaxAgeMs = fullImageMaxAgeMs;
+    }
+
+    public long getIdleEvictionMs() {
+        return idleEvictionMs;
+    }
+
+    public void setIdleEvictionMs(long idleEvictionMs) {
+        this.idleEvictionMs = idleEvictionMs;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.marketdata.codec;
+
+/**
+ * One encoded update produced by {@link DeltaEncoder}.
+ *
+ * @param cacheId   cache ID the frame belongs to
+ * @param sequence  per cache ID sequence number, starting at 1 and increasing by one per frame
+ * @param fullImage {@code true} when the payload carries every field, {@code false} for a delta
+ * @param payload   encoded envelope (shared, read-only)
+ */
+public record DeltaFrame(String cacheId, long sequence, boolean fullImage, byte[] payload) {
+}
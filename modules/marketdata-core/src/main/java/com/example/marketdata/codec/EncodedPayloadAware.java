@@ -0,0 +1,13 @@
+package com.example.marketdata.codec;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Implemented by payloads that carry their own {@link EncodedPayloadCache}, so adapters sharing
+ * a wire format encode them only once.
+ */
+public interface EncodedPayloadAware {
+
+    @JsonIgnore
+    EncodedPayloadCache getEncodedPayloads();
+}
@@ -0,0 +1,78 @@
+package com.example.marketdata.codec;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-payload cache of encoded bytes, one entry per codec name. The same event object is fanned
+ * out to every processor queue, so the first adapter that needs a format encodes it and every
+ * other adapter using that format reuses the bytes.
+ * <p>
+ * Entries are published through a copy-on-write array behind an {@link AtomicReference}, so bytes
+ * written by one processor thread are safely visible to all others. Two threads racing on the
+ * same codec may both encode, but only one result is kept and returned to both. Cached arrays are
+ * shared and must never be modified, and payloads must not be mutated after they are published.
+ */
+public final class EncodedPayloadCache {
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private record Entry(String codecName, byte[] payload) {
+    }
+
+    private final AtomicReference<Entry[]> entries = new AtomicReference<>(EMPTY);
+
+    /**
+     * Encode a payload, reusing the bytes cached on it when the payload is {@link EncodedPayloadAware}.
+     *
+     * @param codec codec to encode with
+     * @param value payload to encode
+     * @return encoded bytes (shared, read-only)
+     */
+    public static byte[] encodeOnce(final PayloadCodec codec, final Object value) {
+        if (value instanceof EncodedPayloadAware aware) {
+            return aware.getEncodedPayloads().getOrEncode(codec, value);
+        }
+        return codec.encode(value);
+    }
+
+    /**
+     * @return the cached bytes for the codec, encoding and caching them on first use
+     */
+    public byte[] getOrEncode(final PayloadCodec codec, final Object value) {
+        byte[] cached = find(entries.get(), codec.getName());
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] encoded = codec.encode(value);
+        while (true) {
+            Entry[] current = entries.get();
+            byte[] winner = find(current, codec.getName());
+            if (winner != null) {
+                return winner;
+            }
+            Entry[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = new Entry(codec.getName(), encoded);
+            if (entries.compareAndSet(current, next)) {
+                return encoded;
+            }
+        }
+    }
+
+    /**
+     * @return number of codecs with cached bytes
+     */
+    public int size() {
+        return entries.get().length;
+    }
+
+    private static byte[] find(final Entry[] current, final String codecName) {
+        for (Entry entry : current) {
+            if (entry.codecName().equals(codecName)) {
+                return entry.payload();
+            }
+        }
+        return null;
+    }
+}
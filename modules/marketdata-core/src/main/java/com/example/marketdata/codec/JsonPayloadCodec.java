@@ -0,0 +1,20 @@
+package com.example.marketdata.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * UTF-8 JSON codec; produces the same documents as {@link com.example.marketdata.util.JsonUtil}.
+ */
+public class JsonPayloadCodec extends AbstractJacksonPayloadCodec {
+
+    public static final String NAME = "json";
+
+    public JsonPayloadCodec() {
+        super(NAME, new ObjectMapper());
+    }
+
+    @Override
+    public boolean isTextual() {
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.marketdata.codec;
+
+/**
+ * Wire format used by adapters to turn market data payloads into bytes before they leave the
+ * process. Implementations are shared between adapters and processor threads, so they must be
+ * thread-safe.
+ */
+public interface PayloadCodec {
+
+    /**
+     * @return unique, lower-case codec name used for configuration (for example {@code json})
+     */
+    String getName();
+
+    /**
+     * Encode a payload into its wire representation.
+     *
+     * @param value payload to encode
+     * @return encoded bytes
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decode a wire representation produced by {@link #encode(Object)}.
+     *
+     * @param payload encoded bytes
+     * @param type    target type
+     * @return decoded payload
+     */
+    <V> V decode(byte[] payload, Class<V> type);
+
+    /**
+     * @return {@code true} when the encoded bytes are UTF-8 text that destinations may store as a String
+     */
+    default boolean isTextual() {
+        return false;
+    }
+}
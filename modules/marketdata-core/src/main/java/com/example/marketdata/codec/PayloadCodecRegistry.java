@@ -0,0 +1,60 @@
+package com.example.marketdata.codec;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Name-to-codec lookup shared by all adapters, so each adapter can select its wire format
+ * through configuration (for example {@code marketdata.hazelcast.codec=smile}).
+ * <p>
+ * Applications that use the {@code binary} codec publish their own registry bean with
+ * the layouts of their payload types registered; adapters fall back to {@link #withDefaults()}.
+ */
+public class PayloadCodecRegistry {
+
+    private final ConcurrentMap<String, PayloadCodec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * @return registry with the JSON, Smile, CBOR and (layout-less) compact binary codecs
+     */
+    public static PayloadCodecRegistry withDefaults() {
+        return new PayloadCodecRegistry()
+                .register(new JsonPayloadCodec())
+                .register(new SmilePayloadCodec())
+                .register(new CborPayloadCodec())
+                .register(new CompactBinaryPayloadCodec());
+    }
+
+    /**
+     * Register a codec, replacing any codec with the same name.
+     */
+    public PayloadCodecRegistry register(final PayloadCodec codec) {
+        Objects.requireNonNull(codec, "codec is required");
+        codecs.put(normalize(codec.getName()), codec);
+        return this;
+    }
+
+    /**
+     * @param name configured codec name (case-insensitive)
+     * @return the codec registered under that name
+     * @throws IllegalArgumentException if no codec is registered under that name
+     */
+    public PayloadCodec get(final String name) {
+        PayloadCodec codec = name == null ? null : codecs.get(normalize(name));
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown payload codec: [" + name + "], available: " + codecs.keySet());
+        }
+        return codec;
+    }
+
+    public Set<String> names() {
+        return Set.copyOf(codecs.keySet());
+    }
+
+    private static String normalize(final String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
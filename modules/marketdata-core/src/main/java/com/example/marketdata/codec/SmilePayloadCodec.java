@@ -0,0 +1,16 @@
+package com.example.marketdata.codec;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Binary JSON codec using the Smile format; keeps the JSON data model with back-referenced
+ * property names and binary numbers.
+ */
+public class SmilePayloadCodec extends AbstractJacksonPayloadCodec {
+
+    public static final String NAME = "smile";
+
+    public SmilePayloadCodec() {
+        super(NAME, new SmileMapper());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.marketdata.model;
+
+import com.example.marketdata.codec.EncodedPayloadAware;
+import com.example.marketdata.codec.EncodedPayloadCache;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Convenience base class for market data events that encodes each payload once per codec,
+ * no matter how many processors the event is fanned out to.
+ * <p>
+ * Events must not be modified after they are handed to the processors, otherwise adapters may
+ * publish stale encoded bytes.
+ */
+public abstract class AbstractMarketDataEvent implements MarketDataEvent, EncodedPayloadAware {
+
+    @JsonIgnore
+    private final transient EncodedPayloadCache encodedPayloads = new EncodedPayloadCache();
+
+    @Override
+    @JsonIgnore
+    public EncodedPayloadCache getEncodedPayloads() {
+        return encodedPayloads;
+    }
+}
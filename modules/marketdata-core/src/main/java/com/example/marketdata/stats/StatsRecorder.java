@@ -0,0 +1,30 @@
+package com.example.marketdata.stats;
+
+/**
+ * Vendor-neutral hook through which adapters report metrics without depending on the processor
+ * module's stats collector. Metric names must be part of the processor module's
+ * {@code MetricName} catalog; the processor module publishes the implementation as a bean and
+ * adapters fall back to {@link #NOOP} when it is absent.
+ */
+public interface StatsRecorder {
+
+    StatsRecorder NOOP = new StatsRecorder() {
+        @Override
+        public void addCount(String metricName, long delta) {
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    };
+
+    void addCount(String metricName, long delta);
+
+    void recordLatency(String metricName, long latencyMs);
+
+    void setGaugeMax(String metricName, long value);
+}
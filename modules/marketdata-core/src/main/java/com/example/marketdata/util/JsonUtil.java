@@ -14,7 +14,14 @@ public final class JsonUtil {
     private static final ObjectMapper MAPPER = createMapper();
 
     private static ObjectMapper createMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configureMapper(new ObjectMapper());
+    }
+
+    /**
+     * Applies the shared time handling to any Jackson mapper (JSON, Smile, CBOR, ...), so every
+     * wire format renders timestamps the same way.
+     */
+    public static <M extends ObjectMapper> M configureMapper(M mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
@@ -0,0 +1,74 @@
+package com.example.marketdata.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies layout-driven binary encoding, null handling and rejection of unknown payload types.
+ */
+class CompactBinaryPayloadCodecTest {
+
+    private record TestMarketDataMessage(String source,
+                                         String symbol,
+                                         double price,
+                                         long size,
+                                         Instant timestamp) {
+    }
+
+    private static final class TestLayout implements CompactBinaryLayout<TestMarketDataMessage> {
+        @Override
+        public void write(TestMarketDataMessage value, DataOutput out) throws IOException {
+            CompactBinaryLayout.writeNullableString(out, value.source());
+            CompactBinaryLayout.writeNullableString(out, value.symbol());
+            out.writeDouble(value.price());
+            out.writeLong(value.size());
+            CompactBinaryLayout.writeNullableInstant(out, value.timestamp());
+        }
+
+        @Override
+        public TestMarketDataMessage read(DataInput in) throws IOException {
+            return new TestMarketDataMessage(
+                    CompactBinaryLayout.readNullableString(in),
+                    CompactBinaryLayout.readNullableString(in),
+                    in.readDouble(),
+                    in.readLong(),
+                    CompactBinaryLayout.readNullableInstant(in));
+        }
+    }
+
+    private final CompactBinaryPayloadCodec codec =
+            new CompactBinaryPayloadCodec().registerLayout(TestMarketDataMessage.class, new TestLayout());
+
+    @Test
+    void roundTripsRegisteredType() {
+        // given
+        TestMarketDataMessage message = new TestMarketDataMessage(
+                "demo", "BOND1", 100.5, 10, Instant.parse("2024-01-01T00:00:00.123456789Z"));
+
+        // when
+        byte[] encoded = codec.encode(message);
+
+        // then
+        assertEquals(message, codec.decode(encoded, TestMarketDataMessage.class));
+        assertTrue(encoded.length < new JsonPayloadCodec().encode(message).length);
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        TestMarketDataMessage message = new TestMarketDataMessage(null, "BOND1", 1.0, 1, null);
+
+        assertEquals(message, codec.decode(codec.encode(message), TestMarketDataMessage.class));
+    }
+
+    @Test
+    void rejectsTypesWithoutLayout() {
+        assertThrows(IllegalArgumentException.class, () -> codec.encode("no layout"));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[0], String.class));
+    }
+}
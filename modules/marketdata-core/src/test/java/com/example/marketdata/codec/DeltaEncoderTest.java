@@ -0,0 +1,197 @@
+package com.example.marketdata.codec;
+
+import com.example.marketdata.stats.StatsRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies full/delta frame selection, sequencing and reported metrics of {@link DeltaEncoder}.
+ */
+class DeltaEncoderTest {
+
+    private static final String PREFIX = "dispatched.test";
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new HashMap<>();
+        private final Map<String, Long> latencies = new HashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+            latencies.put(metricName, latencyMs);
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RecordingStats stats = new RecordingStats();
+
+    private DeltaEncoder encoder(int fullImageInterval) {
+        return encoder(fullImageInterval, 600_000);
+    }
+
+    private DeltaEncoder encoder(int fullImageInterval, long idleEvictionMs) {
+        DeltaEncoderProperties properties = new DeltaEncoderProperties();
+        properties.setEnabled(true);
+        properties.setFullImageInterval(fullImageInterval);
+        properties.setFullImageMaxAgeMs(60_000);
+        properties.setIdleEvictionMs(idleEvictionMs);
+        return new DeltaEncoder(new JsonPayloadCodec(), properties, stats, PREFIX);
+    }
+
+    private static Map<String, Object> quote(double bid, double ask, String venue) {
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("bid", bid);
+        quote.put("ask", ask);
+        quote.put("venue", venue);
+        return quote;
+    }
+
+    private JsonNode read(DeltaFrame frame) throws Exception {
+        return mapper.readTree(frame.payload());
+    }
+
+    @Test
+    void firstUpdateIsFullImageAndLaterUpdatesCarryOnlyChangedFields() throws Exception {
+        // given
+        DeltaEncoder encoder = encoder(100);
+
+        // when
+        DeltaFrame first = encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS"))).get(0);
+        DeltaFrame second = encoder.encodeAll(Map.of("IBM", quote(100.1, 100.5, "XNYS"))).get(0);
+
+        // then
+        assertTrue(first.fullImage());
+        assertEquals(1, first.sequence());
+        JsonNode firstJson = read(first);
+        assertEquals(DeltaEncoder.TYPE_FULL, firstJson.get(DeltaEncoder.FIELD_TYPE).asText());
+        assertEquals(3, firstJson.get(DeltaEncoder.FIELD_FIELDS).size());
+
+        assertFalse(second.fullImage());
+        assertEquals(2, second.sequence());
+        JsonNode secondJson = read(second);
+        assertEquals("IBM", secondJson.get(DeltaEncoder.FIELD_CACHE_ID).asText());
+        assertEquals(DeltaEncoder.TYPE_DELTA, secondJson.get(DeltaEncoder.FIELD_TYPE).asText());
+        JsonNode fields = secondJson.get(DeltaEncoder.FIELD_FIELDS);
+        assertEquals(1, fields.size());
+        assertEquals(100.1, fields.get("bid").asDouble(), 1e-9);
+        assertTrue(second.payload().length < first.payload().length);
+    }
+
+    @Test
+    void fullImageIsResentAfterConfiguredNumberOfDeltas() {
+        // given
+        DeltaEncoder encoder = encoder(2);
+
+        // when
+        List<Boolean> fullImages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fullImages.add(encoder.encodeAll(Map.of("IBM", quote(100.0 + i, 101.0, "XNYS"))).get(0).fullImage());
+        }
+
+        // then
+        assertEquals(List.of(true, false, false, true, false), fullImages);
+    }
+
+    @Test
+    void removedFieldOrInvalidationForcesFullImageWithoutResettingSequence() {
+        // given
+        DeltaEncoder encoder = encoder(100);
+        encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS")));
+
+        // when
+        Map<String, Object> withoutVenue = quote(100.0, 100.5, "XNYS");
+        withoutVenue.remove("venue");
+        DeltaFrame afterRemoval = encoder.encodeAll(Map.of("IBM", withoutVenue)).get(0);
+        encoder.invalidate("IBM");
+        DeltaFrame afterInvalidate = encoder.encodeAll(Map.of("IBM", withoutVenue)).get(0);
+
+        // then
+        assertTrue(afterRemoval.fullImage());
+        assertEquals(2, afterRemoval.sequence());
+        assertTrue(afterInvalidate.fullImage());
+        assertEquals(3, afterInvalidate.sequence());
+    }
+
+    @Test
+    void unchangedUpdateSendsNoFrameAndKeepsSequenceAndMetrics() {
+        // given
+        DeltaEncoder encoder = encoder(100);
+        DeltaFrame full = encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS"))).get(0);
+
+        // when
+        List<DeltaFrame> unchanged = encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS")));
+        DeltaFrame next = encoder.encodeAll(Map.of("IBM", quote(100.1, 100.5, "XNYS"))).get(0);
+
+        // then
+        assertTrue(unchanged.isEmpty());
+        assertFalse(next.fullImage());
+        assertEquals(2, next.sequence());
+        assertEquals(1L, stats.counts.get(PREFIX + DeltaEncoder.DELTA_FRAMES_SUFFIX));
+        assertEquals((long) full.payload().length + next.payload().length,
+                stats.counts.get(PREFIX + DeltaEncoder.BYTES_SUFFIX));
+        assertEquals((long) full.payload().length - next.payload().length,
+                stats.counts.get(PREFIX + DeltaEncoder.BYTES_SAVED_SUFFIX));
+    }
+
+    @Test
+    void idleCacheIdIsEvictedAndRestartsWithFullImage() throws Exception {
+        // given
+        DeltaEncoder encoder = encoder(100, 50);
+        encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS")));
+        encoder.encodeAll(Map.of("IBM", quote(100.1, 100.5, "XNYS")));
+
+        // when
+        Thread.sleep(120);
+        encoder.encodeAll(Map.of("MSFT", quote(300.0, 300.5, "XNAS")));
+        int trackedAfterEviction = encoder.trackedKeys();
+        DeltaFrame restarted = encoder.encodeAll(Map.of("IBM", quote(100.1, 100.5, "XNYS"))).get(0);
+
+        // then
+        assertEquals(1, trackedAfterEviction);
+        assertTrue(restarted.fullImage());
+        assertEquals(1, restarted.sequence());
+    }
+
+    @Test
+    void reportsFrameByteAndSavingsMetrics() {
+        // given
+        DeltaEncoder encoder = encoder(100);
+
+        // when
+        List<DeltaFrame> full = encoder.encodeAll(Map.of("IBM", quote(100.0, 100.5, "XNYS")));
+        List<DeltaFrame> delta = encoder.encodeAll(Map.of("IBM", quote(100.1, 100.5, "XNYS")));
+
+        // then
+        long fullBytes = full.get(0).payload().length;
+        long deltaBytes = delta.get(0).payload().length;
+        assertEquals(1L, stats.counts.get(PREFIX + DeltaEncoder.FULL_FRAMES_SUFFIX));
+        assertEquals(1L, stats.counts.get(PREFIX + DeltaEncoder.DELTA_FRAMES_SUFFIX));
+        assertEquals(fullBytes + deltaBytes, stats.counts.get(PREFIX + DeltaEncoder.BYTES_SUFFIX));
+        assertEquals(fullBytes - deltaBytes, stats.counts.get(PREFIX + DeltaEncoder.BYTES_SAVED_SUFFIX));
+        assertTrue(stats.latencies.containsKey(PREFIX + DeltaEncoder.ENCODE_LATENCY_SUFFIX));
+    }
+
+    @Test
+    void rejectsNonJacksonCodecs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeltaEncoder(new CompactBinaryPayloadCodec(), new DeltaEncoderProperties(),
+                        StatsRecorder.NOOP, PREFIX));
+    }
+}
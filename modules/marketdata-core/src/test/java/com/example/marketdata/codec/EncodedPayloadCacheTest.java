@@ -0,0 +1,144 @@
+package com.example.marketdata.codec;
+
+import com.example.marketdata.model.AbstractMarketDataEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies encode-once semantics per codec and safe sharing of the cached bytes across threads.
+ */
+class EncodedPayloadCacheTest {
+
+    static final class TestEvent extends AbstractMarketDataEvent {
+        private final String symbol;
+
+        TestEvent(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        @Override
+        public String getCacheId() {
+            return symbol;
+        }
+    }
+
+    private static final class CountingCodec implements PayloadCodec {
+        private final PayloadCodec delegate;
+        private final AtomicInteger encodeCalls = new AtomicInteger();
+
+        CountingCodec(PayloadCodec delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public byte[] encode(Object value) {
+            encodeCalls.incrementAndGet();
+            return delegate.encode(value);
+        }
+
+        @Override
+        public <V> V decode(byte[] payload, Class<V> type) {
+            return delegate.decode(payload, type);
+        }
+    }
+
+    @Test
+    void encodesAwarePayloadOncePerCodec() {
+        // given
+        TestEvent event = new TestEvent("IBM");
+        CountingCodec json = new CountingCodec(new JsonPayloadCodec());
+        CountingCodec smile = new CountingCodec(new SmilePayloadCodec());
+
+        // when
+        byte[] first = EncodedPayloadCache.encodeOnce(json, event);
+        byte[] second = EncodedPayloadCache.encodeOnce(json, event);
+        EncodedPayloadCache.encodeOnce(smile, event);
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, json.encodeCalls.get());
+        assertEquals(1, smile.encodeCalls.get());
+        assertEquals(2, event.getEncodedPayloads().size());
+    }
+
+    @Test
+    void codecsWithTheSameNameShareBytes() {
+        TestEvent event = new TestEvent("IBM");
+
+        byte[] first = EncodedPayloadCache.encodeOnce(new JsonPayloadCodec(), event);
+        byte[] second = EncodedPayloadCache.encodeOnce(new JsonPayloadCodec(), event);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void plainPayloadsAreEncodedEveryTime() {
+        CountingCodec json = new CountingCodec(new JsonPayloadCodec());
+
+        EncodedPayloadCache.encodeOnce(json, "plain");
+        EncodedPayloadCache.encodeOnce(json, "plain");
+
+        assertEquals(2, json.encodeCalls.get());
+    }
+
+    @Test
+    void cacheIsNotSerialized() {
+        TestEvent event = new TestEvent("IBM");
+        EncodedPayloadCache.encodeOnce(new JsonPayloadCodec(), event);
+
+        String json = new String(new JsonPayloadCodec().encode(event), StandardCharsets.UTF_8);
+
+        assertEquals("{\"symbol\":\"IBM\"}", json);
+    }
+
+    @Test
+    void concurrentProcessorsObserveTheSameBytes() throws Exception {
+        // given
+        int threads = 8;
+        TestEvent event = new TestEvent("IBM");
+        PayloadCodec json = new JsonPayloadCodec();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            // when
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return EncodedPayloadCache.encodeOnce(json, event);
+                }));
+            }
+            start.countDown();
+
+            // then
+            byte[] expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertSame(expected, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, event.getEncodedPayloads().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
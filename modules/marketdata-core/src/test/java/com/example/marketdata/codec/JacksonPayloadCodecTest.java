@@ -0,0 +1,64 @@
+package com.example.marketdata.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ensures the Jackson-backed codecs round-trip payloads and keep the shared time handling.
+ */
+class JacksonPayloadCodecTest {
+
+    record TestMarketDataMessage(String source,
+                                         String symbol,
+                                         double price,
+                                         long size,
+                                         Instant timestamp) {
+    }
+
+    private static final TestMarketDataMessage MESSAGE = new TestMarketDataMessage(
+            "demo", "BOND1", 100.5, 10, Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void jsonCodecProducesTextualJson() {
+        // given
+        JsonPayloadCodec codec = new JsonPayloadCodec();
+
+        // when
+        String json = new String(codec.encode(MESSAGE), StandardCharsets.UTF_8);
+
+        // then
+        assertTrue(codec.isTextual());
+        assertTrue(json.contains("\"symbol\":\"BOND1\""));
+        assertTrue(json.contains("\"timestamp\":\"2024-01-01T00:00:00Z\""));
+    }
+
+    @Test
+    void allJacksonCodecsRoundTrip() {
+        for (PayloadCodec codec : List.of(new JsonPayloadCodec(), new SmilePayloadCodec(), new CborPayloadCodec())) {
+            // when
+            byte[] encoded = codec.encode(MESSAGE);
+
+            // then
+            assertEquals(MESSAGE, codec.decode(encoded, TestMarketDataMessage.class), codec.getName());
+        }
+    }
+
+    @Test
+    void binaryJsonCodecsAreNotTextual() {
+        assertFalse(new SmilePayloadCodec().isTextual());
+        assertFalse(new CborPayloadCodec().isTextual());
+    }
+
+    @Test
+    void decodeFailureIsReportedAsIllegalState() {
+        JsonPayloadCodec codec = new JsonPayloadCodec();
+
+        assertThrows(IllegalStateException.class,
+                () -> codec.decode("not-json".getBytes(StandardCharsets.UTF_8), TestMarketDataMessage.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.marketdata.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCodecRegistryTest {
+
+    @Test
+    void defaultsContainAllBuiltInCodecs() {
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults();
+
+        assertEquals(Set.of("json", "smile", "cbor", "binary"), registry.names());
+        assertInstanceOf(SmilePayloadCodec.class, registry.get("smile"));
+    }
+
+    @Test
+    void lookupIsCaseInsensitive() {
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults();
+
+        assertInstanceOf(JsonPayloadCodec.class, registry.get(" JSON "));
+    }
+
+    @Test
+    void registerReplacesCodecWithSameName() {
+        CompactBinaryPayloadCodec binary = new CompactBinaryPayloadCodec();
+
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults().register(binary);
+
+        assertSame(binary, registry.get(CompactBinaryPayloadCodec.NAME));
+    }
+
+    @Test
+    void unknownCodecIsRejected() {
+        PayloadCodecRegistry registry = PayloadCodecRegistry.withDefaults();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.get("avro"));
+        assertThrows(IllegalArgumentException.class, () -> registry.get(null));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.marketdata.codec;
+
+import java.time.Instant;
+
+/**
+ * A typical quote, shared by the codec and Hazelcast benchmarks.
+ */
+public record Quote(String source, String symbol, double price, long size, Instant timestamp) {
+}
@@ -0,0 +1,30 @@
+package com.example.marketdata.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link CompactBinaryLayout} of {@link Quote}, for benchmarks of the {@code binary} codec.
+ */
+public final class QuoteLayout implements CompactBinaryLayout<Quote> {
+
+    @Override
+    public void write(Quote value, DataOutput out) throws IOException {
+        CompactBinaryLayout.writeNullableString(out, value.source());
+        CompactBinaryLayout.writeNullableString(out, value.symbol());
+        out.writeDouble(value.price());
+        out.writeLong(value.size());
+        CompactBinaryLayout.writeNullableInstant(out, value.timestamp());
+    }
+
+    @Override
+    public Quote read(DataInput in) throws IOException {
+        return new Quote(
+                CompactBinaryLayout.readNullableString(in),
+                CompactBinaryLayout.readNullableString(in),
+                in.readDouble(),
+                in.readLong(),
+                CompactBinaryLayout.readNullableInstant(in));
+    }
+}
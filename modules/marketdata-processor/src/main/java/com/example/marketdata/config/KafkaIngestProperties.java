@@ -0,0 +1,284 @@
+package com.example.marketdata.config;
+
+import com.example.marketdata.codec.JsonPayloadCodec;
+import com.example.marketdata.model.MarketDataEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties of the Kafka ingest source that feeds the processors.
+ * <p>
+ * Properties (all under {@code marketdata.ingest.kafka}) and how they are applied:
+ * <ul>
+ *     <li>{@code enabled} (default: {@code false}) – start {@link com.example.marketdata.ingest.KafkaIngestSource}.</li>
+ *     <li>{@code bootstrap-servers} (default: {@code localhost:9092}) – brokers the consumer connects to.</li>
+ *     <li>{@code topics} (default: {@code market-data}) – topics subscribed to.</li>
+ *     <li>{@code group-id} (default: {@code marketdata-ingest}) – consumer group; offsets are committed for it.</li>
+ *     <li>{@code event-class} (required) – {@link MarketDataEvent} implementation record values are
+ *     decoded into.</li>
+ *     <li>{@code codec} (default: {@code json}) – payload codec from the
+ *     {@link com.example.marketdata.codec.PayloadCodecRegistry} the values were encoded with.</li>
+ *     <li>{@code max-poll-records} (default: {@code 5000}) – records returned by one poll.</li>
+ *     <li>{@code fetch-min-bytes} (default: {@code 65536}), {@code fetch-max-wait-ms} (default: {@code 50}) –
+ *     how much data a broker gathers, and for how long, before answering a fetch.</li>
+ *     <li>{@code poll-timeout-ms} (default: {@code 100}) – longest wait of one poll.</li>
+ *     <li>{@code concurrency} (default: {@code 4}) – workers records are fanned out to by key; records of
+ *     one key stay in order, independent of the partition count.</li>
+ *     <li>{@code worker-queue-capacity} (default: {@code 10000}) – records queued per worker; a record
+ *     meeting a full queue pauses its partition, which is read again from that record once the worker
+ *     has drained half of its queue.</li>
+ *     <li>{@code high-watermark} (default: {@code 0.8}), {@code low-watermark} (default: {@code 0.5}) –
+ *     fill of the fullest processor queue at which the assigned partitions are paused, and resumed.
+ *     Keep {@code max-poll-records} below the queue room above {@code high-watermark}.</li>
+ *     <li>{@code enqueue-timeout-ms} (default: {@code 10000}) – time a record waits for room in a full
+ *     processor queue before its partition is paused while the record is offered again.</li>
+ *     <li>{@code commit-timeout-ms} (default: {@code 5000}) – time a rebalance or shutdown waits for the
+ *     processors before committing what they completed.</li>
+ *     <li>{@code restart-backoff-ms} (default: {@code 1000}) – wait before the consumer is recreated after an
+ *     unexpected error; doubles with every failure in a row, up to a minute.</li>
+ *     <li>{@code overrides.*} (default: none) – further Kafka consumer configs, applied last.</li>
+ * </ul>
+ */
+@Component
+@ConfigurationProperties(prefix = "marketdata.ingest.kafka")
+public class KafkaIngestProperties {
+
+    /**
+     * Whether the ingest source runs.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Comma-separated broker addresses.
+     */
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Topics subscribed to.
+     */
+    private List<String> topics = new ArrayList<>(List.of("market-data"));
+
+    /**
+     * Consumer group.
+     */
+    private String groupId = "marketdata-ingest";
+
+    /**
+     * Event type record values are decoded into.
+     */
+    private Class<? extends MarketDataEvent> eventClass;
+
+    /**
+     * Name of the payload codec the record values were encoded with.
+     */
+    private String codec = JsonPayloadCodec.NAME;
+
+    /**
+     * Records returned per poll.
+     */
+    private int maxPollRecords = 5_000;
+
+    /**
+     * Minimum bytes a broker returns per fetch.
+     */
+    private int fetchMinBytes = 65_536;
+
+    /**
+     * Maximum time in ms a broker waits for fetch-min-bytes.
+     */
+    private int fetchMaxWaitMs = 50;
+
+    /**
+     * Maximum wait in ms of one poll.
+     */
+    private long pollTimeoutMs = 100;
+
+    /**
+     * Workers records are fanned out to by key.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Records queued per worker.
+     */
+    private int workerQueueCapacity = 10_000;
+
+    /**
+     * Queue fill at which partitions are paused.
+     */
+    private double highWatermark = 0.8;
+
+    /**
+     * Queue fill at which paused partitions are resumed.
+     */
+    private double lowWatermark = 0.5;
+
+    /**
+     * Maximum time in ms a record waits for queue room before its partition is paused.
+     */
+    private long enqueueTimeoutMs = 10_000;
+
+    /**
+     * Maximum time in ms a rebalance or shutdown waits for the processors.
+     */
+    private long commitTimeoutMs = 5_000;
+
+    /**
+     * Time in ms before the consumer is recreated after an unexpected error.
+     */
+    private long restartBackoffMs = 1_000;
+
+    /**
+     * Additional Kafka consumer configs.
+     */
+    private Map<String, String> overrides = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getBootstrapServers() {
+        return bootstrapServers;
+    }
+
+    public void setBootstrapServers(String bootstrapServers) {
+        this.bootstrapServers = bootstrapServers;
+    }
+
+    public List<String> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(List<String> topics) {
+        this.topics = topics;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public Class<? extends MarketDataEvent> getEventClass() {
+        return eventClass;
+    }
+
+    public void setEventClass(Class<? extends MarketDataEvent> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public int getFetchMinBytes() {
+        return fetchMinBytes;
+    }
+
+    public void setFetchMinBytes(int fetchMinBytes) {
+        this.fetchMinBytes = fetchMinBytes;
+    }
+
+    public int getFetchMaxWaitMs() {
+        return fetchMaxWaitMs;
+    }
+
+    public void setFetchMaxWaitMs(int fetchMaxWaitMs) {
+        this.fetchMaxWaitMs = fetchMaxWaitMs;
+    }
+
+    public long getPollTimeoutMs() {
+        return pollTimeoutMs;
+    }
+
+    public void setPollTimeoutMs(long pollTimeoutMs) {
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getWorkerQueueCapacity() {
+        return workerQueueCapacity;
+    }
+
+    public void setWorkerQueueCapacity(int workerQueueCapacity) {
+        this.workerQueueCapacity = workerQueueCapacity;
+    }
+
+    public double getHighWatermark() {
+        return highWatermark;
+    }
+
+    public void setHighWatermark(double highWatermark) {
+        this.highWatermark = highWatermark;
+    }
+
+    public double getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public void setLowWatermark(double lowWatermark) {
+        this.lowWatermark = lowWatermark;
+    }
+
+    public long getEnqueueTimeoutMs() {
+        return enqueueTimeoutMs;
+    }
+
+    public void setEnqueueTimeoutMs(long enqueueTimeoutMs) {
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
+
+    public long getCommitTimeoutMs() {
+        return commitTimeoutMs;
+    }
+
+    public void setCommitTimeoutMs(long commitTimeoutMs) {
+        this.commitTimeoutMs = commitTimeoutMs;
+    }
+
+    public long getRestartBackoffMs() {
+        return restartBackoffMs;
+    }
+
+    public void setRestartBackoffMs(long restartBackoffMs) {
+        this.restartBackoffMs = restartBackoffMs;
+    }
+
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(Map<String, String> overrides) {
+        this.overrides = overrides;
+    }
+}
@@ -0,0 +1,492 @@
+package com.example.marketdata.ingest;
+
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.config.KafkaIngestProperties;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.service.ProcessorsHandlerService;
+import com.example.marketdata.stats.wrapper.WrapperConsumedKafkaStats;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Source that consumes market data events from Kafka and hands them to the processors through
+ * {@link ProcessorsHandlerService}.
+ * <p>
+ * Records are polled in large batches and fanned out by key, the cache ID, to {@code concurrency}
+ * workers (see {@link KeyedRecordDispatcher}), so one busy partition carrying many symbols is not
+ * handled serially while records of one symbol keep their order. The poll thread never waits for a
+ * worker: a record meeting a full worker queue pauses its partition, which is rewound to that record
+ * and resumed once the worker has caught up. Workers decode values into
+ * {@code marketdata.ingest.kafka.event-class} with {@link MarketDataEventDeserializer}. Instead of letting full processor queues drop events, the
+ * source pauses its partitions once the fullest queue passes {@code high-watermark} and resumes them
+ * below {@code low-watermark}. A record that still meets a full queue for {@code enqueue-timeout-ms}
+ * is not dropped: its partition is paused and the worker offers it again, to the processors that
+ * have not queued it yet, until they do.
+ * <p>
+ * Auto commit is off. A partition is committed up to its lowest record still held by a worker, once
+ * every processor has completed the events queued before that point, so a crash or rebalance
+ * redelivers what was not processed: delivery is at least once. A batch a processor dropped as
+ * non-retryable counts as completed. The Hazelcast buffer processor completes an event once it is
+ * buffered, not once the throttle has written it to the map, so its offsets can be committed up to
+ * one {@code marketdata.throttle} flush before the map has the value; a crash in that window loses
+ * the update unless the snapshot topic restores it. Consumed events are counted as
+ * {@code consumed.kafka.events}.
+ * <p>
+ * An unexpected error, such as a broker or authorization failure, does not end the ingest: after
+ * committing what was completed, the consumer and workers are recreated once {@code restart-backoff-ms}
+ * has passed, doubling with every failure in a row up to a minute. The new consumer resumes from the
+ * committed offsets.
+ * <p>
+ * Enabled when {@code marketdata.ingest.kafka.enabled=true}; starts after and stops before the
+ * processors. See {@link KafkaIngestProperties}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "marketdata.ingest.kafka",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = false
+)
+public class KafkaIngestSource implements SmartLifecycle {
+
+    private static final long MAX_RESTART_BACKOFF_MS = 60_000;
+
+    private final KafkaIngestProperties properties;
+    private final ProcessorsHandlerService processorsHandlerService;
+    private final WrapperConsumedKafkaStats consumedStats;
+    private final MarketDataEventDeserializer deserializer;
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final ExecutorService pollExecutor;
+
+    /**
+     * Offsets handed to the workers but not yet committed, oldest first; only touched by the poll thread.
+     */
+    private final Deque<PendingCommit> pending = new ArrayDeque<>();
+    private final Map<TopicPartition, Long> tracked = new HashMap<>();
+    private boolean paused;
+    private boolean polled;
+
+    /**
+     * Workers waiting for processor queue room, per partition; these partitions stay paused.
+     */
+    private final Map<TopicPartition, Integer> blocked = new ConcurrentHashMap<>();
+
+    private volatile Consumer<String, byte[]> consumer;
+    private volatile boolean running = false;
+
+    @Autowired
+    public KafkaIngestSource(final KafkaIngestProperties properties,
+                             final ProcessorsHandlerService processorsHandlerService,
+                             final WrapperConsumedKafkaStats consumedStats,
+                             final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry) {
+        this(properties, processorsHandlerService, consumedStats,
+                payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                () -> new KafkaConsumer<>(consumerConfigs(properties), new StringDeserializer(), new ByteArrayDeserializer()));
+    }
+
+    public KafkaIngestSource(final KafkaIngestProperties properties,
+                             final ProcessorsHandlerService processorsHandlerService,
+                             final WrapperConsumedKafkaStats consumedStats,
+                             final PayloadCodecRegistry payloadCodecRegistry,
+                             final Consumer<String, byte[]> consumer) {
+        this(properties, processorsHandlerService, consumedStats, payloadCodecRegistry, () -> consumer);
+    }
+
+    public KafkaIngestSource(final KafkaIngestProperties properties,
+                             final ProcessorsHandlerService processorsHandlerService,
+                             final WrapperConsumedKafkaStats consumedStats,
+                             final PayloadCodecRegistry payloadCodecRegistry,
+                             final Supplier<Consumer<String, byte[]>> consumerFactory) {
+        if (properties.getEventClass() == null) {
+            throw new IllegalArgumentException("marketdata.ingest.kafka.event-class is required");
+        }
+        if (properties.getLowWatermark() > properties.getHighWatermark()) {
+            throw new IllegalArgumentException("marketdata.ingest.kafka.low-watermark must not exceed high-watermark");
+        }
+        if (properties.getConcurrency() < 1) {
+            throw new IllegalArgumentException("marketdata.ingest.kafka.concurrency must be at least 1");
+        }
+        this.properties = properties;
+        this.processorsHandlerService = processorsHandlerService;
+        this.consumedStats = consumedStats;
+        this.deserializer = new MarketDataEventDeserializer(
+                payloadCodecRegistry.get(properties.getCodec()), properties.getEventClass());
+        this.consumerFactory = consumerFactory;
+        this.pollExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "kafka-ingest-poll-thread"));
+    }
+
+    /**
+     * Kafka consumer configs for {@code properties}; {@code overrides} win over the typed settings.
+     */
+    public static Map<String, Object> consumerConfigs(final KafkaIngestProperties properties) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.GROUP_ID_CONFIG, properties.getGroupId());
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        configs.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, properties.getFetchMinBytes());
+        configs.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, properties.getFetchMaxWaitMs());
+        configs.putAll(properties.getOverrides());
+        return configs;
+    }
+
+    // ------------------------------------------------------------------------
+    // SmartLifecycle
+    // ------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        log.info("Starting Kafka ingest of {}", properties.getTopics());
+        pollExecutor.submit(this::pollLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        log.info("Stopping Kafka ingest of {}", properties.getTopics());
+        running = false;
+        Consumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        pollExecutor.shutdown();
+        try {
+            // workers and processors each get commit-timeout-ms before the last commit
+            pollExecutor.awaitTermination(2 * properties.getCommitTimeoutMs() + 5_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    /**
+     * After the processors (phase {@code 0}), so they are running before the first record arrives
+     * and still running while the last offsets are committed.
+     */
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    // ------------------------------------------------------------------------
+    // Poll loop
+    // ------------------------------------------------------------------------
+
+    /**
+     * Runs a consumer until the ingest stops, and recreates it after an unexpected error.
+     */
+    private void pollLoop() {
+        long backoffMs = properties.getRestartBackoffMs();
+        while (running) {
+            try {
+                consume();
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                // failures in a row back off further; a consumer that got through a poll starts over
+                backoffMs = polled ? properties.getRestartBackoffMs() : backoffMs;
+                log.error("Kafka ingest failed; recreating the consumer in {} ms", backoffMs, e);
+                if (!backOff(backoffMs)) {
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RESTART_BACKOFF_MS);
+            }
+        }
+        log.info("Exiting Kafka ingest poll loop");
+    }
+
+    /**
+     * Wait {@code backoffMs}, or until the ingest stops.
+     *
+     * @return whether the ingest is still running
+     */
+    private boolean backOff(final long backoffMs) {
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+        while (running && System.nanoTime() < deadlineNanos) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(Math.min(100, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Polls with a new consumer and workers until the ingest stops; commits what was completed and
+     * closes both on the way out.
+     *
+     * @throws RuntimeException on an unexpected error
+     */
+    private void consume() {
+        pending.clear();
+        tracked.clear();
+        paused = false;
+        polled = false;
+        Consumer<String, byte[]> current = consumerFactory.get();
+        consumer = current;
+        KeyedRecordDispatcher dispatcher = new KeyedRecordDispatcher(
+                properties.getConcurrency(), properties.getWorkerQueueCapacity(), this::handle);
+        try {
+            current.subscribe(properties.getTopics(), new CommitOnRevoke(current, dispatcher));
+            while (running) {
+                dispatchAll(current, dispatcher, current.poll(Duration.ofMillis(properties.getPollTimeoutMs())));
+                polled = true;
+                trackHandled(dispatcher);
+                applyBackpressure(current, dispatcher);
+                commitCompleted(current);
+            }
+        } catch (WakeupException e) {
+            log.debug("Kafka ingest poll woken up for shutdown");
+        } finally {
+            try {
+                dispatcher.awaitHandled(dispatcher.partitions(), properties.getCommitTimeoutMs());
+                trackHandled(dispatcher);
+                awaitCompleted();
+                Map<TopicPartition, OffsetAndMetadata> completed = takeCompleted();
+                if (!completed.isEmpty()) {
+                    current.commitSync(completed);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to commit Kafka ingest offsets on shutdown: {}", e.getMessage());
+            } finally {
+                dispatcher.close();
+                current.close();
+            }
+        }
+    }
+
+    /**
+     * Dispatches the polled records partition by partition. When a worker queue refuses a record, the
+     * rest of its partition is skipped and the partition is rewound to that record, so it is polled
+     * again, in order, once {@link #applyBackpressure} resumes it.
+     */
+    private void dispatchAll(final Consumer<String, byte[]> current,
+                             final KeyedRecordDispatcher dispatcher,
+                             final ConsumerRecords<String, byte[]> records) {
+        for (TopicPartition partition : records.partitions()) {
+            for (ConsumerRecord<String, byte[]> record : records.records(partition)) {
+                if (!dispatcher.dispatch(record)) {
+                    log.debug("Worker queue full; pausing partition {} at offset {}", partition, record.offset());
+                    current.seek(partition, record.offset());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs on a dispatcher worker.
+     */
+    private void handle(final ConsumerRecord<String, byte[]> record) throws InterruptedException {
+        // null for tombstones and values that could not be decoded
+        MarketDataEvent event = deserializer.deserialize(record.topic(), record.value());
+        if (event == null) {
+            return;
+        }
+        BitSet queued = new BitSet();
+        if (!processorsHandlerService.onEvent(event, properties.getEnqueueTimeoutMs(), queued)) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            blocked.merge(partition, 1, Integer::sum);
+            log.warn("Processor queues stayed full for {} ms; holding partition {} at offset {} until they take it",
+                    properties.getEnqueueTimeoutMs(), partition, record.offset());
+            try {
+                while (!processorsHandlerService.onEvent(event, properties.getEnqueueTimeoutMs(), queued)) {
+                    if (!running) {
+                        // left in flight, so the record is redelivered instead of committed
+                        throw new InterruptedException("Kafka ingest stopped before record " + partition + "@"
+                                + record.offset() + " was queued");
+                    }
+                }
+            } finally {
+                blocked.computeIfPresent(partition, (ignored, workers) -> workers > 1 ? workers - 1 : null);
+            }
+        }
+        consumedStats.addConsumed(1);
+    }
+
+    /**
+     * Records the offsets the workers moved past as pending. The processor marks are taken after the
+     * offsets, so they cover every event queued below them.
+     */
+    private void trackHandled(final KeyedRecordDispatcher dispatcher) {
+        Map<TopicPartition, OffsetAndMetadata> advanced = new HashMap<>();
+        dispatcher.committableOffsets().forEach((partition, offset) -> {
+            Long previous = tracked.get(partition);
+            if (previous == null || offset > previous) {
+                tracked.put(partition, offset);
+                advanced.put(partition, new OffsetAndMetadata(offset));
+            }
+        });
+        if (!advanced.isEmpty()) {
+            pending.add(new PendingCommit(advanced, processorsHandlerService.acceptedEvents()));
+        }
+    }
+
+    /**
+     * Pauses every partition while the processor queues are above the watermark, and otherwise the
+     * partitions with a record waiting for processor queue room or refused by a full worker queue.
+     */
+    private void applyBackpressure(final Consumer<String, byte[]> current, final KeyedRecordDispatcher dispatcher) {
+        double fill = processorsHandlerService.maxQueueFill();
+        if (!paused && fill >= properties.getHighWatermark()) {
+            paused = true;
+            log.info("Pausing Kafka ingest: processor queue {}% full", Math.round(fill * 100));
+        } else if (paused && fill <= properties.getLowWatermark()) {
+            paused = false;
+            log.info("Resuming Kafka ingest: processor queue {}% full", Math.round(fill * 100));
+        }
+        // recomputed every loop, so it also covers partitions assigned by a rebalance while paused
+        Set<TopicPartition> hold = new HashSet<>(current.assignment());
+        if (!paused) {
+            Set<TopicPartition> waiting = new HashSet<>(blocked.keySet());
+            waiting.addAll(dispatcher.refusedPartitions());
+            hold.retainAll(waiting);
+        }
+        Set<TopicPartition> resume = new HashSet<>(current.paused());
+        resume.removeAll(hold);
+        if (!resume.isEmpty()) {
+            current.resume(resume);
+        }
+        if (!hold.isEmpty()) {
+            current.pause(hold);
+        }
+    }
+
+    private void commitCompleted(final Consumer<String, byte[]> current) {
+        Map<TopicPartition, OffsetAndMetadata> completed = takeCompleted();
+        if (!completed.isEmpty()) {
+            current.commitAsync(completed, (offsets, e) -> {
+                if (e != null) {
+                    // a later commit covers these offsets
+                    log.warn("Failed to commit Kafka ingest offsets {}: {}", offsets, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * @return latest pending offsets every processor has completed, removed from {@link #pending}
+     */
+    private Map<TopicPartition, OffsetAndMetadata> takeCompleted() {
+        Map<TopicPartition, OffsetAndMetadata> completed = new HashMap<>();
+        while (!pending.isEmpty() && processorsHandlerService.isCompleted(pending.peekFirst().acceptedEvents())) {
+            completed.putAll(pending.pollFirst().offsets());
+        }
+        return completed;
+    }
+
+    /**
+     * Wait up to {@code commit-timeout-ms} for the processors to complete every pending offset.
+     */
+    private void awaitCompleted() {
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getCommitTimeoutMs());
+        while (!pending.isEmpty() && !processorsHandlerService.isCompleted(pending.peekLast().acceptedEvents())
+                && System.nanoTime() < deadlineNanos) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void forget(final Collection<TopicPartition> partitions) {
+        tracked.keySet().removeAll(partitions);
+        for (PendingCommit commit : pending) {
+            commit.offsets().keySet().removeAll(partitions);
+        }
+    }
+
+    /**
+     * Commits what the processors completed before partitions move to another consumer, which then
+     * redelivers the rest.
+     */
+    private final class CommitOnRevoke implements ConsumerRebalanceListener {
+
+        private final Consumer<String, byte[]> current;
+        private final KeyedRecordDispatcher dispatcher;
+
+        private CommitOnRevoke(final Consumer<String, byte[]> current, final KeyedRecordDispatcher dispatcher) {
+            this.current = current;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+            dispatcher.awaitHandled(partitions, properties.getCommitTimeoutMs());
+            trackHandled(dispatcher);
+            awaitCompleted();
+            Map<TopicPartition, OffsetAndMetadata> completed = takeCompleted();
+            if (!completed.isEmpty()) {
+                current.commitSync(completed);
+            }
+            forget(partitions);
+            dispatcher.forget(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+        }
+
+        @Override
+        public void onPartitionsLost(final Collection<TopicPartition> partitions) {
+            // another consumer owns them already, committing would fail
+            forget(partitions);
+            dispatcher.forget(partitions);
+        }
+    }
+
+    private record PendingCommit(Map<TopicPartition, OffsetAndMetadata> offsets, long[] acceptedEvents) {
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.marketdata.ingest;
+
+import com.example.marketdata.adapter.hazelcast.IHazelcastBufferCacheAdapter;
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.adapter.kafka.config.SnapshotProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
+import com.example.marketdata.stats.collector.MetricName;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Warm restart: loads the compacted last-value topic of {@code marketdata.kafka.snapshot} into the
+ * Hazelcast buffer and shadow cache on startup, so the cache does not stay empty until every symbol
+ * ticks again.
+ * <p>
+ * The partitions are split across {@code load-concurrency} consumers that each read their share
+ * from the beginning up to the end offsets seen at startup, without a consumer group. Each keeps the
+ * last value per cache ID of its whole share, so a tombstone removes a key whatever poll its value came
+ * in, and hands them to {@link IHazelcastBufferCacheAdapter#preload(List)} once it is done. Records
+ * arriving meanwhile are left to the live feed; values that cannot be decoded are skipped. Preloaded
+ * values were never confirmed as written, so the next flush writes them in full, also in field-merge
+ * mode.
+ * <p>
+ * The load runs in {@link #start()}, which blocks before the processors and the ingest start, so the
+ * service reports ready only afterwards. A load that fails or exceeds {@code load-timeout-ms} is
+ * logged and the service starts with what was loaded. A consumer that has already begun handing its
+ * values over is waited for, so it cannot overwrite live ticks afterwards; one that has not is abandoned
+ * and hands nothing over. Partitions not read up to their end offset are logged at WARN and counted
+ * as {@code consumed.kafka.snapshot.partitions.incomplete}. Loaded records are counted as
+ * {@code consumed.kafka.snapshot.records} and the load time is recorded as
+ * {@code consumed.kafka.snapshot.latency.ms}.
+ * <p>
+ * Enabled when {@code marketdata.kafka.snapshot.load-on-startup=true}; see {@link SnapshotProperties}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "marketdata.kafka.snapshot",
+        name = "load-on-startup",
+        havingValue = "true",
+        matchIfMissing = false
+)
+public class KafkaSnapshotLoader implements SmartLifecycle {
+
+    /**
+     * How long past the load deadline the consumers get to hand over what they loaded.
+     */
+    private static final long HAND_OVER_GRACE_MS = 1_000;
+
+    /**
+     * Progress of one consumer's hand-over, settled by whichever of it and the load gets there first.
+     */
+    private enum HandOver {
+        PENDING, STARTED, ABANDONED
+    }
+
+    private final SnapshotProperties snapshot;
+    private final IHazelcastBufferCacheAdapter<?> hazelcastCacheAdapter;
+    private final MarketDataEventDeserializer deserializer;
+    private final StatsRecorder statsRecorder;
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+
+    private volatile boolean running = false;
+
+    @Autowired
+    public KafkaSnapshotLoader(final KafkaAdapterProperties properties,
+                               final IHazelcastBufferCacheAdapter<?> hazelcastCacheAdapter,
+                               final ObjectProvider<PayloadCodecRegistry> payloadCodecRegistry,
+                               final ObjectProvider<StatsRecorder> statsRecorder) {
+        this(properties, hazelcastCacheAdapter, payloadCodecRegistry.getIfAvailable(PayloadCodecRegistry::withDefaults),
+                statsRecorder.getIfAvailable(() -> StatsRecorder.NOOP),
+                () -> new KafkaConsumer<>(consumerConfigs(properties), new StringDeserializer(), new ByteArrayDeserializer()));
+    }
+
+    public KafkaSnapshotLoader(final KafkaAdapterProperties properties,
+                               final IHazelcastBufferCacheAdapter<?> hazelcastCacheAdapter,
+                               final PayloadCodecRegistry payloadCodecRegistry,
+                               final StatsRecorder statsRecorder,
+                               final Supplier<Consumer<String, byte[]>> consumerFactory) {
+        this.snapshot = properties.getSnapshot();
+        if (snapshot.getEventClass() == null) {
+            throw new IllegalArgumentException("marketdata.kafka.snapshot.event-class is required to load the snapshot");
+        }
+        this.hazelcastCacheAdapter = hazelcastCacheAdapter;
+        this.deserializer = new MarketDataEventDeserializer(payloadCodecRegistry.get(properties.getCodec()),
+                snapshot.getEventClass());
+        this.statsRecorder = statsRecorder;
+        this.consumerFactory = consumerFactory;
+    }
+
+    /**
+     * Consumer configs for reading the snapshot topic: no group, so nothing is committed.
+     */
+    public static Map<String, Object> consumerConfigs(final KafkaAdapterProperties properties) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        configs.put(ConsumerConfig.CLIENT_ID_CONFIG, properties.getClientId() + "-snapshot-loader");
+        configs.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5_000);
+        return configs;
+    }
+
+    // ------------------------------------------------------------------------
+    // SmartLifecycle
+    // ------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        running = true;
+        load();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Before the processors (phase {@code 0}) and the ingest, so live events land after the snapshot.
+     */
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+
+    // ------------------------------------------------------------------------
+    // Load
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return records loaded
+     */
+    public long load() {
+        final long startNanos = System.nanoTime();
+        List<TopicPartition> partitions;
+        try (Consumer<String, byte[]> consumer = consumerFactory.get()) {
+            partitions = toPartitions(consumer.partitionsFor(snapshot.getTopic()));
+        } catch (RuntimeException e) {
+            log.error("Cannot read snapshot topic {}; starting without the snapshot", snapshot.getTopic(), e);
+            return 0;
+        }
+        if (partitions.isEmpty()) {
+            log.info("Snapshot topic {} has no partitions; nothing to load", snapshot.getTopic());
+            return 0;
+        }
+
+        int workers = Math.max(1, Math.min(snapshot.getLoadConcurrency(), partitions.size()));
+        List<List<TopicPartition>> shares = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            shares.get(i % workers).add(partitions.get(i));
+        }
+
+        final long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(snapshot.getLoadTimeoutMs());
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> new Thread(r, "kafka-snapshot-loader"));
+        List<Future<LoadResult>> futures = new ArrayList<>(workers);
+        List<AtomicReference<HandOver>> handOvers = new ArrayList<>(workers);
+        for (List<TopicPartition> share : shares) {
+            AtomicReference<HandOver> handOver = new AtomicReference<>(HandOver.PENDING);
+            handOvers.add(handOver);
+            futures.add(executor.submit(() -> loadPartitions(share, deadlineNanos, handOver)));
+        }
+        executor.shutdown();
+
+        long records = 0;
+        long cacheIds = 0;
+        List<TopicPartition> incomplete = new ArrayList<>();
+        final long handOverNanos = deadlineNanos + TimeUnit.MILLISECONDS.toNanos(HAND_OVER_GRACE_MS);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    LoadResult result = awaitResult(futures.get(i), handOvers.get(i), handOverNanos);
+                    if (result == null) {
+                        log.warn("Snapshot load from {} exceeded {} ms; starting with what was loaded",
+                                snapshot.getTopic(), snapshot.getLoadTimeoutMs());
+                        incomplete.addAll(shares.get(i));
+                        continue;
+                    }
+                    records += result.records();
+                    cacheIds += result.cacheIds();
+                    incomplete.addAll(result.incomplete());
+                } catch (ExecutionException e) {
+                    log.error("Snapshot load from {} failed; starting with what was loaded", snapshot.getTopic(), e.getCause());
+                    incomplete.addAll(shares.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            handOvers.forEach(handOver -> handOver.compareAndSet(HandOver.PENDING, HandOver.ABANDONED));
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        statsRecorder.addCount(MetricName.CONSUMED_KAFKA_SNAPSHOT_RECORDS, records);
+        statsRecorder.addCount(MetricName.CONSUMED_KAFKA_SNAPSHOT_INCOMPLETE_PARTITIONS, incomplete.size());
+        statsRecorder.recordLatency(MetricName.CONSUMED_KAFKA_SNAPSHOT_LATENCY_MS, elapsedMs);
+        if (!incomplete.isEmpty()) {
+            log.warn("Snapshot partitions {} were not loaded up to their end offsets; their missing cache IDs stay empty until they tick",
+                    incomplete);
+        }
+        log.info("Loaded {} records for {} cache IDs from snapshot topic {} ({} partitions, {} consumers) in {} ms",
+                records, cacheIds, snapshot.getTopic(), partitions.size(), workers, elapsedMs);
+        return records;
+    }
+
+    /**
+     * @return the result of a consumer, or {@code null} when it was abandoned before its hand-over began
+     */
+    private static LoadResult awaitResult(final Future<LoadResult> future,
+                                          final AtomicReference<HandOver> handOver,
+                                          final long handOverNanos) throws InterruptedException, ExecutionException {
+        try {
+            return future.get(Math.max(0, handOverNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (handOver.compareAndSet(HandOver.PENDING, HandOver.ABANDONED)) {
+                return null;
+            }
+            // already preloading: returning now would let it overwrite live ticks once the ingest starts
+            log.info("Waiting for a snapshot consumer to finish handing over its values");
+            return future.get();
+        }
+    }
+
+    private LoadResult loadPartitions(final List<TopicPartition> share,
+                                      final long deadlineNanos,
+                                      final AtomicReference<HandOver> handOver) {
+        long records = 0;
+        // compaction may leave several values of a key in the head of the log; the last one wins
+        Map<String, MarketDataEvent> latest = new LinkedHashMap<>();
+        Set<TopicPartition> remaining;
+        try (Consumer<String, byte[]> consumer = consumerFactory.get()) {
+            consumer.assign(share);
+            consumer.seekToBeginning(share);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(share);
+            remaining = new HashSet<>(share);
+            remaining.removeIf(partition -> consumer.position(partition) >= endOffsets.get(partition));
+
+            while (!remaining.isEmpty() && System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    if (record.value() == null) {
+                        // tombstone of a deleted cache ID
+                        latest.remove(record.key());
+                        continue;
+                    }
+                    MarketDataEvent event = deserializer.deserialize(record.topic(), record.value());
+                    if (event == null) {
+                        continue;
+                    }
+                    latest.put(record.key() != null ? record.key() : event.getCacheId(), event);
+                    records++;
+                }
+                remaining.removeIf(partition -> consumer.position(partition) >= endOffsets.get(partition));
+            }
+        }
+        if (!handOver.compareAndSet(HandOver.PENDING, HandOver.STARTED)) {
+            // the load gave up on this consumer and the ingest may be running already
+            return new LoadResult(0, 0, share);
+        }
+        if (!latest.isEmpty()) {
+            hazelcastCacheAdapter.preload(new ArrayList<>(latest.values()));
+        }
+        return new LoadResult(records, latest.size(), List.copyOf(remaining));
+    }
+
+    private static List<TopicPartition> toPartitions(final List<PartitionInfo> infos) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        if (infos != null) {
+            infos.forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+        }
+        return partitions;
+    }
+
+    private record LoadResult(long records, long cacheIds, List<TopicPartition> incomplete) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.marketdata.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans polled records out to worker threads by record key, the cache ID, so records of one key are
+ * handled in partition order while other keys of the same partition proceed in parallel.
+ * Records without a key go to the worker of their partition.
+ * <p>
+ * Tracks the offsets still being handled per partition; {@link #committableOffsets()} reports for
+ * each partition the offset below which every dispatched record has been handled.
+ * <p>
+ * {@link #dispatch(ConsumerRecord)} is called by the poll thread only and never blocks: a record
+ * whose worker's queue is full is refused, and its partition is reported by
+ * {@link #refusedPartitions()} until that worker has drained half of its queue.
+ */
+@Slf4j
+public class KeyedRecordDispatcher implements AutoCloseable {
+
+    /**
+     * Handles one record on a worker thread.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(ConsumerRecord<String, byte[]> record) throws InterruptedException;
+    }
+
+    private final RecordHandler handler;
+    private final List<Worker> workers;
+    private final Map<TopicPartition, PartitionOffsets> offsets = new ConcurrentHashMap<>();
+
+    /**
+     * Partitions with a refused record, and the worker that refused it; only touched by the poll thread.
+     */
+    private final Map<TopicPartition, Worker> refused = new HashMap<>();
+
+    public KeyedRecordDispatcher(final int concurrency,
+                                 final int queueCapacity,
+                                 final RecordHandler handler) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.handler = handler;
+        this.workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(new ArrayBlockingQueue<>(queueCapacity), queueCapacity, "kafka-ingest-worker-" + i);
+            workers.add(worker);
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Hands {@code record} to the worker of its key.
+     *
+     * @return whether the worker took it; a refused record is not tracked, so the caller has to
+     * deliver it again
+     */
+    public boolean dispatch(final ConsumerRecord<String, byte[]> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        PartitionOffsets partitionOffsets = offsets.computeIfAbsent(partition, ignored -> new PartitionOffsets());
+        Worker worker = workerFor(record);
+        // tracked before the worker can see it, so it is never committed before being handled
+        partitionOffsets.dispatched(record.offset());
+        if (!worker.queue.offer(new Dispatched(record, partitionOffsets))) {
+            partitionOffsets.refused(record.offset());
+            refused.put(partition, worker);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return partitions with a refused record whose worker has not yet drained half of its queue
+     */
+    public Set<TopicPartition> refusedPartitions() {
+        refused.values().removeIf(Worker::hasDrained);
+        return Set.copyOf(refused.keySet());
+    }
+
+    /**
+     * @return per partition, the offset below which every dispatched record has been handled
+     */
+    public Map<TopicPartition, Long> committableOffsets() {
+        Map<TopicPartition, Long> committable = new HashMap<>();
+        offsets.forEach((partition, partitionOffsets) -> committable.put(partition, partitionOffsets.committable()));
+        return committable;
+    }
+
+    /**
+     * Wait up to {@code timeoutMs} until every record dispatched for {@code partitions} has been handled.
+     *
+     * @return whether all of them were handled in time
+     */
+    public boolean awaitHandled(final Collection<TopicPartition> partitions, final long timeoutMs) {
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (!isHandled(partitions)) {
+            if (System.nanoTime() >= deadlineNanos) {
+                return false;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop tracking {@code partitions}, e.g. after they were revoked.
+     */
+    public void forget(final Collection<TopicPartition> partitions) {
+        offsets.keySet().removeAll(partitions);
+        refused.keySet().removeAll(partitions);
+    }
+
+    /**
+     * @return partitions with dispatched records
+     */
+    public Collection<TopicPartition> partitions() {
+        return List.copyOf(offsets.keySet());
+    }
+
+    /**
+     * Stops the workers; records still queued are not handled.
+     */
+    @Override
+    public void close() {
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean isHandled(final Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            PartitionOffsets partitionOffsets = offsets.get(partition);
+            if (partitionOffsets != null && !partitionOffsets.inFlight.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Worker workerFor(final ConsumerRecord<String, byte[]> record) {
+        int hash = record.key() != null ? record.key().hashCode() : record.partition();
+        return workers.get(Math.floorMod(hash, workers.size()));
+    }
+
+    private void handle(final Dispatched dispatched) throws InterruptedException {
+        ConsumerRecord<String, byte[]> record = dispatched.record();
+        try {
+            handler.handle(record);
+        } catch (RuntimeException e) {
+            // a record that cannot be handled is skipped like an undecodable one, not retried forever
+            log.error("Skipping Kafka record {}-{}@{} after unexpected error",
+                    record.topic(), record.partition(), record.offset(), e);
+        }
+        // not reached when interrupted, so an unhandled record is never committed
+        dispatched.offsets().inFlight.remove(record.offset());
+    }
+
+    private record Dispatched(ConsumerRecord<String, byte[]> record, PartitionOffsets offsets) {
+    }
+
+    /**
+     * Offsets of one partition; dispatched by the poll thread, handled by the workers.
+     */
+    private static final class PartitionOffsets {
+
+        private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        private volatile long next;
+
+        private void dispatched(final long offset) {
+            inFlight.add(offset);
+            next = offset + 1;
+        }
+
+        private void refused(final long offset) {
+            next = offset;
+            inFlight.remove(offset);
+        }
+
+        private long committable() {
+            long afterLast = next;
+            Long lowestInFlight = inFlight.ceiling(Long.MIN_VALUE);
+            return lowestInFlight != null ? lowestInFlight : afterLast;
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final BlockingQueue<Dispatched> queue;
+        private final int capacity;
+        private final Thread thread;
+
+        private Worker(final BlockingQueue<Dispatched> queue, final int capacity, final String name) {
+            this.queue = queue;
+            this.capacity = capacity;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        private boolean hasDrained() {
+            return queue.size() <= capacity / 2;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    handle(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.marketdata.ingest;
+
+import com.example.marketdata.codec.PayloadCodec;
+import com.example.marketdata.model.MarketDataEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Decodes record values straight into the configured {@link MarketDataEvent} type with a payload codec.
+ * <p>
+ * A value that cannot be decoded is logged and returned as {@code null} rather than thrown, so one
+ * malformed record does not stop its partition; the source skips {@code null} values.
+ */
+@Slf4j
+public class MarketDataEventDeserializer implements Deserializer<MarketDataEvent> {
+
+    private final PayloadCodec payloadCodec;
+    private final Class<? extends MarketDataEvent> eventClass;
+
+    public MarketDataEventDeserializer(final PayloadCodec payloadCodec,
+                                       final Class<? extends MarketDataEvent> eventClass) {
+        this.payloadCodec = payloadCodec;
+        this.eventClass = eventClass;
+    }
+
+    @Override
+    public MarketDataEvent deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return payloadCodec.decode(data, eventClass);
+        } catch (RuntimeException e) {
+            log.warn("Skipping undecodable {} record on topic {}: {}", payloadCodec.getName(), topic, e.getMessage());
+            return null;
+        }
+    }
+}
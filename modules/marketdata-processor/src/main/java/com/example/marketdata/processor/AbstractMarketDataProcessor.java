@@ -10,8 +10,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.SmartLifecycle;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Base class for market data processors that manages queueing, lifecycle hooks, batch
@@ -27,6 +30,12 @@ import java.util.concurrent.*;
  *     <li>{@code initial-retry-backoff-millis}, {@code max-retry-backoff-millis},
  *     {@code retry-backoff-multiplier} – govern exponential retry delays when batch processing fails.</li>
  * </ul>
+ * Events leave the queue in order and their batches complete in order, so a source can tell that
+ * everything it handed over has been processed by comparing {@link #getAcceptedEvents()} taken after
+ * its last enqueue with {@link #getCompletedEvents()}. A batch dropped as non-retryable counts as
+ * completed. The count is never behind the queue position of an accepted event, but may briefly be
+ * ahead of it while a plain {@link #enqueue(MarketDataEvent)} meets a full queue, which only delays
+ * such a source.
  */
 @Slf4j
 public abstract class AbstractMarketDataProcessor
@@ -37,6 +46,14 @@ public abstract class AbstractMarketDataProcessor
     private final ExecutorService processorExecutor;
     private final ProcessorStatsRegistry processorStatsRegistry;
 
+    /**
+     * Serializes the timed enqueues, which count an event after queuing it, so a concurrent timed
+     * enqueue cannot count it before it is queued. Plain enqueues count first and do not take it.
+     */
+    private final Object timedEnqueueLock = new Object();
+    private final AtomicLong acceptedEvents = new AtomicLong();
+    private final AtomicLong completedEvents = new AtomicLong();
+
     private volatile boolean running = false;
 
 
@@ -122,14 +139,82 @@ public abstract class AbstractMarketDataProcessor
             return;
         }
 
+        // counted before it is queued, so the count is never behind its queue position
+        acceptedEvents.incrementAndGet();
         boolean offered = queue.offer(event);
         if (!offered) {
+            acceptedEvents.decrementAndGet();
             log.error("Queue is full for processor {} (capacity={}); dropping event {}",
                     getProcessorName(), props.getQueueCapacity(), event);
             processorStatsRegistry.recordDrop(getProcessorName());
         }
     }
 
+    /**
+     * Enqueue for sources that apply backpressure themselves: waits up to {@code timeoutMillis} for
+     * room in a full queue before dropping the event.
+     *
+     * @return whether the event was queued
+     */
+    public boolean enqueue(final MarketDataEvent event, final long timeoutMillis) throws InterruptedException {
+        processorStatsRegistry.recordEnqueue(getProcessorName());
+        if (event == null || !running) {
+            log.warn("Processor {} is not running or event is null; dropping event {}", getProcessorName(), event);
+            processorStatsRegistry.recordDrop(getProcessorName());
+            return false;
+        }
+
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!offerTimed(event)) {
+            if (!running || System.nanoTime() >= deadlineNanos) {
+                log.error("Queue stayed full for processor {} (capacity={}) for {} ms; dropping event {}",
+                        getProcessorName(), props.getQueueCapacity(), timeoutMillis, event);
+                processorStatsRegistry.recordDrop(getProcessorName());
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * @return events queued so far
+     */
+    public long getAcceptedEvents() {
+        return acceptedEvents.get();
+    }
+
+    /**
+     * @return events whose batch has been processed or dropped so far
+     */
+    public long getCompletedEvents() {
+        return completedEvents.get();
+    }
+
+    /**
+     * @return events waiting in the queue
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return share of the queue capacity in use, between {@code 0} and {@code 1}
+     */
+    public double getQueueFill() {
+        return (double) queue.size() / props.getQueueCapacity();
+    }
+
+    private boolean offerTimed(final MarketDataEvent event) {
+        synchronized (timedEnqueueLock) {
+            boolean offered = queue.offer(event);
+            if (offered) {
+                acceptedEvents.incrementAndGet();
+            }
+            return offered;
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Main processor loop
     // ------------------------------------------------------------------------
@@ -216,6 +301,46 @@ public abstract class AbstractMarketDataProcessor
                 processed = true;
             }
         }
+        if (processed) {
+            completedEvents.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Split a batch into the cache ID keyed entries expected by adapters without dropping any event:
+     * a run ends before the first cache ID it already holds, so sending the runs in order delivers
+     * every update of a cache ID in arrival order. Events are passed through as-is, so encoded
+     * payloads cached on them are shared with every other processor.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> List<Map<String, T>> byCacheIdRuns(final List<MarketDataEvent> batch) {
+        final List<Map<String, T>> runs = new ArrayList<>();
+        Map<String, T> run = new LinkedHashMap<>(Math.max(16, batch.size() * 4 / 3 + 1));
+        for (MarketDataEvent event : batch) {
+            if (run.containsKey(event.getCacheId())) {
+                runs.add(run);
+                run = new LinkedHashMap<>();
+            }
+            run.put(event.getCacheId(), (T) event);
+        }
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+        return runs;
+    }
+
+    /**
+     * Collapse a batch into the cache ID keyed entries expected by adapters; the latest event per
+     * cache ID wins and first-arrival order is kept. Only for adapters configured to conflate, since
+     * the superseded events are not sent at all.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> Map<String, T> latestByCacheId(final List<MarketDataEvent> batch) {
+        final Map<String, T> entries = new LinkedHashMap<>(Math.max(16, batch.size() * 4 / 3 + 1));
+        for (MarketDataEvent event : batch) {
+            entries.put(event.getCacheId(), (T) event);
+        }
+        return entries;
     }
 
     // ------------------------------------------------------------------------
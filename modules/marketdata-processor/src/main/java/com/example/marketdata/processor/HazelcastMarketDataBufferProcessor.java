@@ -15,8 +15,8 @@ import java.util.List;
  * buffer handler and throttle.
  * <p>
  * Enabled when {@code marketdata.processors.hazelcast.enabled=true}. Inherits batching and
- * backoff tuning from {@code marketdata.default.*} and relies on {@code marketdata.throttle.interval-ms}
- * to schedule buffer flushes.
+ * backoff tuning from {@code marketdata.default.*} and relies on the {@code marketdata.throttle.*}
+ * size, staleness and interval triggers to schedule buffer flushes.
  */
 @Slf4j
 @Component
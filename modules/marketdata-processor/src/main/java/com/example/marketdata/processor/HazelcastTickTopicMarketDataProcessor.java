@@ -0,0 +1,51 @@
+package com.example.marketdata.processor;
+
+import com.example.marketdata.adapter.hazelcast.IHazelcastTickTopicAdapter;
+import com.example.marketdata.config.MarketDataProcessorProperties;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Processor that broadcasts every tick of a batch to the sharded Hazelcast tick topic.
+ * <p>
+ * Unlike the map processors it does not keep only the latest event per cache ID: subscribers see
+ * each tick, in order per cache ID. Enabled when {@code marketdata.processors.hazelcast-topic.enabled=true};
+ * inherits batching and backoff tuning from {@code marketdata.default.*}, and the topic itself is
+ * configured under {@code marketdata.hazelcast.topic.*}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "marketdata.processors.hazelcast-topic",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = false
+)
+public class HazelcastTickTopicMarketDataProcessor extends AbstractMarketDataProcessor {
+
+    private final IHazelcastTickTopicAdapter tickTopicAdapter;
+
+    public HazelcastTickTopicMarketDataProcessor(final MarketDataProcessorProperties props,
+                                                 final ProcessorStatsRegistry processorStatsRegistry,
+                                                 final IHazelcastTickTopicAdapter tickTopicAdapter) {
+        super(props, processorStatsRegistry);
+        this.tickTopicAdapter = tickTopicAdapter;
+        log.info("Created Hazelcast tick topic processor");
+    }
+
+    @Override
+    public String getProcessorName() {
+        return this.getClass().getName();
+    }
+
+    @Override
+    public void processBatch(List<MarketDataEvent> batch) {
+        log.info("Hazelcast tick topic processor processing batch of size {}", batch.size());
+        tickTopicAdapter.publish(batch);
+    }
+}
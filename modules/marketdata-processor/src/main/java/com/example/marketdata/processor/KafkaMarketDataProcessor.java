@@ -1,5 +1,7 @@
 package com.example.marketdata.processor;
 
+import com.example.marketdata.adapter.kafka.IKafkaProducerAdapter;
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
 import com.example.marketdata.config.MarketDataProcessorProperties;
 import com.example.marketdata.model.MarketDataEvent;
 import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
@@ -8,9 +10,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 
 /**
- * Placeholder processor that would forward batches to Kafka when enabled via configuration.
+ * Processor that forwards batches to the Kafka producer adapter when enabled via configuration.
+ * Every event is sent: a batch that updates a cache ID more than once goes out as several sends, see
+ * {@link #byCacheIdRuns(List)}. With {@code marketdata.kafka.conflate} only the latest event per cache
+ * ID of a batch is sent instead.
  * <p>
  * Activated when {@code marketdata.processors.kafka.enabled=true} and inherits queue, batch,
  * and retry tuning from {@code marketdata.default.*}.
@@ -23,11 +29,18 @@ import java.util.List;
         havingValue = "true",
         matchIfMissing = false
 )
-public class KafkaMarketDataProcessor extends AbstractMarketDataProcessor {
+public class KafkaMarketDataProcessor<T> extends AbstractMarketDataProcessor {
+
+    private final IKafkaProducerAdapter<T> producerAdapter;
+    private final boolean conflate;
 
     public KafkaMarketDataProcessor(final MarketDataProcessorProperties props,
-                                   final ProcessorStatsRegistry processorStatsRegistry) {
+                                   final ProcessorStatsRegistry processorStatsRegistry,
+                                   final IKafkaProducerAdapter<T> producerAdapter,
+                                   final KafkaAdapterProperties kafkaProperties) {
         super(props, processorStatsRegistry);
+        this.producerAdapter = producerAdapter;
+        this.conflate = kafkaProperties.isConflate();
         log.info("Created Kafka processor");
     }
 
@@ -39,5 +52,12 @@ public class KafkaMarketDataProcessor extends AbstractMarketDataProcessor {
     @Override
     public void processBatch(List<MarketDataEvent> batch) {
         log.info("Kafka processor processing batch of size {}", batch.size());
+        if (conflate) {
+            producerAdapter.send(latestByCacheId(batch));
+            return;
+        }
+        for (Map<String, T> entries : AbstractMarketDataProcessor.<T>byCacheIdRuns(batch)) {
+            producerAdapter.send(entries);
+        }
     }
 }
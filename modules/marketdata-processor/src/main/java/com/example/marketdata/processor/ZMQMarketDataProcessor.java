@@ -1,19 +1,31 @@
 package com.example.marketdata.processor;
 
+import com.example.marketdata.adapter.zmq.IZmqProducerAdapter;
+import com.example.marketdata.adapter.zmq.ZmqSendResult;
+import com.example.marketdata.adapter.zmq.config.ZmqAdapterProperties;
 import com.example.marketdata.config.MarketDataProcessorProperties;
 import com.example.marketdata.model.MarketDataEvent;
 import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import com.example.marketdata.stats.wrapper.WrapperDispatchedZmqStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Stub processor illustrating how a ZeroMQ sink might process market data batches.
+ * Processor that forwards market data batches to the ZeroMQ producer adapter. Every event is
+ * published: a batch that updates a cache ID more than once goes out as several publishes, see
+ * {@link #byCacheIdRuns(List)}. With {@code marketdata.zmq.conflate} only the latest event per cache
+ * ID of a batch is published instead.
  * <p>
  * Activated when {@code marketdata.processors.zmq.enabled=true} and inherits queue, batch,
- * and retry tuning from {@code marketdata.default.*}.
+ * and retry tuning from {@code marketdata.default.*}. Each batch reports through
+ * {@link WrapperDispatchedZmqStats}: published messages as {@code dispatched.zmq.events}, messages
+ * refused at the send high-water mark as {@code dispatched.zmq.events.dropped}, the publish time as the
+ * dispatch latency and the queue depth as {@code dispatched.zmq.queue.size}.
  */
 @Slf4j
 @Component
@@ -23,11 +35,21 @@ import java.util.List;
         havingValue = "true",
         matchIfMissing = false
 )
-public class ZMQMarketDataProcessor extends AbstractMarketDataProcessor {
+public class ZMQMarketDataProcessor<T> extends AbstractMarketDataProcessor {
+
+    private final IZmqProducerAdapter<T> producerAdapter;
+    private final WrapperDispatchedZmqStats zmqStats;
+    private final boolean conflate;
 
     public ZMQMarketDataProcessor(final MarketDataProcessorProperties props,
-                                 final ProcessorStatsRegistry processorStatsRegistry) {
+                                 final ProcessorStatsRegistry processorStatsRegistry,
+                                 final IZmqProducerAdapter<T> producerAdapter,
+                                 final WrapperDispatchedZmqStats zmqStats,
+                                 final ZmqAdapterProperties zmqProperties) {
         super(props, processorStatsRegistry);
+        this.producerAdapter = producerAdapter;
+        this.zmqStats = zmqStats;
+        this.conflate = zmqProperties.isConflate();
         log.info("Created ZMQ processor");
     }
 
@@ -39,5 +61,20 @@ public class ZMQMarketDataProcessor extends AbstractMarketDataProcessor {
     @Override
     public void processBatch(List<MarketDataEvent> batch) {
         log.info("ZMQ processor processing batch of size {}", batch.size());
+        zmqStats.setQueueSizeMax(getQueueSize());
+        final long startNanos = System.nanoTime();
+        long sent = 0;
+        long dropped = 0;
+        List<Map<String, T>> publishes = conflate
+                ? List.of(latestByCacheId(batch))
+                : byCacheIdRuns(batch);
+        for (Map<String, T> entries : publishes) {
+            ZmqSendResult result = producerAdapter.publish(entries);
+            sent += result.sent();
+            dropped += result.dropped();
+        }
+        zmqStats.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        zmqStats.addDispatched(sent);
+        zmqStats.addDropped(dropped);
     }
 }
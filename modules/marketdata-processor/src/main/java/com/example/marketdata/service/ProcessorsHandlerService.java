@@ -5,10 +5,15 @@ import com.example.marketdata.model.MarketDataEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Coordinates incoming market data events and dispatches them to all configured processors.
+ * <p>
+ * Sources that acknowledge their input upstream use {@link #onEvent(MarketDataEvent, long)}, which
+ * waits for queue room instead of dropping, together with {@link #acceptedEvents()} and
+ * {@link #isCompleted(long[])} to learn when every processor has handled what they handed over.
  */
 @Slf4j
 @Service
@@ -26,4 +31,65 @@ public class ProcessorsHandlerService {
             processor.enqueue(event);
         }
     }
+
+    /**
+     * Dispatch with backpressure: each processor waits up to {@code timeoutMillis} for queue room.
+     *
+     * @return whether every processor queued the event
+     */
+    public boolean onEvent(final MarketDataEvent event, final long timeoutMillis) throws InterruptedException {
+        return onEvent(event, timeoutMillis, new BitSet());
+    }
+
+    /**
+     * Dispatch with backpressure to the processors not yet set in {@code queued}, by index, setting
+     * those that queue the event; call again with the same set to retry an event without queuing it
+     * twice.
+     *
+     * @return whether every processor has now queued the event
+     */
+    public boolean onEvent(final MarketDataEvent event, final long timeoutMillis, final BitSet queued)
+            throws InterruptedException {
+        log.debug("Received event {}", event);
+        for (int i = 0; i < processors.size(); i++) {
+            if (!queued.get(i) && processors.get(i).enqueue(event, timeoutMillis)) {
+                queued.set(i);
+            }
+        }
+        return queued.cardinality() >= processors.size();
+    }
+
+    /**
+     * @return events queued so far per processor, a mark for {@link #isCompleted(long[])}
+     */
+    public long[] acceptedEvents() {
+        long[] accepted = new long[processors.size()];
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] = processors.get(i).getAcceptedEvents();
+        }
+        return accepted;
+    }
+
+    /**
+     * @return whether every processor completed the events queued up to {@code acceptedEvents}
+     */
+    public boolean isCompleted(final long[] acceptedEvents) {
+        for (int i = 0; i < acceptedEvents.length; i++) {
+            if (processors.get(i).getCompletedEvents() < acceptedEvents[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return fill of the fullest processor queue, between {@code 0} and {@code 1}
+     */
+    public double maxQueueFill() {
+        double max = 0;
+        for (AbstractMarketDataProcessor processor : processors) {
+            max = Math.max(max, processor.getQueueFill());
+        }
+        return max;
+    }
 }
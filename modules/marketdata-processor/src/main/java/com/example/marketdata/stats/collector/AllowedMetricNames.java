@@ -11,6 +11,9 @@ public final class AllowedMetricNames {
             MetricName.CONSUMED_FIX_EVENTS,
             MetricName.CONSUMED_RFA_EVENTS,
             MetricName.CONSUMED_BPIPE_EVENTS,
+            MetricName.CONSUMED_KAFKA_SNAPSHOT_RECORDS,
+            MetricName.CONSUMED_KAFKA_SNAPSHOT_LATENCY_MS,
+            MetricName.CONSUMED_KAFKA_SNAPSHOT_INCOMPLETE_PARTITIONS,
 
             MetricName.PIPELINE_RECEIVED_EVENTS,
             MetricName.PIPELINE_LATENCY,
@@ -20,16 +23,48 @@ public final class AllowedMetricNames {
             MetricName.DISPATCHED_ZMQ_LATENCY_MS,
             MetricName.DISPATCHED_ZMQ_EVENTS_DROPPED,
             MetricName.DISPATCHED_ZMQ_QUEUE_SIZE,
+            MetricName.DISPATCHED_ZMQ_FULL_FRAMES,
+            MetricName.DISPATCHED_ZMQ_DELTA_FRAMES,
+            MetricName.DISPATCHED_ZMQ_BYTES,
+            MetricName.DISPATCHED_ZMQ_BYTES_SAVED,
+            MetricName.DISPATCHED_ZMQ_ENCODE_LATENCY_MS,
 
             MetricName.DISPATCHED_HAZELCAST_EVENTS,
             MetricName.DISPATCHED_HAZELCAST_LATENCY_MS,
             MetricName.DISPATCHED_HAZELCAST_EVENTS_DROPPED,
             MetricName.DISPATCHED_HAZELCAST_QUEUE_SIZE,
+            MetricName.DISPATCHED_HAZELCAST_EVENTS_UNCHANGED,
+            MetricName.DISPATCHED_HAZELCAST_RESYNC_ENTRIES,
+            MetricName.DISPATCHED_HAZELCAST_RESYNC_PENDING,
+            MetricName.DISPATCHED_HAZELCAST_RESYNC_FAILURES,
+            MetricName.DISPATCHED_HAZELCAST_RESYNC_LATENCY_MS,
+            MetricName.DISPATCHED_HAZELCAST_READ_SHADOW_HITS,
+            MetricName.DISPATCHED_HAZELCAST_READ_SHADOW_MISSES,
+            MetricName.DISPATCHED_HAZELCAST_READ_NEAR_CACHE_HITS,
+            MetricName.DISPATCHED_HAZELCAST_READ_NEAR_CACHE_MISSES,
+            MetricName.DISPATCHED_HAZELCAST_READ_LATENCY_MS,
+            MetricName.DISPATCHED_HAZELCAST_MERGE_FIELDS,
+            MetricName.DISPATCHED_HAZELCAST_MERGE_FULL,
+            MetricName.DISPATCHED_HAZELCAST_MERGE_STALE,
+            MetricName.DISPATCHED_HAZELCAST_HISTORY_ENTRIES,
+            MetricName.DISPATCHED_HAZELCAST_HISTORY_DROPPED,
+            MetricName.DISPATCHED_HAZELCAST_QUERY_LATENCY_MS,
+            MetricName.DISPATCHED_HAZELCAST_TOPIC_PUBLISHED,
+            MetricName.DISPATCHED_HAZELCAST_TOPIC_DROPPED,
+            MetricName.DISPATCHED_HAZELCAST_TOPIC_LATENCY_MS,
+            MetricName.DISPATCHED_HAZELCAST_STORE_ENTRIES,
+            MetricName.DISPATCHED_HAZELCAST_STORE_LATENCY_MS,
 
             MetricName.DISPATCHED_KAFKA_EVENTS,
             MetricName.DISPATCHED_KAFKA_LATENCY_MS,
             MetricName.DISPATCHED_KAFKA_EVENTS_DROPPED,
             MetricName.DISPATCHED_KAFKA_QUEUE_SIZE,
+            MetricName.DISPATCHED_KAFKA_FULL_FRAMES,
+            MetricName.DISPATCHED_KAFKA_DELTA_FRAMES,
+            MetricName.DISPATCHED_KAFKA_BYTES,
+            MetricName.DISPATCHED_KAFKA_BYTES_SAVED,
+            MetricName.DISPATCHED_KAFKA_ENCODE_LATENCY_MS,
+            MetricName.DISPATCHED_KAFKA_SNAPSHOT_EVENTS,
 
             MetricName.STORAGE_POSTGRES_EVENTS,
             MetricName.STORAGE_POSTGRES_LATENCY_MS,
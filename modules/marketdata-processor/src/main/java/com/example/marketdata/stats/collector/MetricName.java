@@ -19,12 +19,70 @@ public final class MetricName {
     // Metric suffixes (protected - building blocks)
     private static final String METRIC_EVENTS = ".events";
     private static final String METRIC_EVENTS_DROPPED = METRIC_EVENTS + "." + "dropped";
+    // match HazelcastBufferCacheAdapter in adapter-hazelcast
+    private static final String METRIC_EVENTS_UNCHANGED = METRIC_EVENTS + "." + "unchanged";
     private static final String METRIC_QUEUE_SIZE = ".queue.size";
 
     private static final String METRIC_LATENCY = "latency";
     private static final String MILLISECONDS = ".ms";
     private static final String METRIC_LATENCY_MS = METRIC_LATENCY + MILLISECONDS;
 
+    // Delta encoding suffixes (protected - building blocks, match DeltaEncoder in marketdata-core)
+    private static final String METRIC_FRAMES = ".frames";
+    private static final String METRIC_FULL_FRAMES = METRIC_FRAMES + "." + "full";
+    private static final String METRIC_DELTA_FRAMES = METRIC_FRAMES + "." + "delta";
+    private static final String METRIC_BYTES = ".bytes";
+    private static final String METRIC_BYTES_SAVED = METRIC_BYTES + "." + "saved";
+    private static final String METRIC_ENCODE_LATENCY_MS = ".encode." + METRIC_LATENCY_MS;
+
+    // Reconnect resync suffixes (protected - building blocks, match ShadowCacheResync in adapter-hazelcast)
+    private static final String METRIC_RESYNC = ".resync";
+    private static final String METRIC_RESYNC_ENTRIES = METRIC_RESYNC + "." + "entries";
+    private static final String METRIC_RESYNC_PENDING = METRIC_RESYNC + "." + "pending";
+    private static final String METRIC_RESYNC_FAILURES = METRIC_RESYNC + "." + "failures";
+    private static final String METRIC_RESYNC_LATENCY_MS = METRIC_RESYNC + "." + METRIC_LATENCY_MS;
+
+    // Read API suffixes (protected - building blocks, match HazelcastBufferCacheAdapter in adapter-hazelcast)
+    private static final String METRIC_READ = ".read";
+    private static final String METRIC_READ_SHADOW_HITS = METRIC_READ + "." + "shadow.hits";
+    private static final String METRIC_READ_SHADOW_MISSES = METRIC_READ + "." + "shadow.misses";
+    private static final String METRIC_READ_NEAR_CACHE_HITS = METRIC_READ + "." + "nearcache.hits";
+    private static final String METRIC_READ_NEAR_CACHE_MISSES = METRIC_READ + "." + "nearcache.misses";
+    private static final String METRIC_READ_LATENCY_MS = METRIC_READ + "." + METRIC_LATENCY_MS;
+
+    // Field merge suffixes (protected - building blocks, match FieldMergeMapWriter in adapter-hazelcast)
+    private static final String METRIC_MERGE = ".merge";
+    private static final String METRIC_MERGE_FIELDS = METRIC_MERGE + "." + "fields";
+    private static final String METRIC_MERGE_FULL = METRIC_MERGE + "." + "full";
+    private static final String METRIC_MERGE_STALE = METRIC_MERGE + "." + "stale";
+
+    // History suffixes (protected - building blocks, match RingbufferHistory in adapter-hazelcast)
+    private static final String METRIC_HISTORY = ".history";
+    private static final String METRIC_HISTORY_ENTRIES = METRIC_HISTORY + "." + "entries";
+    private static final String METRIC_HISTORY_DROPPED = METRIC_HISTORY + "." + "dropped";
+
+    // Query suffixes (protected - building blocks, match HazelcastBufferCacheAdapter in adapter-hazelcast)
+    private static final String METRIC_QUERY = ".query";
+    private static final String METRIC_QUERY_LATENCY_MS = METRIC_QUERY + "." + METRIC_LATENCY_MS;
+
+    // Tick topic suffixes (protected - building blocks, match HazelcastTickTopicAdapter in adapter-hazelcast)
+    private static final String METRIC_TOPIC = ".topic";
+    private static final String METRIC_TOPIC_PUBLISHED = METRIC_TOPIC + "." + "published";
+    private static final String METRIC_TOPIC_DROPPED = METRIC_TOPIC + "." + "dropped";
+    private static final String METRIC_TOPIC_LATENCY_MS = METRIC_TOPIC + "." + METRIC_LATENCY_MS;
+
+    // Map store suffixes (protected - building blocks, match JdbcMapStore in adapter-hazelcast)
+    private static final String METRIC_STORE = ".store";
+    private static final String METRIC_STORE_ENTRIES = METRIC_STORE + "." + "entries";
+    private static final String METRIC_STORE_LATENCY_MS = METRIC_STORE + "." + METRIC_LATENCY_MS;
+
+    // Snapshot topic suffixes (protected - building blocks, match KafkaProducerAdapter in adapter-kafka)
+    private static final String METRIC_SNAPSHOT = ".snapshot";
+    private static final String METRIC_SNAPSHOT_EVENTS = METRIC_SNAPSHOT + METRIC_EVENTS;
+    private static final String METRIC_SNAPSHOT_RECORDS = METRIC_SNAPSHOT + "." + "records";
+    private static final String METRIC_SNAPSHOT_LATENCY_MS = METRIC_SNAPSHOT + "." + METRIC_LATENCY_MS;
+    private static final String METRIC_SNAPSHOT_INCOMPLETE_PARTITIONS = METRIC_SNAPSHOT + "." + "partitions.incomplete";
+
     // Dispatcher service names (protected - building blocks)
     private static final String DISPATCHER_ZMQ = "zmq";
     private static final String DISPATCHER_HAZELCAST = "hazelcast";
@@ -51,6 +109,9 @@ public final class MetricName {
     public static final String CONSUMED_FIX_EVENTS = CONSUMED_PREFIX + CONSUMER_FIX + METRIC_EVENTS;
     public static final String CONSUMED_RFA_EVENTS = CONSUMED_PREFIX + CONSUMER_RFA + METRIC_EVENTS;
     public static final String CONSUMED_BPIPE_EVENTS = CONSUMED_PREFIX + CONSUMER_BPIPE + METRIC_EVENTS;
+    public static final String CONSUMED_KAFKA_SNAPSHOT_RECORDS = CONSUMED_PREFIX + CONSUMER_KAFKA + METRIC_SNAPSHOT_RECORDS;
+    public static final String CONSUMED_KAFKA_SNAPSHOT_LATENCY_MS = CONSUMED_PREFIX + CONSUMER_KAFKA + METRIC_SNAPSHOT_LATENCY_MS;
+    public static final String CONSUMED_KAFKA_SNAPSHOT_INCOMPLETE_PARTITIONS = CONSUMED_PREFIX + CONSUMER_KAFKA + METRIC_SNAPSHOT_INCOMPLETE_PARTITIONS;
 
     // Pipeline stage metrics
     public static final String PIPELINE_RECEIVED_EVENTS = PIPELINE_PREFIX + "received" + METRIC_EVENTS;
@@ -62,18 +123,50 @@ public final class MetricName {
     public static final String DISPATCHED_ZMQ_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_LATENCY_MS;
     public static final String DISPATCHED_ZMQ_EVENTS_DROPPED = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_EVENTS_DROPPED;
     public static final String DISPATCHED_ZMQ_QUEUE_SIZE = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_QUEUE_SIZE;
+    public static final String DISPATCHED_ZMQ_FULL_FRAMES = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_FULL_FRAMES;
+    public static final String DISPATCHED_ZMQ_DELTA_FRAMES = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_DELTA_FRAMES;
+    public static final String DISPATCHED_ZMQ_BYTES = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_BYTES;
+    public static final String DISPATCHED_ZMQ_BYTES_SAVED = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_BYTES_SAVED;
+    public static final String DISPATCHED_ZMQ_ENCODE_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_ZMQ + METRIC_ENCODE_LATENCY_MS;
 
     // Dispatched stage - Hazelcast
     public static final String DISPATCHED_HAZELCAST_EVENTS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_EVENTS;
     public static final String DISPATCHED_HAZELCAST_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_LATENCY_MS;
     public static final String DISPATCHED_HAZELCAST_EVENTS_DROPPED = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_EVENTS_DROPPED;
     public static final String DISPATCHED_HAZELCAST_QUEUE_SIZE = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_QUEUE_SIZE;
+    public static final String DISPATCHED_HAZELCAST_EVENTS_UNCHANGED = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_EVENTS_UNCHANGED;
+    public static final String DISPATCHED_HAZELCAST_RESYNC_ENTRIES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_RESYNC_ENTRIES;
+    public static final String DISPATCHED_HAZELCAST_RESYNC_PENDING = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_RESYNC_PENDING;
+    public static final String DISPATCHED_HAZELCAST_RESYNC_FAILURES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_RESYNC_FAILURES;
+    public static final String DISPATCHED_HAZELCAST_RESYNC_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_RESYNC_LATENCY_MS;
+    public static final String DISPATCHED_HAZELCAST_READ_SHADOW_HITS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_READ_SHADOW_HITS;
+    public static final String DISPATCHED_HAZELCAST_READ_SHADOW_MISSES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_READ_SHADOW_MISSES;
+    public static final String DISPATCHED_HAZELCAST_READ_NEAR_CACHE_HITS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_READ_NEAR_CACHE_HITS;
+    public static final String DISPATCHED_HAZELCAST_READ_NEAR_CACHE_MISSES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_READ_NEAR_CACHE_MISSES;
+    public static final String DISPATCHED_HAZELCAST_READ_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_READ_LATENCY_MS;
+    public static final String DISPATCHED_HAZELCAST_MERGE_FIELDS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_MERGE_FIELDS;
+    public static final String DISPATCHED_HAZELCAST_MERGE_FULL = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_MERGE_FULL;
+    public static final String DISPATCHED_HAZELCAST_MERGE_STALE = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_MERGE_STALE;
+    public static final String DISPATCHED_HAZELCAST_HISTORY_ENTRIES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_HISTORY_ENTRIES;
+    public static final String DISPATCHED_HAZELCAST_HISTORY_DROPPED = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_HISTORY_DROPPED;
+    public static final String DISPATCHED_HAZELCAST_QUERY_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_QUERY_LATENCY_MS;
+    public static final String DISPATCHED_HAZELCAST_TOPIC_PUBLISHED = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_TOPIC_PUBLISHED;
+    public static final String DISPATCHED_HAZELCAST_TOPIC_DROPPED = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_TOPIC_DROPPED;
+    public static final String DISPATCHED_HAZELCAST_TOPIC_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_TOPIC_LATENCY_MS;
+    public static final String DISPATCHED_HAZELCAST_STORE_ENTRIES = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_STORE_ENTRIES;
+    public static final String DISPATCHED_HAZELCAST_STORE_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_HAZELCAST + METRIC_STORE_LATENCY_MS;
 
     // Dispatched stage - Kafka
     public static final String DISPATCHED_KAFKA_EVENTS = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_EVENTS;
     public static final String DISPATCHED_KAFKA_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_LATENCY_MS;
     public static final String DISPATCHED_KAFKA_EVENTS_DROPPED = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_EVENTS_DROPPED;
     public static final String DISPATCHED_KAFKA_QUEUE_SIZE = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_QUEUE_SIZE;
+    public static final String DISPATCHED_KAFKA_FULL_FRAMES = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_FULL_FRAMES;
+    public static final String DISPATCHED_KAFKA_DELTA_FRAMES = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_DELTA_FRAMES;
+    public static final String DISPATCHED_KAFKA_BYTES = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_BYTES;
+    public static final String DISPATCHED_KAFKA_BYTES_SAVED = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_BYTES_SAVED;
+    public static final String DISPATCHED_KAFKA_ENCODE_LATENCY_MS = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_ENCODE_LATENCY_MS;
+    public static final String DISPATCHED_KAFKA_SNAPSHOT_EVENTS = DISPATCHED_PREFIX + DISPATCHER_KAFKA + METRIC_SNAPSHOT_EVENTS;
 
     // Storage stage - Postgres
     public static final String STORAGE_POSTGRES_EVENTS = STORAGE_PREFIX + STORAGE_POSTGRES + METRIC_EVENTS;
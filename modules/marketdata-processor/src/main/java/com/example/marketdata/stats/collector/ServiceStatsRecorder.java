@@ -0,0 +1,33 @@
+package com.example.marketdata.stats.collector;
+
+import com.example.marketdata.stats.StatsRecorder;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link StatsRecorder} bean that lets adapter modules report into the shared
+ * {@link ServiceStatsCollector}. Metric names are validated against {@link AllowedMetricNames}.
+ */
+@Component
+public class ServiceStatsRecorder implements StatsRecorder {
+
+    private final ServiceStatsCollector collector;
+
+    public ServiceStatsRecorder(final ServiceStatsCollector collector) {
+        this.collector = collector;
+    }
+
+    @Override
+    public void addCount(final String metricName, final long delta) {
+        collector.counter(metricName).add(delta);
+    }
+
+    @Override
+    public void recordLatency(final String metricName, final long latencyMs) {
+        collector.latency(metricName).record(latencyMs);
+    }
+
+    @Override
+    public void setGaugeMax(final String metricName, final long value) {
+        collector.gauge(metricName).setMax(value);
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.marketdata.ingest;
+
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.config.KafkaIngestProperties;
+import com.example.marketdata.config.MarketDataProcessorProperties;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import com.example.marketdata.processor.AbstractMarketDataProcessor;
+import com.example.marketdata.service.ProcessorsHandlerService;
+import com.example.marketdata.stats.collector.ServiceStatsCollector;
+import com.example.marketdata.stats.wrapper.WrapperConsumedKafkaStats;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Exercises commit-after-processing, watermark pausing and consumer recreation against a {@link MockConsumer}.
+ */
+class KafkaIngestSourceTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("market-data", 0);
+
+    private final KafkaIngestProperties properties = new KafkaIngestProperties();
+    private final MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private GatedProcessor processor;
+    private KafkaIngestSource source;
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        if (source != null) {
+            source.stop();
+        }
+        if (processor != null) {
+            processor.stop();
+        }
+    }
+
+    private KafkaIngestSource startSource(int queueCapacity) {
+        return startSource(queueCapacity, () -> consumer);
+    }
+
+    private KafkaIngestSource startSource(int queueCapacity, Supplier<Consumer<String, byte[]>> consumers) {
+        properties.setEventClass(Quote.class);
+        properties.setPollTimeoutMs(10);
+        MarketDataProcessorProperties processorProperties = new MarketDataProcessorProperties();
+        processorProperties.setQueueCapacity(queueCapacity);
+        processorProperties.setBatchSize(1);
+        processorProperties.setPollTimeoutMillis(1);
+        processor = new GatedProcessor(processorProperties, gate);
+        processor.start();
+
+        source = new KafkaIngestSource(properties, new ProcessorsHandlerService(List.of(processor)),
+                new WrapperConsumedKafkaStats(new ServiceStatsCollector()), PayloadCodecRegistry.withDefaults(), consumers);
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION));
+            consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        });
+        source.start();
+        return source;
+    }
+
+    private void addRecords(int count) {
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < count; i++) {
+                consumer.addRecord(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), i, "AAPL",
+                        "{\"symbol\":\"AAPL\"}".getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+    }
+
+    @Test
+    void offsetsAreCommittedOnlyAfterTheProcessorsCompleteTheEvents() throws InterruptedException {
+        // given
+        startSource(100);
+
+        // when
+        addRecords(3);
+        await(() -> processor.getAcceptedEvents() == 3);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Map<TopicPartition, OffsetAndMetadata> beforeProcessing = committed();
+        gate.countDown();
+
+        // then
+        assertThat(beforeProcessing.get(PARTITION)).isNull();
+        await(() -> committed().get(PARTITION) != null);
+        assertThat(committed().get(PARTITION).offset()).isEqualTo(3L);
+    }
+
+    @Test
+    void anUnexpectedErrorRecreatesTheConsumerAndTheIngestResumes() {
+        // given
+        properties.setRestartBackoffMs(10);
+        MockConsumer<String, byte[]> failing = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        failing.setPollException(new KafkaException("Not authorized to access topics"));
+        Iterator<Consumer<String, byte[]>> consumers = List.<Consumer<String, byte[]>>of(failing, consumer).iterator();
+        startSource(100, consumers::next);
+
+        // when
+        addRecords(3);
+        gate.countDown();
+
+        // then
+        await(() -> committed().get(PARTITION) != null);
+        assertThat(committed().get(PARTITION).offset()).isEqualTo(3L);
+        assertThat(failing.closed()).isTrue();
+        assertThat(source.isRunning()).isTrue();
+    }
+
+    @Test
+    void partitionsArePausedAboveTheHighWatermarkAndResumedBelowTheLowWatermark() {
+        // given
+        properties.setHighWatermark(0.5);
+        properties.setLowWatermark(0.2);
+        startSource(10);
+
+        // when
+        addRecords(6);
+        await(() -> processor.getAcceptedEvents() == 6);
+        await(() -> consumer.paused().contains(PARTITION));
+        gate.countDown();
+
+        // then
+        await(() -> consumer.paused().isEmpty());
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void aRecordMeetingAFullQueueHoldsItsPartitionInsteadOfBeingDropped() {
+        // given
+        properties.setEnqueueTimeoutMs(20);
+        // keep the watermarks out of the way
+        properties.setHighWatermark(2.0);
+        properties.setLowWatermark(2.0);
+        startSource(1);
+
+        // when
+        addRecords(3);
+        await(() -> consumer.paused().contains(PARTITION));
+        Map<TopicPartition, OffsetAndMetadata> whileHeld = committed();
+        gate.countDown();
+
+        // then
+        assertThat(whileHeld.get(PARTITION)).isNull();
+        await(() -> committed().get(PARTITION) != null && committed().get(PARTITION).offset() == 3L);
+        await(() -> consumer.paused().isEmpty());
+        assertThat(processor.getAcceptedEvents()).isEqualTo(3L);
+    }
+
+    @Test
+    void missingEventClassIsRejected() {
+        // given
+        ProcessorsHandlerService handler = new ProcessorsHandlerService(List.of());
+        WrapperConsumedKafkaStats stats = new WrapperConsumedKafkaStats(new ServiceStatsCollector());
+
+        // when
+        // then
+        assertThatThrownBy(() -> new KafkaIngestSource(properties, handler, stats, PayloadCodecRegistry.withDefaults(), consumer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void consumerConfigsDisableAutoCommitAndApplyOverridesLast() {
+        // given
+        properties.setGroupId("replay");
+        properties.setMaxPollRecords(2_000);
+        properties.getOverrides().put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, "1");
+
+        // when
+        Map<String, Object> configs = KafkaIngestSource.consumerConfigs(properties);
+
+        // then
+        assertThat(configs.get(ConsumerConfig.GROUP_ID_CONFIG)).isEqualTo("replay");
+        assertThat(configs.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG)).isEqualTo(false);
+        assertThat(configs.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG)).isEqualTo(2_000);
+        assertThat(configs.get(ConsumerConfig.FETCH_MIN_BYTES_CONFIG)).isEqualTo("1");
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committed() {
+        return consumer.committed(Set.of(PARTITION));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        for (int i = 0; i < 300 && !condition.getAsBoolean(); i++) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static final class GatedProcessor extends AbstractMarketDataProcessor {
+
+        private final CountDownLatch gate;
+
+        GatedProcessor(MarketDataProcessorProperties props, CountDownLatch gate) {
+            super(props, mock(ProcessorStatsRegistry.class));
+            this.gate = gate;
+        }
+
+        @Override
+        public String getProcessorName() {
+            return "gatedProcessor";
+        }
+
+        @Override
+        public void processBatch(List<MarketDataEvent> batch) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    record Quote(String symbol) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return symbol;
+        }
+    }
+}
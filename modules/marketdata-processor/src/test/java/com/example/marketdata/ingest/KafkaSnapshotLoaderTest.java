@@ -0,0 +1,201 @@
+package com.example.marketdata.ingest;
+
+import com.example.marketdata.adapter.hazelcast.IHazelcastBufferCacheAdapter;
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.stats.StatsRecorder;
+import com.example.marketdata.stats.collector.MetricName;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Exercises the parallel warm-restart load of the compacted snapshot topic against {@link MockConsumer}s.
+ */
+class KafkaSnapshotLoaderTest {
+
+    private static final String TOPIC = "market-data-snapshot";
+    private static final TopicPartition P0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition P1 = new TopicPartition(TOPIC, 1);
+
+    private final KafkaAdapterProperties properties = new KafkaAdapterProperties();
+    private final RecordingStats stats = new RecordingStats();
+    @SuppressWarnings("unchecked")
+    private final IHazelcastBufferCacheAdapter<MarketDataEvent> adapter = mock(IHazelcastBufferCacheAdapter.class);
+    private final Map<TopicPartition, List<ConsumerRecord<String, byte[]>>> records = Map.of(
+            P0, List.of(record(P0, 0, "AAPL", 190.0), record(P0, 1, "AAPL", 191.0), record(P0, 2, "IBM", 150.0)),
+            P1, List.of(record(P1, 0, "MSFT", 410.0)));
+
+    @Test
+    void loadPreloadsTheLatestValuePerCacheIdFromEveryPartition() {
+        // given
+        properties.getSnapshot().setEventClass(Quote.class);
+        properties.getSnapshot().setLoadConcurrency(2);
+        KafkaSnapshotLoader loader = new KafkaSnapshotLoader(properties, adapter, PayloadCodecRegistry.withDefaults(),
+                stats, this::consumer);
+
+        // when
+        long loaded = loader.load();
+
+        // then
+        assertThat(loaded).isEqualTo(3L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MarketDataEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(adapter, atLeastOnce()).preload(captor.capture());
+        Map<String, MarketDataEvent> preloaded = new HashMap<>();
+        captor.getAllValues().forEach(batch -> batch.forEach(event -> preloaded.put(event.getCacheId(), event)));
+        assertThat(preloaded).containsOnlyKeys("AAPL", "MSFT");
+        assertThat(preloaded.get("AAPL")).isEqualTo(new Quote("AAPL", 191.0));
+        assertThat(stats.counts.get(MetricName.CONSUMED_KAFKA_SNAPSHOT_RECORDS)).isEqualTo(3L);
+        assertThat(stats.latencies).containsKey(MetricName.CONSUMED_KAFKA_SNAPSHOT_LATENCY_MS);
+    }
+
+    @Test
+    void aTombstoneRemovesAValueLoadedInAnEarlierPoll() {
+        // given
+        properties.getSnapshot().setEventClass(Quote.class);
+        properties.getSnapshot().setLoadConcurrency(1);
+        KafkaSnapshotLoader loader = new KafkaSnapshotLoader(properties, adapter, PayloadCodecRegistry.withDefaults(),
+                stats, () -> {
+                    MockConsumer<String, byte[]> consumer = consumer(Map.of(P0, 4L, P1, 1L));
+                    consumer.schedulePollTask(() -> consumer.addRecord(
+                            new ConsumerRecord<>(TOPIC, 0, 3, "AAPL", null)));
+                    return consumer;
+                });
+
+        // when
+        loader.load();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MarketDataEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(adapter, atLeastOnce()).preload(captor.capture());
+        Map<String, MarketDataEvent> preloaded = new HashMap<>();
+        captor.getAllValues().forEach(batch -> batch.forEach(event -> preloaded.put(event.getCacheId(), event)));
+        assertThat(preloaded).containsOnlyKeys("IBM", "MSFT");
+    }
+
+    @Test
+    void partitionsNotLoadedUpToTheirEndOffsetsAreCounted() {
+        // given
+        properties.getSnapshot().setEventClass(Quote.class);
+        properties.getSnapshot().setLoadConcurrency(2);
+        properties.getSnapshot().setLoadTimeoutMs(300);
+        KafkaSnapshotLoader loader = new KafkaSnapshotLoader(properties, adapter, PayloadCodecRegistry.withDefaults(),
+                stats, () -> consumer(Map.of(P0, 10L, P1, 1L)));
+
+        // when
+        long loaded = loader.load();
+
+        // then
+        assertThat(loaded).isEqualTo(4L);
+        assertThat(stats.counts.get(MetricName.CONSUMED_KAFKA_SNAPSHOT_INCOMPLETE_PARTITIONS)).isEqualTo(1L);
+    }
+
+    @Test
+    void aPreloadOutlastingTheGracePeriodIsWaitedFor() {
+        // given
+        properties.getSnapshot().setEventClass(Quote.class);
+        properties.getSnapshot().setLoadConcurrency(1);
+        properties.getSnapshot().setLoadTimeoutMs(100);
+        AtomicBoolean preloaded = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Thread.sleep(1_500);
+            preloaded.set(true);
+            return null;
+        }).when(adapter).preload(anyList());
+        KafkaSnapshotLoader loader = new KafkaSnapshotLoader(properties, adapter, PayloadCodecRegistry.withDefaults(),
+                stats, this::consumer);
+
+        // when
+        long loaded = loader.load();
+
+        // then
+        assertThat(preloaded).isTrue();
+        assertThat(loaded).isEqualTo(3L);
+        assertThat(stats.counts.get(MetricName.CONSUMED_KAFKA_SNAPSHOT_INCOMPLETE_PARTITIONS)).isZero();
+    }
+
+    @Test
+    void missingEventClassIsRejected() {
+        // given
+        // when
+        // then
+        assertThatThrownBy(() -> new KafkaSnapshotLoader(properties, adapter, PayloadCodecRegistry.withDefaults(),
+                stats, this::consumer)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * A consumer per loader thread; the end offsets leave the IBM record of P0 to the live feed.
+     */
+    private Consumer<String, byte[]> consumer() {
+        return consumer(Map.of(P0, 2L, P1, 1L));
+    }
+
+    private MockConsumer<String, byte[]> consumer(Map<TopicPartition, Long> endOffsets) {
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        Node node = new Node(0, "localhost", 9092);
+        consumer.updatePartitions(TOPIC, List.of(
+                new PartitionInfo(TOPIC, 0, node, new Node[]{node}, new Node[]{node}),
+                new PartitionInfo(TOPIC, 1, node, new Node[]{node}, new Node[]{node})));
+        consumer.updateBeginningOffsets(Map.of(P0, 0L, P1, 0L));
+        consumer.updateEndOffsets(endOffsets);
+        consumer.schedulePollTask(() -> consumer.assignment()
+                .forEach(partition -> records.get(partition).forEach(consumer::addRecord)));
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, byte[]> record(TopicPartition partition, long offset, String symbol, double price) {
+        String json = "{\"symbol\":\"" + symbol + "\",\"price\":" + price + "}";
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, symbol,
+                json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingStats implements StatsRecorder {
+        private final Map<String, Long> counts = new ConcurrentHashMap<>();
+        private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+
+        @Override
+        public void addCount(String metricName, long delta) {
+            counts.merge(metricName, delta, Long::sum);
+        }
+
+        @Override
+        public void recordLatency(String metricName, long latencyMs) {
+            latencies.put(metricName, latencyMs);
+        }
+
+        @Override
+        public void setGaugeMax(String metricName, long value) {
+        }
+    }
+
+    record Quote(String symbol, double price) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return symbol;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.marketdata.ingest;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies per-key ordering and lowest-in-flight offset tracking of the record fan-out.
+ */
+class KeyedRecordDispatcherTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("market-data", 0);
+
+    private KeyedRecordDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void recordsOfOneKeyAreHandledInPartitionOrder() {
+        // given
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        dispatcher = new KeyedRecordDispatcher(4, 100, record ->
+                handled.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record.offset()));
+        List<String> keys = List.of("AAPL", "MSFT", "GOOG", "IBM", "ORCL");
+
+        // when
+        dispatchAll(500, offset -> keys.get((int) (offset % keys.size())));
+
+        // then
+        assertThat(dispatcher.awaitHandled(List.of(PARTITION), 2_000)).isTrue();
+        for (String key : keys) {
+            List<Long> offsets = handled.get(key);
+            assertThat(offsets).hasSize(100).isSorted();
+        }
+        assertThat(dispatcher.committableOffsets()).containsEntry(PARTITION, 500L);
+    }
+
+    @Test
+    void committableOffsetStopsAtTheLowestRecordStillInFlight() throws InterruptedException {
+        // given
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch othersHandled = new CountDownLatch(2);
+        dispatcher = new KeyedRecordDispatcher(2, 100, record -> {
+            if ("slow".equals(record.key())) {
+                gate.await();
+            } else {
+                othersHandled.countDown();
+            }
+        });
+        String fast = otherWorkerKeyThan("slow", 2);
+
+        // when
+        dispatcher.dispatch(record(0, fast));
+        dispatcher.dispatch(record(1, "slow"));
+        dispatcher.dispatch(record(2, fast));
+        assertThat(othersHandled.await(2, TimeUnit.SECONDS)).isTrue();
+        long whileSlowInFlight = dispatcher.committableOffsets().get(PARTITION);
+        gate.countDown();
+
+        // then
+        assertThat(whileSlowInFlight).isEqualTo(1L);
+        assertThat(dispatcher.awaitHandled(List.of(PARTITION), 2_000)).isTrue();
+        assertThat(dispatcher.committableOffsets()).containsEntry(PARTITION, 3L);
+    }
+
+    @Test
+    void aRecordMeetingAFullWorkerQueueIsRefusedUntilTheWorkerDrains() throws InterruptedException {
+        // given
+        CountDownLatch taken = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        dispatcher = new KeyedRecordDispatcher(1, 2, record -> {
+            taken.countDown();
+            gate.await();
+        });
+        dispatcher.dispatch(record(0, "AAPL"));
+        assertThat(taken.await(2, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(record(1, "AAPL"));
+        dispatcher.dispatch(record(2, "AAPL"));
+
+        // when
+        boolean accepted = dispatcher.dispatch(record(3, "AAPL"));
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(dispatcher.refusedPartitions()).containsExactly(PARTITION);
+        assertThat(dispatcher.committableOffsets()).containsEntry(PARTITION, 0L);
+
+        gate.countDown();
+        assertThat(dispatcher.awaitHandled(List.of(PARTITION), 2_000)).isTrue();
+        assertThat(dispatcher.refusedPartitions()).isEmpty();
+        assertThat(dispatcher.committableOffsets()).containsEntry(PARTITION, 3L);
+        assertThat(dispatcher.dispatch(record(3, "AAPL"))).isTrue();
+    }
+
+    private void dispatchAll(int count, LongFunction<String> keyFor) {
+        for (long offset = 0; offset < count; offset++) {
+            ConsumerRecord<String, byte[]> record = record(offset, keyFor.apply(offset));
+            while (!dispatcher.dispatch(record)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static String otherWorkerKeyThan(String key, int workers) {
+        for (int i = 0; ; i++) {
+            String candidate = "K" + i;
+            if (Math.floorMod(candidate.hashCode(), workers) != Math.floorMod(key.hashCode(), workers)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String key) {
+        return new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, key, new byte[0]);
+    }
+}
@@ -87,6 +87,60 @@ class AbstractMarketDataProcessorTest {
         }
     }
 
+    @Test
+    void timedEnqueueWaitsForQueueRoomBeforeDropping() throws Exception {
+        // given
+        MarketDataProcessorProperties props = baseProps();
+        props.setQueueCapacity(1);
+        TestProcessor processor = new TestProcessor(props, statsRegistry, 0);
+
+        BlockingQueue<MarketDataEvent> queue = queueFor(processor);
+        queue.add(sampleEvent());
+        setRunning(processor, true);
+
+        // when
+        boolean droppedAfterTimeout = processor.enqueue(sampleEvent(), 20);
+        new Thread(() -> {
+            sleepQuietly(20);
+            queue.poll();
+        }).start();
+        boolean queuedOnceDrained = processor.enqueue(sampleEvent(), 2_000);
+
+        // then
+        assertThat(droppedAfterTimeout).isFalse();
+        assertThat(queuedOnceDrained).isTrue();
+        assertThat(statsRegistry.drops).isEqualTo(1);
+        assertThat(processor.getAcceptedEvents()).isEqualTo(1);
+        assertThat(processor.getQueueFill()).isEqualTo(1.0);
+    }
+
+    @Test
+    void completedEventsCatchUpWithAcceptedEventsOnceBatchesAreProcessed() throws InterruptedException {
+        // given
+        MarketDataProcessorProperties props = baseProps();
+        CountDownLatch processed = new CountDownLatch(3);
+        TestProcessor processor = new TestProcessor(props, statsRegistry, 0, processed);
+
+        // when
+        processor.start();
+        try {
+            processor.enqueue(sampleEvent());
+            processor.enqueue(sampleEvent());
+            processor.enqueue(sampleEvent());
+            long accepted = processor.getAcceptedEvents();
+
+            // then
+            assertThat(processed.await(2, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 200 && processor.getCompletedEvents() < accepted; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertThat(accepted).isEqualTo(3);
+            assertThat(processor.getCompletedEvents()).isEqualTo(3);
+        } finally {
+            processor.stop();
+        }
+    }
+
     private MarketDataProcessorProperties baseProps() {
         MarketDataProcessorProperties props = new MarketDataProcessorProperties();
         props.setQueueCapacity(10);
@@ -112,6 +166,14 @@ class AbstractMarketDataProcessorTest {
         runningField.set(processor, running);
     }
 
+    private static void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static class TestEvent implements MarketDataEvent {
         @Override
         public String getCacheId() {
@@ -41,9 +41,10 @@ class AllProcessorsProfileTest {
         // when
         // then
         assertNotNull(processorsHandlerService, "ProcessorsHandlerService should be present");
-        assertEquals(6, processors.size(), "All six conditional processors should load");
+        assertEquals(7, processors.size(), "All seven conditional processors should load");
 
         assertTrue(processors.stream().anyMatch(HazelcastMarketDataBufferProcessor.class::isInstance));
+        assertTrue(processors.stream().anyMatch(HazelcastTickTopicMarketDataProcessor.class::isInstance));
         assertTrue(processors.stream().anyMatch(KafkaMarketDataProcessor.class::isInstance));
         assertTrue(processors.stream().anyMatch(LoggingMarketDataProcessor.class::isInstance));
         assertTrue(processors.stream().anyMatch(OracleMarketDataProcessor.class::isInstance));
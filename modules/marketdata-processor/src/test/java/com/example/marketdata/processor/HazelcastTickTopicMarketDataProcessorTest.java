@@ -0,0 +1,27 @@
+package com.example.marketdata.processor;
+
+import com.example.marketdata.adapter.hazelcast.IHazelcastTickTopicAdapter;
+import com.example.marketdata.config.MarketDataProcessorProperties;
+import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.example.marketdata.processor.ProcessorTestSupport.batch;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class HazelcastTickTopicMarketDataProcessorTest {
+
+    @Test
+    void processBatchPublishesEveryTickInOrder() {
+        MarketDataProcessorProperties props = new MarketDataProcessorProperties();
+        ProcessorStatsRegistry statsRegistry = mock(ProcessorStatsRegistry.class);
+        IHazelcastTickTopicAdapter tickTopicAdapter = mock(IHazelcastTickTopicAdapter.class);
+
+        HazelcastTickTopicMarketDataProcessor processor =
+                new HazelcastTickTopicMarketDataProcessor(props, statsRegistry, tickTopicAdapter);
+
+        processor.processBatch(batch());
+
+        verify(tickTopicAdapter).publish(batch());
+    }
+}
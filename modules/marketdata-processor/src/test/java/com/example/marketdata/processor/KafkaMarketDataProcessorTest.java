@@ -0,0 +1,53 @@
+package com.example.marketdata.processor;
+
+import com.example.marketdata.adapter.kafka.IKafkaProducerAdapter;
+import com.example.marketdata.adapter.kafka.config.KafkaAdapterProperties;
+import com.example.marketdata.config.MarketDataProcessorProperties;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.example.marketdata.processor.ProcessorTestSupport.assertEveryEventSentInOrder;
+import static com.example.marketdata.processor.ProcessorTestSupport.assertLatestEventPerCacheId;
+import static com.example.marketdata.processor.ProcessorTestSupport.batch;
+import static com.example.marketdata.processor.ProcessorTestSupport.sentEntries;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class KafkaMarketDataProcessorTest {
+
+    @SuppressWarnings("unchecked")
+    private final IKafkaProducerAdapter<MarketDataEvent> producerAdapter = mock(IKafkaProducerAdapter.class);
+    private final KafkaAdapterProperties kafkaProperties = new KafkaAdapterProperties();
+
+    private KafkaMarketDataProcessor<MarketDataEvent> processor() {
+        return new KafkaMarketDataProcessor<>(new MarketDataProcessorProperties(),
+                mock(ProcessorStatsRegistry.class), producerAdapter, kafkaProperties);
+    }
+
+    @Test
+    void processBatchSendsEveryEventToAdapter() {
+        // given
+        KafkaMarketDataProcessor<MarketDataEvent> processor = processor();
+
+        // when
+        processor.processBatch(batch());
+
+        // then
+        assertEveryEventSentInOrder(sentEntries(captor -> verify(producerAdapter, times(2)).send(captor.capture())));
+    }
+
+    @Test
+    void conflatingProcessorSendsOnlyTheLatestEventPerCacheId() {
+        // given
+        kafkaProperties.setConflate(true);
+        KafkaMarketDataProcessor<MarketDataEvent> processor = processor();
+
+        // when
+        processor.processBatch(batch());
+
+        // then
+        assertLatestEventPerCacheId(sentEntries(captor -> verify(producerAdapter).send(captor.capture())).get(0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.marketdata.processor;
+
+import com.example.marketdata.model.MarketDataEvent;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch and captor fixture shared by the tests of processors that forward to an adapter.
+ */
+final class ProcessorTestSupport {
+
+    static final TestEvent FIRST = new TestEvent("cache-1", 1);
+    static final TestEvent OTHER = new TestEvent("cache-2", 2);
+    static final TestEvent LATEST = new TestEvent("cache-1", 3);
+
+    private ProcessorTestSupport() {
+    }
+
+    /**
+     * @return a batch in which {@link #LATEST} updates the cache ID of {@link #FIRST} again
+     */
+    static List<MarketDataEvent> batch() {
+        return List.of(FIRST, OTHER, LATEST);
+    }
+
+    /**
+     * Captures the entries of every send to an adapter, e.g.
+     * {@code sentEntries(captor -> verify(adapter, times(2)).send(captor.capture()))}.
+     */
+    @SuppressWarnings("unchecked")
+    static List<Map<String, MarketDataEvent>> sentEntries(
+            final Consumer<ArgumentCaptor<Map<String, MarketDataEvent>>> verification) {
+        ArgumentCaptor<Map<String, MarketDataEvent>> captor = ArgumentCaptor.forClass(Map.class);
+        verification.accept(captor);
+        return captor.getAllValues();
+    }
+
+    /**
+     * Asserts that {@code sends} carry every event of {@link #batch()}, each cache ID in arrival order.
+     */
+    static void assertEveryEventSentInOrder(final List<Map<String, MarketDataEvent>> sends) {
+        assertThat(sends).hasSize(2);
+        assertThat(sends.get(0)).containsExactly(
+                Map.entry("cache-1", FIRST),
+                Map.entry("cache-2", OTHER));
+        assertThat(sends.get(1)).containsExactly(Map.entry("cache-1", LATEST));
+    }
+
+    /**
+     * Asserts that {@code entries} hold the latest event per cache ID of {@link #batch()}.
+     */
+    static void assertLatestEventPerCacheId(final Map<String, MarketDataEvent> entries) {
+        assertThat(entries).containsExactly(
+                Map.entry("cache-1", LATEST),
+                Map.entry("cache-2", OTHER));
+    }
+
+    record TestEvent(String cacheId, int sequence) implements MarketDataEvent {
+        @Override
+        public String getCacheId() {
+            return cacheId;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.marketdata.processor;
+
+import com.example.marketdata.adapter.zmq.IZmqProducerAdapter;
+import com.example.marketdata.adapter.zmq.ZmqSendResult;
+import com.example.marketdata.adapter.zmq.config.ZmqAdapterProperties;
+import com.example.marketdata.config.MarketDataProcessorProperties;
+import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.monitor.processor.ProcessorStatsRegistry;
+import com.example.marketdata.stats.collector.MetricName;
+import com.example.marketdata.stats.collector.ServiceStatsCollector;
+import com.example.marketdata.stats.reporter.StatsSnapshot;
+import com.example.marketdata.stats.wrapper.WrapperDispatchedZmqStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.marketdata.processor.ProcessorTestSupport.FIRST;
+import static com.example.marketdata.processor.ProcessorTestSupport.OTHER;
+import static com.example.marketdata.processor.ProcessorTestSupport.assertEveryEventSentInOrder;
+import static com.example.marketdata.processor.ProcessorTestSupport.assertLatestEventPerCacheId;
+import static com.example.marketdata.processor.ProcessorTestSupport.batch;
+import static com.example.marketdata.processor.ProcessorTestSupport.sentEntries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ZMQMarketDataProcessorTest {
+
+    private final ServiceStatsCollector collector = new ServiceStatsCollector("zmq-processor-test");
+    private final ZmqAdapterProperties zmqProperties = new ZmqAdapterProperties();
+
+    @Test
+    void processBatchPublishesEveryEventToAdapter() {
+        MarketDataProcessorProperties props = new MarketDataProcessorProperties();
+        ProcessorStatsRegistry statsRegistry = mock(ProcessorStatsRegistry.class);
+
+        @SuppressWarnings("unchecked")
+        IZmqProducerAdapter<MarketDataEvent> producerAdapter = mock(IZmqProducerAdapter.class);
+        when(producerAdapter.publish(anyMap())).thenReturn(new ZmqSendResult(2, 0));
+
+        ZMQMarketDataProcessor<MarketDataEvent> processor = new ZMQMarketDataProcessor<>(props, statsRegistry,
+                producerAdapter, new WrapperDispatchedZmqStats(collector), zmqProperties);
+
+        processor.processBatch(batch());
+
+        assertEveryEventSentInOrder(sentEntries(captor -> verify(producerAdapter, times(2)).publish(captor.capture())));
+    }
+
+    @Test
+    void conflatingProcessorPublishesOnlyTheLatestEventPerCacheId() {
+        // given
+        zmqProperties.setConflate(true);
+        @SuppressWarnings("unchecked")
+        IZmqProducerAdapter<MarketDataEvent> producerAdapter = mock(IZmqProducerAdapter.class);
+        when(producerAdapter.publish(anyMap())).thenReturn(new ZmqSendResult(2, 0));
+        ZMQMarketDataProcessor<MarketDataEvent> processor = new ZMQMarketDataProcessor<>(
+                new MarketDataProcessorProperties(), mock(ProcessorStatsRegistry.class), producerAdapter,
+                new WrapperDispatchedZmqStats(collector), zmqProperties);
+
+        // when
+        processor.processBatch(batch());
+
+        // then
+        assertLatestEventPerCacheId(sentEntries(captor -> verify(producerAdapter).publish(captor.capture())).get(0));
+    }
+
+    @Test
+    void processBatchReportsSentAndDroppedMessages() {
+        // given
+        @SuppressWarnings("unchecked")
+        IZmqProducerAdapter<MarketDataEvent> producerAdapter = mock(IZmqProducerAdapter.class);
+        when(producerAdapter.publish(anyMap())).thenReturn(new ZmqSendResult(1, 1));
+        ZMQMarketDataProcessor<MarketDataEvent> processor = new ZMQMarketDataProcessor<>(
+                new MarketDataProcessorProperties(), mock(ProcessorStatsRegistry.class), producerAdapter,
+                new WrapperDispatchedZmqStats(collector), zmqProperties);
+
+        // when
+        processor.processBatch(List.of(FIRST, OTHER));
+
+        // then
+        StatsSnapshot snapshot = collector.snapshotAndReset();
+        assertThat(snapshot.counters().get(MetricName.DISPATCHED_EVENTS)).isEqualTo(1L);
+        assertThat(snapshot.counters().get(MetricName.DISPATCHED_ZMQ_EVENTS_DROPPED)).isEqualTo(1L);
+        assertThat(snapshot.gauges()).containsKey(MetricName.DISPATCHED_ZMQ_QUEUE_SIZE);
+    }
+}
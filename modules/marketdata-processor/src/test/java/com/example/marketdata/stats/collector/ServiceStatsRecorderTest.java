@@ -0,0 +1,45 @@
+package com.example.marketdata.stats.collector;
+
+import com.example.marketdata.codec.DeltaEncoder;
+import com.example.marketdata.stats.reporter.StatsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceStatsRecorderTest {
+
+    @Test
+    void delegatesToCollectorMetrics() {
+        // given
+        ServiceStatsCollector collector = new ServiceStatsCollector("recorder");
+        ServiceStatsRecorder recorder = new ServiceStatsRecorder(collector);
+
+        // when
+        recorder.addCount(MetricName.DISPATCHED_KAFKA_DELTA_FRAMES, 3);
+        recorder.addCount(MetricName.DISPATCHED_KAFKA_DELTA_FRAMES, 2);
+        recorder.recordLatency(MetricName.DISPATCHED_KAFKA_ENCODE_LATENCY_MS, 7);
+        recorder.setGaugeMax(MetricName.DISPATCHED_KAFKA_QUEUE_SIZE, 11);
+
+        // then
+        StatsSnapshot snapshot = collector.snapshotAndReset();
+        assertEquals(5L, snapshot.counters().get(MetricName.DISPATCHED_KAFKA_DELTA_FRAMES));
+        assertEquals(7.0, snapshot.latencies().get(MetricName.DISPATCHED_KAFKA_ENCODE_LATENCY_MS).max(), 1e-9);
+        assertEquals(11L, snapshot.gauges().get(MetricName.DISPATCHED_KAFKA_QUEUE_SIZE));
+    }
+
+    @Test
+    void deltaEncodingMetricNamesMatchCoreEncoder() {
+        assertEquals("dispatched.kafka" + DeltaEncoder.BYTES_SAVED_SUFFIX,
+                MetricName.DISPATCHED_KAFKA_BYTES_SAVED);
+        assertEquals("dispatched.zmq" + DeltaEncoder.ENCODE_LATENCY_SUFFIX,
+                MetricName.DISPATCHED_ZMQ_ENCODE_LATENCY_MS);
+    }
+
+    @Test
+    void unknownMetricNameIsRejected() {
+        ServiceStatsRecorder recorder = new ServiceStatsRecorder(new ServiceStatsCollector("recorder"));
+
+        assertThrows(IllegalArgumentException.class, () -> recorder.addCount("dispatched.unknown.bytes", 1));
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.demo;
 
-import com.example.marketdata.model.MarketDataEvent;
+import com.example.marketdata.model.AbstractMarketDataEvent;
 
 import java.time.Instant;
 
 /**
  * Simple market data payload used by the demo to drive processor pipelines and cache updates.
  */
-public class MarketDataMessage implements MarketDataEvent {
+public class MarketDataMessage extends AbstractMarketDataEvent {
     private String source;       // e.g. "Bloomberg", "Reuters"
     private String symbol;       // e.g. "EURUSD", "AAPL"
     private double price;
@@ -0,0 +1,34 @@
+package com.example.demo;
+
+import com.example.marketdata.codec.CompactBinaryLayout;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Positional compact binary layout for {@link MarketDataMessage}:
+ * source, symbol, price, size, timestamp.
+ */
+public class MarketDataMessageBinaryLayout implements CompactBinaryLayout<MarketDataMessage> {
+
+    @Override
+    public void write(MarketDataMessage value, DataOutput out) throws IOException {
+        CompactBinaryLayout.writeNullableString(out, value.getSource());
+        CompactBinaryLayout.writeNullableString(out, value.getSymbol());
+        out.writeDouble(value.getPrice());
+        out.writeLong(value.getSize());
+        CompactBinaryLayout.writeNullableInstant(out, value.getTimestamp());
+    }
+
+    @Override
+    public MarketDataMessage read(DataInput in) throws IOException {
+        return new MarketDataMessage(
+                CompactBinaryLayout.readNullableString(in),
+                CompactBinaryLayout.readNullableString(in),
+                in.readDouble(),
+                in.readLong(),
+                CompactBinaryLayout.readNullableInstant(in)
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo;
+
+import com.example.marketdata.codec.CompactBinaryPayloadCodec;
+import com.example.marketdata.codec.PayloadCodecRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the payload codec registry shared by all adapters, with the compact binary layout
+ * of the demo {@link MarketDataMessage} registered so any adapter can select {@code binary}.
+ */
+@Configuration
+public class PayloadCodecConfiguration {
+
+    @Bean
+    public PayloadCodecRegistry payloadCodecRegistry() {
+        return PayloadCodecRegistry.withDefaults()
+                .register(new CompactBinaryPayloadCodec()
+                        .registerLayout(MarketDataMessage.class, new MarketDataMessageBinaryLayout()));
+    }
+}